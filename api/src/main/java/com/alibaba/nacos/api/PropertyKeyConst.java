@@ -59,6 +59,10 @@ public class PropertyKeyConst {
     
     public static final String ENABLE_REMOTE_SYNC_CONFIG = "enableRemoteSyncConfig";
     
+    public static final String CONFIG_RPC_POOL_SIZE = "configRpcPoolSize";
+    
+    public static final String CONFIG_RPC_POOL_MAX_IN_FLIGHT = "configRpcPoolMaxInFlight";
+    
     public static final String NAMING_LOAD_CACHE_AT_START = "namingLoadCacheAtStart";
     
     public static final String NAMING_CACHE_REGISTRY_DIR = "namingCacheRegistryDir";
@@ -29,6 +29,11 @@ public class ClientRemoteAbility {
      */
     private boolean supportRemoteConnection;
     
+    /**
+     * version of binary payload codec supported, 0 means only json payload is supported.
+     */
+    private int binaryCodecVersion;
+    
     public boolean isSupportRemoteConnection() {
         return this.supportRemoteConnection;
     }
@@ -36,4 +41,12 @@ public class ClientRemoteAbility {
     public void setSupportRemoteConnection(boolean supportRemoteConnection) {
         this.supportRemoteConnection = supportRemoteConnection;
     }
+    
+    public int getBinaryCodecVersion() {
+        return binaryCodecVersion;
+    }
+    
+    public void setBinaryCodecVersion(int binaryCodecVersion) {
+        this.binaryCodecVersion = binaryCodecVersion;
+    }
 }
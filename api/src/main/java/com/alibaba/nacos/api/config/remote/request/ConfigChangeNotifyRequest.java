@@ -16,8 +16,11 @@
 
 package com.alibaba.nacos.api.config.remote.request;
 
+import com.alibaba.nacos.api.config.remote.response.ConfigChangeBatchListenResponse.ConfigContext;
 import com.alibaba.nacos.api.remote.request.ServerRequest;
 
+import java.util.List;
+
 /**
  * ConfigChangeNotifyRequest.
  *
@@ -34,6 +37,11 @@ public class ConfigChangeNotifyRequest extends ServerRequest {
     
     String tenant;
     
+    /**
+     * All changed configs of batch notify, the first one is also set into dataId, group and tenant.
+     */
+    List<ConfigContext> changedConfigs;
+    
     public String getDataId() {
         return dataId;
     }
@@ -58,6 +66,14 @@ public class ConfigChangeNotifyRequest extends ServerRequest {
         this.tenant = tenant;
     }
     
+    public List<ConfigContext> getChangedConfigs() {
+        return changedConfigs;
+    }
+    
+    public void setChangedConfigs(List<ConfigContext> changedConfigs) {
+        this.changedConfigs = changedConfigs;
+    }
+    
     /**
      * build success response.
      *
@@ -74,6 +90,19 @@ public class ConfigChangeNotifyRequest extends ServerRequest {
         return request;
     }
     
+    /**
+     * build batch notify request of multiple changed configs.
+     *
+     * @param changedConfigs changed configs, must not be empty
+     * @return ConfigChangeNotifyRequest
+     */
+    public static ConfigChangeNotifyRequest buildBatch(List<ConfigContext> changedConfigs) {
+        ConfigContext first = changedConfigs.get(0);
+        ConfigChangeNotifyRequest request = build(first.getDataId(), first.getGroup(), first.getTenant());
+        request.setChangedConfigs(changedConfigs);
+        return request;
+    }
+    
     @Override
     public String getModule() {
         return MODULE;
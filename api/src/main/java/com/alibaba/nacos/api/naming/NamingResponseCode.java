@@ -38,4 +38,9 @@ public class NamingResponseCode extends ResponseCode {
      */
     public static final int NO_NEED_RETRY = 21600;
     
+    /**
+     * The base revision of delta push doesn't match the revision of client, a full push is required.
+     */
+    public static final int PUSH_REVISION_MISMATCH = 21601;
+    
 }
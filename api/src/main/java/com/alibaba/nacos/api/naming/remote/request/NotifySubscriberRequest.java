@@ -16,12 +16,18 @@
 
 package com.alibaba.nacos.api.naming.remote.request;
 
+import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.remote.request.ServerRequest;
 
+import java.util.List;
+
 /**
  * Notify subscriber response.
  *
+ * <p>If {@link #isDelta()} is {@code true}, the hosts of {@link #getServiceInfo()} are empty, the request only carries
+ * the instances added, removed and modified from {@link #getBaseRevision()} to {@link #getRevision()}.
+ *
  * @author xiweng.yy
  */
 public class NotifySubscriberRequest extends ServerRequest {
@@ -36,6 +42,18 @@ public class NotifySubscriberRequest extends ServerRequest {
     
     private ServiceInfo serviceInfo;
     
+    private long revision;
+    
+    private boolean delta;
+    
+    private long baseRevision;
+    
+    private List<Instance> addedInstances;
+    
+    private List<Instance> removedInstances;
+    
+    private List<Instance> modifiedInstances;
+    
     public NotifySubscriberRequest() {
     }
     
@@ -52,6 +70,30 @@ public class NotifySubscriberRequest extends ServerRequest {
         return new NotifySubscriberRequest(serviceInfo, "success");
     }
     
+    /**
+     * Build delta push request.
+     *
+     * @param serviceInfo       service info without hosts
+     * @param baseRevision      revision the delta based on
+     * @param revision          revision after the delta applied
+     * @param addedInstances    added instances
+     * @param removedInstances  removed instances
+     * @param modifiedInstances modified instances
+     * @return delta push request
+     */
+    public static NotifySubscriberRequest buildDeltaRequest(ServiceInfo serviceInfo, long baseRevision,
+            long revision, List<Instance> addedInstances, List<Instance> removedInstances,
+            List<Instance> modifiedInstances) {
+        NotifySubscriberRequest result = new NotifySubscriberRequest(serviceInfo, "success");
+        result.setDelta(true);
+        result.setBaseRevision(baseRevision);
+        result.setRevision(revision);
+        result.setAddedInstances(addedInstances);
+        result.setRemovedInstances(removedInstances);
+        result.setModifiedInstances(modifiedInstances);
+        return result;
+    }
+    
     /**
      * Build fail response.
      *
@@ -94,4 +136,51 @@ public class NotifySubscriberRequest extends ServerRequest {
         this.groupName = groupName;
     }
     
+    public long getRevision() {
+        return revision;
+    }
+    
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+    
+    public boolean isDelta() {
+        return delta;
+    }
+    
+    public void setDelta(boolean delta) {
+        this.delta = delta;
+    }
+    
+    public long getBaseRevision() {
+        return baseRevision;
+    }
+    
+    public void setBaseRevision(long baseRevision) {
+        this.baseRevision = baseRevision;
+    }
+    
+    public List<Instance> getAddedInstances() {
+        return addedInstances;
+    }
+    
+    public void setAddedInstances(List<Instance> addedInstances) {
+        this.addedInstances = addedInstances;
+    }
+    
+    public List<Instance> getRemovedInstances() {
+        return removedInstances;
+    }
+    
+    public void setRemovedInstances(List<Instance> removedInstances) {
+        this.removedInstances = removedInstances;
+    }
+    
+    public List<Instance> getModifiedInstances() {
+        return modifiedInstances;
+    }
+    
+    public void setModifiedInstances(List<Instance> modifiedInstances) {
+        this.modifiedInstances = modifiedInstances;
+    }
 }
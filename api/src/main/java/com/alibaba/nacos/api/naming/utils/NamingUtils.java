@@ -130,4 +130,15 @@ public class NamingUtils {
                     "Instance 'heart beat interval' must less than 'heart beat timeout' and 'ip delete timeout'.");
         }
     }
+    
+    /**
+     * Returns the key to identify an instance in a service, such as 'ip#port#clusterName'.
+     *
+     * @param instance instance
+     * @return instance key
+     */
+    public static String getInstanceKey(Instance instance) {
+        return instance.getIp() + Constants.NAMING_INSTANCE_ID_SPLITTER + instance.getPort()
+                + Constants.NAMING_INSTANCE_ID_SPLITTER + instance.getClusterName();
+    }
 }
@@ -26,6 +26,11 @@ public class ServerCheckResponse extends Response {
     
     private String connectionId;
     
+    /**
+     * version of binary payload codec supported by server, 0 means only json payload is supported.
+     */
+    private int binaryCodecVersion;
+    
     public ServerCheckResponse() {
     
     }
@@ -41,4 +46,12 @@ public class ServerCheckResponse extends Response {
     public void setConnectionId(String connectionId) {
         this.connectionId = connectionId;
     }
+    
+    public int getBinaryCodecVersion() {
+        return binaryCodecVersion;
+    }
+    
+    public void setBinaryCodecVersion(int binaryCodecVersion) {
+        this.binaryCodecVersion = binaryCodecVersion;
+    }
 }
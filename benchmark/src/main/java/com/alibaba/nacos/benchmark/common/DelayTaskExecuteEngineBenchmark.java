@@ -0,0 +1,119 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.benchmark.common;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark of {@link NacosDelayTaskExecuteEngine#addTask(Object, AbstractDelayTask)} and processing of tasks.
+ *
+ * <p>The background processing of engine is disabled by a long process interval, tasks are processed by the
+ * benchmark thread to measure the processing cost only.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DelayTaskExecuteEngineBenchmark {
+    
+    private static final int KEY_COUNT = 1 << 14;
+    
+    private static final int BATCH_SIZE = 1000;
+    
+    /**
+     * Shards of timing wheel, {@code 0} means the task map with global lock.
+     */
+    @Param({"0", "8"})
+    public int timingWheelShards;
+    
+    private final AtomicInteger index = new AtomicInteger();
+    
+    private BenchmarkEngine engine;
+    
+    private String[] keys;
+    
+    @Setup
+    public void setUp() {
+        engine = new BenchmarkEngine(timingWheelShards);
+        engine.setDefaultTaskProcessor(task -> true);
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "key-" + i;
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws Exception {
+        engine.shutdown();
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public void addTask() {
+        engine.addTask(keys[index.getAndIncrement() & (KEY_COUNT - 1)], new BenchmarkTask());
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void addAndProcessTasks() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            engine.addTask(keys[i], new BenchmarkTask());
+        }
+        engine.processNow();
+    }
+    
+    private static class BenchmarkEngine extends NacosDelayTaskExecuteEngine {
+        
+        private BenchmarkEngine(int timingWheelShards) {
+            super("nacos.benchmark.delay", KEY_COUNT, null, TimeUnit.HOURS.toMillis(1L), timingWheelShards);
+        }
+        
+        private void processNow() {
+            processTasks();
+        }
+    }
+    
+    private static class BenchmarkTask extends AbstractDelayTask {
+        
+        @Override
+        public void merge(AbstractDelayTask task) {
+        }
+    }
+}
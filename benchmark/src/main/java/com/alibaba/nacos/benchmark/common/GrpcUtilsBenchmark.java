@@ -0,0 +1,95 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.common;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.remote.PayloadRegistry;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link GrpcUtils#convert(com.alibaba.nacos.api.remote.request.Request)} and {@link
+ * GrpcUtils#parse(Payload)} round trips, with json and binary codec.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GrpcUtilsBenchmark {
+    
+    @Param({"false", "true"})
+    public boolean binaryCodec;
+    
+    /**
+     * Count of listened configs in batch listen request.
+     */
+    @Param({"200"})
+    public int listenCount;
+    
+    private InstanceRequest instanceRequest;
+    
+    private ConfigBatchListenRequest batchListenRequest;
+    
+    @Setup
+    public void setUp() {
+        PayloadRegistry.init();
+        Instance instance = new Instance();
+        instance.setIp("192.168.1.1");
+        instance.setPort(8848);
+        instance.setClusterName("DEFAULT");
+        instance.setServiceName("DEFAULT_GROUP@@benchmark");
+        instance.getMetadata().put("version", "1.0.0");
+        instanceRequest = new InstanceRequest("public", "benchmark", "DEFAULT_GROUP", "registerInstance", instance);
+        instanceRequest.setRequestId("1");
+        batchListenRequest = new ConfigBatchListenRequest();
+        batchListenRequest.setListen(true);
+        for (int i = 0; i < listenCount; i++) {
+            batchListenRequest
+                    .addConfigListenContext("DEFAULT_GROUP", "dataId-" + i, "public", "d41d8cd98f00b204e9800998ecf8427e");
+        }
+        batchListenRequest.setRequestId("2");
+    }
+    
+    @Benchmark
+    public Object instanceRequestRoundTrip() {
+        return GrpcUtils.parse(GrpcUtils.convert(instanceRequest, binaryCodec));
+    }
+    
+    @Benchmark
+    public Object batchListenRequestRoundTrip() {
+        return GrpcUtils.parse(GrpcUtils.convert(batchListenRequest, binaryCodec));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.benchmark.common;
+
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Benchmark of {@link NotifyCenter#publishEvent(Event)} throughput with one subscriber.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class NotifyCenterBenchmark {
+    
+    private static final int QUEUE_MAX_SIZE = 16384;
+    
+    private final LongAdder received = new LongAdder();
+    
+    private Subscriber<BenchmarkEvent> subscriber;
+    
+    @Setup
+    public void setUp() {
+        NotifyCenter.registerToPublisher(BenchmarkEvent.class, QUEUE_MAX_SIZE);
+        subscriber = new Subscriber<BenchmarkEvent>() {
+            @Override
+            public void onEvent(BenchmarkEvent event) {
+                received.increment();
+            }
+            
+            @Override
+            public Class<? extends Event> subscribeType() {
+                return BenchmarkEvent.class;
+            }
+        };
+        NotifyCenter.registerSubscriber(subscriber);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        NotifyCenter.deregisterSubscriber(subscriber);
+        NotifyCenter.deregisterPublisher(BenchmarkEvent.class);
+    }
+    
+    @Benchmark
+    public boolean publishEvent() {
+        return NotifyCenter.publishEvent(new BenchmarkEvent());
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public boolean publishEventConcurrently() {
+        return NotifyCenter.publishEvent(new BenchmarkEvent());
+    }
+    
+    public static class BenchmarkEvent extends Event {
+        
+        private static final long serialVersionUID = -2455066658449917916L;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.config;
+
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark of {@link ConfigCacheService#dump(String, String, String, String, long, String)} and {@link
+ * ConfigCacheService#isUptodate(String, String)}.
+ *
+ * <p>The server runs as standalone with embedded storage, so the config content is not written to disk by dump.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConfigCacheServiceBenchmark {
+    
+    @Param({"false", "true"})
+    public boolean compactConfigCache;
+    
+    @Param({"100000"})
+    public int configCount;
+    
+    private final AtomicInteger index = new AtomicInteger();
+    
+    private String[] dataIds;
+    
+    private String[] groupKeys;
+    
+    private String[] contents;
+    
+    private String[] md5s;
+    
+    @Setup
+    public void setUp() {
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        EnvUtil.setIsStandalone(true);
+        PropertyUtil.setEmbeddedStorage(true);
+        PropertyUtil.setCompactConfigCache(compactConfigCache);
+        NotifyCenter.registerToPublisher(LocalDataChangeEvent.class, 16384);
+        dataIds = new String[configCount];
+        groupKeys = new String[configCount];
+        contents = new String[configCount];
+        md5s = new String[configCount];
+        for (int i = 0; i < configCount; i++) {
+            dataIds[i] = "dataId-" + i;
+            groupKeys[i] = GroupKey2.getKey(dataIds[i], "DEFAULT_GROUP", "public");
+            contents[i] = "key=value" + i;
+            md5s[i] = MD5Utils.md5Hex(contents[i], Constants.ENCODE);
+            ConfigCacheService.dump(dataIds[i], "DEFAULT_GROUP", "public", contents[i], 1L, null);
+        }
+    }
+    
+    /**
+     * Dump every config with a changed content, each round alternates between two contents.
+     */
+    @Benchmark
+    public boolean dump() {
+        int i = index.getAndIncrement() & Integer.MAX_VALUE;
+        int slot = i % configCount;
+        String content = 0 == (i / configCount & 1) ? contents[slot] + "#" : contents[slot];
+        return ConfigCacheService
+                .dump(dataIds[slot], "DEFAULT_GROUP", "public", content, System.currentTimeMillis(), null);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public boolean isUptodate() {
+        int slot = (index.getAndIncrement() & Integer.MAX_VALUE) % configCount;
+        return ConfigCacheService.isUptodate(groupKeys[slot], md5s[slot]);
+    }
+}
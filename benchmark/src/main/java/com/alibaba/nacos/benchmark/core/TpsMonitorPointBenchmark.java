@@ -0,0 +1,104 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.core;
+
+import com.alibaba.nacos.core.remote.control.ClientIpMonitorKey;
+import com.alibaba.nacos.core.remote.control.ConnectionIdMonitorKey;
+import com.alibaba.nacos.core.remote.control.MonitorKey;
+import com.alibaba.nacos.core.remote.control.TpsControlRule;
+import com.alibaba.nacos.core.remote.control.TpsMonitorPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark of {@link TpsMonitorPoint#applyTps(String, List)} with client ip and connection id monitor keys.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TpsMonitorPointBenchmark {
+    
+    private static final int CLIENT_COUNT = 1024;
+    
+    private final AtomicInteger index = new AtomicInteger();
+    
+    private TpsMonitorPoint tpsMonitorPoint;
+    
+    private String[] connectionIds;
+    
+    private List<List<MonitorKey>> monitorKeys;
+    
+    @Setup
+    public void setUp() {
+        tpsMonitorPoint = new TpsMonitorPoint("benchmark");
+        TpsControlRule rule = new TpsControlRule();
+        rule.setPointName("benchmark");
+        TpsControlRule.Rule pointRule = new TpsControlRule.Rule();
+        pointRule.setMaxCount(Integer.MAX_VALUE);
+        pointRule.setMonitorType("monitor");
+        rule.setPointRule(pointRule);
+        rule.setMonitorKeyRule(new HashMap<String, TpsControlRule.Rule>(4));
+        TpsControlRule.Rule keyRule = new TpsControlRule.Rule();
+        keyRule.setMaxCount(Integer.MAX_VALUE);
+        keyRule.setMonitorType("monitor");
+        rule.getMonitorKeyRule().put("clientIp:*", keyRule);
+        tpsMonitorPoint.applyRule(rule);
+        connectionIds = new String[CLIENT_COUNT];
+        monitorKeys = new ArrayList<List<MonitorKey>>(CLIENT_COUNT);
+        for (int i = 0; i < CLIENT_COUNT; i++) {
+            String clientIp = "10.0." + (i >> 8) + "." + (i & 0xFF);
+            connectionIds[i] = System.currentTimeMillis() + "_" + clientIp + "_" + i;
+            List<MonitorKey> keys = new ArrayList<MonitorKey>(2);
+            keys.add(new ClientIpMonitorKey(clientIp));
+            keys.add(new ConnectionIdMonitorKey(connectionIds[i]));
+            monitorKeys.add(keys);
+        }
+    }
+    
+    @Benchmark
+    public boolean applyTps() {
+        int i = index.getAndIncrement() & (CLIENT_COUNT - 1);
+        return tpsMonitorPoint.applyTps(connectionIds[i], monitorKeys.get(i));
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public boolean applyTpsConcurrently() {
+        int i = index.getAndIncrement() & (CLIENT_COUNT - 1);
+        return tpsMonitorPoint.applyTps(connectionIds[i], monitorKeys.get(i));
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.benchmark.naming;
+
+import com.alibaba.nacos.naming.constants.PushConstants;
+import com.alibaba.nacos.naming.core.v2.ServiceManager;
+import com.alibaba.nacos.naming.core.v2.client.Client;
+import com.alibaba.nacos.naming.core.v2.client.impl.ConnectionBasedClient;
+import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
+import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
+import com.alibaba.nacos.naming.core.v2.index.ServiceStorage;
+import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
+import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.sys.env.EnvUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link ServiceStorage#getPushData(Service)} for services with different instance count.
+ *
+ * <p>Each benchmark runs in its own fork, so the {@code incrementalPushData} param is applied to {@code PushConfig}
+ * by system property before it is loaded.
+ *
+ * @author Nacos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceStorageBenchmark {
+    
+    @Param({"10", "1000", "10000"})
+    public int instanceCount;
+    
+    @Param({"false", "true"})
+    public boolean incrementalPushData;
+    
+    private Service service;
+    
+    private ServiceStorage serviceStorage;
+    
+    private String[] clientIds;
+    
+    private int changedIndex;
+    
+    @Setup
+    public void setUp() {
+        System.setProperty(PushConstants.INCREMENTAL_PUSH_DATA, String.valueOf(incrementalPushData));
+        EnvUtil.setEnvironment(new StandardEnvironment());
+        service = ServiceManager.getInstance().getSingleton(Service.newService("public", "DEFAULT_GROUP", "benchmark"));
+        ClientServiceIndexesManager serviceIndexesManager = new ClientServiceIndexesManager();
+        final Map<String, Client> clients = new HashMap<>(instanceCount);
+        clientIds = new String[instanceCount];
+        for (int i = 0; i < instanceCount; i++) {
+            String ip = "10.0." + (i >> 8) + "." + (i & 0xFF);
+            clientIds[i] = System.currentTimeMillis() + "_" + ip + "_" + i;
+            Client client = new ConnectionBasedClient(clientIds[i], true);
+            InstancePublishInfo instance = new InstancePublishInfo(ip, 8080);
+            instance.setCluster("DEFAULT");
+            client.addServiceInstance(service, instance);
+            clients.put(clientIds[i], client);
+            serviceIndexesManager
+                    .onEvent(new ClientOperationEvent.ClientRegisterServiceEvent(service, clientIds[i]));
+        }
+        ClientManagerDelegate clientManager = new ClientManagerDelegate(null, null, null) {
+            @Override
+            public Client getClient(String clientId) {
+                return clients.get(clientId);
+            }
+        };
+        serviceStorage = new ServiceStorage(serviceIndexesManager, clientManager, new SwitchDomain(),
+                new NamingMetadataManager());
+        serviceStorage.getPushData(service);
+    }
+    
+    /**
+     * Build push data without any change of service.
+     */
+    @Benchmark
+    public Object getPushData() {
+        return serviceStorage.getPushData(service);
+    }
+    
+    /**
+     * Build push data after one client of service changed.
+     */
+    @Benchmark
+    public Object getPushDataAfterClientChanged() {
+        String clientId = clientIds[changedIndex++ % clientIds.length];
+        serviceStorage.onEvent(new ServiceEvent.ServiceChangedEvent(service, clientId, true));
+        return serviceStorage.getPushData(service);
+    }
+}
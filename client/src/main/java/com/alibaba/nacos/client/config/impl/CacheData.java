@@ -38,6 +38,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -103,6 +104,11 @@ public class CacheData {
      */
     private volatile boolean isSyncWithServer = false;
     
+    /**
+     * if is cache data waiting in the listen queue of client worker.
+     */
+    private final AtomicBoolean isListenQueued = new AtomicBoolean(false);
+    
     private String type;
     
     public boolean isInitializing() {
@@ -387,6 +393,19 @@ public class CacheData {
         isSyncWithServer = syncWithServer;
     }
     
+    /**
+     * Mark cache data queued to listen.
+     *
+     * @return true if not queued before
+     */
+    boolean markListenQueued() {
+        return isListenQueued.compareAndSet(false, true);
+    }
+    
+    void clearListenQueued() {
+        isListenQueued.set(false);
+    }
+    
     public CacheData(ConfigFilterChainManager configFilterChainManager, String name, String dataId, String group) {
         if (null == dataId || null == group) {
             throw new IllegalArgumentException("dataId=" + dataId + ", group=" + group);
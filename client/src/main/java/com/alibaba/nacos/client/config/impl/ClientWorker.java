@@ -57,6 +57,7 @@ import com.alibaba.nacos.common.remote.client.ConnectionEventListener;
 import com.alibaba.nacos.common.remote.client.RpcClient;
 import com.alibaba.nacos.common.remote.client.RpcClientFactory;
 import com.alibaba.nacos.common.remote.client.ServerListFactory;
+import com.alibaba.nacos.common.remote.client.grpc.codec.BinaryPayloadCodec;
 import com.alibaba.nacos.common.utils.ConvertUtils;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 import com.alibaba.nacos.common.utils.MD5Utils;
@@ -68,18 +69,22 @@ import com.google.gson.JsonObject;
 import org.slf4j.Logger;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -116,6 +121,18 @@ public class ClientWorker implements Closeable {
     private final AtomicReference<Map<String, CacheData>> cacheMap = new AtomicReference<Map<String, CacheData>>(
             new HashMap<String, CacheData>());
     
+    /**
+     * caches whose listeners, md5 or sync state changed, only these are listened by the next listen execution.
+     */
+    private final Queue<CacheData> listenDirtyCaches = new ConcurrentLinkedQueue<CacheData>();
+    
+    /**
+     * caches whose listeners are not consistent with cache md5 after notified, checked again by the next listen
+     * execution until consistent. Only accessed by the listen execution.
+     */
+    private final Set<CacheData> notifyCheckCaches = Collections
+            .newSetFromMap(new IdentityHashMap<CacheData, Boolean>(16));
+    
     private final ConfigFilterChainManager configFilterChainManager;
     
     private boolean isHealthServer = true;
@@ -145,7 +162,7 @@ public class ClientWorker implements Closeable {
             for (Listener listener : listeners) {
                 cache.addListener(listener);
             }
-            cache.setSyncWithServer(false);
+            markListenDirty(cache);
             agent.notifyListenConfig();
             
         }
@@ -168,7 +185,7 @@ public class ClientWorker implements Closeable {
             for (Listener listener : listeners) {
                 cache.addListener(listener);
             }
-            cache.setSyncWithServer(false);
+            markListenDirty(cache);
             agent.notifyListenConfig();
         }
         
@@ -193,7 +210,7 @@ public class ClientWorker implements Closeable {
             for (Listener listener : listeners) {
                 cache.addListener(listener);
             }
-            cache.setSyncWithServer(false);
+            markListenDirty(cache);
             agent.notifyListenConfig();
         }
         
@@ -213,7 +230,7 @@ public class ClientWorker implements Closeable {
             synchronized (cache) {
                 cache.removeListener(listener);
                 if (cache.getListeners().isEmpty()) {
-                    cache.setSyncWithServer(false);
+                    markListenDirty(cache);
                     agent.removeCache(dataId, group);
                 }
             }
@@ -236,13 +253,37 @@ public class ClientWorker implements Closeable {
             synchronized (cache) {
                 cache.removeListener(listener);
                 if (cache.getListeners().isEmpty()) {
-                    cache.setSyncWithServer(false);
+                    markListenDirty(cache);
                     agent.removeCache(dataId, group);
                 }
             }
         }
     }
     
+    /**
+     * Mark the cache not sync with server and queue it to the next listen execution.
+     *
+     * @param cache cache data
+     */
+    private void markListenDirty(CacheData cache) {
+        cache.setSyncWithServer(false);
+        if (cache.markListenQueued()) {
+            listenDirtyCaches.offer(cache);
+        }
+    }
+    
+    /**
+     * Notify listeners whose md5 is not consistent with cache, keep checking next time if still not consistent.
+     *
+     * @param cache cache data
+     */
+    private void checkListenerMd5(CacheData cache) {
+        cache.checkListenerMd5();
+        if (!cache.checkListenersMd5Consistent()) {
+            notifyCheckCaches.add(cache);
+        }
+    }
+    
     private void removeCache(String dataId, String group) {
         String groupKey = GroupKey.getKey(dataId, group);
         synchronized (cacheMap) {
@@ -473,13 +514,6 @@ public class ClientWorker implements Closeable {
         
     }
     
-    private void refreshContentAndCheck(String groupKey, boolean notify) {
-        if (cacheMap.get() != null && cacheMap.get().containsKey(groupKey)) {
-            CacheData cache = cacheMap.get().get(groupKey);
-            refreshContentAndCheck(cache, notify);
-        }
-    }
-    
     private void refreshContentAndCheck(CacheData cacheData, boolean notify) {
         try {
             ConfigResponse response = getServerConfig(cacheData.dataId, cacheData.group, cacheData.tenant, 3000L,
@@ -494,7 +528,7 @@ public class ClientWorker implements Closeable {
                         agent.getName(), cacheData.dataId, cacheData.group, cacheData.tenant, cacheData.getMd5(),
                         ContentUtils.truncateContent(response.getContent()), response.getConfigType());
             }
-            cacheData.checkListenerMd5();
+            checkListenerMd5(cacheData);
         } catch (Exception e) {
             LOGGER.error("refresh content and check md5 fail ,dataId={},group={},tenant={} ", cacheData.dataId,
                     cacheData.group, cacheData.tenant, e);
@@ -579,13 +613,40 @@ public class ClientWorker implements Closeable {
         
         private long lastAllSyncTime = System.currentTimeMillis();
         
+        /**
+         * caches of current all sync round, only accessed by listen execution.
+         */
+        private CacheData[] allSyncCaches = new CacheData[0];
+        
+        private int allSyncCursor;
+        
+        private long nextAllSyncBatchTime;
+        
         /**
          * 5 minutes to check all listen cache keys.
          */
         private static final long ALL_SYNC_INTERNAL = 5 * 60 * 1000L;
         
+        /**
+         * batches to check all listen cache keys in one all sync internal.
+         */
+        private static final int ALL_SYNC_BATCHES = 60;
+        
+        private static final int DEFAULT_RPC_POOL_MAX_IN_FLIGHT = 256;
+        
+        /**
+         * connections of each rpc client to query configs, connection pool is disabled if not greater than 1.
+         */
+        private final int rpcPoolSize;
+        
+        private final int rpcPoolMaxInFlight;
+        
         public ConfigRpcTransportClient(Properties properties, ServerListManager serverListManager) {
             super(properties, serverListManager);
+            this.rpcPoolSize = ConvertUtils.toInt(properties.getProperty(PropertyKeyConst.CONFIG_RPC_POOL_SIZE), 1);
+            this.rpcPoolMaxInFlight = ConvertUtils
+                    .toInt(properties.getProperty(PropertyKeyConst.CONFIG_RPC_POOL_MAX_IN_FLIGHT),
+                            DEFAULT_RPC_POOL_MAX_IN_FLIGHT);
         }
         
         private ConnectionType getConnectionType() {
@@ -647,18 +708,14 @@ public class ClientWorker implements Closeable {
                     LOGGER.info("[{}] [server-push] config changed. dataId={}, group={},tenant={}",
                             rpcClientInner.getName(), configChangeNotifyRequest.getDataId(),
                             configChangeNotifyRequest.getGroup(), configChangeNotifyRequest.getTenant());
-                    String groupKey = GroupKey
-                            .getKeyTenant(configChangeNotifyRequest.getDataId(), configChangeNotifyRequest.getGroup(),
-                                    configChangeNotifyRequest.getTenant());
-                    
-                    CacheData cacheData = cacheMap.get().get(groupKey);
-                    if (cacheData != null) {
-                        synchronized (cacheData) {
-                            cacheData.getLastModifiedTs().set(System.currentTimeMillis());
-                            cacheData.setSyncWithServer(false);
-                            notifyListenConfig();
+                    if (null == configChangeNotifyRequest.getChangedConfigs()) {
+                        markConfigChanged(configChangeNotifyRequest.getDataId(), configChangeNotifyRequest.getGroup(),
+                                configChangeNotifyRequest.getTenant());
+                    } else {
+                        for (ConfigChangeBatchListenResponse.ConfigContext each : configChangeNotifyRequest
+                                .getChangedConfigs()) {
+                            markConfigChanged(each.getDataId(), each.getGroup(), each.getTenant());
                         }
-                        
                     }
                     return new ConfigChangeNotifyResponse();
                 }
@@ -691,10 +748,10 @@ public class ClientWorker implements Closeable {
                     for (CacheData cacheData : values) {
                         if (StringUtils.isNotBlank(taskId)) {
                             if (Integer.valueOf(taskId).equals(cacheData.getTaskId())) {
-                                cacheData.setSyncWithServer(false);
+                                markListenDirty(cacheData);
                             }
                         } else {
-                            cacheData.setSyncWithServer(false);
+                            markListenDirty(cacheData);
                         }
                     }
                 }
@@ -768,163 +825,217 @@ public class ClientWorker implements Closeable {
         @Override
         public void executeConfigListen() {
             
-            Map<String, List<CacheData>> listenCachesMap = new HashMap<String, List<CacheData>>(16);
-            Map<String, List<CacheData>> removeListenCachesMap = new HashMap<String, List<CacheData>>(16);
-            long now = System.currentTimeMillis();
-            boolean needAllSync = now - lastAllSyncTime >= ALL_SYNC_INTERNAL;
-            for (CacheData cache : cacheMap.get().values()) {
-                
-                synchronized (cache) {
-                    
-                    //check local listeners consistent.
-                    if (cache.isSyncWithServer()) {
-                        cache.checkListenerMd5();
-                        if (!needAllSync) {
-                            continue;
-                        }
-                    }
-                    
-                    if (!CollectionUtils.isEmpty(cache.getListeners())) {
-                        //get listen  config
-                        if (!cache.isUseLocalConfigInfo()) {
-                            List<CacheData> cacheDatas = listenCachesMap.get(String.valueOf(cache.getTaskId()));
-                            if (cacheDatas == null) {
-                                cacheDatas = new LinkedList<CacheData>();
-                                listenCachesMap.put(String.valueOf(cache.getTaskId()), cacheDatas);
-                            }
-                            cacheDatas.add(cache);
-                            
-                        }
-                    } else if (CollectionUtils.isEmpty(cache.getListeners())) {
-                        
-                        if (!cache.isUseLocalConfigInfo()) {
-                            List<CacheData> cacheDatas = removeListenCachesMap.get(String.valueOf(cache.getTaskId()));
-                            if (cacheDatas == null) {
-                                cacheDatas = new LinkedList<CacheData>();
-                                removeListenCachesMap.put(String.valueOf(cache.getTaskId()), cacheDatas);
-                            }
-                            cacheDatas.add(cache);
-                            
-                        }
-                    }
+            Map<Integer, List<CacheData>> listenCachesMap = new HashMap<Integer, List<CacheData>>(4);
+            Map<Integer, List<CacheData>> removeListenCachesMap = new HashMap<Integer, List<CacheData>>(4);
+            
+            //check local listeners consistent.
+            Iterator<CacheData> notifyCheckIterator = notifyCheckCaches.iterator();
+            while (notifyCheckIterator.hasNext()) {
+                CacheData cache = notifyCheckIterator.next();
+                if (!cache.isSyncWithServer() || cache.checkListenersMd5Consistent()) {
+                    notifyCheckIterator.remove();
+                } else {
+                    cache.checkListenerMd5();
                 }
-                
+            }
+            
+            // cache -> whether listen it even if sync with server.
+            Map<CacheData, Boolean> candidates = new IdentityHashMap<CacheData, Boolean>(16);
+            CacheData dirtyCache;
+            while ((dirtyCache = listenDirtyCaches.poll()) != null) {
+                dirtyCache.clearListenQueued();
+                candidates.put(dirtyCache, Boolean.FALSE);
+            }
+            for (CacheData cache : nextAllSyncBatch()) {
+                candidates.put(cache, Boolean.TRUE);
+            }
+            for (Map.Entry<CacheData, Boolean> entry : candidates.entrySet()) {
+                collectListenCache(entry.getKey(), entry.getValue(), listenCachesMap, removeListenCachesMap);
             }
             
             boolean hasChangedKeys = false;
             
-            if (!listenCachesMap.isEmpty()) {
-                for (Map.Entry<String, List<CacheData>> entry : listenCachesMap.entrySet()) {
-                    String taskId = entry.getKey();
-                    Map<String, Long> timestampMap = new HashMap<>(listenCachesMap.size() * 2);
-                    
-                    List<CacheData> listenCaches = entry.getValue();
-                    for (CacheData cacheData : listenCaches) {
-                        timestampMap.put(GroupKey.getKeyTenant(cacheData.dataId, cacheData.group, cacheData.tenant),
-                                cacheData.getLastModifiedTs().longValue());
-                    }
-                    
-                    ConfigBatchListenRequest configChangeListenRequest = buildConfigRequest(listenCaches);
-                    configChangeListenRequest.setListen(true);
-                    try {
-                        RpcClient rpcClient = ensureRpcClient(taskId);
-                        ConfigChangeBatchListenResponse configChangeBatchListenResponse = (ConfigChangeBatchListenResponse) requestProxy(
-                                rpcClient, configChangeListenRequest);
-                        if (configChangeBatchListenResponse != null && configChangeBatchListenResponse.isSuccess()) {
-                            
-                            Set<String> changeKeys = new HashSet<String>();
-                            //handle changed keys,notify listener
-                            if (!CollectionUtils.isEmpty(configChangeBatchListenResponse.getChangedConfigs())) {
-                                hasChangedKeys = true;
-                                for (ConfigChangeBatchListenResponse.ConfigContext changeConfig : configChangeBatchListenResponse
-                                        .getChangedConfigs()) {
-                                    String changeKey = GroupKey
-                                            .getKeyTenant(changeConfig.getDataId(), changeConfig.getGroup(),
-                                                    changeConfig.getTenant());
-                                    changeKeys.add(changeKey);
-                                    boolean isInitializing = cacheMap.get().get(changeKey).isInitializing();
-                                    refreshContentAndCheck(changeKey, !isInitializing);
+            for (Map.Entry<Integer, List<CacheData>> entry : listenCachesMap.entrySet()) {
+                String taskId = String.valueOf(entry.getKey());
+                List<CacheData> listenCaches = entry.getValue();
+                long[] timestamps = new long[listenCaches.size()];
+                for (int i = 0; i < timestamps.length; i++) {
+                    timestamps[i] = listenCaches.get(i).getLastModifiedTs().longValue();
+                }
+                
+                ConfigBatchListenRequest configChangeListenRequest = buildConfigRequest(listenCaches);
+                configChangeListenRequest.setListen(true);
+                boolean success = false;
+                try {
+                    RpcClient rpcClient = ensureRpcClient(taskId);
+                    ConfigChangeBatchListenResponse configChangeBatchListenResponse = (ConfigChangeBatchListenResponse) requestProxy(
+                            rpcClient, configChangeListenRequest);
+                    if (configChangeBatchListenResponse != null && configChangeBatchListenResponse.isSuccess()) {
+                        success = true;
+                        Set<CacheData> changeCaches = Collections
+                                .newSetFromMap(new IdentityHashMap<CacheData, Boolean>(16));
+                        //handle changed keys,notify listener
+                        if (!CollectionUtils.isEmpty(configChangeBatchListenResponse.getChangedConfigs())) {
+                            hasChangedKeys = true;
+                            for (ConfigChangeBatchListenResponse.ConfigContext changeConfig : configChangeBatchListenResponse
+                                    .getChangedConfigs()) {
+                                String changeKey = GroupKey
+                                        .getKeyTenant(changeConfig.getDataId(), changeConfig.getGroup(),
+                                                changeConfig.getTenant());
+                                CacheData changeCache = cacheMap.get().get(changeKey);
+                                if (changeCache == null) {
+                                    continue;
                                 }
-                                
+                                changeCaches.add(changeCache);
+                                refreshContentAndCheck(changeCache, !changeCache.isInitializing());
+                                // listen again with the refreshed md5.
+                                markListenDirty(changeCache);
                             }
-                            
-                            //handler content configs
-                            for (CacheData cacheData : listenCaches) {
-                                String groupKey = GroupKey
-                                        .getKeyTenant(cacheData.dataId, cacheData.group, cacheData.getTenant());
-                                if (!changeKeys.contains(groupKey)) {
-                                    //sync:cache data md5 = server md5 && cache data md5 = all listeners md5.
-                                    synchronized (cacheData) {
-                                        if (!cacheData.getListeners().isEmpty()) {
-                                            
-                                            Long previousTimesStamp = timestampMap.get(groupKey);
-                                            if (previousTimesStamp != null) {
-                                                if (!cacheData.getLastModifiedTs().compareAndSet(previousTimesStamp,
-                                                        System.currentTimeMillis())) {
-                                                    continue;
-                                                }
-                                            }
-                                            cacheData.setSyncWithServer(true);
+                        }
+                        
+                        //handler content configs
+                        for (int i = 0; i < timestamps.length; i++) {
+                            CacheData cacheData = listenCaches.get(i);
+                            if (!changeCaches.contains(cacheData)) {
+                                //sync:cache data md5 = server md5 && cache data md5 = all listeners md5.
+                                synchronized (cacheData) {
+                                    if (!cacheData.getListeners().isEmpty()) {
+                                        // changed again while listening, it is queued to listen again.
+                                        if (!cacheData.getLastModifiedTs()
+                                                .compareAndSet(timestamps[i], System.currentTimeMillis())) {
+                                            continue;
                                         }
+                                        cacheData.setSyncWithServer(true);
+                                        checkListenerMd5(cacheData);
                                     }
                                 }
-                                
-                                cacheData.setInitializing(false);
                             }
                             
+                            cacheData.setInitializing(false);
                         }
-                    } catch (Exception e) {
                         
-                        LOGGER.error("Async listen config change error ", e);
-                        try {
-                            Thread.sleep(50L);
-                        } catch (InterruptedException interruptedException) {
-                            //ignore
-                        }
+                    }
+                } catch (Exception e) {
+                    
+                    LOGGER.error("Async listen config change error ", e);
+                    try {
+                        Thread.sleep(50L);
+                    } catch (InterruptedException interruptedException) {
+                        //ignore
+                    }
+                }
+                if (!success) {
+                    for (CacheData cacheData : listenCaches) {
+                        markListenDirty(cacheData);
                     }
                 }
             }
             
-            if (!removeListenCachesMap.isEmpty()) {
-                for (Map.Entry<String, List<CacheData>> entry : removeListenCachesMap.entrySet()) {
-                    String taskId = entry.getKey();
-                    List<CacheData> removeListenCaches = entry.getValue();
-                    ConfigBatchListenRequest configChangeListenRequest = buildConfigRequest(removeListenCaches);
-                    configChangeListenRequest.setListen(false);
-                    try {
-                        RpcClient rpcClient = ensureRpcClient(taskId);
-                        boolean removeSuccess = unListenConfigChange(rpcClient, configChangeListenRequest);
-                        if (removeSuccess) {
-                            for (CacheData cacheData : removeListenCaches) {
-                                synchronized (cacheData) {
-                                    if (cacheData.getListeners().isEmpty()) {
-                                        ClientWorker.this
-                                                .removeCache(cacheData.dataId, cacheData.group, cacheData.tenant);
-                                    }
+            for (Map.Entry<Integer, List<CacheData>> entry : removeListenCachesMap.entrySet()) {
+                String taskId = String.valueOf(entry.getKey());
+                List<CacheData> removeListenCaches = entry.getValue();
+                ConfigBatchListenRequest configChangeListenRequest = buildConfigRequest(removeListenCaches);
+                configChangeListenRequest.setListen(false);
+                boolean removeSuccess = false;
+                try {
+                    RpcClient rpcClient = ensureRpcClient(taskId);
+                    removeSuccess = unListenConfigChange(rpcClient, configChangeListenRequest);
+                    if (removeSuccess) {
+                        for (CacheData cacheData : removeListenCaches) {
+                            synchronized (cacheData) {
+                                if (cacheData.getListeners().isEmpty()) {
+                                    ClientWorker.this.removeCache(cacheData.dataId, cacheData.group, cacheData.tenant);
                                 }
                             }
                         }
-                        
-                    } catch (Exception e) {
-                        LOGGER.error("async remove listen config change error ", e);
                     }
-                    try {
-                        Thread.sleep(50L);
-                    } catch (InterruptedException interruptedException) {
-                        //ignore
+                    
+                } catch (Exception e) {
+                    LOGGER.error("async remove listen config change error ", e);
+                }
+                if (!removeSuccess) {
+                    for (CacheData cacheData : removeListenCaches) {
+                        markListenDirty(cacheData);
                     }
                 }
+                try {
+                    Thread.sleep(50L);
+                } catch (InterruptedException interruptedException) {
+                    //ignore
+                }
             }
             
-            if (needAllSync) {
-                lastAllSyncTime = now;
-            }
             //If has changed keys,notify re sync md5.
             if (hasChangedKeys) {
                 notifyListenConfig();
             }
         }
         
+        /**
+         * Group the cache to listen or remove listen by task id.
+         *
+         * <p>A cache using local failover content is skipped and dropped from the dirty queue, so after the failover
+         * content is removed it is listened again only by the next full sync, which may take up to {@link
+         * #ALL_SYNC_INTERNAL}.
+         *
+         * @param cache                 cache data
+         * @param allSync               whether listen the cache even if it is sync with server
+         * @param listenCachesMap       taskId -> caches to listen
+         * @param removeListenCachesMap taskId -> caches to remove listen
+         */
+        private void collectListenCache(CacheData cache, boolean allSync, Map<Integer, List<CacheData>> listenCachesMap,
+                Map<Integer, List<CacheData>> removeListenCachesMap) {
+            synchronized (cache) {
+                if (cache.isSyncWithServer()) {
+                    checkListenerMd5(cache);
+                    if (!allSync) {
+                        return;
+                    }
+                }
+                if (cache.isUseLocalConfigInfo()) {
+                    // not queued again, rechecked by the full sync.
+                    return;
+                }
+                Map<Integer, List<CacheData>> target = cache.getListeners().isEmpty() ? removeListenCachesMap
+                        : listenCachesMap;
+                List<CacheData> cacheDatas = target.get(cache.getTaskId());
+                if (cacheDatas == null) {
+                    cacheDatas = new ArrayList<CacheData>();
+                    target.put(cache.getTaskId(), cacheDatas);
+                }
+                cacheDatas.add(cache);
+            }
+        }
+        
+        /**
+         * Get the next batch of caches to sync with server. All caches are synced once in every {@link
+         * #ALL_SYNC_INTERNAL}, split into {@link #ALL_SYNC_BATCHES} batches so one listen execution only sync a small
+         * part of them.
+         *
+         * @return caches to sync
+         */
+        private List<CacheData> nextAllSyncBatch() {
+            long now = System.currentTimeMillis();
+            if (allSyncCursor >= allSyncCaches.length) {
+                if (now - lastAllSyncTime < ALL_SYNC_INTERNAL) {
+                    return Collections.emptyList();
+                }
+                allSyncCaches = cacheMap.get().values().toArray(new CacheData[0]);
+                allSyncCursor = 0;
+                lastAllSyncTime = now;
+                nextAllSyncBatchTime = now;
+            }
+            if (now < nextAllSyncBatchTime) {
+                return Collections.emptyList();
+            }
+            nextAllSyncBatchTime = now + ALL_SYNC_INTERNAL / ALL_SYNC_BATCHES;
+            int batchSize = (allSyncCaches.length + ALL_SYNC_BATCHES - 1) / ALL_SYNC_BATCHES;
+            int end = Math.min(allSyncCaches.length, allSyncCursor + batchSize);
+            List<CacheData> result = Arrays.asList(allSyncCaches).subList(allSyncCursor, end);
+            allSyncCursor = end;
+            return result;
+        }
+        
         private RpcClient ensureRpcClient(String taskId) throws NacosException {
             synchronized (ClientWorker.this) {
                 
@@ -938,6 +1049,11 @@ public class ClientWorker implements Closeable {
                     initRpcClientHandler(rpcClient);
                     rpcClient.setTenant(getTenant());
                     rpcClient.clientAbilities(initAbilities());
+                    if (rpcPoolSize > 1) {
+                        // config query is stateless on server, so it can be sent by any connection of the pool.
+                        rpcClient.connectionPool(rpcPoolSize, rpcPoolMaxInFlight,
+                                Collections.singletonList(ConfigQueryRequest.class));
+                    }
                     rpcClient.start();
                 }
                 
@@ -946,10 +1062,24 @@ public class ClientWorker implements Closeable {
             
         }
         
+        private void markConfigChanged(String dataId, String group, String tenant) {
+            String groupKey = GroupKey.getKeyTenant(dataId, group, tenant);
+            CacheData cacheData = cacheMap.get().get(groupKey);
+            if (cacheData != null) {
+                synchronized (cacheData) {
+                    cacheData.getLastModifiedTs().set(System.currentTimeMillis());
+                    markListenDirty(cacheData);
+                    notifyListenConfig();
+                }
+            }
+        }
+        
         private ClientAbilities initAbilities() {
             ClientAbilities clientAbilities = new ClientAbilities();
             clientAbilities.getRemoteAbility().setSupportRemoteConnection(true);
+            clientAbilities.getRemoteAbility().setBinaryCodecVersion(BinaryPayloadCodec.VERSION);
             clientAbilities.getConfigAbility().setSupportRemoteMetrics(true);
+            clientAbilities.getConfigAbility().setSupportBatchChangeNotify(true);
             return clientAbilities;
         }
         
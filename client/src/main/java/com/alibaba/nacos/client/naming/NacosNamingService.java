@@ -359,7 +359,7 @@ public class NacosNamingService implements NamingService {
             if (null == serviceInfo) {
                 serviceInfo = clientProxy.subscribe(serviceName, groupName, clusterString);
             }
-            return Balancer.RandomByWeight.selectHost(serviceInfo);
+            return Balancer.RandomByWeight.selectHost(serviceInfo, serviceInfoHolder.getHostChooser(serviceInfo));
         } else {
             ServiceInfo serviceInfo = clientProxy
                     .queryInstancesOfService(serviceName, groupName, clusterString, 0, false);
@@ -20,10 +20,13 @@ import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.utils.NamingUtils;
 import com.alibaba.nacos.client.monitor.MetricsMonitor;
 import com.alibaba.nacos.client.naming.backups.FailoverReactor;
 import com.alibaba.nacos.client.naming.event.InstancesChangeEvent;
+import com.alibaba.nacos.client.naming.utils.AliasChooser;
+import com.alibaba.nacos.client.naming.utils.Pair;
 import com.alibaba.nacos.common.lifecycle.Closeable;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.utils.ConvertUtils;
@@ -34,6 +37,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -60,6 +64,17 @@ public class ServiceInfoHolder implements Closeable {
     
     private final ConcurrentMap<String, ServiceInfo> serviceInfoMap;
     
+    /**
+     * The revision of service info last pushed by server, only recorded for servers supporting delta push.
+     */
+    private final ConcurrentMap<String, Long> pushRevisionMap = new ConcurrentHashMap<String, Long>(16);
+    
+    /**
+     * The healthy host chooser of service info, built when service info is accepted and keyed by the service info.
+     */
+    private final ConcurrentMap<String, AliasChooser<ServiceInfo, Instance>> hostChooserMap
+            = new ConcurrentHashMap<String, AliasChooser<ServiceInfo, Instance>>(16);
+    
     private final FailoverReactor failoverReactor;
     
     private final boolean pushEmptyProtection;
@@ -118,6 +133,20 @@ public class ServiceInfoHolder implements Closeable {
         return serviceInfoMap;
     }
     
+    /**
+     * Get the healthy host chooser built for the service info.
+     *
+     * @param serviceInfo service info
+     * @return host chooser, or null if the service info is not the one accepted by this holder
+     */
+    public AliasChooser<ServiceInfo, Instance> getHostChooser(ServiceInfo serviceInfo) {
+        if (null == serviceInfo || null == serviceInfo.getKey()) {
+            return null;
+        }
+        AliasChooser<ServiceInfo, Instance> result = hostChooserMap.get(serviceInfo.getKey());
+        return null != result && result.getUniqueKey() == serviceInfo ? result : null;
+    }
+    
     public ServiceInfo getServiceInfo(final String serviceName, final String groupName, final String clusters) {
         NAMING_LOGGER.debug("failover-mode: " + failoverReactor.isFailoverSwitch());
         String groupedServiceName = NamingUtils.getGroupedName(serviceName, groupName);
@@ -157,12 +186,15 @@ public class ServiceInfoHolder implements Closeable {
             return oldService;
         }
         serviceInfoMap.put(serviceInfo.getKey(), serviceInfo);
+        hostChooserMap.put(serviceKey, buildHostChooser(serviceInfo));
         boolean changed = isChangedServiceInfo(oldService, serviceInfo);
         if (StringUtils.isBlank(serviceInfo.getJsonFromServer())) {
             serviceInfo.setJsonFromServer(JacksonUtils.toJson(serviceInfo));
         }
         MetricsMonitor.getServiceInfoMapSizeMonitor().set(serviceInfoMap.size());
         if (changed) {
+            // the last pushed revision doesn't match current service info anymore
+            pushRevisionMap.remove(serviceKey);
             NAMING_LOGGER.info("current ips:(" + serviceInfo.ipCount() + ") service: " + serviceInfo.getKey() + " -> "
                     + JacksonUtils.toJson(serviceInfo.getHosts()));
             NotifyCenter.publishEvent(new InstancesChangeEvent(serviceInfo.getName(), serviceInfo.getGroupName(),
@@ -172,6 +204,89 @@ public class ServiceInfoHolder implements Closeable {
         return serviceInfo;
     }
     
+    private AliasChooser<ServiceInfo, Instance> buildHostChooser(ServiceInfo serviceInfo) {
+        List<Pair<Instance>> hostsWithWeight = new ArrayList<Pair<Instance>>(serviceInfo.ipCount());
+        for (Instance each : serviceInfo.getHosts()) {
+            if (each.isHealthy()) {
+                hostsWithWeight.add(new Pair<Instance>(each, each.getWeight()));
+            }
+        }
+        return new AliasChooser<ServiceInfo, Instance>(serviceInfo, hostsWithWeight);
+    }
+    
+    /**
+     * Process service info pushed by server with revision.
+     *
+     * @param serviceInfo new service info
+     * @param revision    revision of new service info
+     * @return service info
+     */
+    public synchronized ServiceInfo processServiceInfo(ServiceInfo serviceInfo, long revision) {
+        ServiceInfo result = processServiceInfo(serviceInfo);
+        updatePushRevision(serviceInfo, result, revision);
+        return result;
+    }
+    
+    /**
+     * Apply the instances delta pushed by server to the current service info.
+     *
+     * <p>The delta can only be applied when its base revision equals the revision of current service info, otherwise
+     * nothing changes and {@code null} is returned so that server should push full service info.
+     *
+     * @param request delta push request
+     * @return service info after delta applied, or {@code null} if revision mismatch
+     */
+    public synchronized ServiceInfo processServiceInfoDelta(NotifySubscriberRequest request) {
+        ServiceInfo serviceInfo = request.getServiceInfo();
+        String serviceKey = null == serviceInfo ? null : serviceInfo.getKey();
+        if (null == serviceKey) {
+            return null;
+        }
+        ServiceInfo oldService = serviceInfoMap.get(serviceKey);
+        Long currentRevision = pushRevisionMap.get(serviceKey);
+        if (null == oldService || null == currentRevision || currentRevision != request.getBaseRevision()) {
+            NAMING_LOGGER.warn("[DELTA-PUSH] revision mismatch for service {}, current revision {}, base revision {}",
+                    serviceKey, currentRevision, request.getBaseRevision());
+            pushRevisionMap.remove(serviceKey);
+            return null;
+        }
+        Map<String, Instance> hosts = new LinkedHashMap<String, Instance>(oldService.getHosts().size());
+        putInstances(hosts, oldService.getHosts());
+        if (null != request.getRemovedInstances()) {
+            for (Instance each : request.getRemovedInstances()) {
+                hosts.remove(NamingUtils.getInstanceKey(each));
+            }
+        }
+        putInstances(hosts, request.getAddedInstances());
+        putInstances(hosts, request.getModifiedInstances());
+        serviceInfo.setHosts(new ArrayList<Instance>(hosts.values()));
+        ServiceInfo result = processServiceInfo(serviceInfo);
+        updatePushRevision(serviceInfo, result, request.getRevision());
+        return result;
+    }
+    
+    private void putInstances(Map<String, Instance> hosts, List<Instance> instances) {
+        if (null == instances) {
+            return;
+        }
+        for (Instance each : instances) {
+            hosts.put(NamingUtils.getInstanceKey(each), each);
+        }
+    }
+    
+    private void updatePushRevision(ServiceInfo serviceInfo, ServiceInfo result, long revision) {
+        String serviceKey = serviceInfo.getKey();
+        if (null == serviceKey) {
+            return;
+        }
+        if (result == serviceInfo) {
+            pushRevisionMap.put(serviceKey, revision);
+        } else {
+            // new service info is ignored, the revision can't be used as base of delta anymore
+            pushRevisionMap.remove(serviceKey);
+        }
+    }
+    
     private boolean isEmptyOrErrorPush(ServiceInfo serviceInfo) {
         return null == serviceInfo.getHosts() || (pushEmptyProtection && !serviceInfo.validate());
     }
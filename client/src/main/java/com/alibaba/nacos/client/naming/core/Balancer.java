@@ -18,6 +18,7 @@ package com.alibaba.nacos.client.naming.core;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.client.naming.utils.AliasChooser;
 import com.alibaba.nacos.client.naming.utils.Chooser;
 import com.alibaba.nacos.client.naming.utils.CollectionUtils;
 import com.alibaba.nacos.client.naming.utils.Pair;
@@ -68,6 +69,26 @@ public class Balancer {
             
             return getHostByRandomWeight(hosts);
         }
+    
+        /**
+         * Random select one instance from service by the prebuilt host chooser of service.
+         *
+         * <p>Selection by host chooser takes O(1) time. If chooser is absent or there is no healthy host in chooser,
+         * it falls back to {@link #selectHost(ServiceInfo)}.
+         *
+         * @param dom     service
+         * @param chooser host chooser built for service, nullable
+         * @return random instance
+         */
+        public static Instance selectHost(ServiceInfo dom, AliasChooser<ServiceInfo, Instance> chooser) {
+            if (null != chooser) {
+                Instance result = chooser.randomWithWeight();
+                if (null != result) {
+                    return result;
+                }
+            }
+            return selectHost(dom);
+        }
     }
     
     /**
@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.ability.ClientAbilities;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.CommonParams;
 import com.alibaba.nacos.api.naming.pojo.Instance;
@@ -48,6 +49,7 @@ import com.alibaba.nacos.common.remote.ConnectionType;
 import com.alibaba.nacos.common.remote.client.RpcClient;
 import com.alibaba.nacos.common.remote.client.RpcClientFactory;
 import com.alibaba.nacos.common.remote.client.ServerListFactory;
+import com.alibaba.nacos.common.remote.client.grpc.codec.BinaryPayloadCodec;
 import com.alibaba.nacos.common.utils.JacksonUtils;
 
 import java.util.HashMap;
@@ -93,10 +95,19 @@ public class NamingGrpcClientProxy extends AbstractNamingClientProxy {
         rpcClient.serverListFactory(serverListFactory);
         rpcClient.registerConnectionListener(redoService);
         rpcClient.registerServerRequestHandler(new NamingPushRequestHandler(serviceInfoHolder));
+        rpcClient.clientAbilities(initAbilities());
         rpcClient.start();
         NotifyCenter.registerSubscriber(this);
     }
     
+    private ClientAbilities initAbilities() {
+        ClientAbilities clientAbilities = new ClientAbilities();
+        clientAbilities.getRemoteAbility().setSupportRemoteConnection(true);
+        clientAbilities.getRemoteAbility().setBinaryCodecVersion(BinaryPayloadCodec.VERSION);
+        clientAbilities.getNamingAbility().setSupportDeltaPush(true);
+        return clientAbilities;
+    }
+    
     @Override
     public void onEvent(ServerListChangedEvent event) {
         rpcClient.onServerListChange();
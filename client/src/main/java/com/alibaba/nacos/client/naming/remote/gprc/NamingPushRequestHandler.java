@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.naming.NamingResponseCode;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
 import com.alibaba.nacos.api.remote.request.Request;
@@ -40,9 +41,25 @@ public class NamingPushRequestHandler implements ServerRequestHandler {
     public Response requestReply(Request request) {
         if (request instanceof NotifySubscriberRequest) {
             NotifySubscriberRequest notifyResponse = (NotifySubscriberRequest) request;
-            serviceInfoHolder.processServiceInfo(notifyResponse.getServiceInfo());
+            if (notifyResponse.isDelta()) {
+                return handleDeltaPush(notifyResponse);
+            }
+            if (notifyResponse.getRevision() > 0) {
+                serviceInfoHolder.processServiceInfo(notifyResponse.getServiceInfo(), notifyResponse.getRevision());
+            } else {
+                serviceInfoHolder.processServiceInfo(notifyResponse.getServiceInfo());
+            }
             return new NotifySubscriberResponse();
         }
         return null;
     }
+    
+    private Response handleDeltaPush(NotifySubscriberRequest notifyResponse) {
+        NotifySubscriberResponse result = new NotifySubscriberResponse();
+        if (null == serviceInfoHolder.processServiceInfoDelta(notifyResponse)) {
+            // Let server push full service info for revision gap.
+            result.setErrorInfo(NamingResponseCode.PUSH_REVISION_MISMATCH, "revision mismatch, require full push");
+        }
+        return result;
+    }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.client.naming.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted random chooser by Walker's alias method.
+ *
+ * <p>The alias table is built once when constructing, and then each {@link #randomWithWeight()} takes O(1) time
+ * without allocating. Same as {@link Chooser}, items whose weight is not positive are ignored, infinite weight is
+ * regarded as 10000 and NaN weight is regarded as 1.
+ *
+ * @author nacos
+ */
+public class AliasChooser<K, T> {
+    
+    private static final double INFINITE_WEIGHT = 10000.0D;
+    
+    private static final double NAN_WEIGHT = 1.0D;
+    
+    private final K uniqueKey;
+    
+    private final Object[] items;
+    
+    private final double[] probabilities;
+    
+    private final int[] aliases;
+    
+    public AliasChooser(K uniqueKey, List<Pair<T>> itemsWithWeight) {
+        this.uniqueKey = uniqueKey;
+        List<T> validItems = new ArrayList<T>(itemsWithWeight.size());
+        List<Double> validWeights = new ArrayList<Double>(itemsWithWeight.size());
+        double weightSum = 0D;
+        for (Pair<T> each : itemsWithWeight) {
+            double weight = each.weight();
+            if (Double.isNaN(weight)) {
+                weight = NAN_WEIGHT;
+            }
+            if (weight <= 0) {
+                continue;
+            }
+            if (Double.isInfinite(weight)) {
+                weight = INFINITE_WEIGHT;
+            }
+            validItems.add(each.item());
+            validWeights.add(weight);
+            weightSum += weight;
+        }
+        int size = validItems.size();
+        this.items = validItems.toArray();
+        this.probabilities = new double[size];
+        this.aliases = new int[size];
+        buildAliasTable(validWeights, weightSum);
+    }
+    
+    /**
+     * Vose's algorithm, split each scaled weight into its own part and the part of an alias.
+     */
+    private void buildAliasTable(List<Double> weights, double weightSum) {
+        int size = weights.size();
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights.get(i) * size / weightSum;
+            if (scaled[i] < 1D) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+            scaled[more] = scaled[more] + scaled[less] - 1D;
+            if (scaled[more] < 1D) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // the rest are 1 except floating point error.
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probabilities[index] = 1D;
+            aliases[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probabilities[index] = 1D;
+            aliases[index] = index;
+        }
+    }
+    
+    public K getUniqueKey() {
+        return uniqueKey;
+    }
+    
+    public int size() {
+        return items.length;
+    }
+    
+    /**
+     * Random get one item with weight.
+     *
+     * @return item, or null if no item with positive weight
+     */
+    @SuppressWarnings("unchecked")
+    public T randomWithWeight() {
+        int size = items.length;
+        if (size == 0) {
+            return null;
+        }
+        if (size == 1) {
+            return (T) items[0];
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(size);
+        if (random.nextDouble() < probabilities[index]) {
+            return (T) items[index];
+        }
+        return (T) items[aliases[index]];
+    }
+}
@@ -44,6 +44,16 @@ public class CacheDataTest {
         Assert.assertNotEquals(cacheData1, cacheData3);
     }
     
+    @Test
+    public void testListenQueued() {
+        ConfigFilterChainManager filter = new ConfigFilterChainManager(new Properties());
+        final CacheData cacheData = new CacheData(filter, "name1", "key", "group", "tenant");
+        Assert.assertTrue(cacheData.markListenQueued());
+        Assert.assertFalse(cacheData.markListenQueued());
+        cacheData.clearListenQueued();
+        Assert.assertTrue(cacheData.markListenQueued());
+    }
+    
     @Test
     public void testGetter() {
         ConfigFilterChainManager filter = new ConfigFilterChainManager(new Properties());
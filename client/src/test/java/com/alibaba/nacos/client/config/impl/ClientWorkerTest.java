@@ -18,16 +18,27 @@ package com.alibaba.nacos.client.config.impl;
 
 import com.alibaba.nacos.api.config.listener.AbstractListener;
 import com.alibaba.nacos.api.config.listener.Listener;
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.config.remote.response.ConfigChangeBatchListenResponse;
 import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.client.config.filter.impl.ConfigFilterChainManager;
+import com.alibaba.nacos.common.remote.client.RpcClient;
+import com.alibaba.nacos.common.remote.client.RpcClientFactory;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class ClientWorkerTest {
     
@@ -175,4 +186,152 @@ public class ClientWorkerTest {
         Assert.assertEquals("config_rpc_client", clientWorker.getAgentName());
     }
     
+    @Test
+    public void testListenOnlyDirtyCachesBetweenAllSync() throws Exception {
+        List<List<String>> listened = new ArrayList<List<String>>();
+        RpcClient rpcClient = mockListenClient(listened, 0);
+        ClientWorker clientWorker = newListenWorker(rpcClient);
+        try {
+            for (int i = 0; i < 3; i++) {
+                clientWorker.addTenantListeners("dataId" + i, "group", Arrays.asList(newListener()));
+            }
+            ConfigTransportClient agent = getAgent(clientWorker);
+            agent.executeConfigListen();
+            Assert.assertEquals(1, listened.size());
+            Assert.assertEquals(new HashSet<String>(Arrays.asList("dataId0", "dataId1", "dataId2")),
+                    new HashSet<String>(listened.get(0)));
+            
+            // all caches are sync with server and the all sync is not due.
+            listened.clear();
+            agent.executeConfigListen();
+            Assert.assertTrue(listened.isEmpty());
+            
+            clientWorker.addTenantListeners("dataId1", "group", Arrays.asList(newListener()));
+            agent.executeConfigListen();
+            Assert.assertEquals(1, listened.size());
+            Assert.assertEquals(Arrays.asList("dataId1"), listened.get(0));
+        } finally {
+            clientWorker.shutdown();
+        }
+    }
+    
+    @Test
+    public void testAllSyncRotatesAllCachesInFiveMinutes() throws Exception {
+        List<List<String>> listened = new ArrayList<List<String>>();
+        RpcClient rpcClient = mockListenClient(listened, 0);
+        ClientWorker clientWorker = newListenWorker(rpcClient);
+        try {
+            int cacheCount = 120;
+            for (int i = 0; i < cacheCount; i++) {
+                clientWorker.addTenantListeners("dataId" + i, "group", Arrays.asList(newListener()));
+            }
+            ConfigTransportClient agent = getAgent(clientWorker);
+            agent.executeConfigListen();
+            listened.clear();
+            
+            long allSyncInternal = TimeUnit.MINUTES.toMillis(5);
+            long listenInternal = TimeUnit.SECONDS.toMillis(5);
+            passTime(agent, allSyncInternal);
+            Set<String> synced = new HashSet<String>();
+            for (long elapsed = 0; elapsed < allSyncInternal; elapsed += listenInternal) {
+                agent.executeConfigListen();
+                passTime(agent, listenInternal);
+            }
+            for (List<String> each : listened) {
+                // one execution only syncs a small batch of the caches.
+                Assert.assertTrue(each.size() <= 2);
+                synced.addAll(each);
+            }
+            Assert.assertEquals(cacheCount, synced.size());
+        } finally {
+            clientWorker.shutdown();
+        }
+    }
+    
+    @Test
+    public void testFailedListenMarksCachesDirty() throws Exception {
+        List<List<String>> listened = new ArrayList<List<String>>();
+        RpcClient rpcClient = mockListenClient(listened, 1);
+        ClientWorker clientWorker = newListenWorker(rpcClient);
+        try {
+            clientWorker.addTenantListeners("dataId", "group", Arrays.asList(newListener()));
+            CacheData cache = clientWorker.getCache("dataId", "group");
+            ConfigTransportClient agent = getAgent(clientWorker);
+            agent.executeConfigListen();
+            Assert.assertEquals(1, listened.size());
+            Assert.assertFalse(cache.isSyncWithServer());
+            
+            agent.executeConfigListen();
+            Assert.assertEquals(2, listened.size());
+            Assert.assertEquals(Arrays.asList("dataId"), listened.get(1));
+            Assert.assertTrue(cache.isSyncWithServer());
+        } finally {
+            clientWorker.shutdown();
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private ClientWorker newListenWorker(RpcClient rpcClient) throws Exception {
+        ConfigFilterChainManager filter = new ConfigFilterChainManager(new Properties());
+        ServerListManager serverListManager = Mockito.mock(ServerListManager.class);
+        ClientWorker clientWorker = new ClientWorker(filter, serverListManager, new Properties());
+        // listen is executed by the test instead of the listen loop.
+        ConfigTransportClient agent = getAgent(clientWorker);
+        agent.executor.shutdownNow();
+        Assert.assertTrue(agent.executor.awaitTermination(10L, TimeUnit.SECONDS));
+        
+        Field clientMap = RpcClientFactory.class.getDeclaredField("CLIENT_MAP");
+        clientMap.setAccessible(true);
+        ((Map<String, RpcClient>) clientMap.get(null)).put(getField(clientWorker, "uuid") + "_config-0", rpcClient);
+        return clientWorker;
+    }
+    
+    private RpcClient mockListenClient(List<List<String>> listened, int failTimes) throws NacosException {
+        RpcClient rpcClient = Mockito.mock(RpcClient.class);
+        int[] requestTimes = new int[1];
+        Mockito.when(rpcClient.request(ArgumentMatchers.any(Request.class), ArgumentMatchers.anyLong()))
+                .thenAnswer(invocation -> {
+                    ConfigBatchListenRequest request = invocation.getArgument(0);
+                    List<String> dataIds = new ArrayList<String>();
+                    for (ConfigBatchListenRequest.ConfigListenContext each : request.getConfigListenContexts()) {
+                        dataIds.add(each.getDataId());
+                    }
+                    listened.add(dataIds);
+                    if (requestTimes[0]++ < failTimes) {
+                        return ConfigChangeBatchListenResponse.buildFailResponse("listen fail");
+                    }
+                    return new ConfigChangeBatchListenResponse();
+                });
+        return rpcClient;
+    }
+    
+    private Listener newListener() {
+        return new AbstractListener() {
+            @Override
+            public void receiveConfigInfo(String configInfo) {
+            }
+        };
+    }
+    
+    private ConfigTransportClient getAgent(ClientWorker clientWorker) throws Exception {
+        return (ConfigTransportClient) getField(clientWorker, "agent");
+    }
+    
+    /**
+     * Move the all sync clock of the transport client backward, as if the time passed.
+     */
+    private void passTime(ConfigTransportClient agent, long millis) throws Exception {
+        for (String name : Arrays.asList("lastAllSyncTime", "nextAllSyncBatchTime")) {
+            Field field = ClientWorker.ConfigRpcTransportClient.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.setLong(agent, field.getLong(agent) - millis);
+        }
+    }
+    
+    private Object getField(Object target, String name) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+    
 }
@@ -22,12 +22,15 @@ import com.alibaba.nacos.api.PropertyKeyConst;
 import com.alibaba.nacos.api.exception.NacosException;
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.client.naming.backups.FailoverReactor;
+import com.alibaba.nacos.client.naming.utils.AliasChooser;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.ScheduledExecutorService;
@@ -71,6 +74,64 @@ public class ServiceInfoHolderTest {
         Assert.assertEquals(info2, actual2);
     }
     
+    @Test
+    public void testProcessServiceInfoDelta() {
+        ServiceInfo info = new ServiceInfo("a@@b@@c");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(createInstance("1.1.1.1", 1));
+        hosts.add(createInstance("1.1.1.2", 2));
+        info.setHosts(hosts);
+        ServiceInfoHolder holder = new ServiceInfoHolder("aa", new Properties());
+        holder.processServiceInfo(info, 1L);
+        
+        Instance modified = createInstance("1.1.1.1", 1);
+        modified.setWeight(2.0);
+        NotifySubscriberRequest delta = NotifySubscriberRequest
+                .buildDeltaRequest(new ServiceInfo("a@@b@@c"), 1L, 2L,
+                        Collections.singletonList(createInstance("1.1.1.3", 3)),
+                        Collections.singletonList(createInstance("1.1.1.2", 2)), Collections.singletonList(modified));
+        ServiceInfo actual = holder.processServiceInfoDelta(delta);
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(2, actual.getHosts().size());
+        Assert.assertEquals(2.0, actual.getHosts().get(0).getWeight(), 0.0);
+        Assert.assertEquals("1.1.1.3", actual.getHosts().get(1).getIp());
+        
+        // revision gap
+        NotifySubscriberRequest gapDelta = NotifySubscriberRequest
+                .buildDeltaRequest(new ServiceInfo("a@@b@@c"), 3L, 4L, Collections.emptyList(),
+                        Collections.emptyList(), Collections.emptyList());
+        Assert.assertNull(holder.processServiceInfoDelta(gapDelta));
+        Assert.assertEquals(2, holder.getServiceInfoMap().get("a@@b@@c").getHosts().size());
+    }
+    
+    @Test
+    public void testGetHostChooser() {
+        ServiceInfo info = new ServiceInfo("a@@b@@c");
+        Instance healthy = createInstance("1.1.1.1", 1);
+        Instance unhealthy = createInstance("1.1.1.2", 2);
+        unhealthy.setHealthy(false);
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(healthy);
+        hosts.add(unhealthy);
+        info.setHosts(hosts);
+        ServiceInfoHolder holder = new ServiceInfoHolder("aa", new Properties());
+        Assert.assertNull(holder.getHostChooser(info));
+        
+        holder.processServiceInfo(info);
+        AliasChooser<ServiceInfo, Instance> chooser = holder.getHostChooser(info);
+        Assert.assertNotNull(chooser);
+        Assert.assertEquals(1, chooser.size());
+        Assert.assertEquals(healthy, chooser.randomWithWeight());
+        
+        // chooser is only served for the accepted service info.
+        ServiceInfo newInfo = new ServiceInfo("a@@b@@c");
+        newInfo.setHosts(hosts);
+        Assert.assertNull(holder.getHostChooser(newInfo));
+        holder.processServiceInfo(newInfo);
+        Assert.assertNull(holder.getHostChooser(info));
+        Assert.assertNotNull(holder.getHostChooser(newInfo));
+    }
+    
     private Instance createInstance(String ip, int port) {
         Instance instance = new Instance();
         instance.setIp(ip);
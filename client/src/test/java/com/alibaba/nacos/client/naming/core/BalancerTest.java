@@ -18,6 +18,8 @@ package com.alibaba.nacos.client.naming.core;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.client.naming.utils.AliasChooser;
+import com.alibaba.nacos.client.naming.utils.Pair;
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
@@ -58,6 +60,21 @@ public class BalancerTest {
         Assert.assertEquals(instance1, actual);
     }
     
+    @Test
+    public void testSelectHostByChooser() {
+        List<Instance> hosts = new ArrayList<>();
+        Instance instance1 = new Instance();
+        hosts.add(instance1);
+        ServiceInfo serviceInfo = new ServiceInfo();
+        serviceInfo.setHosts(hosts);
+        List<Pair<Instance>> pairs = new ArrayList<>();
+        pairs.add(new Pair<>(instance1, instance1.getWeight()));
+        AliasChooser<ServiceInfo, Instance> chooser = new AliasChooser<>(serviceInfo, pairs);
+        
+        Assert.assertEquals(instance1, Balancer.RandomByWeight.selectHost(serviceInfo, chooser));
+        Assert.assertEquals(instance1, Balancer.RandomByWeight.selectHost(serviceInfo, null));
+    }
+    
     @Test
     public void testSelectHostEmpty() {
         thrown.expect(IllegalStateException.class);
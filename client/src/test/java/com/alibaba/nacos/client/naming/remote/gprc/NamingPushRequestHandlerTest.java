@@ -18,6 +18,7 @@
 
 package com.alibaba.nacos.client.naming.remote.gprc;
 
+import com.alibaba.nacos.api.naming.NamingResponseCode;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.naming.remote.response.NotifySubscriberResponse;
@@ -27,9 +28,12 @@ import com.alibaba.nacos.client.naming.cache.ServiceInfoHolder;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class NamingPushRequestHandlerTest {
     
@@ -46,4 +50,17 @@ public class NamingPushRequestHandlerTest {
         Assert.assertTrue(response instanceof NotifySubscriberResponse);
         verify(holder, times(1)).processServiceInfo(info);
     }
-}
\ No newline at end of file
+    
+    @Test
+    public void testRequestReplyWithDeltaRevisionMismatch() {
+        ServiceInfoHolder holder = mock(ServiceInfoHolder.class);
+        NamingPushRequestHandler handler = new NamingPushRequestHandler(holder);
+        NotifySubscriberRequest req = NotifySubscriberRequest
+                .buildDeltaRequest(new ServiceInfo("name", "cluster1"), 1L, 2L, Collections.emptyList(),
+                        Collections.emptyList(), Collections.emptyList());
+        when(holder.processServiceInfoDelta(req)).thenReturn(null);
+        Response response = handler.requestReply(req);
+        Assert.assertFalse(response.isSuccess());
+        Assert.assertEquals(NamingResponseCode.PUSH_REVISION_MISMATCH, response.getErrorCode());
+    }
+}
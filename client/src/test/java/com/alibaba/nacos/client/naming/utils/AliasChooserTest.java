@@ -0,0 +1,73 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.client.naming.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class AliasChooserTest {
+    
+    @Test
+    public void testRandomWithWeightEmpty() {
+        AliasChooser<String, String> chooser = new AliasChooser<String, String>("test",
+                Collections.<Pair<String>>emptyList());
+        Assert.assertEquals(0, chooser.size());
+        Assert.assertNull(chooser.randomWithWeight());
+    }
+    
+    @Test
+    public void testRandomWithWeightIgnoreZeroWeight() {
+        List<Pair<String>> pairs = new ArrayList<Pair<String>>();
+        pairs.add(new Pair<String>("a", 0D));
+        pairs.add(new Pair<String>("b", -1D));
+        pairs.add(new Pair<String>("c", 1D));
+        AliasChooser<String, String> chooser = new AliasChooser<String, String>("test", pairs);
+        Assert.assertEquals(1, chooser.size());
+        for (int i = 0; i < 100; i++) {
+            Assert.assertEquals("c", chooser.randomWithWeight());
+        }
+    }
+    
+    @Test
+    public void testRandomWithWeightDistribution() {
+        List<Pair<String>> pairs = new ArrayList<Pair<String>>();
+        pairs.add(new Pair<String>("a", 1D));
+        pairs.add(new Pair<String>("b", 2D));
+        pairs.add(new Pair<String>("c", 7D));
+        pairs.add(new Pair<String>("d", Double.NaN));
+        AliasChooser<String, String> chooser = new AliasChooser<String, String>("test", pairs);
+        Assert.assertEquals("test", chooser.getUniqueKey());
+        Map<String, Integer> counts = new HashMap<String, Integer>(4);
+        int times = 110000;
+        for (int i = 0; i < times; i++) {
+            String item = chooser.randomWithWeight();
+            Integer count = counts.get(item);
+            counts.put(item, null == count ? 1 : count + 1);
+        }
+        Assert.assertEquals(1D / 11, counts.get("a") / (double) times, 0.01D);
+        Assert.assertEquals(2D / 11, counts.get("b") / (double) times, 0.01D);
+        Assert.assertEquals(7D / 11, counts.get("c") / (double) times, 0.01D);
+        Assert.assertEquals(1D / 11, counts.get("d") / (double) times, 0.01D);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring buffer which supports multiple producers and a single consumer.
+ *
+ * <p>All slots are allocated up front. Every slot carries a sequence number, producers claim a slot by CAS on the
+ * tail cursor and publish it by advancing the slot sequence, so no lock is taken on the publishing path. Only one
+ * thread is allowed to call {@link #drain(Consumer, int)}.
+ *
+ * @author nacos
+ */
+public class MultiProducerRingBuffer<E> {
+    
+    private static final int MAX_CAPACITY = 1 << 30;
+    
+    private final int capacity;
+    
+    private final int mask;
+    
+    private final AtomicReferenceArray<E> buffer;
+    
+    private final AtomicLongArray sequences;
+    
+    private final AtomicLong tail = new AtomicLong(0L);
+    
+    private volatile long head = 0L;
+    
+    public MultiProducerRingBuffer(int requestedCapacity) {
+        if (requestedCapacity <= 0) {
+            throw new IllegalArgumentException("Ring buffer capacity must be positive : " + requestedCapacity);
+        }
+        this.capacity = nextPowerOfTwo(requestedCapacity);
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+    
+    /**
+     * Try to put an element into the ring buffer without blocking.
+     *
+     * @param element element, must not be null
+     * @return {@code false} if the ring buffer is full
+     */
+    public boolean offer(E element) {
+        if (null == element) {
+            throw new NullPointerException("Ring buffer does not accept null element");
+        }
+        for (; ; ) {
+            long position = tail.get();
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+    }
+    
+    /**
+     * Drain at most {@code limit} published elements in order to the consumer. Must be called by a single thread.
+     *
+     * @param consumer element consumer
+     * @param limit    max elements to drain in this batch
+     * @return the number of drained elements
+     */
+    public int drain(Consumer<E> consumer, int limit) {
+        long position = head;
+        int drained = 0;
+        while (drained < limit) {
+            int index = (int) (position & mask);
+            if (sequences.get(index) != position + 1) {
+                break;
+            }
+            final E element = buffer.get(index);
+            buffer.lazySet(index, null);
+            sequences.lazySet(index, position + capacity);
+            position++;
+            head = position;
+            drained++;
+            consumer.accept(element);
+        }
+        return drained;
+    }
+    
+    /**
+     * Discard all published elements. Must be called by the consumer thread or after the consumer stopped.
+     */
+    public void clear() {
+        while (drain(element -> {
+        }, capacity) > 0) {
+            // discard until empty
+        }
+    }
+    
+    /**
+     * The number of elements claimed by producers and not yet drained.
+     *
+     * @return approximate size
+     */
+    public int size() {
+        long size = tail.get() - head;
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity);
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    public int capacity() {
+        return capacity;
+    }
+    
+    private static int nextPowerOfTwo(int value) {
+        int highestOneBit = Integer.highestOneBit(value);
+        if (highestOneBit == value) {
+            return value;
+        }
+        if (highestOneBit >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return highestOneBit << 1;
+    }
+}
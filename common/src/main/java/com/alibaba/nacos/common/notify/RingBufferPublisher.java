@@ -0,0 +1,324 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import com.alibaba.nacos.common.utils.CollectionUtils;
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
+import com.alibaba.nacos.common.utils.ThreadUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import static com.alibaba.nacos.common.notify.NotifyCenter.ringBufferSize;
+
+/**
+ * Event publisher based on a pre-allocated lock-free {@link MultiProducerRingBuffer}.
+ *
+ * <p>Producers never take a lock, the publisher thread drains the ring buffer in batches. It can be used instead of
+ * {@link DefaultPublisher} by declaring it in {@code META-INF/services/com.alibaba.nacos.common.notify.EventPublisher}.
+ *
+ * <p>Properties:
+ * <ul>
+ *     <li>{@code nacos.core.notify.ring-buffer.wait-strategy}: busy_spin, yield or park (default).</li>
+ *     <li>{@code nacos.core.notify.ring-buffer.drain-batch-size}: max events handled per drain, default 256.</li>
+ *     <li>{@code nacos.core.notify.ring-buffer.discard-on-full}: drop the event instead of notifying subscribers in
+ *     the caller thread when the ring buffer is full, default false.</li>
+ * </ul>
+ *
+ * @author nacos
+ */
+public class RingBufferPublisher extends Thread implements EventPublisher {
+    
+    protected static final Logger LOGGER = LoggerFactory.getLogger(NotifyCenter.class);
+    
+    private static final String WAIT_STRATEGY_PROPERTY = "nacos.core.notify.ring-buffer.wait-strategy";
+    
+    private static final String DRAIN_BATCH_SIZE_PROPERTY = "nacos.core.notify.ring-buffer.drain-batch-size";
+    
+    private static final String DISCARD_ON_FULL_PROPERTY = "nacos.core.notify.ring-buffer.discard-on-full";
+    
+    private volatile boolean initialized = false;
+    
+    private volatile boolean shutdown = false;
+    
+    private volatile boolean consumerWaiting = false;
+    
+    private final ConcurrentHashSet<Subscriber> subscribers = new ConcurrentHashSet<>();
+    
+    private final RingBufferWaitStrategy waitStrategy;
+    
+    private final int drainBatchSize;
+    
+    private final boolean discardOnFull;
+    
+    private final Consumer<Event> eventHandler = this::receiveEvent;
+    
+    private Class<? extends Event> eventType;
+    
+    private MultiProducerRingBuffer<Event> ringBuffer;
+    
+    private volatile long lastEventSequence = -1L;
+    
+    private final LongAdder publishedCount = new LongAdder();
+    
+    private final LongAdder droppedCount = new LongAdder();
+    
+    private final LongAdder callerRunsCount = new LongAdder();
+    
+    private final AtomicLong drainTimes = new AtomicLong();
+    
+    private final AtomicLong drainedCount = new AtomicLong();
+    
+    private volatile int lastDrainBatchSize = 0;
+    
+    private volatile int maxDrainBatchSize = 0;
+    
+    public RingBufferPublisher() {
+        this(RingBufferWaitStrategy.of(System.getProperty(WAIT_STRATEGY_PROPERTY)),
+                Integer.getInteger(DRAIN_BATCH_SIZE_PROPERTY, 256), Boolean.getBoolean(DISCARD_ON_FULL_PROPERTY));
+    }
+    
+    public RingBufferPublisher(RingBufferWaitStrategy waitStrategy, int drainBatchSize, boolean discardOnFull) {
+        this.waitStrategy = waitStrategy;
+        this.drainBatchSize = Math.max(1, drainBatchSize);
+        this.discardOnFull = discardOnFull;
+    }
+    
+    @Override
+    public void init(Class<? extends Event> type, int bufferSize) {
+        setDaemon(true);
+        setName("nacos.publisher-" + type.getName());
+        this.eventType = type;
+        this.ringBuffer = new MultiProducerRingBuffer<>(bufferSize > 0 ? bufferSize : ringBufferSize);
+        start();
+    }
+    
+    public ConcurrentHashSet<Subscriber> getSubscribers() {
+        return subscribers;
+    }
+    
+    @Override
+    public synchronized void start() {
+        if (!initialized) {
+            // start just called once
+            super.start();
+            initialized = true;
+        }
+    }
+    
+    @Override
+    public long currentEventSize() {
+        return ringBuffer.size();
+    }
+    
+    @Override
+    public void run() {
+        openEventHandler();
+    }
+    
+    void openEventHandler() {
+        try {
+            // To ensure that messages are not lost, enable EventHandler when
+            // waiting for the first Subscriber to register
+            int waitTimes = 60;
+            while (!shutdown && !hasSubscriber() && waitTimes > 0) {
+                ThreadUtils.sleep(1000L);
+                waitTimes--;
+            }
+            
+            int idleRounds = 0;
+            while (!shutdown) {
+                int drained = ringBuffer.drain(eventHandler, drainBatchSize);
+                if (drained > 0) {
+                    recordDrain(drained);
+                    idleRounds = 0;
+                    continue;
+                }
+                idleRounds++;
+                if (waitStrategy.isSignalRequired()) {
+                    consumerWaiting = true;
+                    if (ringBuffer.isEmpty()) {
+                        waitStrategy.idle(idleRounds);
+                    }
+                    consumerWaiting = false;
+                } else {
+                    waitStrategy.idle(idleRounds);
+                }
+            }
+        } catch (Throwable ex) {
+            LOGGER.error("Event listener exception : ", ex);
+        }
+    }
+    
+    private void recordDrain(int drained) {
+        drainTimes.incrementAndGet();
+        drainedCount.addAndGet(drained);
+        lastDrainBatchSize = drained;
+        if (drained > maxDrainBatchSize) {
+            maxDrainBatchSize = drained;
+        }
+    }
+    
+    private boolean hasSubscriber() {
+        return CollectionUtils.isNotEmpty(subscribers);
+    }
+    
+    @Override
+    public void addSubscriber(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+    
+    @Override
+    public void removeSubscriber(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+    
+    @Override
+    public boolean publish(Event event) {
+        checkIsStart();
+        if (ringBuffer.offer(event)) {
+            publishedCount.increment();
+            if (consumerWaiting) {
+                LockSupport.unpark(this);
+            }
+            return true;
+        }
+        if (discardOnFull) {
+            droppedCount.increment();
+            LOGGER.warn("Ring buffer of {} is full, discard event : {}", eventType.getName(), event);
+            return false;
+        }
+        callerRunsCount.increment();
+        LOGGER.warn("Ring buffer of {} is full, synchronize sending time, event : {}", eventType.getName(), event);
+        receiveEvent(event);
+        return true;
+    }
+    
+    void checkIsStart() {
+        if (!initialized) {
+            throw new IllegalStateException("Publisher does not start");
+        }
+    }
+    
+    @Override
+    public void shutdown() {
+        this.shutdown = true;
+        LockSupport.unpark(this);
+    }
+    
+    public boolean isInitialized() {
+        return initialized;
+    }
+    
+    /**
+     * Receive and notifySubscriber to process the event.
+     *
+     * @param event {@link Event}.
+     */
+    void receiveEvent(Event event) {
+        final long currentEventSequence = event.sequence();
+        
+        if (!hasSubscriber()) {
+            LOGGER.warn("[NotifyCenter] the {} is lost, because there is no subscriber.", event);
+            return;
+        }
+        
+        for (Subscriber subscriber : subscribers) {
+            // Whether to ignore expiration events
+            if (subscriber.ignoreExpireEvent() && lastEventSequence > currentEventSequence) {
+                LOGGER.debug("[NotifyCenter] the {} is unacceptable to this subscriber, because had expire",
+                        event.getClass());
+                continue;
+            }
+            notifySubscriber(subscriber, event);
+        }
+        if (currentEventSequence > lastEventSequence) {
+            lastEventSequence = currentEventSequence;
+        }
+    }
+    
+    @Override
+    public void notifySubscriber(final Subscriber subscriber, final Event event) {
+        
+        LOGGER.debug("[NotifyCenter] the {} will received by {}", event, subscriber);
+        
+        final Runnable job = () -> subscriber.onEvent(event);
+        final Executor executor = subscriber.executor();
+        
+        if (executor != null) {
+            executor.execute(job);
+        } else {
+            try {
+                job.run();
+            } catch (Throwable e) {
+                LOGGER.error("Event callback exception: ", e);
+            }
+        }
+    }
+    
+    public RingBufferWaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+    
+    public int getCapacity() {
+        return ringBuffer.capacity();
+    }
+    
+    public long getPublishedCount() {
+        return publishedCount.sum();
+    }
+    
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+    
+    public long getCallerRunsCount() {
+        return callerRunsCount.sum();
+    }
+    
+    public int getLastDrainBatchSize() {
+        return lastDrainBatchSize;
+    }
+    
+    public int getMaxDrainBatchSize() {
+        return maxDrainBatchSize;
+    }
+    
+    /**
+     * Average events handled per drain since the publisher started.
+     *
+     * @return average drain batch size
+     */
+    public double getAverageDrainBatchSize() {
+        long times = drainTimes.get();
+        return times == 0 ? 0D : (double) drainedCount.get() / times;
+    }
+    
+    @Override
+    public String toString() {
+        return "RingBufferPublisher{" + "topic=" + (null == eventType ? null : eventType.getName()) + ", depth="
+                + (null == ringBuffer ? 0 : ringBuffer.size()) + ", published=" + getPublishedCount() + ", dropped="
+                + getDroppedCount() + ", callerRuns=" + getCallerRunsCount() + ", lastDrainBatchSize="
+                + lastDrainBatchSize + ", maxDrainBatchSize=" + maxDrainBatchSize + '}';
+    }
+}
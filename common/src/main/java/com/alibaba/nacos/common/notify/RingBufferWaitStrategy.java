@@ -0,0 +1,102 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * How the {@link RingBufferPublisher} consumer thread waits when the ring buffer is empty.
+ *
+ * @author nacos
+ */
+public enum RingBufferWaitStrategy {
+    
+    /**
+     * Never give up the cpu, lowest latency but occupies one core per publisher.
+     */
+    BUSY_SPIN {
+        @Override
+        public void idle(int idleRounds) {
+            // spin
+        }
+    },
+    
+    /**
+     * Spin for a while and then yield the cpu to other threads.
+     */
+    YIELD {
+        @Override
+        public void idle(int idleRounds) {
+            if (idleRounds > SPIN_ROUNDS) {
+                Thread.yield();
+            }
+        }
+    },
+    
+    /**
+     * Spin for a while and then park until a producer signals the consumer or the park timeout elapsed.
+     */
+    PARK {
+        @Override
+        public void idle(int idleRounds) {
+            if (idleRounds > SPIN_ROUNDS) {
+                LockSupport.parkNanos(this, MAX_PARK_NANOS);
+            }
+        }
+        
+        @Override
+        public boolean isSignalRequired() {
+            return true;
+        }
+    };
+    
+    private static final int SPIN_ROUNDS = 100;
+    
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+    
+    /**
+     * Wait for new events.
+     *
+     * @param idleRounds the number of consecutive rounds which found nothing to drain
+     */
+    public abstract void idle(int idleRounds);
+    
+    /**
+     * Whether producers need to wake up the consumer thread after publishing.
+     *
+     * @return {@code true} if the consumer may be parked
+     */
+    public boolean isSignalRequired() {
+        return false;
+    }
+    
+    /**
+     * Parse wait strategy by name, return {@link #PARK} if the name is unknown.
+     *
+     * @param name strategy name
+     * @return wait strategy
+     */
+    public static RingBufferWaitStrategy of(String name) {
+        for (RingBufferWaitStrategy each : values()) {
+            if (each.name().equalsIgnoreCase(name)) {
+                return each;
+            }
+        }
+        return PARK;
+    }
+}
@@ -18,6 +18,8 @@ package com.alibaba.nacos.common.remote.client;
 
 import com.alibaba.nacos.api.remote.Requester;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * connection on client side.
  *
@@ -31,6 +33,11 @@ public abstract class Connection implements Requester {
     
     private boolean abandon = false;
     
+    /**
+     * requests sent through connection pool and not finished yet.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+    
     protected RpcClient.ServerInfo serverInfo;
     
     public Connection(RpcClient.ServerInfo serverInfo) {
@@ -63,4 +70,33 @@ public abstract class Connection implements Requester {
         this.abandon = abandon;
     }
     
+    public int getInFlight() {
+        return inFlight.get();
+    }
+    
+    /**
+     * Occupy one in-flight slot of this connection if the in-flight requests are less than max in-flight.
+     *
+     * @param maxInFlight max in-flight requests of this connection
+     * @return true if slot is occupied
+     */
+    public boolean tryAcquire(int maxInFlight) {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    /**
+     * Release the in-flight slot occupied by {@link #tryAcquire(int)}.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+    
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.client;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.request.Request;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection pool of rpc client.
+ *
+ * <p>The pool holds the connections created to the current server besides the current connection. Requests of pooled
+ * types are routed to the connection with least in-flight requests among the current connection and the pooled ones,
+ * and the in-flight requests of each connection are bounded by max in-flight. A request exceeding the bound waits
+ * until another pooled request is finished. Requests not pooled are always sent by the current connection and not
+ * counted.
+ *
+ * @author nacos
+ */
+public class ConnectionPool {
+    
+    private static final Connection[] EMPTY = new Connection[0];
+    
+    private final int poolSize;
+    
+    private final int maxInFlight;
+    
+    private final Set<Class<? extends Request>> requestTypes;
+    
+    private final AtomicInteger waiters = new AtomicInteger();
+    
+    private final Object releaseMonitor = new Object();
+    
+    /**
+     * the current connection which pooled connections are created for, guarded by this.
+     */
+    private Connection owner;
+    
+    private volatile Connection[] connections = EMPTY;
+    
+    public ConnectionPool(int poolSize, int maxInFlight, Collection<Class<? extends Request>> requestTypes) {
+        this.poolSize = poolSize;
+        this.maxInFlight = maxInFlight;
+        this.requestTypes = Collections.unmodifiableSet(new HashSet<Class<? extends Request>>(requestTypes));
+    }
+    
+    public int getPoolSize() {
+        return poolSize;
+    }
+    
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+    
+    public boolean isPooled(Request request) {
+        return requestTypes.contains(request.getClass());
+    }
+    
+    public int size() {
+        return connections.length;
+    }
+    
+    /**
+     * Whether pooled connections of owner is enough.
+     *
+     * @param owner current connection
+     * @return true if owner is not current connection of pool any more, or pooled connections are enough
+     */
+    public synchronized boolean isFull(Connection owner) {
+        return this.owner != owner || connections.length >= poolSize - 1;
+    }
+    
+    /**
+     * Reset the pool for a new current connection.
+     *
+     * @param owner new current connection, null if client is shutdown
+     * @return pooled connections of previous current connection, which should be closed by caller
+     */
+    public synchronized List<Connection> reset(Connection owner) {
+        Connection[] previous = connections;
+        this.owner = owner;
+        connections = EMPTY;
+        return Arrays.asList(previous);
+    }
+    
+    /**
+     * Add a connection created for owner into pool.
+     *
+     * @param owner      current connection when connection is created
+     * @param connection connection to add
+     * @return false if owner is not current connection of pool any more or pool is full, caller should close it
+     */
+    public synchronized boolean add(Connection owner, Connection connection) {
+        if (isFull(owner)) {
+            return false;
+        }
+        Connection[] result = Arrays.copyOf(connections, connections.length + 1);
+        result[connections.length] = connection;
+        connections = result;
+        return true;
+    }
+    
+    /**
+     * Remove the connection from pool.
+     *
+     * @param connection connection to remove
+     * @return true if connection is in pool
+     */
+    public synchronized boolean remove(Connection connection) {
+        Connection[] current = connections;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == connection) {
+                Connection[] result = new Connection[current.length - 1];
+                System.arraycopy(current, 0, result, 0, i);
+                System.arraycopy(current, i + 1, result, i, current.length - i - 1);
+                connections = result;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Acquire the connection with least in-flight requests, wait until timeout if all connections are busy.
+     *
+     * @param current      current connection of rpc client
+     * @param timeoutMills max time to wait
+     * @return connection whose in-flight slot is occupied, must be released by {@link #release(Connection)}
+     * @throws NacosException if timeout or interrupted
+     */
+    public Connection acquire(Connection current, long timeoutMills) throws NacosException {
+        Connection result = tryAcquire(current);
+        if (null != result) {
+            return result;
+        }
+        long end = System.currentTimeMillis() + timeoutMills;
+        waiters.incrementAndGet();
+        try {
+            synchronized (releaseMonitor) {
+                while (true) {
+                    result = tryAcquire(current);
+                    if (null != result) {
+                        return result;
+                    }
+                    long waitTime = end - System.currentTimeMillis();
+                    if (waitTime <= 0) {
+                        throw new NacosException(NacosException.CLIENT_OVER_THRESHOLD,
+                                "Wait connection timeout, in-flight requests of each connection reach " + maxInFlight);
+                    }
+                    releaseMonitor.wait(waitTime);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new NacosException(NacosException.CLIENT_OVER_THRESHOLD, e);
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+    
+    /**
+     * Release the in-flight slot of connection acquired from this pool.
+     *
+     * @param connection connection acquired
+     */
+    public void release(Connection connection) {
+        connection.release();
+        if (waiters.get() > 0) {
+            synchronized (releaseMonitor) {
+                releaseMonitor.notifyAll();
+            }
+        }
+    }
+    
+    private Connection tryAcquire(Connection current) {
+        Connection[] pooled = connections;
+        while (true) {
+            Connection least = current;
+            int leastInFlight = current.getInFlight();
+            for (Connection each : pooled) {
+                int inFlight = each.getInFlight();
+                if (inFlight < leastInFlight && !each.isAbandon()) {
+                    least = each;
+                    leastInFlight = inFlight;
+                }
+            }
+            if (leastInFlight >= maxInFlight) {
+                return null;
+            }
+            if (least.tryAcquire(maxInFlight)) {
+                return least;
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.client;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.RequestFuture;
+import com.alibaba.nacos.api.remote.response.Response;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Callback of request sent through connection pool, which releases the in-flight slot of connection when request is
+ * finished, and can be waited as a request future.
+ *
+ * @author nacos
+ */
+class PooledRequestCallBack implements RequestCallBack<Response>, RequestFuture {
+    
+    private final ConnectionPool pool;
+    
+    private final Connection connection;
+    
+    private final long timeoutMills;
+    
+    private final RequestCallBack delegate;
+    
+    private final AtomicBoolean finished = new AtomicBoolean(false);
+    
+    private final CountDownLatch latch = new CountDownLatch(1);
+    
+    private volatile Response response;
+    
+    private volatile Throwable exception;
+    
+    PooledRequestCallBack(ConnectionPool pool, Connection connection, long timeoutMills, RequestCallBack delegate) {
+        this.pool = pool;
+        this.connection = connection;
+        this.timeoutMills = timeoutMills;
+        this.delegate = delegate;
+    }
+    
+    @Override
+    public Executor getExecutor() {
+        return null == delegate ? null : delegate.getExecutor();
+    }
+    
+    @Override
+    public long getTimeout() {
+        return timeoutMills;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public void onResponse(Response response) {
+        if (finish(response, null) && null != delegate) {
+            delegate.onResponse(response);
+        }
+    }
+    
+    @Override
+    public void onException(Throwable e) {
+        if (finish(null, e) && null != delegate) {
+            delegate.onException(e);
+        }
+    }
+    
+    /**
+     * Release the connection without calling delegate, used when request is failed to send.
+     */
+    void abort() {
+        finish(null, new NacosException(NacosException.SERVER_ERROR, "Request is failed to send."));
+    }
+    
+    private boolean finish(Response response, Throwable exception) {
+        if (!finished.compareAndSet(false, true)) {
+            return false;
+        }
+        this.response = response;
+        this.exception = exception;
+        pool.release(connection);
+        latch.countDown();
+        return true;
+    }
+    
+    @Override
+    public boolean isDone() {
+        return 0 == latch.getCount();
+    }
+    
+    @Override
+    public Response get() throws Exception {
+        latch.await();
+        return getResult();
+    }
+    
+    @Override
+    public Response get(long timeout) throws Exception {
+        if (!latch.await(timeout, TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("Timeout after " + timeout + " milliseconds.");
+        }
+        return getResult();
+    }
+    
+    private Response getResult() throws Exception {
+        Throwable e = exception;
+        if (null == e) {
+            return response;
+        }
+        throw e instanceof Exception ? (Exception) e : new NacosException(NacosException.SERVER_ERROR, e);
+    }
+}
@@ -38,6 +38,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -95,6 +97,11 @@ public abstract class RpcClient implements Closeable {
     
     private long lastActiveTimeStamp = System.currentTimeMillis();
     
+    /**
+     * connection pool of pooled requests, null if not enabled.
+     */
+    private ConnectionPool connectionPool;
+    
     /**
      * listener called where connection's status changed.
      */
@@ -179,6 +186,27 @@ public abstract class RpcClient implements Closeable {
         return this;
     }
     
+    /**
+     * init connection pool. Requests of pooled types are routed to the connection with least in-flight requests among
+     * pool size connections to current server.
+     *
+     * @param poolSize     connections to current server, including current connection
+     * @param maxInFlight  max in-flight pooled requests of each connection
+     * @param requestTypes pooled request types, which must not depend on the connection they are sent by
+     */
+    public RpcClient connectionPool(int poolSize, int maxInFlight, Collection<Class<? extends Request>> requestTypes) {
+        if (!isWaitInitiated() && !RpcClientStatus.INITIALIZED.equals(rpcClientStatus.get())) {
+            return this;
+        }
+        if (poolSize > 0 && maxInFlight > 0 && !requestTypes.isEmpty()) {
+            this.connectionPool = new ConnectionPool(poolSize, maxInFlight, requestTypes);
+            LoggerUtils.printIfInfoEnabled(LOGGER,
+                    "[{}]RpcClient init connection pool, poolSize={}, maxInFlight={}, requestTypes={}", name, poolSize,
+                    maxInFlight, requestTypes);
+        }
+        return this;
+    }
+    
     /**
      * Notify when client disconnected.
      */
@@ -275,7 +303,9 @@ public abstract class RpcClient implements Closeable {
             return;
         }
         
-        clientEventExecutor = new ScheduledThreadPoolExecutor(2, new ThreadFactory() {
+        // one more thread to create pooled connections.
+        int executorThreads = null == connectionPool ? 2 : 3;
+        clientEventExecutor = new ScheduledThreadPoolExecutor(executorThreads, new ThreadFactory() {
             @Override
             public Thread newThread(Runnable r) {
                 Thread t = new Thread(r);
@@ -406,6 +436,7 @@ public abstract class RpcClient implements Closeable {
             this.currentConnection = connectToServer;
             rpcClientStatus.set(RpcClientStatus.RUNNING);
             eventLinkedBlockingQueue.offer(new ConnectionEvent(ConnectionEvent.CONNECTED));
+            resetConnectionPool(connectToServer);
         } else {
             switchServerAsync();
         }
@@ -462,10 +493,81 @@ public abstract class RpcClient implements Closeable {
         rpcClientStatus.set(RpcClientStatus.SHUTDOWN);
         LOGGER.info("Shutdown  client event executor " + clientEventExecutor);
         clientEventExecutor.shutdownNow();
+        if (connectionPool != null) {
+            closePooledConnections(connectionPool.reset(null));
+        }
         LOGGER.info("Close current connection " + currentConnection.getConnectionId());
         closeConnection(currentConnection);
     }
     
+    /**
+     * Close pooled connections of previous connection and create pooled connections for new current connection.
+     */
+    private void resetConnectionPool(Connection current) {
+        if (connectionPool == null) {
+            return;
+        }
+        closePooledConnections(connectionPool.reset(current));
+        fillConnectionPool(current);
+    }
+    
+    private void closePooledConnections(List<Connection> connections) {
+        for (Connection each : connections) {
+            each.setAbandon(true);
+            each.close();
+        }
+    }
+    
+    private void fillConnectionPool(final Connection current) {
+        if (connectionPool.isFull(current)) {
+            return;
+        }
+        clientEventExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                while (isRunning() && !connectionPool.isFull(current)) {
+                    Connection connection = null;
+                    try {
+                        connection = connectToServer(current.serverInfo);
+                    } catch (Exception e) {
+                        LoggerUtils.printIfWarnEnabled(LOGGER, "[{}]Fail to create pooled connection, error={}", name,
+                                e.getMessage());
+                    }
+                    if (connection == null) {
+                        return;
+                    }
+                    if (!connectionPool.add(current, connection)) {
+                        closePooledConnections(Collections.singletonList(connection));
+                        return;
+                    }
+                    LoggerUtils.printIfInfoEnabled(LOGGER,
+                            "[{}] Success to create pooled connection to [{}],connectionId={}", name,
+                            current.serverInfo.getAddress(), connection.getConnectionId());
+                }
+            }
+        });
+    }
+    
+    /**
+     * Remove a broken connection from connection pool, and create a new one to replace it.
+     *
+     * @param connection broken connection
+     * @return true if connection is pooled connection, false if it is current connection
+     */
+    protected boolean onPooledConnectionBroken(Connection connection) {
+        if (connectionPool == null || !connectionPool.remove(connection)) {
+            return false;
+        }
+        LoggerUtils.printIfWarnEnabled(LOGGER, "[{}]Pooled connection is broken, connectionId={}", name,
+                connection.getConnectionId());
+        closePooledConnections(Collections.singletonList(connection));
+        Connection current = currentConnection;
+        if (current != null && isRunning()) {
+            fillConnectionPool(current);
+        }
+        return true;
+    }
+    
     private boolean healthCheck() {
         HealthCheckRequest healthCheckRequest = new HealthCheckRequest();
         if (this.currentConnection == null) {
@@ -542,6 +644,7 @@ public abstract class RpcClient implements Closeable {
                         rpcClientStatus.set(RpcClientStatus.RUNNING);
                         switchSuccess = true;
                         boolean s = eventLinkedBlockingQueue.add(new ConnectionEvent(ConnectionEvent.CONNECTED));
+                        resetConnectionPool(connectionNew);
                         return;
                     }
                     
@@ -654,7 +757,8 @@ public abstract class RpcClient implements Closeable {
                     throw new NacosException(NacosException.CLIENT_DISCONNECT,
                             "Client not connected,current status:" + rpcClientStatus.get());
                 }
-                response = this.currentConnection.request(request, timeoutMills);
+                response = isPooled(request) ? pooledRequest(request, timeoutMills)
+                        : this.currentConnection.request(request, timeoutMills);
                 if (response == null) {
                     throw new NacosException(SERVER_ERROR, "Unknown Exception.");
                 }
@@ -726,7 +830,11 @@ public abstract class RpcClient implements Closeable {
                     waitReconnect = true;
                     throw new NacosException(NacosException.CLIENT_INVALID_PARAM, "Client not connected.");
                 }
-                this.currentConnection.asyncRequest(request, callback);
+                if (isPooled(request)) {
+                    pooledAsyncRequest(request, callback.getTimeout(), callback);
+                } else {
+                    this.currentConnection.asyncRequest(request, callback);
+                }
                 return;
             } catch (Exception e) {
                 if (waitReconnect) {
@@ -775,6 +883,9 @@ public abstract class RpcClient implements Closeable {
                     waitReconnect = true;
                     throw new NacosException(NacosException.CLIENT_INVALID_PARAM, "Client not connected.");
                 }
+                if (isPooled(request)) {
+                    return pooledAsyncRequest(request, DEFAULT_TIMEOUT_MILLS, null);
+                }
                 return this.currentConnection.requestFuture(request);
             } catch (Exception e) {
                 if (waitReconnect) {
@@ -806,6 +917,33 @@ public abstract class RpcClient implements Closeable {
         
     }
     
+    private boolean isPooled(Request request) {
+        return connectionPool != null && connectionPool.isPooled(request);
+    }
+    
+    private Response pooledRequest(Request request, long timeoutMills) throws NacosException {
+        Connection connection = connectionPool.acquire(currentConnection, timeoutMills);
+        try {
+            return connection.request(request, timeoutMills);
+        } finally {
+            connectionPool.release(connection);
+        }
+    }
+    
+    private PooledRequestCallBack pooledAsyncRequest(Request request, long timeoutMills, RequestCallBack callback)
+            throws NacosException {
+        Connection connection = connectionPool.acquire(currentConnection, timeoutMills);
+        PooledRequestCallBack pooledCallBack = new PooledRequestCallBack(connectionPool, connection, timeoutMills,
+                callback);
+        try {
+            connection.asyncRequest(request, pooledCallBack);
+        } catch (NacosException | RuntimeException e) {
+            pooledCallBack.abort();
+            throw e;
+        }
+        return pooledCallBack;
+    }
+    
     /**
      * connect to server.
      *
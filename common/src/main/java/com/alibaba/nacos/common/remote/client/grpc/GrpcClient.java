@@ -30,6 +30,7 @@ import com.alibaba.nacos.common.remote.ConnectionType;
 import com.alibaba.nacos.common.remote.client.Connection;
 import com.alibaba.nacos.common.remote.client.RpcClient;
 import com.alibaba.nacos.common.remote.client.RpcClientStatus;
+import com.alibaba.nacos.common.remote.client.grpc.codec.BinaryPayloadCodec;
 import com.alibaba.nacos.common.utils.LoggerUtils;
 import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.common.utils.VersionUtils;
@@ -172,7 +173,7 @@ public abstract class GrpcClient extends RpcClient {
                             Response response = handleServerRequest(request);
                             if (response != null) {
                                 response.setRequestId(request.getRequestId());
-                                sendResponse(response);
+                                sendResponse(grpcConn, response);
                             } else {
                                 LOGGER.warn("[{}]Fail to process server request, ackId->{}", grpcConn.getConnectionId(),
                                         request.getRequestId());
@@ -181,7 +182,7 @@ public abstract class GrpcClient extends RpcClient {
                         } catch (Exception e) {
                             LoggerUtils.printIfErrorEnabled(LOGGER, "[{}]Handle server request exception: {}",
                                     grpcConn.getConnectionId(), payload.toString(), e.getMessage());
-                            sendResponse(request.getRequestId(), false);
+                            sendResponse(grpcConn, request.getRequestId(), false);
                         }
                         
                     }
@@ -198,6 +199,9 @@ public abstract class GrpcClient extends RpcClient {
                 boolean isRunning = isRunning();
                 boolean isAbandon = grpcConn.isAbandon();
                 if (isRunning && !isAbandon) {
+                    if (onPooledConnectionBroken(grpcConn)) {
+                        return;
+                    }
                     LoggerUtils.printIfErrorEnabled(LOGGER, "[{}]Request stream error, switch server,error={}",
                             grpcConn.getConnectionId(), throwable);
                     if (rpcClientStatus.compareAndSet(RpcClientStatus.RUNNING, RpcClientStatus.UNHEALTHY)) {
@@ -216,6 +220,9 @@ public abstract class GrpcClient extends RpcClient {
                 boolean isRunning = isRunning();
                 boolean isAbandon = grpcConn.isAbandon();
                 if (isRunning && !isAbandon) {
+                    if (onPooledConnectionBroken(grpcConn)) {
+                        return;
+                    }
                     LoggerUtils.printIfErrorEnabled(LOGGER, "[{}]Request stream onCompleted, switch server",
                             grpcConn.getConnectionId());
                     if (rpcClientStatus.compareAndSet(RpcClientStatus.RUNNING, RpcClientStatus.UNHEALTHY)) {
@@ -231,24 +238,30 @@ public abstract class GrpcClient extends RpcClient {
         });
     }
     
-    private void sendResponse(String ackId, boolean success) {
+    private void sendResponse(GrpcConnection grpcConn, String ackId, boolean success) {
         try {
             PushAckRequest request = PushAckRequest.build(ackId, success);
-            this.currentConnection.request(request, 3000L);
+            grpcConn.request(request, 3000L);
         } catch (Exception e) {
-            LOGGER.error("[{}]Error to send ack response, ackId->{}", this.currentConnection.getConnectionId(), ackId);
+            LOGGER.error("[{}]Error to send ack response, ackId->{}", grpcConn.getConnectionId(), ackId);
         }
     }
     
-    private void sendResponse(Response response) {
+    private void sendResponse(GrpcConnection grpcConn, Response response) {
         try {
-            ((GrpcConnection) this.currentConnection).sendResponse(response);
+            grpcConn.sendResponse(response);
         } catch (Exception e) {
-            LOGGER.error("[{}]Error to send ack response, ackId->{}", this.currentConnection.getConnectionId(),
+            LOGGER.error("[{}]Error to send ack response, ackId->{}", grpcConn.getConnectionId(),
                     response.getRequestId());
         }
     }
     
+    private boolean isBinaryCodecNegotiated(ServerCheckResponse response) {
+        return null != clientAbilities && BinaryPayloadCodec
+                .isNegotiated(clientAbilities.getRemoteAbility().getBinaryCodecVersion()) && BinaryPayloadCodec
+                .isNegotiated(response.getBinaryCodecVersion());
+    }
+    
     @Override
     public Connection connectToServer(ServerInfo serverInfo) {
         try {
@@ -275,6 +288,7 @@ public abstract class GrpcClient extends RpcClient {
                         .newStub(newChannelStubTemp.getChannel());
                 GrpcConnection grpcConn = new GrpcConnection(serverInfo, grpcExecutor);
                 grpcConn.setConnectionId(((ServerCheckResponse) response).getConnectionId());
+                grpcConn.setBinaryCodec(isBinaryCodecNegotiated((ServerCheckResponse) response));
                 
                 //create stream request and bind connection event to this connection.
                 StreamObserver<Payload> payloadStreamObserver = bindRequestStream(biRequestStreamStub, grpcConn);
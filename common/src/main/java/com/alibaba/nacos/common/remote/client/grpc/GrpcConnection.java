@@ -62,6 +62,11 @@ public class GrpcConnection extends Connection {
     
     protected StreamObserver<Payload> payloadStreamObserver;
     
+    /**
+     * whether binary payload codec is negotiated with server.
+     */
+    private boolean binaryCodec;
+    
     public GrpcConnection(RpcClient.ServerInfo serverInfo, Executor executor) {
         super(serverInfo);
         this.executor = executor;
@@ -69,7 +74,7 @@ public class GrpcConnection extends Connection {
     
     @Override
     public Response request(Request request, long timeouts) throws NacosException {
-        Payload grpcRequest = GrpcUtils.convert(request);
+        Payload grpcRequest = GrpcUtils.convert(request, binaryCodec);
         ListenableFuture<Payload> requestFuture = grpcFutureServiceStub.request(grpcRequest);
         Payload grpcResponse;
         try {
@@ -83,7 +88,7 @@ public class GrpcConnection extends Connection {
     
     @Override
     public RequestFuture requestFuture(Request request) throws NacosException {
-        Payload grpcRequest = GrpcUtils.convert(request);
+        Payload grpcRequest = GrpcUtils.convert(request, binaryCodec);
         
         final ListenableFuture<Payload> requestFuture = grpcFutureServiceStub.request(grpcRequest);
         return new RequestFuture() {
@@ -121,13 +126,13 @@ public class GrpcConnection extends Connection {
     }
     
     public void sendRequest(Request request) {
-        Payload convert = GrpcUtils.convert(request);
+        Payload convert = GrpcUtils.convert(request, binaryCodec);
         payloadStreamObserver.onNext(convert);
     }
     
     @Override
     public void asyncRequest(Request request, final RequestCallBack requestCallBack) throws NacosException {
-        Payload grpcRequest = GrpcUtils.convert(request);
+        Payload grpcRequest = GrpcUtils.convert(request, binaryCodec);
         ListenableFuture<Payload> requestFuture = grpcFutureServiceStub.request(grpcRequest);
         
         //set callback .
@@ -236,4 +241,12 @@ public class GrpcConnection extends Connection {
     public void setPayloadStreamObserver(StreamObserver<Payload> payloadStreamObserver) {
         this.payloadStreamObserver = payloadStreamObserver;
     }
+    
+    public boolean isBinaryCodec() {
+        return binaryCodec;
+    }
+    
+    public void setBinaryCodec(boolean binaryCodec) {
+        this.binaryCodec = binaryCodec;
+    }
 }
@@ -27,6 +27,7 @@ import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.api.remote.request.RequestMeta;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.api.utils.NetUtils;
+import com.alibaba.nacos.common.remote.client.grpc.codec.BinaryPayloadCodec;
 import com.alibaba.nacos.common.remote.exception.RemoteException;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -118,13 +119,28 @@ public class GrpcUtils {
      * @return payload.
      */
     public static Payload convert(Request request) {
+        return convert(request, false);
+    }
+    
+    /**
+     * convert request to payload, the request is encoded with binary codec if possible.
+     *
+     * @param request     request.
+     * @param binaryCodec whether binary codec is negotiated with the peer.
+     * @return payload.
+     */
+    public static Payload convert(Request request, boolean binaryCodec) {
         
         Metadata newMeta = Metadata.newBuilder().setType(request.getClass().getSimpleName())
                 .setClientIp(NetUtils.localIP()).putAllHeaders(request.getHeaders()).build();
         request.clearHeaders();
-        String jsonString = toJson(request);
         
         Payload.Builder builder = Payload.newBuilder();
+        if (binaryCodec && BinaryPayloadCodec.isSupported(request.getClass())) {
+            return builder.setBody(Any.newBuilder().setTypeUrl(BinaryPayloadCodec.TYPE_URL)
+                    .setValue(BinaryPayloadCodec.encode(request))).setMetadata(newMeta).build();
+        }
+        String jsonString = toJson(request);
     
         return builder
                 .setBody(Any.newBuilder().setValue(ByteString.copyFrom(jsonString, Charset.forName(Constants.ENCODE))))
@@ -156,7 +172,12 @@ public class GrpcUtils {
     public static Object parse(Payload payload) {
         Class classType = PayloadRegistry.getClassByType(payload.getMetadata().getType());
         if (classType != null) {
-            Object obj = toObj(payload.getBody().getValue().toString(Charset.forName(Constants.ENCODE)), classType);
+            Object obj;
+            if (isBinaryPayload(payload)) {
+                obj = BinaryPayloadCodec.decode(payload.getBody().getValue(), classType);
+            } else {
+                obj = toObj(payload.getBody().getValue().toString(Charset.forName(Constants.ENCODE)), classType);
+            }
             if (obj instanceof Request) {
                 ((Request) obj).putAllHeader(payload.getMetadata().getHeadersMap());
             }
@@ -168,6 +189,16 @@ public class GrpcUtils {
         
     }
     
+    /**
+     * Whether the payload is encoded with binary codec.
+     *
+     * @param payload payload
+     * @return true if body is binary
+     */
+    public static boolean isBinaryPayload(Payload payload) {
+        return BinaryPayloadCodec.TYPE_URL.equals(payload.getBody().getTypeUrl());
+    }
+    
     public static class PlainRequest {
         
         String type;
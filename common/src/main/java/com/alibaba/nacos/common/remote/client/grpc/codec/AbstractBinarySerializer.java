@@ -0,0 +1,273 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.client.grpc.codec;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base binary serializer with the schema of nested models.
+ *
+ * <p>Nested models are written as protobuf groups, so that the size of nested model is not required before writing
+ * and the payload can be written in a single pass. Unknown fields are skipped when reading, a newer peer can add
+ * fields without breaking older ones.
+ *
+ * @param <T> type of payload
+ * @author nacos
+ */
+public abstract class AbstractBinarySerializer<T> implements BinarySerializer<T> {
+    
+    /**
+     * Field number of request id, shared by all requests.
+     */
+    protected static final int REQUEST_ID = 1;
+    
+    private static final int MAP_KEY = 1;
+    
+    private static final int MAP_VALUE = 2;
+    
+    private static final int INSTANCE_ID = 1;
+    
+    private static final int INSTANCE_IP = 2;
+    
+    private static final int INSTANCE_PORT = 3;
+    
+    private static final int INSTANCE_WEIGHT = 4;
+    
+    private static final int INSTANCE_HEALTHY = 5;
+    
+    private static final int INSTANCE_ENABLED = 6;
+    
+    private static final int INSTANCE_EPHEMERAL = 7;
+    
+    private static final int INSTANCE_CLUSTER_NAME = 8;
+    
+    private static final int INSTANCE_SERVICE_NAME = 9;
+    
+    private static final int INSTANCE_METADATA = 10;
+    
+    private static final int SERVICE_NAME = 1;
+    
+    private static final int SERVICE_GROUP_NAME = 2;
+    
+    private static final int SERVICE_CLUSTERS = 3;
+    
+    private static final int SERVICE_CACHE_MILLIS = 4;
+    
+    private static final int SERVICE_HOSTS = 5;
+    
+    private static final int SERVICE_LAST_REF_TIME = 6;
+    
+    private static final int SERVICE_CHECKSUM = 7;
+    
+    private static final int SERVICE_ALL_IPS = 8;
+    
+    private static final int SERVICE_REACH_PROTECTION_THRESHOLD = 9;
+    
+    /**
+     * Whether the tag is the end of current message, either the end of input or the end of a group.
+     *
+     * @param tag tag read from input
+     * @return true if end of message
+     */
+    protected boolean isEndOfMessage(int tag) {
+        return 0 == tag || WireFormat.WIRETYPE_END_GROUP == WireFormat.getTagWireType(tag);
+    }
+    
+    protected void writeString(CodedOutputStream output, int field, String value) throws IOException {
+        if (null != value) {
+            output.writeString(field, value);
+        }
+    }
+    
+    protected void startGroup(CodedOutputStream output, int field) throws IOException {
+        output.writeTag(field, WireFormat.WIRETYPE_START_GROUP);
+    }
+    
+    protected void endGroup(CodedOutputStream output, int field) throws IOException {
+        output.writeTag(field, WireFormat.WIRETYPE_END_GROUP);
+    }
+    
+    protected void writeInstances(CodedOutputStream output, int field, List<Instance> instances) throws IOException {
+        if (null == instances) {
+            return;
+        }
+        for (Instance each : instances) {
+            writeInstance(output, field, each);
+        }
+    }
+    
+    protected void writeInstance(CodedOutputStream output, int field, Instance instance) throws IOException {
+        if (null == instance) {
+            return;
+        }
+        startGroup(output, field);
+        writeString(output, INSTANCE_ID, instance.getInstanceId());
+        writeString(output, INSTANCE_IP, instance.getIp());
+        output.writeInt32(INSTANCE_PORT, instance.getPort());
+        output.writeDouble(INSTANCE_WEIGHT, instance.getWeight());
+        output.writeBool(INSTANCE_HEALTHY, instance.isHealthy());
+        output.writeBool(INSTANCE_ENABLED, instance.isEnabled());
+        output.writeBool(INSTANCE_EPHEMERAL, instance.isEphemeral());
+        writeString(output, INSTANCE_CLUSTER_NAME, instance.getClusterName());
+        writeString(output, INSTANCE_SERVICE_NAME, instance.getServiceName());
+        if (null != instance.getMetadata()) {
+            for (Map.Entry<String, String> entry : instance.getMetadata().entrySet()) {
+                startGroup(output, INSTANCE_METADATA);
+                writeString(output, MAP_KEY, entry.getKey());
+                writeString(output, MAP_VALUE, entry.getValue());
+                endGroup(output, INSTANCE_METADATA);
+            }
+        }
+        endGroup(output, field);
+    }
+    
+    protected Instance readInstance(CodedInputStream input) throws IOException {
+        Instance result = new Instance();
+        int tag;
+        while (!isEndOfMessage(tag = input.readTag())) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case INSTANCE_ID:
+                    result.setInstanceId(input.readString());
+                    break;
+                case INSTANCE_IP:
+                    result.setIp(input.readString());
+                    break;
+                case INSTANCE_PORT:
+                    result.setPort(input.readInt32());
+                    break;
+                case INSTANCE_WEIGHT:
+                    result.setWeight(input.readDouble());
+                    break;
+                case INSTANCE_HEALTHY:
+                    result.setHealthy(input.readBool());
+                    break;
+                case INSTANCE_ENABLED:
+                    result.setEnabled(input.readBool());
+                    break;
+                case INSTANCE_EPHEMERAL:
+                    result.setEphemeral(input.readBool());
+                    break;
+                case INSTANCE_CLUSTER_NAME:
+                    result.setClusterName(input.readString());
+                    break;
+                case INSTANCE_SERVICE_NAME:
+                    result.setServiceName(input.readString());
+                    break;
+                case INSTANCE_METADATA:
+                    readMapEntry(input, result.getMetadata());
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return result;
+    }
+    
+    protected List<Instance> addInstance(List<Instance> instances, CodedInputStream input) throws IOException {
+        List<Instance> result = null == instances ? new ArrayList<Instance>() : instances;
+        result.add(readInstance(input));
+        return result;
+    }
+    
+    protected void writeServiceInfo(CodedOutputStream output, int field, ServiceInfo serviceInfo) throws IOException {
+        if (null == serviceInfo) {
+            return;
+        }
+        startGroup(output, field);
+        writeString(output, SERVICE_NAME, serviceInfo.getName());
+        writeString(output, SERVICE_GROUP_NAME, serviceInfo.getGroupName());
+        writeString(output, SERVICE_CLUSTERS, serviceInfo.getClusters());
+        output.writeInt64(SERVICE_CACHE_MILLIS, serviceInfo.getCacheMillis());
+        writeInstances(output, SERVICE_HOSTS, serviceInfo.getHosts());
+        output.writeInt64(SERVICE_LAST_REF_TIME, serviceInfo.getLastRefTime());
+        writeString(output, SERVICE_CHECKSUM, serviceInfo.getChecksum());
+        output.writeBool(SERVICE_ALL_IPS, serviceInfo.isAllIPs());
+        output.writeBool(SERVICE_REACH_PROTECTION_THRESHOLD, serviceInfo.isReachProtectionThreshold());
+        endGroup(output, field);
+    }
+    
+    protected ServiceInfo readServiceInfo(CodedInputStream input) throws IOException {
+        ServiceInfo result = new ServiceInfo();
+        List<Instance> hosts = new ArrayList<Instance>();
+        int tag;
+        while (!isEndOfMessage(tag = input.readTag())) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case SERVICE_NAME:
+                    result.setName(input.readString());
+                    break;
+                case SERVICE_GROUP_NAME:
+                    result.setGroupName(input.readString());
+                    break;
+                case SERVICE_CLUSTERS:
+                    result.setClusters(input.readString());
+                    break;
+                case SERVICE_CACHE_MILLIS:
+                    result.setCacheMillis(input.readInt64());
+                    break;
+                case SERVICE_HOSTS:
+                    hosts.add(readInstance(input));
+                    break;
+                case SERVICE_LAST_REF_TIME:
+                    result.setLastRefTime(input.readInt64());
+                    break;
+                case SERVICE_CHECKSUM:
+                    result.setChecksum(input.readString());
+                    break;
+                case SERVICE_ALL_IPS:
+                    result.setAllIPs(input.readBool());
+                    break;
+                case SERVICE_REACH_PROTECTION_THRESHOLD:
+                    result.setReachProtectionThreshold(input.readBool());
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        result.setHosts(hosts);
+        return result;
+    }
+    
+    private void readMapEntry(CodedInputStream input, Map<String, String> map) throws IOException {
+        String key = null;
+        String value = null;
+        int tag;
+        while (!isEndOfMessage(tag = input.readTag())) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case MAP_KEY:
+                    key = input.readString();
+                    break;
+                case MAP_VALUE:
+                    value = input.readString();
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        if (null != key) {
+            map.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.client.grpc.codec;
+
+import com.alibaba.nacos.api.exception.runtime.NacosDeserializationException;
+import com.alibaba.nacos.api.exception.runtime.NacosSerializationException;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binary payload codec for the hot request types.
+ *
+ * <p>The codec is negotiated by {@link #VERSION}, the client announces it in the abilities of connection setup
+ * request and the server announces it in server check response. Payloads encoded by this codec are marked with
+ * {@link #TYPE_URL} in the body, so that the receiver can decode them without any state of connection. Types without
+ * a registered serializer are still encoded as json.
+ *
+ * <p>Payloads are written into a buffer pooled per thread and copied into the {@link ByteString} once, no
+ * intermediate {@link String} is created.
+ *
+ * @author nacos
+ */
+public final class BinaryPayloadCodec {
+    
+    /**
+     * Version of binary codec, {@code 0} means binary codec is not supported by the peer.
+     */
+    public static final int VERSION = 1;
+    
+    public static final String TYPE_URL = "nacos/binary/v" + VERSION;
+    
+    private static final int INITIAL_BUFFER_SIZE = 4 * 1024;
+    
+    /**
+     * Buffers larger than this size are not kept by thread, to avoid holding large memory by idle threads.
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+    
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[INITIAL_BUFFER_SIZE]);
+    
+    private static final Map<Class<?>, BinarySerializer<?>> SERIALIZERS = new HashMap<>(8);
+    
+    static {
+        register(new InstanceRequestSerializer());
+        register(new SubscribeServiceRequestSerializer());
+        register(new NotifySubscriberRequestSerializer());
+        register(new ConfigQueryRequestSerializer());
+        register(new ConfigBatchListenRequestSerializer());
+    }
+    
+    private BinaryPayloadCodec() {
+    }
+    
+    private static void register(BinarySerializer<?> serializer) {
+        SERIALIZERS.put(serializer.getType(), serializer);
+    }
+    
+    /**
+     * Whether the peer with the codec version can decode binary payload.
+     *
+     * @param version codec version of peer
+     * @return true if binary payload can be used
+     */
+    public static boolean isNegotiated(int version) {
+        return version >= VERSION;
+    }
+    
+    public static boolean isSupported(Class<?> type) {
+        return SERIALIZERS.containsKey(type);
+    }
+    
+    /**
+     * Encode payload to binary.
+     *
+     * @param payload payload with registered serializer
+     * @return encoded bytes
+     * @throws NacosSerializationException if no serializer or encode failed
+     */
+    @SuppressWarnings("unchecked")
+    public static ByteString encode(Object payload) {
+        BinarySerializer<Object> serializer = (BinarySerializer<Object>) SERIALIZERS.get(payload.getClass());
+        if (null == serializer) {
+            throw new NacosSerializationException(payload.getClass());
+        }
+        byte[] buffer = BUFFER.get();
+        while (true) {
+            try {
+                CodedOutputStream output = CodedOutputStream.newInstance(buffer);
+                serializer.serialize(payload, output);
+                output.flush();
+                return ByteString.copyFrom(buffer, 0, output.getTotalBytesWritten());
+            } catch (CodedOutputStream.OutOfSpaceException e) {
+                buffer = new byte[buffer.length << 1];
+                if (buffer.length <= MAX_POOLED_BUFFER_SIZE) {
+                    BUFFER.set(buffer);
+                }
+            } catch (IOException e) {
+                throw new NacosSerializationException(payload.getClass(), e);
+            }
+        }
+    }
+    
+    /**
+     * Decode binary to payload.
+     *
+     * @param data binary data
+     * @param type payload type with registered serializer
+     * @param <T>  payload type
+     * @return payload
+     * @throws NacosDeserializationException if no serializer or decode failed
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T decode(ByteString data, Class<T> type) {
+        BinarySerializer<T> serializer = (BinarySerializer<T>) SERIALIZERS.get(type);
+        if (null == serializer) {
+            throw new NacosDeserializationException(type);
+        }
+        try {
+            return serializer.deserialize(data.newCodedInput());
+        } catch (IOException e) {
+            throw new NacosDeserializationException(type, e);
+        }
+    }
+}
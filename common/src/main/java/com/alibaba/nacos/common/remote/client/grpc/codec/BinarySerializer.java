@@ -0,0 +1,56 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.client.grpc.codec;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+
+/**
+ * Binary serializer of one payload type, encoded with protobuf wire format.
+ *
+ * @param <T> type of payload
+ * @author nacos
+ */
+public interface BinarySerializer<T> {
+    
+    /**
+     * Get the payload type handled by this serializer.
+     *
+     * @return payload type
+     */
+    Class<T> getType();
+    
+    /**
+     * Write the fields of payload into output.
+     *
+     * @param payload payload to serialize
+     * @param output  output
+     * @throws IOException if write failed
+     */
+    void serialize(T payload, CodedOutputStream output) throws IOException;
+    
+    /**
+     * Read the payload from input until the end of input.
+     *
+     * @param input input
+     * @return payload
+     * @throws IOException if read failed
+     */
+    T deserialize(CodedInputStream input) throws IOException;
+}
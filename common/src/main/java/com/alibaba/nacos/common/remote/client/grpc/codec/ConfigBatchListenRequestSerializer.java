@@ -0,0 +1,116 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.common.remote.client.grpc.codec;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest.ConfigListenContext;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary serializer of {@link ConfigBatchListenRequest}.
+ *
+ * @author nacos
+ */
+public class ConfigBatchListenRequestSerializer extends AbstractBinarySerializer<ConfigBatchListenRequest> {
+    
+    private static final int LISTEN = 10;
+    
+    private static final int CONFIG_LISTEN_CONTEXTS = 11;
+    
+    private static final int CONTEXT_GROUP = 1;
+    
+    private static final int CONTEXT_MD5 = 2;
+    
+    private static final int CONTEXT_DATA_ID = 3;
+    
+    private static final int CONTEXT_TENANT = 4;
+    
+    @Override
+    public Class<ConfigBatchListenRequest> getType() {
+        return ConfigBatchListenRequest.class;
+    }
+    
+    @Override
+    public void serialize(ConfigBatchListenRequest payload, CodedOutputStream output) throws IOException {
+        writeString(output, REQUEST_ID, payload.getRequestId());
+        output.writeBool(LISTEN, payload.isListen());
+        if (null == payload.getConfigListenContexts()) {
+            return;
+        }
+        for (ConfigListenContext each : payload.getConfigListenContexts()) {
+            startGroup(output, CONFIG_LISTEN_CONTEXTS);
+            writeString(output, CONTEXT_GROUP, each.getGroup());
+            writeString(output, CONTEXT_MD5, each.getMd5());
+            writeString(output, CONTEXT_DATA_ID, each.getDataId());
+            writeString(output, CONTEXT_TENANT, each.getTenant());
+            endGroup(output, CONFIG_LISTEN_CONTEXTS);
+        }
+    }
+    
+    @Override
+    public ConfigBatchListenRequest deserialize(CodedInputStream input) throws IOException {
+        ConfigBatchListenRequest result = new ConfigBatchListenRequest();
+        List<ConfigListenContext> contexts = new ArrayList<ConfigListenContext>();
+        int tag;
+        while (!isEndOfMessage(tag = input.readTag())) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case REQUEST_ID:
+                    result.setRequestId(input.readString());
+                    break;
+                case LISTEN:
+                    result.setListen(input.readBool());
+                    break;
+                case CONFIG_LISTEN_CONTEXTS:
+                    contexts.add(readConfigListenContext(input));
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        result.setConfigListenContexts(contexts);
+        return result;
+    }
+    
+    private ConfigListenContext readConfigListenContext(CodedInputStream input) throws IOException {
+        ConfigListenContext result = new ConfigListenContext();
+        int tag;
+        while (!isEndOfMessage(tag = input.readTag())) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case CONTEXT_GROUP:
+                    result.setGroup(input.readString());
+                    break;
+                case CONTEXT_MD5:
+                    result.setMd5(input.readString());
+                    break;
+                case CONTEXT_DATA_ID:
+                    result.setDataId(input.readString());
+                    break;
+                case CONTEXT_TENANT:
+                    result.setTenant(input.readString());
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.common.remote.client.grpc.codec;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigQueryRequest;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+
+/**
+ * Binary serializer of {@link ConfigQueryRequest}.
+ *
+ * @author nacos
+ */
+public class ConfigQueryRequestSerializer extends AbstractBinarySerializer<ConfigQueryRequest> {
+    
+    private static final int DATA_ID = 10;
+    
+    private static final int GROUP = 11;
+    
+    private static final int TENANT = 12;
+    
+    private static final int TAG = 13;
+    
+    @Override
+    public Class<ConfigQueryRequest> getType() {
+        return ConfigQueryRequest.class;
+    }
+    
+    @Override
+    public void serialize(ConfigQueryRequest payload, CodedOutputStream output) throws IOException {
+        writeString(output, REQUEST_ID, payload.getRequestId());
+        writeString(output, DATA_ID, payload.getDataId());
+        writeString(output, GROUP, payload.getGroup());
+        writeString(output, TENANT, payload.getTenant());
+        writeString(output, TAG, payload.getTag());
+    }
+    
+    @Override
+    public ConfigQueryRequest deserialize(CodedInputStream input) throws IOException {
+        ConfigQueryRequest result = new ConfigQueryRequest();
+        int tag;
+        while (!isEndOfMessage(tag = input.readTag())) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case REQUEST_ID:
+                    result.setRequestId(input.readString());
+                    break;
+                case DATA_ID:
+                    result.setDataId(input.readString());
+                    break;
+                case GROUP:
+                    result.setGroup(input.readString());
+                    break;
+                case TENANT:
+                    result.setTenant(input.readString());
+                    break;
+                case TAG:
+                    result.setTag(input.readString());
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.common.remote.client.grpc.codec;
+
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+
+/**
+ * Binary serializer of {@link InstanceRequest}.
+ *
+ * @author nacos
+ */
+public class InstanceRequestSerializer extends AbstractBinarySerializer<InstanceRequest> {
+    
+    private static final int NAMESPACE = 2;
+    
+    private static final int SERVICE_NAME = 3;
+    
+    private static final int GROUP_NAME = 4;
+    
+    private static final int TYPE = 10;
+    
+    private static final int INSTANCE = 11;
+    
+    @Override
+    public Class<InstanceRequest> getType() {
+        return InstanceRequest.class;
+    }
+    
+    @Override
+    public void serialize(InstanceRequest payload, CodedOutputStream output) throws IOException {
+        writeString(output, REQUEST_ID, payload.getRequestId());
+        writeString(output, NAMESPACE, payload.getNamespace());
+        writeString(output, SERVICE_NAME, payload.getServiceName());
+        writeString(output, GROUP_NAME, payload.getGroupName());
+        writeString(output, TYPE, payload.getType());
+        writeInstance(output, INSTANCE, payload.getInstance());
+    }
+    
+    @Override
+    public InstanceRequest deserialize(CodedInputStream input) throws IOException {
+        InstanceRequest result = new InstanceRequest();
+        int tag;
+        while (!isEndOfMessage(tag = input.readTag())) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case REQUEST_ID:
+                    result.setRequestId(input.readString());
+                    break;
+                case NAMESPACE:
+                    result.setNamespace(input.readString());
+                    break;
+                case SERVICE_NAME:
+                    result.setServiceName(input.readString());
+                    break;
+                case GROUP_NAME:
+                    result.setGroupName(input.readString());
+                    break;
+                case TYPE:
+                    result.setType(input.readString());
+                    break;
+                case INSTANCE:
+                    result.setInstance(readInstance(input));
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.common.remote.client.grpc.codec;
+
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+
+/**
+ * Binary serializer of {@link NotifySubscriberRequest}.
+ *
+ * @author nacos
+ */
+public class NotifySubscriberRequestSerializer extends AbstractBinarySerializer<NotifySubscriberRequest> {
+    
+    private static final int NAMESPACE = 2;
+    
+    private static final int SERVICE_NAME = 3;
+    
+    private static final int GROUP_NAME = 4;
+    
+    private static final int SERVICE_INFO = 10;
+    
+    private static final int REVISION = 11;
+    
+    private static final int DELTA = 12;
+    
+    private static final int BASE_REVISION = 13;
+    
+    private static final int ADDED_INSTANCES = 14;
+    
+    private static final int REMOVED_INSTANCES = 15;
+    
+    private static final int MODIFIED_INSTANCES = 16;
+    
+    @Override
+    public Class<NotifySubscriberRequest> getType() {
+        return NotifySubscriberRequest.class;
+    }
+    
+    @Override
+    public void serialize(NotifySubscriberRequest payload, CodedOutputStream output) throws IOException {
+        writeString(output, REQUEST_ID, payload.getRequestId());
+        writeString(output, NAMESPACE, payload.getNamespace());
+        writeString(output, SERVICE_NAME, payload.getServiceName());
+        writeString(output, GROUP_NAME, payload.getGroupName());
+        writeServiceInfo(output, SERVICE_INFO, payload.getServiceInfo());
+        output.writeInt64(REVISION, payload.getRevision());
+        output.writeBool(DELTA, payload.isDelta());
+        output.writeInt64(BASE_REVISION, payload.getBaseRevision());
+        writeInstances(output, ADDED_INSTANCES, payload.getAddedInstances());
+        writeInstances(output, REMOVED_INSTANCES, payload.getRemovedInstances());
+        writeInstances(output, MODIFIED_INSTANCES, payload.getModifiedInstances());
+    }
+    
+    @Override
+    public NotifySubscriberRequest deserialize(CodedInputStream input) throws IOException {
+        NotifySubscriberRequest result = new NotifySubscriberRequest();
+        int tag;
+        while (!isEndOfMessage(tag = input.readTag())) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case REQUEST_ID:
+                    result.setRequestId(input.readString());
+                    break;
+                case NAMESPACE:
+                    result.setNamespace(input.readString());
+                    break;
+                case SERVICE_NAME:
+                    result.setServiceName(input.readString());
+                    break;
+                case GROUP_NAME:
+                    result.setGroupName(input.readString());
+                    break;
+                case SERVICE_INFO:
+                    result.setServiceInfo(readServiceInfo(input));
+                    break;
+                case REVISION:
+                    result.setRevision(input.readInt64());
+                    break;
+                case DELTA:
+                    result.setDelta(input.readBool());
+                    break;
+                case BASE_REVISION:
+                    result.setBaseRevision(input.readInt64());
+                    break;
+                case ADDED_INSTANCES:
+                    result.setAddedInstances(addInstance(result.getAddedInstances(), input));
+                    break;
+                case REMOVED_INSTANCES:
+                    result.setRemovedInstances(addInstance(result.getRemovedInstances(), input));
+                    break;
+                case MODIFIED_INSTANCES:
+                    result.setModifiedInstances(addInstance(result.getModifiedInstances(), input));
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.alibaba.nacos.common.remote.client.grpc.codec;
+
+import com.alibaba.nacos.api.naming.remote.request.SubscribeServiceRequest;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+
+/**
+ * Binary serializer of {@link SubscribeServiceRequest}.
+ *
+ * @author nacos
+ */
+public class SubscribeServiceRequestSerializer extends AbstractBinarySerializer<SubscribeServiceRequest> {
+    
+    private static final int NAMESPACE = 2;
+    
+    private static final int SERVICE_NAME = 3;
+    
+    private static final int GROUP_NAME = 4;
+    
+    private static final int SUBSCRIBE = 10;
+    
+    private static final int CLUSTERS = 11;
+    
+    @Override
+    public Class<SubscribeServiceRequest> getType() {
+        return SubscribeServiceRequest.class;
+    }
+    
+    @Override
+    public void serialize(SubscribeServiceRequest payload, CodedOutputStream output) throws IOException {
+        writeString(output, REQUEST_ID, payload.getRequestId());
+        writeString(output, NAMESPACE, payload.getNamespace());
+        writeString(output, SERVICE_NAME, payload.getServiceName());
+        writeString(output, GROUP_NAME, payload.getGroupName());
+        output.writeBool(SUBSCRIBE, payload.isSubscribe());
+        writeString(output, CLUSTERS, payload.getClusters());
+    }
+    
+    @Override
+    public SubscribeServiceRequest deserialize(CodedInputStream input) throws IOException {
+        SubscribeServiceRequest result = new SubscribeServiceRequest();
+        int tag;
+        while (!isEndOfMessage(tag = input.readTag())) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case REQUEST_ID:
+                    result.setRequestId(input.readString());
+                    break;
+                case NAMESPACE:
+                    result.setNamespace(input.readString());
+                    break;
+                case SERVICE_NAME:
+                    result.setServiceName(input.readString());
+                    break;
+                case GROUP_NAME:
+                    result.setGroupName(input.readString());
+                    break;
+                case SUBSCRIBE:
+                    result.setSubscribe(input.readBool());
+                    break;
+                case CLUSTERS:
+                    result.setClusters(input.readString());
+                    break;
+                default:
+                    input.skipField(tag);
+            }
+        }
+        return result;
+    }
+}
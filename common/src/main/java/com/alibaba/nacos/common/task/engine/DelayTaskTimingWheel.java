@@ -0,0 +1,385 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Lock striped hierarchical timing wheel for {@link AbstractDelayTask}.
+ *
+ * <p>Tasks are distributed to shards by key, each shard owns its own lock, task map and wheels, so adding and merging
+ * tasks with different keys rarely contend. The deadline of a task is {@code lastProcessTime + taskInterval}, only the
+ * buckets whose deadline passed are visited when the wheel advances instead of scanning every pending task.
+ *
+ * @author nacos
+ */
+public class DelayTaskTimingWheel {
+    
+    /**
+     * Shard count of the timing wheel delay task engine, {@code 0} means use the default map based engine.
+     */
+    public static final String SHARDS_PROPERTY = "nacos.core.task.delay.timing-wheel.shards";
+    
+    private static final int WHEEL_BITS = 6;
+    
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    
+    private static final int LEVELS = 4;
+    
+    private final long tickMillis;
+    
+    private final Shard[] shards;
+    
+    public DelayTaskTimingWheel(int shardCount, long tickMillis) {
+        this(shardCount, tickMillis, System.currentTimeMillis());
+    }
+    
+    public DelayTaskTimingWheel(int shardCount, long tickMillis, long startTime) {
+        if (shardCount <= 0 || tickMillis <= 0) {
+            throw new IllegalArgumentException("Shard count and tick of timing wheel must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.shards = new Shard[shardCount];
+        long currentTick = startTime / tickMillis;
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(currentTick);
+        }
+    }
+    
+    /**
+     * Get shard count configured by system property {@link #SHARDS_PROPERTY}.
+     *
+     * @return shard count, {@code 0} if timing wheel is disabled
+     */
+    public static int getConfiguredShards() {
+        return Math.max(0, Integer.getInteger(SHARDS_PROPERTY, 0));
+    }
+    
+    /**
+     * Add task, the new task will merge the exist task with the same key.
+     *
+     * @param key     task key
+     * @param newTask new task
+     */
+    public void addTask(Object key, AbstractDelayTask newTask) {
+        Shard shard = shardOf(key);
+        shard.lock.lock();
+        try {
+            Entry existEntry = shard.entries.get(key);
+            if (null != existEntry) {
+                newTask.merge(existEntry.task);
+            }
+            long deadlineTick = deadlineTick(newTask);
+            if (null != existEntry && existEntry.deadlineTick == deadlineTick) {
+                existEntry.task = newTask;
+                return;
+            }
+            Entry entry = new Entry(key, newTask, deadlineTick);
+            shard.entries.put(key, entry);
+            shard.schedule(entry, shard.currentTick + 1);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    /**
+     * Remove task if it should be processed.
+     *
+     * @param key task key
+     * @return removed task or {@code null} if not exist or not ready to process
+     */
+    public AbstractDelayTask removeTask(Object key) {
+        Shard shard = shardOf(key);
+        shard.lock.lock();
+        try {
+            Entry entry = shard.entries.get(key);
+            if (null != entry && entry.task.shouldProcess()) {
+                shard.entries.remove(key);
+                return entry.task;
+            }
+            return null;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+    
+    /**
+     * Advance all shards to current time and handle the expired tasks out of the shard lock.
+     *
+     * @param handler expired task handler
+     * @return the number of expired tasks
+     */
+    public int pollExpiredTasks(BiConsumer<Object, AbstractDelayTask> handler) {
+        return pollExpiredTasks(System.currentTimeMillis(), handler);
+    }
+    
+    /**
+     * Advance all shards to the given time and handle the expired tasks out of the shard lock.
+     *
+     * @param now     current time in millis
+     * @param handler expired task handler
+     * @return the number of expired tasks
+     */
+    public int pollExpiredTasks(long now, BiConsumer<Object, AbstractDelayTask> handler) {
+        long nowTick = now / tickMillis;
+        int result = 0;
+        List<Entry> expired = new ArrayList<>();
+        for (Shard each : shards) {
+            each.lock.lock();
+            try {
+                each.advance(nowTick, expired);
+            } finally {
+                each.lock.unlock();
+            }
+            for (Entry entry : expired) {
+                handler.accept(entry.key, entry.task);
+            }
+            result += expired.size();
+            expired.clear();
+        }
+        return result;
+    }
+    
+    /**
+     * Get the earliest time the wheel should be advanced to expire tasks. The result may be earlier than the real
+     * deadline of tasks, such as the tick that tasks of higher level wheels are cascaded, but never later.
+     *
+     * @return time in millis, or {@link Long#MAX_VALUE} if no task
+     */
+    public long getNextExpireTime() {
+        long result = Long.MAX_VALUE;
+        for (Shard each : shards) {
+            each.lock.lock();
+            try {
+                result = Math.min(result, each.nextExpireTick());
+            } finally {
+                each.lock.unlock();
+            }
+        }
+        return Long.MAX_VALUE == result ? result : result * tickMillis;
+    }
+    
+    /**
+     * Get all task keys.
+     *
+     * @return snapshot of task keys
+     */
+    public Collection<Object> getAllTaskKeys() {
+        Collection<Object> result = new HashSet<>();
+        for (Shard each : shards) {
+            each.lock.lock();
+            try {
+                result.addAll(each.entries.keySet());
+            } finally {
+                each.lock.unlock();
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Get the number of pending tasks.
+     *
+     * @return size
+     */
+    public int size() {
+        int result = 0;
+        for (Shard each : shards) {
+            each.lock.lock();
+            try {
+                result += each.entries.size();
+            } finally {
+                each.lock.unlock();
+            }
+        }
+        return result;
+    }
+    
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+    
+    /**
+     * Clear all tasks.
+     */
+    public void clear() {
+        for (Shard each : shards) {
+            each.lock.lock();
+            try {
+                each.clear();
+            } finally {
+                each.lock.unlock();
+            }
+        }
+    }
+    
+    public int getShardCount() {
+        return shards.length;
+    }
+    
+    private long deadlineTick(AbstractDelayTask task) {
+        long deadline = task.getLastProcessTime() + task.getTaskInterval();
+        return (deadline + tickMillis - 1) / tickMillis;
+    }
+    
+    private Shard shardOf(Object key) {
+        int hash = null == key ? 0 : key.hashCode();
+        hash ^= hash >>> 16;
+        return shards[(hash & Integer.MAX_VALUE) % shards.length];
+    }
+    
+    private static class Entry {
+        
+        private final Object key;
+        
+        private final long deadlineTick;
+        
+        private AbstractDelayTask task;
+        
+        private Entry(Object key, AbstractDelayTask task, long deadlineTick) {
+            this.key = key;
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+    
+    private static class Shard {
+        
+        private final ReentrantLock lock = new ReentrantLock();
+        
+        private final Map<Object, Entry> entries = new HashMap<>();
+        
+        @SuppressWarnings("unchecked")
+        private final List<Entry>[][] buckets = new List[LEVELS][WHEEL_SIZE];
+        
+        private long currentTick;
+        
+        private Shard(long currentTick) {
+            this.currentTick = currentTick;
+        }
+        
+        /**
+         * Put entry into the bucket of its deadline, the deadline earlier than {@code minTick} will use {@code
+         * minTick}. Entries out of the range of the top level wheel are put into the farthest bucket and scheduled
+         * again when they are cascaded.
+         */
+        private void schedule(Entry entry, long minTick) {
+            long targetTick = Math.max(entry.deadlineTick, minTick);
+            long delta = targetTick - currentTick;
+            for (int level = 0; level < LEVELS; level++) {
+                int shift = WHEEL_BITS * level;
+                if (delta < (1L << (shift + WHEEL_BITS))) {
+                    addToBucket(level, (int) ((targetTick >>> shift) & WHEEL_MASK), entry);
+                    return;
+                }
+            }
+            int topShift = WHEEL_BITS * (LEVELS - 1);
+            long farthestTick = currentTick + (1L << (topShift + WHEEL_BITS)) - 1;
+            addToBucket(LEVELS - 1, (int) ((farthestTick >>> topShift) & WHEEL_MASK), entry);
+        }
+        
+        private void addToBucket(int level, int slot, Entry entry) {
+            List<Entry> bucket = buckets[level][slot];
+            if (null == bucket) {
+                bucket = new ArrayList<>();
+                buckets[level][slot] = bucket;
+            }
+            bucket.add(entry);
+        }
+        
+        private List<Entry> takeBucket(int level, int slot) {
+            List<Entry> bucket = buckets[level][slot];
+            buckets[level][slot] = null;
+            return bucket;
+        }
+        
+        private boolean isStale(Entry entry) {
+            return entries.get(entry.key) != entry;
+        }
+        
+        private void advance(long nowTick, List<Entry> expired) {
+            while (currentTick < nowTick) {
+                currentTick++;
+                cascade();
+                List<Entry> bucket = takeBucket(0, (int) (currentTick & WHEEL_MASK));
+                if (null == bucket) {
+                    continue;
+                }
+                for (Entry entry : bucket) {
+                    if (isStale(entry)) {
+                        continue;
+                    }
+                    if (entry.deadlineTick <= currentTick && entry.task.shouldProcess()) {
+                        entries.remove(entry.key);
+                        expired.add(entry);
+                    } else {
+                        schedule(entry, currentTick + 1);
+                    }
+                }
+            }
+        }
+        
+        private long nextExpireTick() {
+            if (entries.isEmpty()) {
+                return Long.MAX_VALUE;
+            }
+            for (long tick = currentTick + 1; ; tick++) {
+                // tasks of higher level wheels are cascaded to the lowest level at the boundary of a round.
+                if (null != buckets[0][(int) (tick & WHEEL_MASK)] || 0 == (tick & WHEEL_MASK)) {
+                    return tick;
+                }
+            }
+        }
+        
+        private void cascade() {
+            for (int level = LEVELS - 1; level > 0; level--) {
+                int shift = WHEEL_BITS * level;
+                if ((currentTick & ((1L << shift) - 1)) != 0) {
+                    continue;
+                }
+                List<Entry> bucket = takeBucket(level, (int) ((currentTick >>> shift) & WHEEL_MASK));
+                if (null == bucket) {
+                    continue;
+                }
+                for (Entry entry : bucket) {
+                    if (!isStale(entry)) {
+                        schedule(entry, currentTick);
+                    }
+                }
+            }
+        }
+        
+        private void clear() {
+            entries.clear();
+            for (List<Entry>[] each : buckets) {
+                Arrays.fill(each, null);
+            }
+        }
+    }
+}
@@ -33,6 +33,9 @@ import java.util.concurrent.locks.ReentrantLock;
 /**
  * Nacos delay task execute engine.
  *
+ * <p>By default all tasks are kept in one map and scanned every {@code processInterval}. If {@code timingWheelShards}
+ * is positive, tasks are kept in a lock striped {@link DelayTaskTimingWheel} and only the expired tasks are processed.
+ *
  * @author xiweng.yy
  */
 public class NacosDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<AbstractDelayTask> {
@@ -43,6 +46,8 @@ public class NacosDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<
     
     protected final ReentrantLock lock = new ReentrantLock();
     
+    private final DelayTaskTimingWheel timingWheel;
+    
     public NacosDelayTaskExecuteEngine(String name) {
         this(name, null);
     }
@@ -60,8 +65,14 @@ public class NacosDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<
     }
     
     public NacosDelayTaskExecuteEngine(String name, int initCapacity, Logger logger, long processInterval) {
+        this(name, initCapacity, logger, processInterval, 0);
+    }
+    
+    public NacosDelayTaskExecuteEngine(String name, int initCapacity, Logger logger, long processInterval,
+            int timingWheelShards) {
         super(logger);
         tasks = new ConcurrentHashMap<>(initCapacity);
+        timingWheel = timingWheelShards > 0 ? new DelayTaskTimingWheel(timingWheelShards, processInterval) : null;
         processingExecutor = ExecutorFactory.newSingleScheduledExecutorService(new NameThreadFactory(name));
         processingExecutor
                 .scheduleWithFixedDelay(new ProcessRunnable(), processInterval, processInterval, TimeUnit.MILLISECONDS);
@@ -69,6 +80,9 @@ public class NacosDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<
     
     @Override
     public int size() {
+        if (null != timingWheel) {
+            return timingWheel.size();
+        }
         lock.lock();
         try {
             return tasks.size();
@@ -79,6 +93,9 @@ public class NacosDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<
     
     @Override
     public boolean isEmpty() {
+        if (null != timingWheel) {
+            return timingWheel.isEmpty();
+        }
         lock.lock();
         try {
             return tasks.isEmpty();
@@ -89,6 +106,9 @@ public class NacosDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<
     
     @Override
     public AbstractDelayTask removeTask(Object key) {
+        if (null != timingWheel) {
+            return timingWheel.removeTask(key);
+        }
         lock.lock();
         try {
             AbstractDelayTask task = tasks.get(key);
@@ -104,6 +124,9 @@ public class NacosDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<
     
     @Override
     public Collection<Object> getAllTaskKeys() {
+        if (null != timingWheel) {
+            return timingWheel.getAllTaskKeys();
+        }
         Collection<Object> keys = new HashSet<Object>();
         lock.lock();
         try {
@@ -117,11 +140,18 @@ public class NacosDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<
     @Override
     public void shutdown() throws NacosException {
         tasks.clear();
+        if (null != timingWheel) {
+            timingWheel.clear();
+        }
         processingExecutor.shutdown();
     }
     
     @Override
     public void addTask(Object key, AbstractDelayTask newTask) {
+        if (null != timingWheel) {
+            timingWheel.addTask(key, newTask);
+            return;
+        }
         lock.lock();
         try {
             AbstractDelayTask existTask = tasks.get(key);
@@ -138,29 +168,41 @@ public class NacosDelayTaskExecuteEngine extends AbstractNacosTaskExecuteEngine<
      * process tasks in execute engine.
      */
     protected void processTasks() {
+        if (null != timingWheel) {
+            timingWheel.pollExpiredTasks(this::processTask);
+            return;
+        }
         Collection<Object> keys = getAllTaskKeys();
         for (Object taskKey : keys) {
             AbstractDelayTask task = removeTask(taskKey);
             if (null == task) {
                 continue;
             }
-            NacosTaskProcessor processor = getProcessor(taskKey);
-            if (null == processor) {
-                getEngineLog().error("processor not found for task, so discarded. " + task);
-                continue;
-            }
-            try {
-                // ReAdd task if process failed
-                if (!processor.process(task)) {
-                    retryFailedTask(taskKey, task);
-                }
-            } catch (Throwable e) {
-                getEngineLog().error("Nacos task execute error : " + e.toString(), e);
+            processTask(taskKey, task);
+        }
+    }
+    
+    private void processTask(Object taskKey, AbstractDelayTask task) {
+        NacosTaskProcessor processor = getProcessor(taskKey);
+        if (null == processor) {
+            getEngineLog().error("processor not found for task, so discarded. " + task);
+            return;
+        }
+        try {
+            // ReAdd task if process failed
+            if (!processor.process(task)) {
                 retryFailedTask(taskKey, task);
             }
+        } catch (Throwable e) {
+            getEngineLog().error("Nacos task execute error : " + e.toString(), e);
+            retryFailedTask(taskKey, task);
         }
     }
     
+    public boolean isTimingWheelEnabled() {
+        return null != timingWheel;
+    }
+    
     private void retryFailedTask(Object key, AbstractDelayTask task) {
         task.setLastProcessTime(System.currentTimeMillis());
         addTask(key, task);
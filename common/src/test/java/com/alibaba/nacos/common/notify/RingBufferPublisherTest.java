@@ -0,0 +1,114 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.notify;
+
+import com.alibaba.nacos.common.notify.listener.Subscriber;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RingBufferPublisherTest {
+    
+    private RingBufferPublisher publisher;
+    
+    private static class TestEvent extends Event {
+    
+    }
+    
+    @After
+    public void tearDown() {
+        if (null != publisher) {
+            publisher.shutdown();
+        }
+    }
+    
+    @Test
+    public void testRingBufferOfferAndDrain() {
+        MultiProducerRingBuffer<Integer> ringBuffer = new MultiProducerRingBuffer<>(3);
+        Assert.assertEquals(4, ringBuffer.capacity());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertTrue(ringBuffer.offer(i));
+        }
+        Assert.assertFalse(ringBuffer.offer(4));
+        Assert.assertEquals(4, ringBuffer.size());
+        List<Integer> drained = new ArrayList<>();
+        Assert.assertEquals(3, ringBuffer.drain(drained::add, 3));
+        Assert.assertTrue(ringBuffer.offer(5));
+        Assert.assertEquals(2, ringBuffer.drain(drained::add, 10));
+        Assert.assertTrue(ringBuffer.isEmpty());
+        Assert.assertEquals("[0, 1, 2, 3, 5]", drained.toString());
+    }
+    
+    @Test
+    public void testMultiProducerPublish() throws Exception {
+        publisher = new RingBufferPublisher(RingBufferWaitStrategy.PARK, 64, false);
+        publisher.init(TestEvent.class, 1024);
+        final int producers = 4;
+        final int eventsPerProducer = 5000;
+        final CountDownLatch latch = new CountDownLatch(producers * eventsPerProducer);
+        final AtomicInteger received = new AtomicInteger();
+        publisher.addSubscriber(new Subscriber<TestEvent>() {
+            @Override
+            public void onEvent(TestEvent event) {
+                received.incrementAndGet();
+                latch.countDown();
+            }
+            
+            @Override
+            public Class<? extends Event> subscribeType() {
+                return TestEvent.class;
+            }
+        });
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < eventsPerProducer; j++) {
+                    Assert.assertTrue(publisher.publish(new TestEvent()));
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread each : threads) {
+            each.join();
+        }
+        Assert.assertTrue(latch.await(10L, TimeUnit.SECONDS));
+        Assert.assertEquals(producers * eventsPerProducer, received.get());
+        Assert.assertEquals(producers * eventsPerProducer,
+                publisher.getPublishedCount() + publisher.getCallerRunsCount());
+        Assert.assertTrue(publisher.getMaxDrainBatchSize() <= 64);
+        Assert.assertEquals(0, publisher.getDroppedCount());
+    }
+    
+    @Test
+    public void testDiscardOnFull() {
+        publisher = new RingBufferPublisher(RingBufferWaitStrategy.YIELD, 16, true);
+        publisher.init(TestEvent.class, 2);
+        // No subscriber registered, the publisher thread is still waiting so the ring buffer keeps events.
+        Assert.assertTrue(publisher.publish(new TestEvent()));
+        Assert.assertTrue(publisher.publish(new TestEvent()));
+        Assert.assertFalse(publisher.publish(new TestEvent()));
+        Assert.assertEquals(1, publisher.getDroppedCount());
+        Assert.assertEquals(2, publisher.currentEventSize());
+    }
+}
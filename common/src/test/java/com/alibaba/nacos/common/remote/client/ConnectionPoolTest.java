@@ -0,0 +1,160 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.client;
+
+import com.alibaba.nacos.api.exception.NacosException;
+import com.alibaba.nacos.api.remote.RequestCallBack;
+import com.alibaba.nacos.api.remote.RequestFuture;
+import com.alibaba.nacos.api.remote.request.HealthCheckRequest;
+import com.alibaba.nacos.api.remote.request.Request;
+import com.alibaba.nacos.api.remote.request.ServerCheckRequest;
+import com.alibaba.nacos.api.remote.response.Response;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class ConnectionPoolTest {
+    
+    private ConnectionPool pool;
+    
+    private Connection current;
+    
+    @Before
+    public void setUp() {
+        pool = new ConnectionPool(3, 2, Collections.singletonList(HealthCheckRequest.class));
+        current = new TestConnection();
+        pool.reset(current);
+    }
+    
+    @Test
+    public void testIsPooled() {
+        Assert.assertTrue(pool.isPooled(new HealthCheckRequest()));
+        Assert.assertFalse(pool.isPooled(new ServerCheckRequest()));
+    }
+    
+    @Test
+    public void testAddAndReset() {
+        Assert.assertFalse(pool.isFull(current));
+        Assert.assertTrue(pool.add(current, new TestConnection()));
+        Assert.assertTrue(pool.add(current, new TestConnection()));
+        Assert.assertTrue(pool.isFull(current));
+        Assert.assertFalse(pool.add(current, new TestConnection()));
+        
+        Connection newCurrent = new TestConnection();
+        Assert.assertEquals(2, pool.reset(newCurrent).size());
+        Assert.assertEquals(0, pool.size());
+        Assert.assertTrue(pool.isFull(current));
+        Assert.assertFalse(pool.add(current, new TestConnection()));
+        Assert.assertTrue(pool.add(newCurrent, new TestConnection()));
+    }
+    
+    @Test
+    public void testAcquireLeastInFlight() throws NacosException {
+        Connection pooled = new TestConnection();
+        pool.add(current, pooled);
+        Assert.assertSame(current, pool.acquire(current, 0L));
+        Assert.assertSame(pooled, pool.acquire(current, 0L));
+        Assert.assertSame(current, pool.acquire(current, 0L));
+        Assert.assertEquals(2, current.getInFlight());
+        Assert.assertEquals(1, pooled.getInFlight());
+        
+        pool.release(current);
+        pool.release(current);
+        Assert.assertSame(current, pool.acquire(current, 0L));
+        Assert.assertEquals(1, current.getInFlight());
+    }
+    
+    @Test
+    public void testAcquireSkipAbandon() throws NacosException {
+        Connection pooled = new TestConnection();
+        pooled.setAbandon(true);
+        pool.add(current, pooled);
+        pool.acquire(current, 0L);
+        Assert.assertSame(current, pool.acquire(current, 0L));
+        Assert.assertEquals(0, pooled.getInFlight());
+    }
+    
+    @Test
+    public void testAcquireTimeout() throws NacosException {
+        pool.acquire(current, 0L);
+        pool.acquire(current, 0L);
+        try {
+            pool.acquire(current, 10L);
+            Assert.fail();
+        } catch (NacosException e) {
+            Assert.assertEquals(NacosException.CLIENT_OVER_THRESHOLD, e.getErrCode());
+        }
+    }
+    
+    @Test
+    public void testAcquireWaitRelease() throws Exception {
+        pool.acquire(current, 0L);
+        pool.acquire(current, 0L);
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50L);
+            } catch (InterruptedException ignored) {
+            }
+            pool.release(current);
+        });
+        releaser.start();
+        Assert.assertSame(current, pool.acquire(current, 5000L));
+        releaser.join();
+        Assert.assertEquals(2, current.getInFlight());
+    }
+    
+    @Test
+    public void testPooledRequestCallBack() throws Exception {
+        Connection connection = pool.acquire(current, 0L);
+        PooledRequestCallBack callBack = new PooledRequestCallBack(pool, connection, 1000L, null);
+        Assert.assertFalse(callBack.isDone());
+        Response response = new Response() {
+        };
+        callBack.onResponse(response);
+        callBack.onException(new RuntimeException());
+        Assert.assertTrue(callBack.isDone());
+        Assert.assertSame(response, callBack.get());
+        Assert.assertEquals(0, current.getInFlight());
+    }
+    
+    private static class TestConnection extends Connection {
+        
+        TestConnection() {
+            super(new RpcClient.ServerInfo("127.0.0.1", 8848));
+        }
+        
+        @Override
+        public Response request(Request request, long timeoutMills) {
+            return null;
+        }
+        
+        @Override
+        public RequestFuture requestFuture(Request request) {
+            return null;
+        }
+        
+        @Override
+        public void asyncRequest(Request request, RequestCallBack requestCallBack) {
+        }
+        
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.remote.client.grpc.codec;
+
+import com.alibaba.nacos.api.config.remote.request.ConfigBatchListenRequest;
+import com.alibaba.nacos.api.grpc.auto.Payload;
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.InstanceRequest;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.api.remote.PayloadRegistry;
+import com.alibaba.nacos.api.remote.request.ServerCheckRequest;
+import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BinaryPayloadCodecTest {
+    
+    @BeforeClass
+    public static void setUpClass() {
+        PayloadRegistry.init();
+    }
+    
+    @Test
+    public void testInstanceRequest() {
+        Instance instance = createInstance("1.1.1.1");
+        instance.getMetadata().put("key", "value");
+        InstanceRequest request = new InstanceRequest("ns", "service", "group", "registerInstance", instance);
+        request.setRequestId("1");
+        request.putHeader("token", "abc");
+        Payload payload = GrpcUtils.convert(request, true);
+        assertTrue(GrpcUtils.isBinaryPayload(payload));
+        InstanceRequest actual = (InstanceRequest) GrpcUtils.parse(payload);
+        assertEquals("1", actual.getRequestId());
+        assertEquals("abc", actual.getHeader("token"));
+        assertEquals("ns", actual.getNamespace());
+        assertEquals("service", actual.getServiceName());
+        assertEquals("group", actual.getGroupName());
+        assertEquals("registerInstance", actual.getType());
+        assertEquals(instance, actual.getInstance());
+    }
+    
+    @Test
+    public void testNotifySubscriberRequest() {
+        ServiceInfo serviceInfo = new ServiceInfo("group@@service");
+        List<Instance> hosts = new ArrayList<>();
+        hosts.add(createInstance("1.1.1.1"));
+        hosts.add(createInstance("1.1.1.2"));
+        serviceInfo.setHosts(hosts);
+        NotifySubscriberRequest request = NotifySubscriberRequest.buildSuccessResponse(serviceInfo);
+        request.setRevision(2L);
+        NotifySubscriberRequest actual = BinaryPayloadCodec
+                .decode(BinaryPayloadCodec.encode(request), NotifySubscriberRequest.class);
+        assertEquals(serviceInfo.getKey(), actual.getServiceInfo().getKey());
+        assertEquals(hosts, actual.getServiceInfo().getHosts());
+        assertEquals(2L, actual.getRevision());
+        assertFalse(actual.isDelta());
+        assertNull(actual.getAddedInstances());
+        
+        NotifySubscriberRequest delta = NotifySubscriberRequest
+                .buildDeltaRequest(new ServiceInfo("group@@service"), 2L, 3L,
+                        Collections.singletonList(createInstance("1.1.1.3")), Collections.emptyList(),
+                        Collections.emptyList());
+        actual = BinaryPayloadCodec.decode(BinaryPayloadCodec.encode(delta), NotifySubscriberRequest.class);
+        assertTrue(actual.isDelta());
+        assertEquals(2L, actual.getBaseRevision());
+        assertEquals(1, actual.getAddedInstances().size());
+        assertNull(actual.getRemovedInstances());
+    }
+    
+    @Test
+    public void testConfigBatchListenRequest() {
+        ConfigBatchListenRequest request = new ConfigBatchListenRequest();
+        request.setListen(false);
+        request.addConfigListenContext("group", "dataId", "tenant", "md5");
+        ConfigBatchListenRequest actual = BinaryPayloadCodec
+                .decode(BinaryPayloadCodec.encode(request), ConfigBatchListenRequest.class);
+        assertFalse(actual.isListen());
+        assertEquals(1, actual.getConfigListenContexts().size());
+        assertEquals("dataId", actual.getConfigListenContexts().get(0).getDataId());
+        assertEquals("md5", actual.getConfigListenContexts().get(0).getMd5());
+    }
+    
+    @Test
+    public void testLargePayload() {
+        ServiceInfo serviceInfo = new ServiceInfo("group@@service");
+        List<Instance> hosts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            hosts.add(createInstance("1.1." + i / 256 + "." + i % 256));
+        }
+        serviceInfo.setHosts(hosts);
+        NotifySubscriberRequest actual = BinaryPayloadCodec
+                .decode(BinaryPayloadCodec.encode(NotifySubscriberRequest.buildSuccessResponse(serviceInfo)),
+                        NotifySubscriberRequest.class);
+        assertEquals(hosts, actual.getServiceInfo().getHosts());
+    }
+    
+    @Test
+    public void testUnsupportedTypeFallbackToJson() {
+        Payload payload = GrpcUtils.convert(new ServerCheckRequest(), true);
+        assertFalse(GrpcUtils.isBinaryPayload(payload));
+        assertTrue(GrpcUtils.parse(payload) instanceof ServerCheckRequest);
+    }
+    
+    private Instance createInstance(String ip) {
+        Instance result = new Instance();
+        result.setIp(ip);
+        result.setPort(8848);
+        result.setWeight(2.0);
+        result.setClusterName("DEFAULT");
+        result.setServiceName("group@@service");
+        return result;
+    }
+}
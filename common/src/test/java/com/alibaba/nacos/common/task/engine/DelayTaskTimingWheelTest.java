@@ -0,0 +1,154 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.common.task.engine;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+import com.alibaba.nacos.common.task.NacosTask;
+import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DelayTaskTimingWheelTest {
+    
+    private static class CountTask extends AbstractDelayTask {
+        
+        private int count = 1;
+        
+        CountTask(long delay) {
+            setTaskInterval(delay);
+            setLastProcessTime(System.currentTimeMillis());
+        }
+        
+        @Override
+        public void merge(AbstractDelayTask task) {
+            count += ((CountTask) task).count;
+            setLastProcessTime(Math.min(getLastProcessTime(), task.getLastProcessTime()));
+        }
+    }
+    
+    private static class DeadlineTask extends AbstractDelayTask {
+        
+        DeadlineTask(long deadline) {
+            setLastProcessTime(deadline);
+        }
+        
+        @Override
+        public void merge(AbstractDelayTask task) {
+        }
+        
+        @Override
+        public boolean shouldProcess() {
+            return true;
+        }
+    }
+    
+    @Test
+    public void testMergeAndExpire() throws InterruptedException {
+        DelayTaskTimingWheel timingWheel = new DelayTaskTimingWheel(4, 10L);
+        timingWheel.addTask("a", new CountTask(50L));
+        timingWheel.addTask("a", new CountTask(50L));
+        timingWheel.addTask("b", new CountTask(50L));
+        assertEquals(2, timingWheel.size());
+        List<CountTask> expired = new ArrayList<>();
+        assertEquals(0, timingWheel.pollExpiredTasks((key, task) -> expired.add((CountTask) task)));
+        TimeUnit.MILLISECONDS.sleep(80L);
+        assertEquals(2, timingWheel.pollExpiredTasks((key, task) -> expired.add((CountTask) task)));
+        assertEquals(3, expired.get(0).count + expired.get(1).count);
+        assertTrue(timingWheel.isEmpty());
+    }
+    
+    @Test
+    public void testExpireAcrossLevels() throws InterruptedException {
+        DelayTaskTimingWheel timingWheel = new DelayTaskTimingWheel(1, 1L);
+        timingWheel.addTask("far", new CountTask(150L));
+        timingWheel.addTask("near", new CountTask(5L));
+        List<Object> expiredKeys = new ArrayList<>();
+        TimeUnit.MILLISECONDS.sleep(20L);
+        timingWheel.pollExpiredTasks((key, task) -> expiredKeys.add(key));
+        assertEquals(1, expiredKeys.size());
+        assertEquals("near", expiredKeys.get(0));
+        TimeUnit.MILLISECONDS.sleep(150L);
+        timingWheel.pollExpiredTasks((key, task) -> expiredKeys.add(key));
+        assertEquals(2, expiredKeys.size());
+        assertEquals("far", expiredKeys.get(1));
+    }
+    
+    @Test
+    public void testRemoveTask() throws InterruptedException {
+        DelayTaskTimingWheel timingWheel = new DelayTaskTimingWheel(2, 10L);
+        CountTask task = new CountTask(20L);
+        timingWheel.addTask("a", task);
+        assertNull(timingWheel.removeTask("a"));
+        TimeUnit.MILLISECONDS.sleep(30L);
+        assertSame(task, timingWheel.removeTask("a"));
+        assertEquals(0, timingWheel.pollExpiredTasks((key, each) -> {
+        }));
+    }
+    
+    @Test
+    public void testPollByGivenTime() {
+        DelayTaskTimingWheel timingWheel = new DelayTaskTimingWheel(1, 10L, 1000L);
+        assertEquals(Long.MAX_VALUE, timingWheel.getNextExpireTime());
+        timingWheel.addTask("near", new DeadlineTask(1025L));
+        timingWheel.addTask("far", new DeadlineTask(3000L));
+        assertEquals(1030L, timingWheel.getNextExpireTime());
+        List<Object> expiredKeys = new ArrayList<>();
+        assertEquals(0, timingWheel.pollExpiredTasks(1029L, (key, task) -> expiredKeys.add(key)));
+        assertEquals(1, timingWheel.pollExpiredTasks(1030L, (key, task) -> expiredKeys.add(key)));
+        assertEquals("near", expiredKeys.get(0));
+        // far is in a higher level wheel, the wheel should be advanced at the boundary to cascade it.
+        long nextExpireTime = timingWheel.getNextExpireTime();
+        assertTrue(nextExpireTime > 1030L && nextExpireTime <= 3000L);
+        assertEquals(0, timingWheel.pollExpiredTasks(2990L, (key, task) -> expiredKeys.add(key)));
+        assertEquals(3000L, timingWheel.getNextExpireTime());
+        assertEquals(1, timingWheel.pollExpiredTasks(3000L, (key, task) -> expiredKeys.add(key)));
+        assertEquals("far", expiredKeys.get(1));
+        assertEquals(Long.MAX_VALUE, timingWheel.getNextExpireTime());
+    }
+    
+    @Test
+    public void testEngineWithTimingWheel() throws Exception {
+        NacosDelayTaskExecuteEngine engine = new NacosDelayTaskExecuteEngine(
+                DelayTaskTimingWheelTest.class.getName(), 32, null, 10L, 4);
+        final AtomicInteger processTimes = new AtomicInteger();
+        engine.setDefaultTaskProcessor(new NacosTaskProcessor() {
+            @Override
+            public boolean process(NacosTask task) {
+                return processTimes.incrementAndGet() > 1;
+            }
+        });
+        try {
+            assertTrue(engine.isTimingWheelEnabled());
+            engine.addTask("test", new CountTask(20L));
+            assertEquals(1, engine.size());
+            TimeUnit.MILLISECONDS.sleep(200L);
+            assertEquals(2, processTimes.get());
+            assertTrue(engine.isEmpty());
+        } finally {
+            engine.shutdown();
+        }
+    }
+}
@@ -59,4 +59,22 @@ public class PropertiesConstant {
     
     public static final String EMBEDDED_STORAGE = "embeddedStorage";
     
+    public static final String COMPACT_CONFIG_CACHE = "compactConfigCache";
+    
+    public static final String PUSH_FANOUT_WORKERS = "pushFanoutWorkers";
+    
+    public static final String PUSH_COALESCE_WINDOW = "pushCoalesceWindow";
+    
+    public static final String PUSH_MAX_IN_FLIGHT = "pushMaxInFlight";
+    
+    public static final String DUMP_ALL_WORKERS = "dumpAllWorkers";
+    
+    public static final String EMBEDDED_STORAGE_WRITE_BATCH_SIZE = "embeddedStorageWriteBatchSize";
+    
+    public static final String EMBEDDED_STORAGE_WRITE_BATCH_WINDOW = "embeddedStorageWriteBatchWindow";
+    
+    public static final String EMBEDDED_STORAGE_LOCAL_READ = "embeddedStorageLocalRead";
+    
+    public static final String MAPPED_CONTENT_STORE = "mappedContentStore";
+    
 }
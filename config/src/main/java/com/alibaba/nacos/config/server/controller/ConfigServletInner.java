@@ -24,6 +24,7 @@ import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigInfoBase;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.service.LongPollingService;
+import com.alibaba.nacos.config.server.service.MappedContentStore;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
 import com.alibaba.nacos.config.server.service.trace.ConfigTraceService;
 import com.alibaba.nacos.config.server.utils.DiskUtil;
@@ -135,6 +136,7 @@ public class ConfigServletInner {
         if (lockResult > 0) {
             // LockResult > 0 means cacheItem is not null and other thread can`t delete this cacheItem
             FileInputStream fis = null;
+            MappedContentStore.Content mappedContent = null;
             try {
                 String md5 = Constants.NULL;
                 long lastModified = 0L;
@@ -242,8 +244,13 @@ public class ConfigServletInner {
                 if (PropertyUtil.isDirectRead()) {
                     response.setDateHeader("Last-Modified", lastModified);
                 } else {
-                    fis = new FileInputStream(file);
-                    response.setDateHeader("Last-Modified", file.lastModified());
+                    mappedContent = DiskUtil.openMappedContent(file);
+                    if (null != mappedContent) {
+                        response.setDateHeader("Last-Modified", mappedContent.getLastModified());
+                    } else {
+                        fis = new FileInputStream(file);
+                        response.setDateHeader("Last-Modified", file.lastModified());
+                    }
                 }
                 
                 if (PropertyUtil.isDirectRead()) {
@@ -251,6 +258,8 @@ public class ConfigServletInner {
                     out.print(configInfoBase.getContent());
                     out.flush();
                     out.close();
+                } else if (null != mappedContent) {
+                    mappedContent.transferTo(Channels.newChannel(response.getOutputStream()));
                 } else {
                     fis.getChannel()
                             .transferTo(0L, fis.getChannel().size(), Channels.newChannel(response.getOutputStream()));
@@ -271,6 +280,7 @@ public class ConfigServletInner {
             } finally {
                 releaseConfigReadLock(groupKey);
                 IoUtils.closeQuietly(fis);
+                IoUtils.closeQuietly(mappedContent);
             }
         } else if (lockResult == 0) {
             
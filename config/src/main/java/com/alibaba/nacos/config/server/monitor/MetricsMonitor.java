@@ -56,6 +56,16 @@ public class MetricsMonitor {
     
     private static AtomicInteger dumpTask = new AtomicInteger();
     
+    /**
+     * configs dumped by current or last dump all task.
+     */
+    private static AtomicInteger dumpAllCount = new AtomicInteger();
+    
+    /**
+     * configs failed to dump by current or last dump all task.
+     */
+    private static AtomicInteger dumpAllFailCount = new AtomicInteger();
+    
     static {
         List<Tag> tags = new ArrayList<Tag>();
         tags.add(new ImmutableTag("module", "config"));
@@ -92,6 +102,16 @@ public class MetricsMonitor {
         tags.add(new ImmutableTag("name", "dumpTask"));
         
         Metrics.gauge("nacos_monitor", tags, dumpTask);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "dumpAllCount"));
+        Metrics.gauge("nacos_monitor", tags, dumpAllCount);
+        
+        tags = new ArrayList<Tag>();
+        tags.add(new ImmutableTag("module", "config"));
+        tags.add(new ImmutableTag("name", "dumpAllFailCount"));
+        Metrics.gauge("nacos_monitor", tags, dumpAllFailCount);
     }
     
     public static AtomicInteger getConfigMonitor() {
@@ -122,6 +142,14 @@ public class MetricsMonitor {
         return dumpTask;
     }
     
+    public static AtomicInteger getDumpAllCountMonitor() {
+        return dumpAllCount;
+    }
+    
+    public static AtomicInteger getDumpAllFailCountMonitor() {
+        return dumpAllFailCount;
+    }
+    
     public static Timer getNotifyRtTimer() {
         return Metrics.timer("nacos_timer", "module", "config", "name", "notifyRt");
     }
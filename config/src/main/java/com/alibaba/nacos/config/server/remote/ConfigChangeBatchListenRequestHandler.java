@@ -32,6 +32,11 @@ import com.alibaba.nacos.core.utils.StringPool;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * config change listen request handler.
  *
@@ -54,23 +59,36 @@ public class ConfigChangeBatchListenRequestHandler
         String tag = configChangeListenRequest.getHeader(Constants.VIPSERVER_TAG);
         
         ConfigChangeBatchListenResponse configChangeBatchListenResponse = new ConfigChangeBatchListenResponse();
-        for (ConfigBatchListenRequest.ConfigListenContext listenContext : configChangeListenRequest
-                .getConfigListenContexts()) {
-            String groupKey = GroupKey2
-                    .getKey(listenContext.getDataId(), listenContext.getGroup(), listenContext.getTenant());
-            groupKey = StringPool.get(groupKey);
-            
-            String md5 = StringPool.get(listenContext.getMd5());
-            
-            if (configChangeListenRequest.isListen()) {
-                configChangeListenContext.addListen(groupKey, md5, connectionId);
-                boolean isUptoDate = ConfigCacheService.isUptodate(groupKey, md5, meta.getClientIp(), tag);
-                if (!isUptoDate) {
-                    configChangeBatchListenResponse.addChangeConfig(listenContext.getDataId(), listenContext.getGroup(),
-                            listenContext.getTenant());
-                }
-            } else {
-                configChangeListenContext.removeListen(groupKey, connectionId);
+        List<ConfigBatchListenRequest.ConfigListenContext> listenContexts = configChangeListenRequest
+                .getConfigListenContexts();
+        if (!configChangeListenRequest.isListen()) {
+            List<String> groupKeys = new ArrayList<String>(listenContexts.size());
+            for (ConfigBatchListenRequest.ConfigListenContext listenContext : listenContexts) {
+                groupKeys.add(GroupKey2
+                        .getKey(listenContext.getDataId(), listenContext.getGroup(), listenContext.getTenant()));
+            }
+            configChangeListenContext.removeListen(groupKeys, connectionId);
+            return configChangeBatchListenResponse;
+        }
+        
+        // add listens of the whole request first, so that no change is missed during the md5 check.
+        String[] groupKeys = new String[listenContexts.size()];
+        Map<String, String> groupKeyMd5s = new HashMap<String, String>(listenContexts.size() * 2);
+        for (int i = 0; i < groupKeys.length; i++) {
+            ConfigBatchListenRequest.ConfigListenContext listenContext = listenContexts.get(i);
+            groupKeys[i] = StringPool.get(GroupKey2
+                    .getKey(listenContext.getDataId(), listenContext.getGroup(), listenContext.getTenant()));
+            groupKeyMd5s.put(groupKeys[i], StringPool.get(listenContext.getMd5()));
+        }
+        configChangeListenContext.addListen(groupKeyMd5s, connectionId);
+        
+        for (int i = 0; i < groupKeys.length; i++) {
+            ConfigBatchListenRequest.ConfigListenContext listenContext = listenContexts.get(i);
+            boolean isUptoDate = ConfigCacheService
+                    .isUptodate(groupKeys[i], listenContext.getMd5(), meta.getClientIp(), tag);
+            if (!isUptoDate) {
+                configChangeBatchListenResponse.addChangeConfig(listenContext.getDataId(), listenContext.getGroup(),
+                        listenContext.getTenant());
             }
         }
         
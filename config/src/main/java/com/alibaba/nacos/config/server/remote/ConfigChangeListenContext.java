@@ -16,13 +16,12 @@
 
 package com.alibaba.nacos.config.server.remote;
 
-import com.alibaba.nacos.common.utils.CollectionUtils;
+import com.alibaba.nacos.common.utils.StringUtils;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -30,21 +29,44 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * config change listen context.
  *
+ * <p>The context is an inverted index of groupKey -> connection ids and connectionId -> (groupKey, md5). Writes of
+ * one group key or one connection id are guarded by one of the striped locks, so that requests of different
+ * connections are not serialized. Reads are lock free and see a weakly consistent view of the index.
+ *
  * @author liuzunfei
  * @version $Id: ConfigChangeListenContext.java, v 0.1 2020年07月20日 1:37 PM liuzunfei Exp $
  */
 @Component
 public class ConfigChangeListenContext {
     
+    private static final int LOCK_STRIPES = 64;
+    
     /**
      * groupKey-> connection set.
      */
-    private ConcurrentHashMap<String, HashSet<String>> groupKeyContext = new ConcurrentHashMap<String, HashSet<String>>();
+    private final ConcurrentHashMap<String, Set<String>> groupKeyContext = new ConcurrentHashMap<String, Set<String>>();
     
     /**
      * connectionId-> group key set.
      */
-    private ConcurrentHashMap<String, HashMap<String, String>> connectionIdContext = new ConcurrentHashMap<String, HashMap<String, String>>();
+    private final ConcurrentHashMap<String, Map<String, String>> connectionIdContext = new ConcurrentHashMap<String, Map<String, String>>();
+    
+    private final Object[] groupKeyLocks = newLocks();
+    
+    private final Object[] connectionIdLocks = newLocks();
+    
+    private static Object[] newLocks() {
+        Object[] result = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            result[i] = new Object();
+        }
+        return result;
+    }
+    
+    private static Object lockOf(Object[] locks, String key) {
+        int hash = key.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
     
     /**
      * add listen.
@@ -52,23 +74,43 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connectionId.
      */
-    public synchronized void addListen(String groupKey, String md5, String connectionId) {
+    public void addListen(String groupKey, String md5, String connectionId) {
+        addListen(Collections.singletonMap(groupKey, md5), connectionId);
+    }
+    
+    /**
+     * add listens of a batch listen request.
+     *
+     * @param groupKeyMd5s groupKey -> md5.
+     * @param connectionId connectionId.
+     */
+    public void addListen(Map<String, String> groupKeyMd5s, String connectionId) {
+        if (groupKeyMd5s.isEmpty()) {
+            return;
+        }
         // 1.add groupKeyContext
-        Set<String> listenClients = groupKeyContext.get(groupKey);
-        if (listenClients == null) {
-            groupKeyContext.putIfAbsent(groupKey, new HashSet<String>());
-            listenClients = groupKeyContext.get(groupKey);
+        for (String groupKey : groupKeyMd5s.keySet()) {
+            synchronized (lockOf(groupKeyLocks, groupKey)) {
+                Set<String> listenClients = groupKeyContext.get(groupKey);
+                if (listenClients == null) {
+                    listenClients = ConcurrentHashMap.newKeySet();
+                    groupKeyContext.put(groupKey, listenClients);
+                }
+                listenClients.add(connectionId);
+            }
         }
-        listenClients.add(connectionId);
         
         // 2.add connectionIdContext
-        HashMap<String, String> groupKeys = connectionIdContext.get(connectionId);
-        if (groupKeys == null) {
-            connectionIdContext.putIfAbsent(connectionId, new HashMap<String, String>(16));
-            groupKeys = connectionIdContext.get(connectionId);
+        synchronized (lockOf(connectionIdLocks, connectionId)) {
+            Map<String, String> groupKeys = connectionIdContext.get(connectionId);
+            if (groupKeys == null) {
+                groupKeys = new ConcurrentHashMap<String, String>(Math.max(16, groupKeyMd5s.size() * 2));
+                connectionIdContext.put(connectionId, groupKeys);
+            }
+            for (Map.Entry<String, String> entry : groupKeyMd5s.entrySet()) {
+                groupKeys.put(entry.getKey(), entry.getValue() == null ? StringUtils.EMPTY : entry.getValue());
+            }
         }
-        groupKeys.put(groupKey, md5);
-        
     }
     
     /**
@@ -77,52 +119,55 @@ public class ConfigChangeListenContext {
      * @param groupKey     groupKey.
      * @param connectionId connection id.
      */
-    public synchronized void removeListen(String groupKey, String connectionId) {
-        
+    public void removeListen(String groupKey, String connectionId) {
+        removeListen(Collections.singletonList(groupKey), connectionId);
+    }
+    
+    /**
+     * remove listen contexts of a batch listen request for connection id.
+     *
+     * @param groupKeys    groupKeys.
+     * @param connectionId connection id.
+     */
+    public void removeListen(Collection<String> groupKeys, String connectionId) {
+        if (groupKeys.isEmpty()) {
+            return;
+        }
         //1. remove groupKeyContext
-        Set<String> connectionIds = groupKeyContext.get(groupKey);
-        if (connectionIds != null) {
-            connectionIds.remove(connectionId);
-            if (connectionIds.isEmpty()) {
-                groupKeyContext.remove(groupKey);
-            }
+        for (String groupKey : groupKeys) {
+            removeConnectionOfGroupKey(groupKey, connectionId);
         }
         
         //2.remove connectionIdContext
-        HashMap<String, String> groupKeys = connectionIdContext.get(connectionId);
-        if (groupKeys != null) {
-            groupKeys.remove(groupKey);
+        synchronized (lockOf(connectionIdLocks, connectionId)) {
+            Map<String, String> listenKeys = connectionIdContext.get(connectionId);
+            if (listenKeys != null) {
+                listenKeys.keySet().removeAll(groupKeys);
+            }
         }
     }
     
-    /**
-     * get listeners of the group key.
-     *
-     * @param groupKey groupKey.
-     * @return the copy of listeners, may be return null.
-     */
-    public synchronized Set<String> getListeners(String groupKey) {
-        
-        HashSet<String> strings = groupKeyContext.get(groupKey);
-        if (CollectionUtils.isNotEmpty(strings)) {
-            Set<String> listenConnections = new HashSet<String>();
-            safeCopy(strings, listenConnections);
-            return listenConnections;
+    private void removeConnectionOfGroupKey(String groupKey, String connectionId) {
+        synchronized (lockOf(groupKeyLocks, groupKey)) {
+            Set<String> connectionIds = groupKeyContext.get(groupKey);
+            if (connectionIds != null) {
+                connectionIds.remove(connectionId);
+                if (connectionIds.isEmpty()) {
+                    groupKeyContext.remove(groupKey);
+                }
+            }
         }
-        return null;
     }
     
     /**
-     * copy collections.
+     * get listeners of the group key.
      *
-     * @param src  may be modified concurrently
-     * @param dest dest collection
+     * @param groupKey groupKey.
+     * @return the unmodifiable and weakly consistent view of listeners, may be return null.
      */
-    private void safeCopy(Collection src, Collection dest) {
-        Iterator iterator = src.iterator();
-        while (iterator.hasNext()) {
-            dest.add(iterator.next());
-        }
+    public Set<String> getListeners(String groupKey) {
+        Set<String> connectionIds = groupKeyContext.get(groupKey);
+        return connectionIds == null || connectionIds.isEmpty() ? null : Collections.unmodifiableSet(connectionIds);
     }
     
     /**
@@ -130,25 +175,17 @@ public class ConfigChangeListenContext {
      *
      * @param connectionId connectionId.
      */
-    public synchronized void clearContextForConnectionId(final String connectionId) {
-        
-        Map<String, String> listenKeys = getListenKeys(connectionId);
-        
+    public void clearContextForConnectionId(final String connectionId) {
+        Map<String, String> listenKeys;
+        synchronized (lockOf(connectionIdLocks, connectionId)) {
+            listenKeys = connectionIdContext.remove(connectionId);
+        }
         if (listenKeys == null) {
-            connectionIdContext.remove(connectionId);
             return;
         }
-        for (Map.Entry<String, String> groupKey : listenKeys.entrySet()) {
-
-            Set<String> connectionIds = groupKeyContext.get(groupKey.getKey());
-            if (CollectionUtils.isNotEmpty(connectionIds)) {
-                connectionIds.remove(connectionId);
-            } else {
-                groupKeyContext.remove(groupKey.getKey());
-            }
-
+        for (String groupKey : listenKeys.keySet()) {
+            removeConnectionOfGroupKey(groupKey, connectionId);
         }
-        connectionIdContext.remove(connectionId);
     }
     
     /**
@@ -157,9 +194,9 @@ public class ConfigChangeListenContext {
      * @param connectionId connection id.
      * @return listen group keys of the connection id, key:group key,value:md5
      */
-    public synchronized Map<String, String> getListenKeys(String connectionId) {
-        HashMap<String, String> stringStringHashMap = connectionIdContext.get(connectionId);
-        return stringStringHashMap == null ? null : new HashMap<String, String>(stringStringHashMap);
+    public Map<String, String> getListenKeys(String connectionId) {
+        Map<String, String> listenKeys = connectionIdContext.get(connectionId);
+        return listenKeys == null ? null : new HashMap<String, String>(listenKeys);
     }
     
     /**
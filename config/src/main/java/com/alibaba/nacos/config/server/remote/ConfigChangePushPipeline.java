@@ -0,0 +1,331 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.remote;
+
+import com.alibaba.nacos.api.ability.ClientAbilities;
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
+import com.alibaba.nacos.api.config.remote.response.ConfigChangeBatchListenResponse.ConfigContext;
+import com.alibaba.nacos.api.remote.AbstractPushCallBack;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.GroupKey2;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
+import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.core.remote.control.TpsMonitorManager;
+import com.alibaba.nacos.core.utils.Loggers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fan-out pipeline of config change notify.
+ *
+ * <p>Changed configs are coalesced per connection and flushed by the worker of the connection every coalesce window,
+ * so one notify carrying all changed configs is sent to the connection supporting batch notify. Connections are
+ * sharded to the workers by connection id. The in-flight notify of each connection is bounded, changes arriving while
+ * the bound is reached are kept pending until a notify is finished.
+ *
+ * @author Nacos
+ */
+public class ConfigChangePushPipeline {
+    
+    private static final String POINT_CONFIG_PUSH = "CONFIG_PUSH_COUNT";
+    
+    private static final String POINT_CONFIG_PUSH_SUCCESS = "CONFIG_PUSH_SUCCESS";
+    
+    private static final String POINT_CONFIG_PUSH_FAIL = "CONFIG_PUSH_FAIL";
+    
+    private static final int MAX_RETRY_TIMES = 50;
+    
+    private static final long RETRY_DELAY_MILLIS = 2000L;
+    
+    private static final long PUSH_TIMEOUT_MILLIS = 3000L;
+    
+    private final Shard[] shards;
+    
+    private final int maxInFlight;
+    
+    private final RpcPushService rpcPushService;
+    
+    private final ConnectionManager connectionManager;
+    
+    private final TpsMonitorManager tpsMonitorManager;
+    
+    public ConfigChangePushPipeline(int workers, long coalesceWindowMillis, int maxInFlight,
+            RpcPushService rpcPushService, ConnectionManager connectionManager, TpsMonitorManager tpsMonitorManager) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.rpcPushService = rpcPushService;
+        this.connectionManager = connectionManager;
+        this.tpsMonitorManager = tpsMonitorManager;
+        this.shards = new Shard[Math.max(1, workers)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, Math.max(1L, coalesceWindowMillis));
+        }
+    }
+    
+    /**
+     * Add a changed config to the pending configs of connection.
+     *
+     * @param connectionId connection id
+     * @param groupKey     group key of config
+     * @param dataId       data id
+     * @param group        group
+     * @param tenant       tenant
+     */
+    public void enqueue(String connectionId, String groupKey, String dataId, String group, String tenant) {
+        ConfigContext config = new ConfigContext();
+        config.setDataId(dataId);
+        config.setGroup(group);
+        config.setTenant(tenant);
+        Shard shard = shardOf(connectionId);
+        while (true) {
+            ConnectionState state = shard.states.get(connectionId);
+            if (null == state) {
+                ConnectionState newState = new ConnectionState(connectionId, shard);
+                state = shard.states.putIfAbsent(connectionId, newState);
+                state = null == state ? newState : state;
+            }
+            synchronized (state) {
+                if (state.removed) {
+                    continue;
+                }
+                state.pending.put(groupKey, config);
+                markDirty(state);
+                return;
+            }
+        }
+    }
+    
+    int pendingConnectionCount() {
+        int result = 0;
+        for (Shard each : shards) {
+            result += each.states.size();
+        }
+        return result;
+    }
+    
+    private Shard shardOf(String connectionId) {
+        int hash = connectionId.hashCode();
+        return shards[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % shards.length];
+    }
+    
+    /**
+     * Must be called with lock of state.
+     */
+    private void markDirty(ConnectionState state) {
+        if (!state.queued) {
+            state.queued = true;
+            state.shard.dirty.offer(state);
+        }
+    }
+    
+    /**
+     * Must be called with lock of state.
+     */
+    private void removeIfIdle(ConnectionState state) {
+        if (state.pending.isEmpty() && 0 == state.inFlight && !state.queued) {
+            state.removed = true;
+            state.shard.states.remove(state.connectionId, state);
+        }
+    }
+    
+    private void flush(ConnectionState state) {
+        Connection connection = connectionManager.getConnection(state.connectionId);
+        List<List<ConfigContext>> batches;
+        synchronized (state) {
+            state.queued = false;
+            if (null == connection) {
+                // client is already offline, ignore pending configs.
+                state.pending.clear();
+                state.removed = true;
+                state.shard.states.remove(state.connectionId, state);
+                return;
+            }
+            if (state.pending.isEmpty() || state.inFlight >= maxInFlight) {
+                // the finished in-flight notify will mark the connection dirty again.
+                removeIfIdle(state);
+                return;
+            }
+            if (System.currentTimeMillis() < state.nextPushTime) {
+                markDirty(state);
+                return;
+            }
+            batches = takeBatches(state, isSupportBatchNotify(connection));
+            state.inFlight += batches.size();
+        }
+        String clientIp = connection.getMetaInfo().getClientIp();
+        for (List<ConfigContext> each : batches) {
+            push(state, clientIp, each);
+        }
+    }
+    
+    /**
+     * Must be called with lock of state.
+     */
+    private List<List<ConfigContext>> takeBatches(ConnectionState state, boolean supportBatchNotify) {
+        if (supportBatchNotify) {
+            List<ConfigContext> batch = new ArrayList<ConfigContext>(state.pending.values());
+            state.pending.clear();
+            return Collections.singletonList(batch);
+        }
+        int count = Math.min(state.pending.size(), maxInFlight - state.inFlight);
+        List<List<ConfigContext>> result = new ArrayList<List<ConfigContext>>(count);
+        Iterator<ConfigContext> iterator = state.pending.values().iterator();
+        while (result.size() < count) {
+            result.add(Collections.singletonList(iterator.next()));
+            iterator.remove();
+        }
+        return result;
+    }
+    
+    private boolean isSupportBatchNotify(Connection connection) {
+        ClientAbilities abilities = connection.getAbilities();
+        return null != abilities && null != abilities.getConfigAbility() && abilities.getConfigAbility()
+                .isSupportBatchChangeNotify();
+    }
+    
+    private void push(final ConnectionState state, final String clientIp, final List<ConfigContext> configs) {
+        final String connectionId = state.connectionId;
+        if (!tpsMonitorManager.applyTpsForClientIp(POINT_CONFIG_PUSH, connectionId, clientIp)) {
+            onPushFail(state, configs);
+            return;
+        }
+        ConfigChangeNotifyRequest notifyRequest = configs.size() > 1 ? ConfigChangeNotifyRequest.buildBatch(configs)
+                : ConfigChangeNotifyRequest
+                        .build(configs.get(0).getDataId(), configs.get(0).getGroup(), configs.get(0).getTenant());
+        rpcPushService.pushWithCallback(connectionId, notifyRequest, new AbstractPushCallBack(PUSH_TIMEOUT_MILLIS) {
+            @Override
+            public void onSuccess() {
+                tpsMonitorManager.applyTpsForClientIp(POINT_CONFIG_PUSH_SUCCESS, connectionId, clientIp);
+                onPushSuccess(state);
+            }
+            
+            @Override
+            public void onFail(Throwable e) {
+                tpsMonitorManager.applyTpsForClientIp(POINT_CONFIG_PUSH_FAIL, connectionId, clientIp);
+                Loggers.REMOTE_PUSH.warn("Push fail", e);
+                onPushFail(state, configs);
+            }
+        }, ConfigExecutor.getClientConfigNotifierServiceExecutor());
+    }
+    
+    private void onPushSuccess(ConnectionState state) {
+        synchronized (state) {
+            state.inFlight--;
+            state.failCount = 0;
+            if (state.pending.isEmpty()) {
+                removeIfIdle(state);
+            } else {
+                markDirty(state);
+            }
+        }
+    }
+    
+    private void onPushFail(ConnectionState state, List<ConfigContext> configs) {
+        boolean overTimes;
+        synchronized (state) {
+            state.inFlight--;
+            state.failCount++;
+            overTimes = state.failCount >= MAX_RETRY_TIMES;
+            if (!overTimes) {
+                for (ConfigContext each : configs) {
+                    String groupKey = GroupKey2.getKey(each.getDataId(), each.getGroup(), each.getTenant());
+                    if (!state.pending.containsKey(groupKey)) {
+                        state.pending.put(groupKey, each);
+                    }
+                }
+                // first time :delay 2s; second time:delay 4s ...
+                state.nextPushTime = System.currentTimeMillis() + state.failCount * RETRY_DELAY_MILLIS;
+                markDirty(state);
+            } else {
+                state.pending.clear();
+                removeIfIdle(state);
+            }
+        }
+        if (overTimes) {
+            ConfigContext first = configs.get(0);
+            Loggers.REMOTE_PUSH
+                    .warn("push callback retry fail over times .dataId={},group={},tenant={},clientId={},will unregister client.",
+                            first.getDataId(), first.getGroup(), first.getTenant(), state.connectionId);
+            connectionManager.unregister(state.connectionId);
+        }
+    }
+    
+    private class Shard implements Runnable {
+        
+        private final ConcurrentHashMap<String, ConnectionState> states = new ConcurrentHashMap<String, ConnectionState>();
+        
+        private final ConcurrentLinkedQueue<ConnectionState> dirty = new ConcurrentLinkedQueue<ConnectionState>();
+        
+        private Shard(int index, long coalesceWindowMillis) {
+            ScheduledExecutorService executor = ConfigExecutor.newConfigChangePushExecutor(index);
+            executor.scheduleWithFixedDelay(this, coalesceWindowMillis, coalesceWindowMillis, TimeUnit.MILLISECONDS);
+        }
+        
+        @Override
+        public void run() {
+            // only the connections dirty before this round are flushed, the delayed ones are left to next round.
+            int count = dirty.size();
+            for (int i = 0; i < count; i++) {
+                ConnectionState state = dirty.poll();
+                if (null == state) {
+                    return;
+                }
+                try {
+                    flush(state);
+                } catch (Throwable e) {
+                    Loggers.REMOTE_PUSH.error("flush config change push of {} failed", state.connectionId, e);
+                }
+            }
+        }
+    }
+    
+    private static class ConnectionState {
+        
+        private final String connectionId;
+        
+        private final Shard shard;
+        
+        /**
+         * groupKey -> changed config, guarded by this.
+         */
+        private final Map<String, ConfigContext> pending = new LinkedHashMap<String, ConfigContext>();
+        
+        private int inFlight;
+        
+        private int failCount;
+        
+        private long nextPushTime;
+        
+        private boolean queued;
+        
+        private boolean removed;
+        
+        private ConnectionState(String connectionId, Shard shard) {
+            this.connectionId = connectionId;
+            this.shard = shard;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.config.server.model.CacheItem;
 import com.alibaba.nacos.config.server.model.ConfigInfoBase;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.MappedContentStore;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
 import com.alibaba.nacos.config.server.service.trace.ConfigTraceService;
 import com.alibaba.nacos.config.server.utils.DiskUtil;
@@ -46,6 +47,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 
 import static com.alibaba.nacos.api.common.Constants.ENCODE;
 import static com.alibaba.nacos.config.server.utils.LogUtil.PULL_LOG;
@@ -214,7 +216,7 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
                     //read from file
                     String content = null;
                     try {
-                        content = readFileContent(file);
+                        content = readContent(file);
                         response.setContent(content);
                         response.setLastModified(lastModified);
                         response.setResultCode(ResponseCode.SUCCESS.getCode());
@@ -256,6 +258,18 @@ public class ConfigQueryRequestHandler extends RequestHandler<ConfigQueryRequest
         return response;
     }
     
+    /**
+     * read content from mapped content store, or from file if it is not in the store.
+     *
+     * @param file file to read.
+     * @return content.
+     */
+    private static String readContent(File file) throws IOException {
+        try (MappedContentStore.Content mappedContent = DiskUtil.openMappedContent(file)) {
+            return null != mappedContent ? mappedContent.getString(StandardCharsets.UTF_8) : readFileContent(file);
+        }
+    }
+    
     /**
      * read content.
      *
@@ -16,16 +16,14 @@
 
 package com.alibaba.nacos.config.server.remote;
 
-import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
-import com.alibaba.nacos.api.remote.AbstractPushCallBack;
 import com.alibaba.nacos.common.notify.Event;
 import com.alibaba.nacos.common.notify.NotifyCenter;
 import com.alibaba.nacos.common.notify.listener.Subscriber;
 import com.alibaba.nacos.common.utils.CollectionUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
 import com.alibaba.nacos.config.server.model.event.LocalDataChangeEvent;
-import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 import com.alibaba.nacos.config.server.utils.GroupKey;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionManager;
 import com.alibaba.nacos.core.remote.RpcPushService;
@@ -38,7 +36,6 @@ import org.springframework.stereotype.Component;
 import javax.annotation.PostConstruct;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
 
 /**
  * ConfigChangeNotifier.
@@ -58,11 +55,20 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
     @Autowired
     private TpsMonitorManager tpsMonitorManager;
     
+    private ConfigChangePushPipeline pushPipeline;
+    
     public RpcConfigChangeNotifier() {
         NotifyCenter.registerSubscriber(this);
     }
     
     @PostConstruct
+    private void init() {
+        registerTpsPoint();
+        pushPipeline = new ConfigChangePushPipeline(PropertyUtil.getPushFanoutWorkers(),
+                PropertyUtil.getPushCoalesceWindow(), PropertyUtil.getPushMaxInFlight(), rpcPushService,
+                connectionManager, tpsMonitorManager);
+    }
+    
     private void registerTpsPoint() {
         
         tpsMonitorManager.registerTpsControlPoint(new TpsMonitorPoint(POINT_CONFIG_PUSH));
@@ -98,7 +104,7 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
             if (connection == null) {
                 continue;
             }
-
+            
             //beta ips check.
             String clientIp = connection.getMetaInfo().getClientIp();
             String clientTag = connection.getMetaInfo().getTag();
@@ -109,12 +115,8 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
             if (StringUtils.isNotBlank(tag) && !tag.equals(clientTag)) {
                 continue;
             }
-
-            ConfigChangeNotifyRequest notifyRequest = ConfigChangeNotifyRequest.build(dataId, group, tenant);
-
-            RpcPushTask rpcPushRetryTask = new RpcPushTask(notifyRequest, 50, client, clientIp,
-                    connection.getMetaInfo().getAppName());
-            push(rpcPushRetryTask);
+            
+            pushPipeline.enqueue(client, groupKey, dataId, group, tenant);
             notifyClientCount++;
         }
         Loggers.REMOTE_PUSH.info("push [{}] clients ,groupKey=[{}]", notifyClientCount, groupKey);
@@ -139,76 +141,4 @@ public class RpcConfigChangeNotifier extends Subscriber<LocalDataChangeEvent> {
     public Class<? extends Event> subscribeType() {
         return LocalDataChangeEvent.class;
     }
-    
-    class RpcPushTask implements Runnable {
-        
-        ConfigChangeNotifyRequest notifyRequest;
-        
-        int maxRetryTimes = -1;
-        
-        int tryTimes = 0;
-        
-        String connectionId;
-        
-        String clientIp;
-        
-        String appName;
-        
-        public RpcPushTask(ConfigChangeNotifyRequest notifyRequest, int maxRetryTimes, String connectionId,
-                String clientIp, String appName) {
-            this.notifyRequest = notifyRequest;
-            this.maxRetryTimes = maxRetryTimes;
-            this.connectionId = connectionId;
-            this.clientIp = clientIp;
-            this.appName = appName;
-        }
-        
-        public boolean isOverTimes() {
-            return maxRetryTimes > 0 && this.tryTimes >= maxRetryTimes;
-        }
-        
-        @Override
-        public void run() {
-            tryTimes++;
-            if (!tpsMonitorManager.applyTpsForClientIp(POINT_CONFIG_PUSH, connectionId, clientIp)) {
-                push(this);
-            } else {
-                rpcPushService.pushWithCallback(connectionId, notifyRequest, new AbstractPushCallBack(3000L) {
-                    @Override
-                    public void onSuccess() {
-                        tpsMonitorManager.applyTpsForClientIp(POINT_CONFIG_PUSH_SUCCESS, connectionId, clientIp);
-                    }
-                    
-                    @Override
-                    public void onFail(Throwable e) {
-                        tpsMonitorManager.applyTpsForClientIp(POINT_CONFIG_PUSH_FAIL, connectionId, clientIp);
-                        Loggers.REMOTE_PUSH.warn("Push fail", e);
-                        push(RpcPushTask.this);
-                    }
-                    
-                }, ConfigExecutor.getClientConfigNotifierServiceExecutor());
-                
-            }
-            
-        }
-    }
-    
-    private void push(RpcPushTask retryTask) {
-        ConfigChangeNotifyRequest notifyRequest = retryTask.notifyRequest;
-        if (retryTask.isOverTimes()) {
-            Loggers.REMOTE_PUSH
-                    .warn("push callback retry fail over times .dataId={},group={},tenant={},clientId={},will unregister client.",
-                            notifyRequest.getDataId(), notifyRequest.getGroup(), notifyRequest.getTenant(),
-                            retryTask.connectionId);
-            connectionManager.unregister(retryTask.connectionId);
-        } else if (connectionManager.getConnection(retryTask.connectionId) != null) {
-            // first time :delay 0s; sencond time:delay 2s  ;third time :delay 4s
-            ConfigExecutor.getClientConfigNotifierServiceExecutor()
-                    .schedule(retryTask, retryTask.tryTimes * 2, TimeUnit.SECONDS);
-        } else {
-            // client is already offline,ingnore task.
-        }
-        
-    }
 }
-
@@ -0,0 +1,780 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.CacheItem;
+import com.alibaba.nacos.core.utils.StringPool;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compact store of config cache items.
+ *
+ * <p>Each group key is mapped to a slot of primitive array segments, which hold the md5 as 16-byte binary value, the
+ * last modified time, the read-write lock status and the type of config. The beta and tag data are only used by few
+ * configs, they are kept in side tables allocated on first use. Md5 values which are not 32 lowercase hex chars are
+ * kept in a side table as string.
+ *
+ * <p>Values of a slot are guarded by one of the striped locks, the slot of removed group key is reused by the next
+ * new group key.
+ *
+ * @author Nacos
+ */
+public class CompactConfigCache {
+    
+    private static final int SEGMENT_SHIFT = 14;
+    
+    private static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    
+    private static final int LOCK_STRIPES = 256;
+    
+    private static final int MD5_HEX_LENGTH = 32;
+    
+    private static final byte MD5_NULL = 0;
+    
+    private static final byte MD5_BINARY = 1;
+    
+    private static final byte MD5_IRREGULAR = 2;
+    
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    
+    /**
+     * groupKey -> slot.
+     */
+    private final ConcurrentHashMap<String, Integer> index = new ConcurrentHashMap<String, Integer>();
+    
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    
+    private volatile Segment[] segments = new Segment[0];
+    
+    /**
+     * Guarded by this.
+     */
+    private int nextSlot;
+    
+    /**
+     * Guarded by this.
+     */
+    private int[] freeSlots = new int[16];
+    
+    /**
+     * Guarded by this.
+     */
+    private int freeSlotCount;
+    
+    private volatile Map<Integer, String> irregularMd5Table;
+    
+    private volatile Map<Integer, BetaEntry> betaTable;
+    
+    private volatile Map<Integer, TagEntry> tagTable;
+    
+    public CompactConfigCache() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+    
+    public int size() {
+        return index.size();
+    }
+    
+    public boolean contains(String groupKey) {
+        return index.containsKey(groupKey);
+    }
+    
+    public Set<String> groupKeys() {
+        return index.keySet();
+    }
+    
+    /**
+     * Make sure the group key has a slot.
+     *
+     * @param groupKey group key
+     */
+    public void makeSure(String groupKey) {
+        if (index.containsKey(groupKey)) {
+            return;
+        }
+        synchronized (this) {
+            if (index.containsKey(groupKey)) {
+                return;
+            }
+            String internedKey = StringPool.get(groupKey);
+            int slot = allocateSlot();
+            synchronized (lockOf(slot)) {
+                Segment segment = segmentOf(slot);
+                int offset = slot & SEGMENT_MASK;
+                segment.groupKeys[offset] = internedKey;
+                segment.md5States[offset] = MD5_NULL;
+                segment.md5s[offset << 1] = 0L;
+                segment.md5s[(offset << 1) + 1] = 0L;
+                segment.lastModifiedTs[offset] = 0L;
+                segment.lockStatus[offset] = 0;
+                segment.types[offset] = null;
+            }
+            index.put(internedKey, slot);
+        }
+    }
+    
+    /**
+     * Remove the group key and release its slot.
+     *
+     * @param groupKey group key
+     */
+    public void remove(String groupKey) {
+        synchronized (this) {
+            Integer slot = index.remove(groupKey);
+            if (null == slot) {
+                return;
+            }
+            synchronized (lockOf(slot)) {
+                Segment segment = segmentOf(slot);
+                int offset = slot & SEGMENT_MASK;
+                segment.groupKeys[offset] = null;
+                segment.types[offset] = null;
+                segment.lockStatus[offset] = 0;
+            }
+            removeFromTable(irregularMd5Table, slot);
+            removeFromTable(betaTable, slot);
+            removeFromTable(tagTable, slot);
+            if (freeSlotCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeSlots.length << 1);
+            }
+            freeSlots[freeSlotCount++] = slot;
+        }
+    }
+    
+    /**
+     * Try read lock, see {@link ConfigCacheService#tryReadLock(String)}.
+     *
+     * @param groupKey group key
+     * @return 0 - No data and failed. Positive number - lock succeeded. Negative number - lock failed
+     */
+    public int tryReadLock(String groupKey) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return 0;
+        }
+        synchronized (lockOf(slot)) {
+            Segment segment = segmentOf(slot);
+            int offset = slot & SEGMENT_MASK;
+            if (!groupKey.equals(segment.groupKeys[offset])) {
+                return 0;
+            }
+            if (segment.lockStatus[offset] < 0) {
+                return -1;
+            }
+            segment.lockStatus[offset]++;
+            return 1;
+        }
+    }
+    
+    /**
+     * Release read lock.
+     *
+     * @param groupKey group key
+     */
+    public void releaseReadLock(String groupKey) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return;
+        }
+        synchronized (lockOf(slot)) {
+            Segment segment = segmentOf(slot);
+            int offset = slot & SEGMENT_MASK;
+            if (groupKey.equals(segment.groupKeys[offset])) {
+                segment.lockStatus[offset]--;
+            }
+        }
+    }
+    
+    /**
+     * Try write lock, see {@link ConfigCacheService#tryWriteLock(String)}.
+     *
+     * @param groupKey group key
+     * @return 0 - No data and failed. Positive number - lock succeeded. Negative number - lock failed
+     */
+    public int tryWriteLock(String groupKey) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return 0;
+        }
+        synchronized (lockOf(slot)) {
+            Segment segment = segmentOf(slot);
+            int offset = slot & SEGMENT_MASK;
+            if (!groupKey.equals(segment.groupKeys[offset])) {
+                return 0;
+            }
+            if (segment.lockStatus[offset] != 0) {
+                return -1;
+            }
+            segment.lockStatus[offset] = -1;
+            return 1;
+        }
+    }
+    
+    /**
+     * Release write lock.
+     *
+     * @param groupKey group key
+     */
+    public void releaseWriteLock(String groupKey) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return;
+        }
+        synchronized (lockOf(slot)) {
+            Segment segment = segmentOf(slot);
+            int offset = slot & SEGMENT_MASK;
+            if (groupKey.equals(segment.groupKeys[offset])) {
+                segment.lockStatus[offset] = 0;
+            }
+        }
+    }
+    
+    /**
+     * Set type of config.
+     *
+     * @param groupKey group key
+     * @param type     type of config
+     */
+    public void setType(String groupKey, String type) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return;
+        }
+        String internedType = null == type ? null : type.intern();
+        synchronized (lockOf(slot)) {
+            Segment segment = segmentOf(slot);
+            int offset = slot & SEGMENT_MASK;
+            if (groupKey.equals(segment.groupKeys[offset])) {
+                segment.types[offset] = internedType;
+            }
+        }
+    }
+    
+    /**
+     * Update md5 of config, the group key is added if absent.
+     *
+     * @param groupKey       group key
+     * @param md5            md5
+     * @param lastModifiedTs last modified time
+     * @return true if md5 changed
+     */
+    public boolean updateMd5(String groupKey, String md5, long lastModifiedTs) {
+        makeSure(groupKey);
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return false;
+        }
+        synchronized (lockOf(slot)) {
+            Segment segment = segmentOf(slot);
+            int offset = slot & SEGMENT_MASK;
+            if (!groupKey.equals(segment.groupKeys[offset]) || isMd5Equals(slot, segment, offset, md5)) {
+                return false;
+            }
+            writeMd5(slot, segment, offset, md5);
+            segment.lastModifiedTs[offset] = lastModifiedTs;
+            return true;
+        }
+    }
+    
+    /**
+     * Update beta md5 of config, the group key is added if absent.
+     *
+     * @param groupKey       group key
+     * @param md5            beta md5
+     * @param ips4Beta       beta ips
+     * @param lastModifiedTs last modified time of beta
+     * @return true if beta md5 changed
+     */
+    public boolean updateBetaMd5(String groupKey, String md5, List<String> ips4Beta, long lastModifiedTs) {
+        makeSure(groupKey);
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return false;
+        }
+        synchronized (lockOf(slot)) {
+            if (!isSlotOf(slot, groupKey)) {
+                return false;
+            }
+            BetaEntry old = null == betaTable ? null : betaTable.get(slot);
+            if (null != old && old.md5.equals(md5)) {
+                return false;
+            }
+            getBetaTable().put(slot, new BetaEntry(md5, ips4Beta, lastModifiedTs));
+            return true;
+        }
+    }
+    
+    /**
+     * Remove beta data of config.
+     *
+     * @param groupKey group key
+     */
+    public void removeBeta(String groupKey) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return;
+        }
+        synchronized (lockOf(slot)) {
+            if (isSlotOf(slot, groupKey)) {
+                removeFromTable(betaTable, slot);
+            }
+        }
+    }
+    
+    /**
+     * Update tag md5 of config, the group key is added if absent.
+     *
+     * @param groupKey       group key
+     * @param tag            tag
+     * @param md5            tag md5
+     * @param lastModifiedTs last modified time of tag
+     * @return true if tag md5 changed
+     */
+    public boolean updateTagMd5(String groupKey, String tag, String md5, long lastModifiedTs) {
+        makeSure(groupKey);
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return false;
+        }
+        synchronized (lockOf(slot)) {
+            if (!isSlotOf(slot, groupKey)) {
+                return false;
+            }
+            TagEntry entry = null == tagTable ? null : tagTable.get(slot);
+            if (null == entry) {
+                entry = new TagEntry();
+                getTagTable().put(slot, entry);
+            } else if (md5.equals(entry.md5s.get(tag))) {
+                return false;
+            }
+            entry.md5s.put(tag, md5);
+            entry.lastModifiedTs.put(tag, lastModifiedTs);
+            return true;
+        }
+    }
+    
+    /**
+     * Remove tag data of config.
+     *
+     * @param groupKey group key
+     * @param tag      tag
+     */
+    public void removeTag(String groupKey, String tag) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return;
+        }
+        synchronized (lockOf(slot)) {
+            TagEntry entry = null == tagTable ? null : tagTable.get(slot);
+            if (null != entry && isSlotOf(slot, groupKey)) {
+                entry.md5s.remove(tag);
+                entry.lastModifiedTs.remove(tag);
+            }
+        }
+    }
+    
+    /**
+     * Get md5 of config.
+     *
+     * @param groupKey group key
+     * @return md5, {@link Constants#NULL} if absent
+     */
+    public String getMd5(String groupKey) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return Constants.NULL;
+        }
+        synchronized (lockOf(slot)) {
+            Segment segment = segmentOf(slot);
+            int offset = slot & SEGMENT_MASK;
+            if (!groupKey.equals(segment.groupKeys[offset])) {
+                return Constants.NULL;
+            }
+            return readMd5(slot, segment, offset);
+        }
+    }
+    
+    /**
+     * Get md5 of config for the client, the beta md5 or tag md5 is returned if matched.
+     *
+     * @param groupKey group key
+     * @param ip       client ip
+     * @param tag      tag
+     * @return md5, {@link Constants#NULL} if absent
+     */
+    public String getMd5(String groupKey, String ip, String tag) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return Constants.NULL;
+        }
+        String result = getSideMd5(slot, ip, tag);
+        return null != result ? result : getMd5(groupKey);
+    }
+    
+    /**
+     * Whether the md5 is equal to the md5 of config, no md5 string is created.
+     *
+     * @param groupKey group key
+     * @param md5      md5 of client
+     * @return true if equals
+     */
+    public boolean isUptodate(String groupKey, String md5) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return StringUtils.equals(md5, Constants.NULL);
+        }
+        synchronized (lockOf(slot)) {
+            Segment segment = segmentOf(slot);
+            int offset = slot & SEGMENT_MASK;
+            if (!groupKey.equals(segment.groupKeys[offset])) {
+                return StringUtils.equals(md5, Constants.NULL);
+            }
+            return isMd5Equals(slot, segment, offset, md5);
+        }
+    }
+    
+    /**
+     * Whether the md5 is equal to the md5 of config for the client.
+     *
+     * @param groupKey group key
+     * @param md5      md5 of client
+     * @param ip       client ip
+     * @param tag      tag
+     * @return true if equals
+     */
+    public boolean isUptodate(String groupKey, String md5, String ip, String tag) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return StringUtils.equals(md5, Constants.NULL);
+        }
+        String sideMd5 = getSideMd5(slot, ip, tag);
+        return null != sideMd5 ? StringUtils.equals(md5, sideMd5) : isUptodate(groupKey, md5);
+    }
+    
+    public String getBetaMd5(String groupKey) {
+        BetaEntry entry = getBetaEntry(groupKey);
+        return null == entry ? Constants.NULL : entry.md5;
+    }
+    
+    /**
+     * Get beta ips of config.
+     *
+     * @param groupKey group key
+     * @return beta ips, {@code null} if not beta, empty if absent
+     */
+    public List<String> getBetaIps(String groupKey) {
+        if (!index.containsKey(groupKey)) {
+            return Collections.<String>emptyList();
+        }
+        BetaEntry entry = getBetaEntry(groupKey);
+        return null == entry ? null : entry.ips;
+    }
+    
+    /**
+     * Get tag md5 of config.
+     *
+     * @param groupKey group key
+     * @param tag      tag
+     * @return tag md5, {@link Constants#NULL} if absent and {@code null} if tag absent
+     */
+    public String getTagMd5(String groupKey, String tag) {
+        if (!index.containsKey(groupKey)) {
+            return Constants.NULL;
+        }
+        TagEntry entry = getTagEntry(groupKey);
+        return null == entry ? Constants.NULL : entry.md5s.get(tag);
+    }
+    
+    /**
+     * Get last modified time of config.
+     *
+     * @param groupKey group key
+     * @return last modified time, 0 if absent
+     */
+    public long getLastModifiedTs(String groupKey) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return 0L;
+        }
+        synchronized (lockOf(slot)) {
+            Segment segment = segmentOf(slot);
+            int offset = slot & SEGMENT_MASK;
+            return groupKey.equals(segment.groupKeys[offset]) ? segment.lastModifiedTs[offset] : 0L;
+        }
+    }
+    
+    /**
+     * Build a snapshot {@link CacheItem} of config for the callers reading cache item.
+     *
+     * @param groupKey group key
+     * @return cache item, {@code null} if absent
+     */
+    public CacheItem toCacheItem(String groupKey) {
+        Integer slot = index.get(groupKey);
+        if (null == slot) {
+            return null;
+        }
+        CacheItem result;
+        synchronized (lockOf(slot)) {
+            Segment segment = segmentOf(slot);
+            int offset = slot & SEGMENT_MASK;
+            if (!groupKey.equals(segment.groupKeys[offset])) {
+                return null;
+            }
+            result = new CacheItem(segment.groupKeys[offset]);
+            result.setMd5(readMd5(slot, segment, offset));
+            result.setLastModifiedTs(segment.lastModifiedTs[offset]);
+            result.setType(segment.types[offset]);
+        }
+        BetaEntry beta = null == betaTable ? null : betaTable.get(slot);
+        if (null != beta) {
+            result.setBeta(true);
+            result.setMd54Beta(beta.md5);
+            result.setIps4Beta(beta.ips);
+            result.setLastModifiedTs4Beta(beta.lastModifiedTs);
+        }
+        TagEntry tag = null == tagTable ? null : tagTable.get(slot);
+        if (null != tag) {
+            result.setTagMd5(tag.md5s);
+            result.setTagLastModifiedTs(tag.lastModifiedTs);
+        }
+        return result;
+    }
+    
+    private String getSideMd5(int slot, String ip, String tag) {
+        BetaEntry beta = null == betaTable ? null : betaTable.get(slot);
+        if (null != beta && null != beta.ips && beta.ips.contains(ip)) {
+            return beta.md5;
+        }
+        TagEntry entry = null == tagTable ? null : tagTable.get(slot);
+        if (null != entry && StringUtils.isNotBlank(tag)) {
+            return entry.md5s.get(tag);
+        }
+        return null;
+    }
+    
+    private BetaEntry getBetaEntry(String groupKey) {
+        Integer slot = index.get(groupKey);
+        Map<Integer, BetaEntry> table = betaTable;
+        return null == slot || null == table ? null : table.get(slot);
+    }
+    
+    private TagEntry getTagEntry(String groupKey) {
+        Integer slot = index.get(groupKey);
+        Map<Integer, TagEntry> table = tagTable;
+        return null == slot || null == table ? null : table.get(slot);
+    }
+    
+    private Map<Integer, BetaEntry> getBetaTable() {
+        if (null == betaTable) {
+            synchronized (this) {
+                if (null == betaTable) {
+                    betaTable = new ConcurrentHashMap<Integer, BetaEntry>(16);
+                }
+            }
+        }
+        return betaTable;
+    }
+    
+    private Map<Integer, TagEntry> getTagTable() {
+        if (null == tagTable) {
+            synchronized (this) {
+                if (null == tagTable) {
+                    tagTable = new ConcurrentHashMap<Integer, TagEntry>(16);
+                }
+            }
+        }
+        return tagTable;
+    }
+    
+    private Map<Integer, String> getIrregularMd5Table() {
+        if (null == irregularMd5Table) {
+            synchronized (this) {
+                if (null == irregularMd5Table) {
+                    irregularMd5Table = new ConcurrentHashMap<Integer, String>(16);
+                }
+            }
+        }
+        return irregularMd5Table;
+    }
+    
+    private <V> void removeFromTable(Map<Integer, V> table, int slot) {
+        if (null != table) {
+            table.remove(slot);
+        }
+    }
+    
+    /**
+     * Whether the slot still belongs to the group key, the slot may be reused after the group key was looked up. Must
+     * be called with lock of slot.
+     */
+    private boolean isSlotOf(int slot, String groupKey) {
+        return groupKey.equals(segmentOf(slot).groupKeys[slot & SEGMENT_MASK]);
+    }
+    
+    private Object lockOf(int slot) {
+        return locks[slot & (LOCK_STRIPES - 1)];
+    }
+    
+    private Segment segmentOf(int slot) {
+        return segments[slot >>> SEGMENT_SHIFT];
+    }
+    
+    /**
+     * Allocate a slot, must be called with lock of this.
+     */
+    private int allocateSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        int slot = nextSlot++;
+        int segmentIndex = slot >>> SEGMENT_SHIFT;
+        if (segmentIndex >= segments.length) {
+            Segment[] newSegments = Arrays.copyOf(segments, segmentIndex + 1);
+            newSegments[segmentIndex] = new Segment();
+            segments = newSegments;
+        }
+        return slot;
+    }
+    
+    /**
+     * Must be called with lock of slot.
+     */
+    private void writeMd5(int slot, Segment segment, int offset, String md5) {
+        if (StringUtils.isEmpty(md5)) {
+            removeFromTable(irregularMd5Table, slot);
+            segment.md5States[offset] = MD5_NULL;
+        } else if (isHexMd5(md5)) {
+            removeFromTable(irregularMd5Table, slot);
+            segment.md5s[offset << 1] = parseHex(md5, 0);
+            segment.md5s[(offset << 1) + 1] = parseHex(md5, MD5_HEX_LENGTH / 2);
+            segment.md5States[offset] = MD5_BINARY;
+        } else {
+            getIrregularMd5Table().put(slot, md5);
+            segment.md5States[offset] = MD5_IRREGULAR;
+        }
+    }
+    
+    /**
+     * Must be called with lock of slot.
+     */
+    private String readMd5(int slot, Segment segment, int offset) {
+        switch (segment.md5States[offset]) {
+            case MD5_BINARY:
+                char[] chars = new char[MD5_HEX_LENGTH];
+                writeHex(segment.md5s[offset << 1], chars, 0);
+                writeHex(segment.md5s[(offset << 1) + 1], chars, MD5_HEX_LENGTH / 2);
+                return new String(chars);
+            case MD5_IRREGULAR:
+                return irregularMd5Table.get(slot);
+            default:
+                return Constants.NULL;
+        }
+    }
+    
+    /**
+     * Must be called with lock of slot.
+     */
+    private boolean isMd5Equals(int slot, Segment segment, int offset, String md5) {
+        switch (segment.md5States[offset]) {
+            case MD5_BINARY:
+                return isHexMd5(md5) && segment.md5s[offset << 1] == parseHex(md5, 0)
+                        && segment.md5s[(offset << 1) + 1] == parseHex(md5, MD5_HEX_LENGTH / 2);
+            case MD5_IRREGULAR:
+                return StringUtils.equals(md5, irregularMd5Table.get(slot));
+            default:
+                return StringUtils.equals(md5, Constants.NULL);
+        }
+    }
+    
+    private static boolean isHexMd5(String md5) {
+        if (null == md5 || md5.length() != MD5_HEX_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MD5_HEX_LENGTH; i++) {
+            char c = md5.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static long parseHex(String md5, int start) {
+        long result = 0L;
+        for (int i = start; i < start + MD5_HEX_LENGTH / 2; i++) {
+            result = (result << 4) | Character.digit(md5.charAt(i), 16);
+        }
+        return result;
+    }
+    
+    private static void writeHex(long value, char[] chars, int start) {
+        for (int i = start + MD5_HEX_LENGTH / 2 - 1; i >= start; i--) {
+            chars[i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+    
+    private static class Segment {
+        
+        private final String[] groupKeys = new String[SEGMENT_SIZE];
+        
+        private final long[] md5s = new long[SEGMENT_SIZE << 1];
+        
+        private final byte[] md5States = new byte[SEGMENT_SIZE];
+        
+        private final long[] lastModifiedTs = new long[SEGMENT_SIZE];
+        
+        private final int[] lockStatus = new int[SEGMENT_SIZE];
+        
+        private final String[] types = new String[SEGMENT_SIZE];
+    }
+    
+    private static class BetaEntry {
+        
+        private final String md5;
+        
+        private final List<String> ips;
+        
+        private final long lastModifiedTs;
+        
+        private BetaEntry(String md5, List<String> ips, long lastModifiedTs) {
+            this.md5 = md5;
+            this.ips = ips;
+            this.lastModifiedTs = lastModifiedTs;
+        }
+    }
+    
+    private static class TagEntry {
+        
+        private final Map<String, String> md5s = new ConcurrentHashMap<String, String>(2);
+        
+        private final Map<String, Long> lastModifiedTs = new ConcurrentHashMap<String, Long>(2);
+    }
+}
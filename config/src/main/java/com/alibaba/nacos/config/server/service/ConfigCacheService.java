@@ -37,7 +37,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.HashMap;
-import java.util.Map.Entry;
 import java.util.Map;
 import java.util.Collections;
 import java.util.concurrent.ConcurrentHashMap;
@@ -68,15 +67,20 @@ public class ConfigCacheService {
      */
     private static final ConcurrentHashMap<String, CacheItem> CACHE = new ConcurrentHashMap<String, CacheItem>();
     
+    /**
+     * Compact store used instead of {@link #CACHE} when {@link PropertyUtil#isCompactConfigCache()}.
+     */
+    private static final CompactConfigCache COMPACT_CACHE = new CompactConfigCache();
+    
     @Autowired
     private static PersistService persistService;
     
     public static int groupCount() {
-        return CACHE.size();
+        return PropertyUtil.isCompactConfigCache() ? COMPACT_CACHE.size() : CACHE.size();
     }
     
     public static boolean hasGroupKey(String groupKey) {
-        return CACHE.containsKey(groupKey);
+        return PropertyUtil.isCompactConfigCache() ? COMPACT_CACHE.contains(groupKey) : CACHE.containsKey(groupKey);
     }
     
     /**
@@ -92,9 +96,31 @@ public class ConfigCacheService {
      */
     public static boolean dump(String dataId, String group, String tenant, String content, long lastModifiedTs,
             String type) {
+        return dump(dataId, group, tenant, content, MD5Utils.md5Hex(content, Constants.ENCODE), lastModifiedTs, type);
+    }
+    
+    /**
+     * Save config file and update md5 value in cache, with the md5 of content computed by caller.
+     *
+     * @param dataId         dataId string value.
+     * @param group          group string value.
+     * @param tenant         tenant string value.
+     * @param content        content string value.
+     * @param md5            md5 of content.
+     * @param lastModifiedTs lastModifiedTs.
+     * @param type           file type.
+     * @return dumpChange success or not.
+     */
+    public static boolean dump(String dataId, String group, String tenant, String content, String md5,
+            long lastModifiedTs, String type) {
         String groupKey = GroupKey2.getKey(dataId, group, tenant);
-        CacheItem ci = makeSure(groupKey);
-        ci.setType(type);
+        if (PropertyUtil.isCompactConfigCache()) {
+            COMPACT_CACHE.makeSure(groupKey);
+            COMPACT_CACHE.setType(groupKey, type);
+        } else {
+            CacheItem ci = makeSure(groupKey);
+            ci.setType(type);
+        }
         final int lockResult = tryWriteLock(groupKey);
         assert (lockResult != 0);
         
@@ -104,8 +130,6 @@ public class ConfigCacheService {
         }
         
         try {
-            final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE);
-            
             if (md5.equals(ConfigCacheService.getContentMd5(groupKey))) {
                 DUMP_LOG.warn("[dump-ignore] ignore to save cache file. groupKey={}, md5={}, lastModifiedOld={}, "
                                 + "lastModifiedNew={}", groupKey, md5, ConfigCacheService.getLastModifiedTs(groupKey),
@@ -147,7 +171,7 @@ public class ConfigCacheService {
             String betaIps) {
         final String groupKey = GroupKey2.getKey(dataId, group, tenant);
         
-        makeSure(groupKey);
+        ensureGroupKey(groupKey);
         final int lockResult = tryWriteLock(groupKey);
         assert (lockResult != 0);
         
@@ -192,7 +216,7 @@ public class ConfigCacheService {
             long lastModifiedTs) {
         final String groupKey = GroupKey2.getKey(dataId, group, tenant);
         
-        makeSure(groupKey);
+        ensureGroupKey(groupKey);
         final int lockResult = tryWriteLock(groupKey);
         assert (lockResult != 0);
         
@@ -234,7 +258,7 @@ public class ConfigCacheService {
     public static boolean dumpChange(String dataId, String group, String tenant, String content, long lastModifiedTs) {
         final String groupKey = GroupKey2.getKey(dataId, group, tenant);
         
-        makeSure(groupKey);
+        ensureGroupKey(groupKey);
         final int lockResult = tryWriteLock(groupKey);
         assert (lockResult != 0);
         
@@ -334,15 +358,15 @@ public class ConfigCacheService {
     public static List<String> checkMd5() {
         List<String> diffList = new ArrayList<String>();
         long startTime = System.currentTimeMillis();
-        for (Entry<String/* groupKey */, CacheItem> entry : CACHE.entrySet()) {
-            String groupKey = entry.getKey();
+        Iterable<String> groupKeys = PropertyUtil.isCompactConfigCache() ? COMPACT_CACHE.groupKeys() : CACHE.keySet();
+        for (String groupKey : groupKeys) {
             String[] dg = GroupKey.parseKey(groupKey);
             String dataId = dg[0];
             String group = dg[1];
             String tenant = dg[2];
             try {
                 String loacalMd5 = DiskUtil.getLocalConfigMd5(dataId, group, tenant);
-                if (!entry.getValue().md5.equals(loacalMd5)) {
+                if (!getContentMd5(groupKey).equals(loacalMd5)) {
                     DEFAULT_LOG.warn("[md5-different] dataId:{},group:{}", dataId, group);
                     diffList.add(groupKey);
                 }
@@ -383,7 +407,11 @@ public class ConfigCacheService {
             if (!PropertyUtil.isDirectRead()) {
                 DiskUtil.removeConfigInfo(dataId, group, tenant);
             }
-            CACHE.remove(groupKey);
+            if (PropertyUtil.isCompactConfigCache()) {
+                COMPACT_CACHE.remove(groupKey);
+            } else {
+                CACHE.remove(groupKey);
+            }
             NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey));
             
             return true;
@@ -420,7 +448,11 @@ public class ConfigCacheService {
             if (!PropertyUtil.isDirectRead()) {
                 DiskUtil.removeConfigInfo4Beta(dataId, group, tenant);
             }
-            NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey, true, CACHE.get(groupKey).getIps4Beta()));
+            NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey, true, getBetaIps(groupKey)));
+            if (PropertyUtil.isCompactConfigCache()) {
+                COMPACT_CACHE.removeBeta(groupKey);
+                return true;
+            }
             CACHE.get(groupKey).setBeta(false);
             CACHE.get(groupKey).setIps4Beta(null);
             CACHE.get(groupKey).setMd54Beta(Constants.NULL);
@@ -460,9 +492,13 @@ public class ConfigCacheService {
                 DiskUtil.removeConfigInfo4Tag(dataId, group, tenant, tag);
             }
             
-            CacheItem ci = CACHE.get(groupKey);
-            ci.tagMd5.remove(tag);
-            ci.tagLastModifiedTs.remove(tag);
+            if (PropertyUtil.isCompactConfigCache()) {
+                COMPACT_CACHE.removeTag(groupKey, tag);
+            } else {
+                CacheItem ci = CACHE.get(groupKey);
+                ci.tagMd5.remove(tag);
+                ci.tagLastModifiedTs.remove(tag);
+            }
             NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey, false, null, tag));
             return true;
         } finally {
@@ -478,6 +514,12 @@ public class ConfigCacheService {
      * @param lastModifiedTs lastModifiedTs long value.
      */
     public static void updateMd5(String groupKey, String md5, long lastModifiedTs) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            if (COMPACT_CACHE.updateMd5(groupKey, md5, lastModifiedTs)) {
+                NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey));
+            }
+            return;
+        }
         CacheItem cache = makeSure(groupKey);
         if (cache.md5 == null || !cache.md5.equals(md5)) {
             cache.md5 = md5;
@@ -495,6 +537,12 @@ public class ConfigCacheService {
      * @param lastModifiedTs lastModifiedTs long value.
      */
     public static void updateBetaMd5(String groupKey, String md5, List<String> ips4Beta, long lastModifiedTs) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            if (COMPACT_CACHE.updateBetaMd5(groupKey, md5, ips4Beta, lastModifiedTs)) {
+                NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey, true, ips4Beta));
+            }
+            return;
+        }
         CacheItem cache = makeSure(groupKey);
         if (cache.md54Beta == null || !cache.md54Beta.equals(md5)) {
             cache.isBeta = true;
@@ -514,6 +562,12 @@ public class ConfigCacheService {
      * @param lastModifiedTs lastModifiedTs long value.
      */
     public static void updateTagMd5(String groupKey, String tag, String md5, long lastModifiedTs) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            if (COMPACT_CACHE.updateTagMd5(groupKey, tag, md5, lastModifiedTs)) {
+                NotifyCenter.publishEvent(new LocalDataChangeEvent(groupKey, false, null, tag));
+            }
+            return;
+        }
         CacheItem cache = makeSure(groupKey);
         if (cache.tagMd5 == null) {
             Map<String, String> tagMd5Tmp = new HashMap<String, String>(1);
@@ -540,11 +594,17 @@ public class ConfigCacheService {
      * Get and return content md5 value from cache. Empty string represents no data.
      */
     public static String getContentMd5(String groupKey) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            return COMPACT_CACHE.getMd5(groupKey);
+        }
         CacheItem item = CACHE.get(groupKey);
         return (null != item) ? item.md5 : Constants.NULL;
     }
     
     public static String getContentMd5(String groupKey, String ip, String tag) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            return COMPACT_CACHE.getMd5(groupKey, ip, tag);
+        }
         CacheItem item = CACHE.get(groupKey);
         if (item != null && item.isBeta) {
             if (item.ips4Beta.contains(ip)) {
@@ -563,6 +623,9 @@ public class ConfigCacheService {
      * Get and return beta md5 value from cache. Empty string represents no data.
      */
     public static String getContentBetaMd5(String groupKey) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            return COMPACT_CACHE.getBetaMd5(groupKey);
+        }
         CacheItem item = CACHE.get(groupKey);
         return (null != item) ? item.md54Beta : Constants.NULL;
     }
@@ -575,6 +638,9 @@ public class ConfigCacheService {
      * @return Content Tag Md5 value.
      */
     public static String getContentTagMd5(String groupKey, String tag) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            return COMPACT_CACHE.getTagMd5(groupKey, tag);
+        }
         CacheItem item = CACHE.get(groupKey);
         if (item == null) {
             return Constants.NULL;
@@ -592,31 +658,46 @@ public class ConfigCacheService {
      * @return list beta ips.
      */
     public static List<String> getBetaIps(String groupKey) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            return COMPACT_CACHE.getBetaIps(groupKey);
+        }
         CacheItem item = CACHE.get(groupKey);
         return (null != item) ? item.getIps4Beta() : Collections.<String>emptyList();
     }
     
     /**
-     * Get and return content cache.
+     * Get and return content cache. A snapshot is returned if the compact store is used.
      *
      * @param groupKey groupKey string value.
      * @return CacheItem.
      */
     public static CacheItem getContentCache(String groupKey) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            return COMPACT_CACHE.toCacheItem(groupKey);
+        }
         return CACHE.get(groupKey);
     }
     
     public static long getLastModifiedTs(String groupKey) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            return COMPACT_CACHE.getLastModifiedTs(groupKey);
+        }
         CacheItem item = CACHE.get(groupKey);
         return (null != item) ? item.lastModifiedTs : 0L;
     }
     
     public static boolean isUptodate(String groupKey, String md5) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            return COMPACT_CACHE.isUptodate(groupKey, md5);
+        }
         String serverMd5 = ConfigCacheService.getContentMd5(groupKey);
         return StringUtils.equals(md5, serverMd5);
     }
     
     public static boolean isUptodate(String groupKey, String md5, String ip, String tag) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            return COMPACT_CACHE.isUptodate(groupKey, md5, ip, tag);
+        }
         String serverMd5 = ConfigCacheService.getContentMd5(groupKey, ip, tag);
         return StringUtils.equals(md5, serverMd5);
     }
@@ -629,8 +710,13 @@ public class ConfigCacheService {
      * @return 0 - No data and failed. Positive number - lock succeeded. Negative number - lock failed。
      */
     public static int tryReadLock(String groupKey) {
-        CacheItem groupItem = CACHE.get(groupKey);
-        int result = (null == groupItem) ? 0 : (groupItem.rwLock.tryReadLock() ? 1 : -1);
+        int result;
+        if (PropertyUtil.isCompactConfigCache()) {
+            result = COMPACT_CACHE.tryReadLock(groupKey);
+        } else {
+            CacheItem groupItem = CACHE.get(groupKey);
+            result = (null == groupItem) ? 0 : (groupItem.rwLock.tryReadLock() ? 1 : -1);
+        }
         if (result < 0) {
             DEFAULT_LOG.warn("[read-lock] failed, {}, {}", result, groupKey);
         }
@@ -643,6 +729,10 @@ public class ConfigCacheService {
      * @param groupKey groupKey string value.
      */
     public static void releaseReadLock(String groupKey) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            COMPACT_CACHE.releaseReadLock(groupKey);
+            return;
+        }
         CacheItem item = CACHE.get(groupKey);
         if (null != item) {
             item.rwLock.releaseReadLock();
@@ -657,8 +747,13 @@ public class ConfigCacheService {
      * @return 0 - No data and failed. Positive number 0 - Success. Negative number - lock failed。
      */
     static int tryWriteLock(String groupKey) {
-        CacheItem groupItem = CACHE.get(groupKey);
-        int result = (null == groupItem) ? 0 : (groupItem.rwLock.tryWriteLock() ? 1 : -1);
+        int result;
+        if (PropertyUtil.isCompactConfigCache()) {
+            result = COMPACT_CACHE.tryWriteLock(groupKey);
+        } else {
+            CacheItem groupItem = CACHE.get(groupKey);
+            result = (null == groupItem) ? 0 : (groupItem.rwLock.tryWriteLock() ? 1 : -1);
+        }
         if (result < 0) {
             DEFAULT_LOG.warn("[write-lock] failed, {}, {}", result, groupKey);
         }
@@ -666,12 +761,24 @@ public class ConfigCacheService {
     }
     
     static void releaseWriteLock(String groupKey) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            COMPACT_CACHE.releaseWriteLock(groupKey);
+            return;
+        }
         CacheItem groupItem = CACHE.get(groupKey);
         if (null != groupItem) {
             groupItem.rwLock.releaseWriteLock();
         }
     }
     
+    private static void ensureGroupKey(final String groupKey) {
+        if (PropertyUtil.isCompactConfigCache()) {
+            COMPACT_CACHE.makeSure(groupKey);
+        } else {
+            makeSure(groupKey);
+        }
+    }
+    
     static CacheItem makeSure(final String groupKey) {
         CacheItem item = CACHE.get(groupKey);
         if (null != item) {
@@ -40,13 +40,10 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -98,9 +95,13 @@ public class LongPollingService {
         SampleResult sampleResult = new SampleResult();
         Map<String, String> lisentersGroupkeyStatus = new HashMap<String, String>(50);
         
-        for (ClientLongPolling clientLongPolling : allSubs) {
-            if (clientLongPolling.clientMd5Map.containsKey(groupKey)) {
-                lisentersGroupkeyStatus.put(clientLongPolling.ip, clientLongPolling.clientMd5Map.get(groupKey));
+        Set<ClientLongPolling> subs = groupKeySubs.get(groupKey);
+        if (subs != null) {
+            for (ClientLongPolling clientLongPolling : subs) {
+                String md5 = clientLongPolling.clientMd5Map.get(groupKey);
+                if (md5 != null) {
+                    lisentersGroupkeyStatus.put(clientLongPolling.ip, md5);
+                }
             }
         }
         sampleResult.setLisentersGroupkeyStatus(lisentersGroupkeyStatus);
@@ -283,7 +284,8 @@ public class LongPollingService {
     
     @SuppressWarnings("PMD.ThreadPoolCreationRule")
     public LongPollingService() {
-        allSubs = new ConcurrentLinkedQueue<ClientLongPolling>();
+        allSubs = ConcurrentHashMap.newKeySet();
+        groupKeySubs = new ConcurrentHashMap<String, Set<ClientLongPolling>>();
         
         ConfigExecutor.scheduleLongPolling(new StatTask(), 0L, 10L, TimeUnit.SECONDS);
         
@@ -318,9 +320,44 @@ public class LongPollingService {
     public static final String LONG_POLLING_NO_HANG_UP_HEADER = "Long-Pulling-Timeout-No-Hangup";
     
     /**
-     * ClientLongPolling subscibers.
+     * ClientLongPolling subscibers. Removing a subscriber from it claims the subscriber, only the claimer responds.
+     */
+    final Set<ClientLongPolling> allSubs;
+    
+    /**
+     * ClientLongPolling subscibers indexed by the group keys they listen, groupKey -> subscribers.
+     */
+    final ConcurrentHashMap<String, Set<ClientLongPolling>> groupKeySubs;
+    
+    private void addSubscriber(final ClientLongPolling clientSub) {
+        allSubs.add(clientSub);
+        for (String groupKey : clientSub.clientMd5Map.keySet()) {
+            groupKeySubs.compute(groupKey, (key, subs) -> {
+                Set<ClientLongPolling> result = subs == null ? ConcurrentHashMap.newKeySet() : subs;
+                result.add(clientSub);
+                return result;
+            });
+        }
+    }
+    
+    /**
+     * Remove the subscriber from {@link #allSubs} and the group key index.
+     *
+     * @param clientSub subscriber
+     * @return true if the subscriber is claimed by this call
      */
-    final Queue<ClientLongPolling> allSubs;
+    private boolean removeSubscriber(final ClientLongPolling clientSub) {
+        if (!allSubs.remove(clientSub)) {
+            return false;
+        }
+        for (String groupKey : clientSub.clientMd5Map.keySet()) {
+            groupKeySubs.computeIfPresent(groupKey, (key, subs) -> {
+                subs.remove(clientSub);
+                return subs.isEmpty() ? null : subs;
+            });
+        }
+        return true;
+    }
     
     class DataChangeTask implements Runnable {
         
@@ -328,28 +365,31 @@ public class LongPollingService {
         public void run() {
             try {
                 ConfigCacheService.getContentBetaMd5(groupKey);
-                for (Iterator<ClientLongPolling> iter = allSubs.iterator(); iter.hasNext(); ) {
-                    ClientLongPolling clientSub = iter.next();
-                    if (clientSub.clientMd5Map.containsKey(groupKey)) {
-                        // If published tag is not in the beta list, then it skipped.
-                        if (isBeta && !CollectionUtils.contains(betaIps, clientSub.ip)) {
-                            continue;
-                        }
-                        
-                        // If published tag is not in the tag list, then it skipped.
-                        if (StringUtils.isNotBlank(tag) && !tag.equals(clientSub.tag)) {
-                            continue;
-                        }
-                        
-                        getRetainIps().put(clientSub.ip, System.currentTimeMillis());
-                        iter.remove(); // Delete subscribers' relationships.
-                        LogUtil.CLIENT_LOG
-                                .info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime), "in-advance",
-                                        RequestUtil
-                                                .getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
-                                        "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
-                        clientSub.sendResponse(Arrays.asList(groupKey));
+                Set<ClientLongPolling> subs = groupKeySubs.get(groupKey);
+                if (subs == null) {
+                    return;
+                }
+                for (ClientLongPolling clientSub : subs) {
+                    // If published tag is not in the beta list, then it skipped.
+                    if (isBeta && !CollectionUtils.contains(betaIps, clientSub.ip)) {
+                        continue;
+                    }
+                    
+                    // If published tag is not in the tag list, then it skipped.
+                    if (StringUtils.isNotBlank(tag) && !tag.equals(clientSub.tag)) {
+                        continue;
+                    }
+                    
+                    // Delete subscribers' relationships, skip the one already responded by timeout.
+                    if (!removeSubscriber(clientSub)) {
+                        continue;
                     }
+                    getRetainIps().put(clientSub.ip, System.currentTimeMillis());
+                    LogUtil.CLIENT_LOG
+                            .info("{}|{}|{}|{}|{}|{}|{}", (System.currentTimeMillis() - changeTime), "in-advance",
+                                    RequestUtil.getRemoteIp((HttpServletRequest) clientSub.asyncContext.getRequest()),
+                                    "polling", clientSub.clientMd5Map.size(), clientSub.probeRequestSize, groupKey);
+                    clientSub.sendResponse(Arrays.asList(groupKey));
                 }
                 
             } catch (Throwable t) {
@@ -399,7 +439,7 @@ public class LongPollingService {
                         getRetainIps().put(ClientLongPolling.this.ip, System.currentTimeMillis());
                         
                         // Delete subscriber's relations.
-                        boolean removeFlag = allSubs.remove(ClientLongPolling.this);
+                        boolean removeFlag = removeSubscriber(ClientLongPolling.this);
                         
                         if (removeFlag) {
                             if (isFixedPolling()) {
@@ -433,7 +473,7 @@ public class LongPollingService {
                 
             }, timeoutTime, TimeUnit.MILLISECONDS);
             
-            allSubs.add(this);
+            addSubscriber(this);
         }
         
         void sendResponse(List<String> changedGroups) {
@@ -0,0 +1,364 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import org.apache.commons.io.FileUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Store of dumped config contents packed into memory-mapped segment files.
+ *
+ * <p>Contents are appended to the active segment through its mapping and located by an in-memory offset index, so a
+ * query is served without opening a file: http responses are transferred from the channel of the segment and rpc
+ * responses are decoded from the mapped bytes. Overwritten and removed contents are garbage of their segments, a
+ * sealed segment is compacted by moving its live contents to the active segment once less than half of it is live.
+ * Segments are reference counted, a retired segment is closed and deleted after the in-flight reads are finished.
+ *
+ * <p>The index is not persisted, the directory is cleared when the store is created and filled again by dump. The
+ * contents not in the store should be read from the dump files.
+ *
+ * @author nacos
+ */
+public class MappedContentStore {
+    
+    private final File baseDir;
+    
+    private final int segmentBytes;
+    
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    
+    /**
+     * Segments not retired in creation order, guarded by this.
+     */
+    private final Map<Long, Segment> segments = new LinkedHashMap<>();
+    
+    private Segment active;
+    
+    private long nextSegmentId;
+    
+    public MappedContentStore(File baseDir, int segmentBytes) throws IOException {
+        this.baseDir = baseDir;
+        this.segmentBytes = segmentBytes;
+        FileUtils.deleteDirectory(baseDir);
+        FileUtils.forceMkdir(baseDir);
+    }
+    
+    /**
+     * Put the content of key.
+     *
+     * @param key     key of content
+     * @param content content bytes
+     * @throws IOException if failed to create new segment, the old content of key is removed
+     */
+    public synchronized void put(String key, byte[] content) throws IOException {
+        Location location;
+        try {
+            Segment segment = segmentFor(content.length);
+            location = new Location(segment, segment.append(content), content.length, System.currentTimeMillis());
+        } catch (IOException e) {
+            discard(index.remove(key));
+            throw e;
+        }
+        discard(index.put(key, location));
+    }
+    
+    /**
+     * Remove the content of key.
+     *
+     * @param key key of content
+     */
+    public synchronized void remove(String key) {
+        discard(index.remove(key));
+    }
+    
+    /**
+     * Remove the contents of keys starting with prefix.
+     *
+     * @param prefix prefix of keys
+     */
+    public synchronized void removeByPrefix(String prefix) {
+        Iterator<Map.Entry<String, Location>> iterator = index.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Location> entry = iterator.next();
+            if (entry.getKey().startsWith(prefix)) {
+                iterator.remove();
+                discard(entry.getValue());
+            }
+        }
+    }
+    
+    /**
+     * Open the content of key for read, the returned content must be closed after read.
+     *
+     * @param key key of content
+     * @return content, or {@code null} if key is not in the store
+     */
+    public Content open(String key) {
+        while (true) {
+            Location location = index.get(key);
+            if (null == location) {
+                return null;
+            }
+            if (location.segment.acquire()) {
+                return new Content(location);
+            }
+            // the segment is just retired by compaction, the content of key has been moved to another segment.
+        }
+    }
+    
+    public int size() {
+        return index.size();
+    }
+    
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+    
+    private Segment segmentFor(int length) throws IOException {
+        if (null != active && active.capacity - active.position >= length) {
+            return active;
+        }
+        long id = nextSegmentId++;
+        File file = new File(baseDir, String.format("%020d.seg", id));
+        active = new Segment(id, file, Math.max(segmentBytes, length));
+        segments.put(id, active);
+        return active;
+    }
+    
+    private void discard(Location location) {
+        if (null == location) {
+            return;
+        }
+        Segment segment = location.segment;
+        segment.liveBytes -= location.length;
+        if (segment != active && segment.liveBytes * 2 < segment.position) {
+            compact(segment);
+        }
+    }
+    
+    private void compact(Segment segment) {
+        segments.remove(segment.id);
+        try {
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                Location location = entry.getValue();
+                if (location.segment != segment) {
+                    continue;
+                }
+                Segment target = segmentFor(location.length);
+                int offset = target.append(location.slice());
+                entry.setValue(new Location(target, offset, location.length, location.lastModified));
+            }
+        } catch (IOException e) {
+            LogUtil.FATAL_LOG.error("[mapped-content] compact segment {} failed, drop its contents", segment.file, e);
+            index.values().removeIf(location -> location.segment == segment);
+        }
+        segment.retire();
+    }
+    
+    /**
+     * Content of key, which is valid until closed.
+     */
+    public static class Content implements Closeable {
+        
+        private final Location location;
+        
+        private boolean closed;
+        
+        private Content(Location location) {
+            this.location = location;
+        }
+        
+        public int getLength() {
+            return location.length;
+        }
+        
+        public long getLastModified() {
+            return location.lastModified;
+        }
+        
+        /**
+         * Get the read only mapped bytes of content.
+         *
+         * @return mapped bytes
+         */
+        public ByteBuffer getBuffer() {
+            return location.slice().asReadOnlyBuffer();
+        }
+        
+        /**
+         * Decode the mapped bytes of content.
+         *
+         * @param charset charset of content
+         * @return content string
+         */
+        public String getString(Charset charset) {
+            byte[] bytes = new byte[location.length];
+            location.slice().get(bytes);
+            return new String(bytes, charset);
+        }
+        
+        /**
+         * Transfer the content to target from the channel of segment.
+         *
+         * @param target target channel
+         * @throws IOException if failed to transfer
+         */
+        public void transferTo(WritableByteChannel target) throws IOException {
+            long position = location.offset;
+            long remaining = location.length;
+            while (remaining > 0) {
+                long transferred = location.segment.channel.transferTo(position, remaining, target);
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+        
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                location.segment.release();
+            }
+        }
+    }
+    
+    private static class Location {
+        
+        private final Segment segment;
+        
+        private final int offset;
+        
+        private final int length;
+        
+        private final long lastModified;
+        
+        private Location(Segment segment, int offset, int length, long lastModified) {
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.lastModified = lastModified;
+        }
+        
+        private ByteBuffer slice() {
+            ByteBuffer result = segment.buffer.duplicate();
+            result.limit(offset + length);
+            result.position(offset);
+            return result.slice();
+        }
+    }
+    
+    private static class Segment {
+        
+        private final long id;
+        
+        private final File file;
+        
+        private final int capacity;
+        
+        private final FileChannel channel;
+        
+        private final MappedByteBuffer buffer;
+        
+        /**
+         * Owner reference and references of opened contents, the segment is closed when no reference left.
+         */
+        private final AtomicInteger references = new AtomicInteger(1);
+        
+        /**
+         * Write position and live bytes, guarded by the store.
+         */
+        private int position;
+        
+        private long liveBytes;
+        
+        private boolean retired;
+        
+        private Segment(long id, File file, int capacity) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.capacity = capacity;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            try {
+                this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            } catch (IOException e) {
+                channel.close();
+                FileUtils.deleteQuietly(file);
+                throw e;
+            }
+        }
+        
+        private int append(byte[] content) {
+            return append(ByteBuffer.wrap(content));
+        }
+        
+        private int append(ByteBuffer content) {
+            int offset = position;
+            int length = content.remaining();
+            ByteBuffer target = buffer.duplicate();
+            target.position(offset);
+            target.put(content);
+            position += length;
+            liveBytes += length;
+            return offset;
+        }
+        
+        private boolean acquire() {
+            while (true) {
+                int current = references.get();
+                if (current <= 0) {
+                    return false;
+                }
+                if (references.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+        
+        private void retire() {
+            if (!retired) {
+                retired = true;
+                release();
+            }
+        }
+        
+        private void release() {
+            if (0 == references.decrementAndGet()) {
+                try {
+                    channel.close();
+                } catch (IOException ignore) {
+                }
+                FileUtils.deleteQuietly(file);
+            }
+        }
+    }
+}
@@ -22,20 +22,32 @@ import com.alibaba.nacos.config.server.constant.Constants;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
 import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
 import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
 import com.alibaba.nacos.config.server.service.AggrWhitelist;
 import com.alibaba.nacos.config.server.service.ClientIpWhiteList;
 import com.alibaba.nacos.config.server.service.ConfigCacheService;
 import com.alibaba.nacos.config.server.service.SwitchService;
 import com.alibaba.nacos.config.server.service.dump.DumpService;
 import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 import com.alibaba.nacos.config.server.utils.GroupKey2;
 import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.alibaba.nacos.config.server.utils.LogUtil.DEFAULT_LOG;
 
 /**
  * Dump all processor.
  *
+ * <p>Pages of configs are read by the task thread and split into chunks, which are hashed and saved by a bounded pool
+ * of workers. The task thread keeps reading next pages while the workers are busy, until the pending chunks reach the
+ * bound.
+ *
  * @author Nacos
  * @date 2020/7/5 12:19 PM
  */
@@ -48,46 +60,107 @@ public class DumpAllProcessor implements NacosTaskProcessor {
     
     @Override
     public boolean process(NacosTask task) {
+        long startTime = System.currentTimeMillis();
         long currentMaxId = persistService.findConfigMaxId();
         long lastMaxId = 0;
-        while (lastMaxId < currentMaxId) {
-            Page<ConfigInfoWrapper> page = persistService.findAllConfigInfoFragment(lastMaxId, PAGE_SIZE);
-            if (page != null && page.getPageItems() != null && !page.getPageItems().isEmpty()) {
-                for (ConfigInfoWrapper cf : page.getPageItems()) {
-                    long id = cf.getId();
-                    lastMaxId = Math.max(id, lastMaxId);
-                    if (cf.getDataId().equals(AggrWhitelist.AGGRIDS_METADATA)) {
-                        AggrWhitelist.load(cf.getContent());
+        int workers = Math.max(1, PropertyUtil.getDumpAllWorkers());
+        int maxPendingChunks = workers * 2;
+        Semaphore pendingChunks = new Semaphore(maxPendingChunks);
+        AtomicInteger dumpCount = MetricsMonitor.getDumpAllCountMonitor();
+        AtomicInteger failCount = MetricsMonitor.getDumpAllFailCountMonitor();
+        dumpCount.set(0);
+        failCount.set(0);
+        ExecutorService executor = ConfigExecutor.newDumpAllExecutor(workers);
+        try {
+            while (lastMaxId < currentMaxId) {
+                Page<ConfigInfoWrapper> page = persistService.findAllConfigInfoFragment(lastMaxId, PAGE_SIZE);
+                if (page != null && page.getPageItems() != null && !page.getPageItems().isEmpty()) {
+                    List<ConfigInfoWrapper> items = page.getPageItems();
+                    for (ConfigInfoWrapper cf : items) {
+                        lastMaxId = Math.max(cf.getId(), lastMaxId);
+                        loadMetadata(cf);
                     }
-                    
-                    if (cf.getDataId().equals(ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA)) {
-                        ClientIpWhiteList.load(cf.getContent());
+                    for (int start = 0; start < items.size(); start += CHUNK_SIZE) {
+                        List<ConfigInfoWrapper> chunk = items
+                                .subList(start, Math.min(items.size(), start + CHUNK_SIZE));
+                        pendingChunks.acquire();
+                        executor.execute(() -> {
+                            try {
+                                dumpChunk(chunk, dumpCount, failCount);
+                            } finally {
+                                pendingChunks.release();
+                            }
+                        });
                     }
-                    
-                    if (cf.getDataId().equals(SwitchService.SWITCH_META_DATAID)) {
-                        SwitchService.load(cf.getContent());
-                    }
-                    
-                    boolean result = ConfigCacheService
-                            .dump(cf.getDataId(), cf.getGroup(), cf.getTenant(), cf.getContent(), cf.getLastModified(),
-                                    cf.getType());
-                    
-                    final String content = cf.getContent();
-                    final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE);
-                    LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={}, md5={}",
-                            GroupKey2.getKey(cf.getDataId(), cf.getGroup()), cf.getLastModified(), content.length(),
-                            md5);
+                    DEFAULT_LOG.info("[all-dump] {} / {}, dumped={}", lastMaxId, currentMaxId, dumpCount.get());
+                } else {
+                    lastMaxId += PAGE_SIZE;
                 }
-                DEFAULT_LOG.info("[all-dump] {} / {}", lastMaxId, currentMaxId);
-            } else {
-                lastMaxId += PAGE_SIZE;
             }
+            // wait all pending chunks finished.
+            pendingChunks.acquire(maxPendingChunks);
+            pendingChunks.release(maxPendingChunks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            DEFAULT_LOG.warn("[all-dump] interrupted, dumped={}", dumpCount.get());
+            return false;
+        } finally {
+            executor.shutdown();
         }
+        DEFAULT_LOG.info("[all-dump] finished, dumped={}, failed={}, cost={}ms", dumpCount.get(), failCount.get(),
+                System.currentTimeMillis() - startTime);
         return true;
     }
     
+    private void loadMetadata(ConfigInfoWrapper cf) {
+        if (cf.getDataId().equals(AggrWhitelist.AGGRIDS_METADATA)) {
+            AggrWhitelist.load(cf.getContent());
+        }
+        
+        if (cf.getDataId().equals(ClientIpWhiteList.CLIENT_IP_WHITELIST_METADATA)) {
+            ClientIpWhiteList.load(cf.getContent());
+        }
+        
+        if (cf.getDataId().equals(SwitchService.SWITCH_META_DATAID)) {
+            SwitchService.load(cf.getContent());
+        }
+    }
+    
+    private void dumpChunk(List<ConfigInfoWrapper> chunk, AtomicInteger dumpCount, AtomicInteger failCount) {
+        for (ConfigInfoWrapper cf : chunk) {
+            try {
+                final String content = cf.getContent();
+                final String md5 = MD5Utils.md5Hex(content, Constants.ENCODE);
+                if (!dump(cf, md5)) {
+                    failCount.incrementAndGet();
+                }
+                dumpCount.incrementAndGet();
+                LogUtil.DUMP_LOG.info("[dump-all-ok] {}, {}, length={}, md5={}",
+                        GroupKey2.getKey(cf.getDataId(), cf.getGroup()), cf.getLastModified(), content.length(), md5);
+            } catch (Throwable e) {
+                failCount.incrementAndGet();
+                LogUtil.DUMP_LOG.error("[dump-all-error] {}", GroupKey2.getKey(cf.getDataId(), cf.getGroup()), e);
+            }
+        }
+    }
+    
+    /**
+     * Save one config with the md5 computed by the worker, so the content is not hashed again.
+     *
+     * @param cf  config
+     * @param md5 md5 of config content
+     * @return dump success or not
+     */
+    boolean dump(ConfigInfoWrapper cf, String md5) {
+        return ConfigCacheService
+                .dump(cf.getDataId(), cf.getGroup(), cf.getTenant(), cf.getContent(), md5, cf.getLastModified(),
+                        cf.getType());
+    }
+    
     static final int PAGE_SIZE = 1000;
     
+    static final int CHUNK_SIZE = 100;
+    
     final DumpService dumpService;
     
     final PersistService persistService;
@@ -45,6 +45,7 @@ import com.alibaba.nacos.config.server.service.sql.QueryType;
 import com.alibaba.nacos.config.server.service.sql.SelectRequest;
 import com.alibaba.nacos.config.server.utils.ConfigExecutor;
 import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
 import com.alibaba.nacos.consistency.SerializeFactory;
 import com.alibaba.nacos.consistency.Serializer;
 import com.alibaba.nacos.consistency.cp.CPProtocol;
@@ -78,10 +79,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -149,6 +152,20 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
      */
     private static final String DATA_IMPORT_KEY = "00--0-data_import-0--00";
     
+    private static final long WRITE_TIMEOUT_MILLIS = 10_000L;
+    
+    private static final long READ_TIMEOUT_MILLIS = 5_000L;
+    
+    /**
+     * Returned by {@link #localRead} when the local read is disabled or not supported by the protocol.
+     */
+    private static final Object LOCAL_READ_UNAVAILABLE = new Object();
+    
+    /**
+     * Returned by {@link #localRead} when the read barrier failed, the data should be read from leader.
+     */
+    private static final Object LOCAL_READ_BARRIER_FAILED = new Object();
+    
     private ServerMemberManager memberManager;
     
     private CPProtocol protocol;
@@ -167,6 +184,8 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
     
     private ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
     
+    private RaftWriteBatcher writeBatcher;
+    
     public DistributedDatabaseOperateImpl(ServerMemberManager memberManager, ProtocolManager protocolManager)
             throws Exception {
         this.memberManager = memberManager;
@@ -205,6 +224,11 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         NotifyCenter.registerToPublisher(ConfigDumpEvent.class, NotifyCenter.ringBufferSize);
         NotifyCenter.registerSubscriber(new DumpConfigHandler());
         
+        if (PropertyUtil.getEmbeddedStorageWriteBatchSize() > 1) {
+            this.writeBatcher = new RaftWriteBatcher(PropertyUtil.getEmbeddedStorageWriteBatchSize(),
+                    PropertyUtil.getEmbeddedStorageWriteBatchWindow(), request -> protocol.writeAsync(request));
+        }
+        
         this.protocol.addRequestProcessors(Collections.singletonList(this));
         LogUtil.DEFAULT_LOG.info("use DistributedTransactionServicesImpl");
     }
@@ -219,15 +243,21 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryOne info : sql : {}", sql);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            Object localResult = localRead(blockRead, () -> queryOne(jdbcTemplate, sql, cls));
+            if (isLocalResult(localResult)) {
+                return (R) localResult;
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_ONE_NO_MAPPER_NO_ARGS).sql(sql)
                             .className(cls.getCanonicalName()).build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead,
+                    LOCAL_READ_BARRIER_FAILED == localResult);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(), cls);
             }
@@ -243,15 +273,21 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryOne info : sql : {}, args : {}", sql, args);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            Object localResult = localRead(blockRead, () -> queryOne(jdbcTemplate, sql, args, cls));
+            if (isLocalResult(localResult)) {
+                return (R) localResult;
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_ONE_NO_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(cls.getCanonicalName()).build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead,
+                    LOCAL_READ_BARRIER_FAILED == localResult);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(), cls);
             }
@@ -267,15 +303,21 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryOne info : sql : {}, args : {}", sql, args);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            Object localResult = localRead(blockRead, () -> queryOne(jdbcTemplate, sql, args, mapper));
+            if (isLocalResult(localResult)) {
+                return (R) localResult;
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_ONE_WITH_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(mapper.getClass().getCanonicalName()).build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead,
+                    LOCAL_READ_BARRIER_FAILED == localResult);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(),
                         ClassUtils.resolveGenericTypeByInterface(mapper.getClass()));
@@ -292,15 +334,21 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryMany info : sql : {}, args : {}", sql, args);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            Object localResult = localRead(blockRead, () -> queryMany(jdbcTemplate, sql, args, mapper));
+            if (isLocalResult(localResult)) {
+                return (List<R>) localResult;
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_MANY_WITH_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(mapper.getClass().getCanonicalName()).build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead,
+                    LOCAL_READ_BARRIER_FAILED == localResult);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(), List.class);
             }
@@ -316,15 +364,21 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryMany info : sql : {}, args : {}", sql, args);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            Object localResult = localRead(blockRead, () -> queryMany(jdbcTemplate, sql, args, rClass));
+            if (isLocalResult(localResult)) {
+                return (List<R>) localResult;
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_MANY_NO_MAPPER_WITH_ARGS).sql(sql).args(args)
                             .className(rClass.getCanonicalName()).build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead,
+                    LOCAL_READ_BARRIER_FAILED == localResult);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(), List.class);
             }
@@ -340,15 +394,21 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         try {
             LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "queryMany info : sql : {}, args : {}", sql, args);
             
+            final boolean blockRead = EmbeddedStorageContextUtils
+                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
+            
+            Object localResult = localRead(blockRead, () -> queryMany(jdbcTemplate, sql, args));
+            if (isLocalResult(localResult)) {
+                return (List<Map<String, Object>>) localResult;
+            }
+            
             byte[] data = serializer.serialize(
                     SelectRequest.builder().queryType(QueryType.QUERY_MANY_WITH_LIST_WITH_ARGS).sql(sql).args(args)
                             .build());
             
-            final boolean blockRead = EmbeddedStorageContextUtils
-                    .containsExtendInfo(Constants.EXTEND_NEED_READ_UNTIL_HAVE_DATA);
-            
             Response response = innerRead(
-                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead);
+                    ReadRequest.newBuilder().setGroup(group()).setData(ByteString.copyFrom(data)).build(), blockRead,
+                    LOCAL_READ_BARRIER_FAILED == localResult);
             if (response.getSuccess()) {
                 return serializer.deserialize(response.getData().toByteArray(), List.class);
             }
@@ -359,15 +419,64 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         }
     }
     
+    /**
+     * Query the local derby directly after the read barrier of raft passed, which skips the serialization of result.
+     *
+     * @param blockRead whether to wait for the read barrier without timeout
+     * @param query     query against the local derby
+     * @return result of query, or {@link #LOCAL_READ_UNAVAILABLE} or {@link #LOCAL_READ_BARRIER_FAILED} if the local
+     *         derby is not linearizable readable
+     * @throws InterruptedException if interrupted while waiting for the read barrier
+     */
+    private Object localRead(boolean blockRead, Supplier<Object> query) throws InterruptedException {
+        if (!PropertyUtil.isEmbeddedStorageLocalRead()) {
+            return LOCAL_READ_UNAVAILABLE;
+        }
+        try {
+            CompletableFuture<Void> barrier = protocol.readBarrier(group());
+            if (blockRead) {
+                barrier.join();
+            } else {
+                barrier.get(READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (Throwable e) {
+            if (ExceptionUtil.getCause(e) instanceof UnsupportedOperationException) {
+                return LOCAL_READ_UNAVAILABLE;
+            }
+            // The read index has been tried by the barrier, so read from leader directly instead of trying it again.
+            LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "read barrier failed, read from leader : {}",
+                    e.toString());
+            return LOCAL_READ_BARRIER_FAILED;
+        }
+        readLock.lock();
+        try {
+            return query.get();
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    private static boolean isLocalResult(Object localResult) {
+        return LOCAL_READ_UNAVAILABLE != localResult && LOCAL_READ_BARRIER_FAILED != localResult;
+    }
+    
     /**
      * In some business situations, you need to avoid the timeout issue, so blockRead is used to determine this.
      *
-     * @param request   {@link ReadRequest}
-     * @param blockRead is async read operation
+     * @param request        {@link ReadRequest}
+     * @param blockRead      is async read operation
+     * @param readFromLeader whether to read from leader directly
      * @return {@link Response}
      * @throws Exception Exception
      */
-    private Response innerRead(ReadRequest request, boolean blockRead) throws Exception {
+    private Response innerRead(ReadRequest request, boolean blockRead, boolean readFromLeader) throws Exception {
+        if (readFromLeader) {
+            CompletableFuture<Response> future = protocol.aGetDataFromLeader(request);
+            return blockRead ? future.join() : future.get(READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
         if (blockRead) {
             return (Response) protocol.aGetData(request).join();
         }
@@ -432,14 +541,17 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
                     .putAllExtendInfo(EmbeddedStorageContextUtils.getCurrentExtendInfo())
                     .setType(sqlContext.getClass().getCanonicalName()).build();
             if (Objects.isNull(consumer)) {
-                Response response = this.protocol.write(request);
+                Response response = Objects.isNull(writeBatcher) ? this.protocol.write(request)
+                        : writeBatcher.submit(request).get(WRITE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
                 if (response.getSuccess()) {
                     return true;
                 }
                 LogUtil.DEFAULT_LOG.error("execute sql modify operation failed : {}", response.getErrMsg());
                 return false;
             } else {
-                this.protocol.writeAsync(request).whenComplete((BiConsumer<Response, Throwable>) (response, ex) -> {
+                CompletableFuture<Response> future = Objects.isNull(writeBatcher) ? this.protocol.writeAsync(request)
+                        : writeBatcher.submit(request);
+                future.whenComplete((BiConsumer<Response, Throwable>) (response, ex) -> {
                     String errMsg = Objects.isNull(ex) ? response.getErrMsg() : ExceptionUtil.getCause(ex).getMessage();
                     consumer.accept(response.getSuccess(),
                             StringUtils.isBlank(errMsg) ? null : new NJdbcException(errMsg));
@@ -513,6 +625,9 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
     @Override
     public Response onApply(WriteRequest log) {
         LoggerUtils.printIfDebugEnabled(LogUtil.DEFAULT_LOG, "onApply info : log : {}", log);
+        if (log.containsExtendInfo(RaftWriteBatcher.BATCH_WRITE_KEY)) {
+            return onApplyBatch(log);
+        }
         final ByteString byteString = log.getData();
         Preconditions.checkArgument(byteString != null, "Log.getData() must not null");
         List<ModifyRequest> sqlContext = serializer.deserialize(byteString.toByteArray(), List.class);
@@ -544,6 +659,64 @@ public class DistributedDatabaseOperateImpl extends RequestProcessor4CP implemen
         }
     }
     
+    /**
+     * Apply the writes of batch in one transaction, each write is isolated by a savepoint so that a bad sql grammar or
+     * data integrity error of one write only fails the write itself, and does not affect the others. Other data access
+     * errors are not deterministic among members, so they roll back the whole batch like {@link #onApply(WriteRequest)}
+     * does.
+     *
+     * @param log batch write request
+     * @return response carrying the responses of writes
+     */
+    private Response onApplyBatch(WriteRequest log) {
+        final List<WriteRequest> requests;
+        try {
+            requests = RaftWriteBatcher.unwrap(log);
+        } catch (Exception e) {
+            LogUtil.FATAL_LOG.error("parse batch write request failed", e);
+            return Response.newBuilder().setSuccess(false).setErrMsg(e.toString()).build();
+        }
+        final Lock lock = readLock;
+        lock.lock();
+        try {
+            List<Response> responses = transactionTemplate.execute(status -> {
+                List<Response> result = new ArrayList<>(requests.size());
+                for (WriteRequest each : requests) {
+                    List<ModifyRequest> sqlContext = serializer.deserialize(each.getData().toByteArray(), List.class);
+                    sqlContext.sort(Comparator.comparingInt(ModifyRequest::getExecuteNo));
+                    Object savepoint = status.createSavepoint();
+                    try {
+                        for (ModifyRequest request : sqlContext) {
+                            jdbcTemplate.update(request.getSql(), request.getArgs());
+                        }
+                        status.releaseSavepoint(savepoint);
+                        result.add(Response.newBuilder().setSuccess(true).build());
+                    } catch (BadSqlGrammarException | DataIntegrityViolationException e) {
+                        LogUtil.FATAL_LOG.error("[db-error] sql context : {}, error : {}", sqlContext, e.toString());
+                        status.rollbackToSavepoint(savepoint);
+                        status.releaseSavepoint(savepoint);
+                        result.add(Response.newBuilder().setSuccess(false).setErrMsg(e.toString()).build());
+                    }
+                }
+                return result;
+            });
+            // Put into the asynchronous thread pool for processing to avoid blocking the
+            // normal execution of the state machine
+            ConfigExecutor.executeEmbeddedDump(() -> {
+                for (int i = 0; i < requests.size(); i++) {
+                    if (responses.get(i).getSuccess()) {
+                        handleExtendInfo(requests.get(i).getExtendInfoMap());
+                    }
+                }
+            });
+            return RaftWriteBatcher.wrapResponses(responses);
+        } catch (DataAccessException e) {
+            throw new ConsistencyException(e.toString());
+        } finally {
+            lock.unlock();
+        }
+    }
+    
     @Override
     public void onError(Throwable throwable) {
         // Trigger reversion strategy
@@ -0,0 +1,234 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.LogUtil;
+import com.alibaba.nacos.consistency.SerializeFactory;
+import com.alibaba.nacos.consistency.Serializer;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Collect concurrent writes of embedded storage and commit them as one raft log.
+ *
+ * <p>Writes submitted within the window, or up to the batch size, are wrapped into one {@link WriteRequest} marked by
+ * {@link #BATCH_WRITE_KEY}, whose data is the serialized list of the original requests. The state machine applies them
+ * in one transaction and answers the serialized list of responses, which complete the futures of the writes in order.
+ * A batch of single write is committed as is.
+ *
+ * @author nacos
+ */
+@SuppressWarnings("unchecked")
+final class RaftWriteBatcher {
+    
+    /**
+     * The batch write operation is dedicated key, which ACTS as an identifier.
+     */
+    static final String BATCH_WRITE_KEY = "00--0-batch_write-0--00";
+    
+    private static final Serializer SERIALIZER = SerializeFactory.getDefault();
+    
+    private final int maxBatchSize;
+    
+    private final long windowMillis;
+    
+    private final Function<WriteRequest, CompletableFuture<Response>> writer;
+    
+    private final ConcurrentLinkedQueue<PendingWrite> pending = new ConcurrentLinkedQueue<>();
+    
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    
+    RaftWriteBatcher(int maxBatchSize, long windowMillis, Function<WriteRequest, CompletableFuture<Response>> writer) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.windowMillis = Math.max(0L, windowMillis);
+        this.writer = writer;
+    }
+    
+    /**
+     * Submit a write to be committed with other concurrent writes.
+     *
+     * @param request write request
+     * @return future completed with the response of the write when it is applied
+     */
+    CompletableFuture<Response> submit(WriteRequest request) {
+        PendingWrite write = new PendingWrite(request);
+        pending.offer(write);
+        if (pendingCount.incrementAndGet() >= maxBatchSize) {
+            ConfigExecutor.executeEmbeddedWriteBatch(this::flush);
+        } else if (scheduled.compareAndSet(false, true)) {
+            ConfigExecutor.scheduleEmbeddedWriteBatch(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+        return write.future;
+    }
+    
+    /**
+     * Commit the pending writes, only run in the batch executor.
+     */
+    private void flush() {
+        scheduled.set(false);
+        while (true) {
+            List<PendingWrite> batch = new ArrayList<>(Math.min(maxBatchSize, pendingCount.get()));
+            PendingWrite write;
+            while (batch.size() < maxBatchSize && null != (write = pending.poll())) {
+                batch.add(write);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            pendingCount.addAndGet(-batch.size());
+            commit(batch);
+            // The rest not reaching the batch size waits for the next window.
+            if (pendingCount.get() < maxBatchSize) {
+                break;
+            }
+        }
+        if (pendingCount.get() > 0 && scheduled.compareAndSet(false, true)) {
+            ConfigExecutor.scheduleEmbeddedWriteBatch(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    private void commit(List<PendingWrite> batch) {
+        if (1 == batch.size()) {
+            PendingWrite write = batch.get(0);
+            writeQuietly(write.request).whenComplete((response, ex) -> {
+                if (null != ex) {
+                    write.future.completeExceptionally(ex);
+                } else {
+                    write.future.complete(response);
+                }
+            });
+            return;
+        }
+        List<WriteRequest> requests = new ArrayList<>(batch.size());
+        for (PendingWrite each : batch) {
+            requests.add(each.request);
+        }
+        writeQuietly(wrap(requests)).whenComplete((response, ex) -> {
+            if (null != ex) {
+                batch.forEach(each -> each.future.completeExceptionally(ex));
+                return;
+            }
+            if (!response.getSuccess()) {
+                batch.forEach(each -> each.future.complete(response));
+                return;
+            }
+            try {
+                List<Response> responses = unwrapResponses(response);
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).future.complete(responses.get(i));
+                }
+            } catch (Throwable e) {
+                LogUtil.FATAL_LOG.error("parse the response of batch write failed", e);
+                batch.forEach(each -> each.future.completeExceptionally(e));
+            }
+        });
+    }
+    
+    private CompletableFuture<Response> writeQuietly(WriteRequest request) {
+        try {
+            return writer.apply(request);
+        } catch (Throwable e) {
+            CompletableFuture<Response> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+    
+    /**
+     * Wrap the write requests into one batch write request.
+     *
+     * @param requests write requests
+     * @return batch write request
+     */
+    static WriteRequest wrap(List<WriteRequest> requests) {
+        ArrayList<byte[]> data = new ArrayList<>(requests.size());
+        for (WriteRequest each : requests) {
+            data.add(each.toByteArray());
+        }
+        WriteRequest first = requests.get(0);
+        return WriteRequest.newBuilder().setGroup(first.getGroup())
+                .setKey(first.getKey() + "-batch-" + requests.size())
+                .setData(ByteString.copyFrom(SERIALIZER.serialize(data)))
+                .putExtendInfo(BATCH_WRITE_KEY, Boolean.TRUE.toString()).setType(ArrayList.class.getCanonicalName())
+                .build();
+    }
+    
+    /**
+     * Unwrap the write requests from batch write request.
+     *
+     * @param batch batch write request
+     * @return write requests
+     * @throws InvalidProtocolBufferException if the batch is broken
+     */
+    static List<WriteRequest> unwrap(WriteRequest batch) throws InvalidProtocolBufferException {
+        List<byte[]> data = SERIALIZER.deserialize(batch.getData().toByteArray(), List.class);
+        List<WriteRequest> result = new ArrayList<>(data.size());
+        for (byte[] each : data) {
+            result.add(WriteRequest.parseFrom(each));
+        }
+        return result;
+    }
+    
+    /**
+     * Wrap the responses of writes into the response of batch write request.
+     *
+     * @param responses responses of writes, in order of the writes
+     * @return response of batch write request
+     */
+    static Response wrapResponses(List<Response> responses) {
+        ArrayList<byte[]> data = new ArrayList<>(responses.size());
+        for (Response each : responses) {
+            data.add(each.toByteArray());
+        }
+        return Response.newBuilder().setSuccess(true).setData(ByteString.copyFrom(SERIALIZER.serialize(data)))
+                .build();
+    }
+    
+    static List<Response> unwrapResponses(Response response) throws InvalidProtocolBufferException {
+        List<byte[]> data = SERIALIZER.deserialize(response.getData().toByteArray(), List.class);
+        List<Response> result = new ArrayList<>(data.size());
+        for (byte[] each : data) {
+            result.add(Response.parseFrom(each));
+        }
+        return result;
+    }
+    
+    private static class PendingWrite {
+        
+        private final WriteRequest request;
+        
+        private final CompletableFuture<Response> future = new CompletableFuture<>();
+        
+        private PendingWrite(WriteRequest request) {
+            this.request = request;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import com.alibaba.nacos.config.server.Config;
 import com.alibaba.nacos.core.utils.ClassUtils;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -39,6 +40,10 @@ public final class ConfigExecutor {
             .newSingleExecutorService(ClassUtils.getCanonicalName(Config.class),
                     new NameThreadFactory("com.alibaba.nacos.config.embedded.dump"));
     
+    private static final ScheduledExecutorService EMBEDDED_WRITE_BATCH_EXECUTOR = ExecutorFactory.Managed
+            .newSingleScheduledExecutorService(ClassUtils.getCanonicalName(Config.class),
+                    new NameThreadFactory("com.alibaba.nacos.config.embedded.write.batch"));
+    
     private static final ScheduledExecutorService TIMER_EXECUTOR = ExecutorFactory.Managed
             .newScheduledExecutorService(ClassUtils.getCanonicalName(Config.class), 10,
                     new NameThreadFactory("com.alibaba.nacos.config.server.timer"));
@@ -65,6 +70,28 @@ public final class ConfigExecutor {
                     ThreadUtils.getSuitableThreadCount(),
                     new NameThreadFactory("com.alibaba.nacos.config.server.remote.ConfigChangeNotifier"));
     
+    /**
+     * Create a single thread executor for one shard of config change push.
+     *
+     * @param shard index of shard
+     * @return scheduled executor
+     */
+    public static ScheduledExecutorService newConfigChangePushExecutor(int shard) {
+        return ExecutorFactory.Managed.newSingleScheduledExecutorService(ClassUtils.getCanonicalName(Config.class),
+                new NameThreadFactory("com.alibaba.nacos.config.server.remote.ConfigChangePush-" + shard));
+    }
+    
+    /**
+     * Create a fixed executor for hashing and saving configs when dumping all configs, should be shutdown after dump.
+     *
+     * @param workers number of workers
+     * @return executor
+     */
+    public static ExecutorService newDumpAllExecutor(int workers) {
+        return ExecutorFactory
+                .newFixedExecutorService(workers, new NameThreadFactory("com.alibaba.nacos.config.server.DumpAll"));
+    }
+    
     public static void scheduleConfigTask(Runnable command, long initialDelay, long delay, TimeUnit unit) {
         TIMER_EXECUTOR.scheduleWithFixedDelay(command, initialDelay, delay, unit);
     }
@@ -73,6 +100,14 @@ public final class ConfigExecutor {
         DUMP_EXECUTOR.execute(runnable);
     }
     
+    public static void executeEmbeddedWriteBatch(Runnable runnable) {
+        EMBEDDED_WRITE_BATCH_EXECUTOR.execute(runnable);
+    }
+    
+    public static void scheduleEmbeddedWriteBatch(Runnable runnable, long delay, TimeUnit unit) {
+        EMBEDDED_WRITE_BATCH_EXECUTOR.schedule(runnable, delay, unit);
+    }
+    
     public static void scheduleCorrectUsageTask(Runnable runnable, long initialDelay, long delay, TimeUnit unit) {
         CAPACITY_MANAGEMENT_EXECUTOR.scheduleWithFixedDelay(runnable, initialDelay, delay, unit);
     }
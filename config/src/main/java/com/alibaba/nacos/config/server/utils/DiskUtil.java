@@ -19,6 +19,7 @@ package com.alibaba.nacos.config.server.utils;
 import com.alibaba.nacos.common.utils.IoUtils;
 import com.alibaba.nacos.common.utils.MD5Utils;
 import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.service.MappedContentStore;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import org.apache.commons.io.FileUtils;
 import com.alibaba.nacos.common.utils.StringUtils;
@@ -47,6 +48,10 @@ public class DiskUtil {
     
     static final String TENANT_TAG_DIR = File.separator + "data" + File.separator + "tag-beta-data";
     
+    static final String MAPPED_CONTENT_DIR = File.separator + "data" + File.separator + "mapped-config-data";
+    
+    private static final int MAPPED_SEGMENT_BYTES = 16 * 1024 * 1024;
+    
     public static void saveHeartBeatToDisk(String heartBeatTime) throws IOException {
         FileUtils.writeStringToFile(heartBeatFile(), heartBeatTime, Constants.ENCODE);
     }
@@ -56,7 +61,7 @@ public class DiskUtil {
      */
     public static void saveToDisk(String dataId, String group, String tenant, String content) throws IOException {
         File targetFile = targetFile(dataId, group, tenant);
-        FileUtils.writeStringToFile(targetFile, content, Constants.ENCODE);
+        saveToFile(targetFile, content);
     }
     
     /**
@@ -64,7 +69,7 @@ public class DiskUtil {
      */
     public static void saveBetaToDisk(String dataId, String group, String tenant, String content) throws IOException {
         File targetFile = targetBetaFile(dataId, group, tenant);
-        FileUtils.writeStringToFile(targetFile, content, Constants.ENCODE);
+        saveToFile(targetFile, content);
     }
     
     /**
@@ -73,28 +78,75 @@ public class DiskUtil {
     public static void saveTagToDisk(String dataId, String group, String tenant, String tag, String content)
             throws IOException {
         File targetFile = targetTagFile(dataId, group, tenant, tag);
-        FileUtils.writeStringToFile(targetFile, content, Constants.ENCODE);
+        saveToFile(targetFile, content);
+    }
+    
+    private static void saveToFile(File targetFile, String content) throws IOException {
+        MappedContentStore store = getMappedContentStore();
+        if (null == store) {
+            FileUtils.writeStringToFile(targetFile, content, Constants.ENCODE);
+            return;
+        }
+        byte[] bytes = content.getBytes(Constants.ENCODE);
+        FileUtils.writeByteArrayToFile(targetFile, bytes);
+        try {
+            store.put(targetFile.getPath(), bytes);
+        } catch (IOException e) {
+            // the content is removed from store and will be read from file.
+            LogUtil.FATAL_LOG.error("[mapped-content] put {} failed", targetFile, e);
+        }
     }
     
     /**
      * Deletes configuration files on disk.
      */
     public static void removeConfigInfo(String dataId, String group, String tenant) {
-        FileUtils.deleteQuietly(targetFile(dataId, group, tenant));
+        removeFile(targetFile(dataId, group, tenant));
     }
     
     /**
      * Deletes beta configuration files on disk.
      */
     public static void removeConfigInfo4Beta(String dataId, String group, String tenant) {
-        FileUtils.deleteQuietly(targetBetaFile(dataId, group, tenant));
+        removeFile(targetBetaFile(dataId, group, tenant));
     }
     
     /**
      * Deletes tag configuration files on disk.
      */
     public static void removeConfigInfo4Tag(String dataId, String group, String tenant, String tag) {
-        FileUtils.deleteQuietly(targetTagFile(dataId, group, tenant, tag));
+        removeFile(targetTagFile(dataId, group, tenant, tag));
+    }
+    
+    private static void removeFile(File targetFile) {
+        MappedContentStore store = getMappedContentStore();
+        if (null != store) {
+            store.remove(targetFile.getPath());
+        }
+        FileUtils.deleteQuietly(targetFile);
+    }
+    
+    private static boolean removeDirectory(File dir) {
+        MappedContentStore store = getMappedContentStore();
+        if (null != store) {
+            store.removeByPrefix(dir.getPath() + File.separator);
+        }
+        return FileUtils.deleteQuietly(dir);
+    }
+    
+    /**
+     * Open the mapped content of config file, the returned content must be closed after read.
+     *
+     * @param targetFile config file returned by {@link #targetFile}, {@link #targetBetaFile} or {@link #targetTagFile}
+     * @return mapped content, or {@code null} if the mapped content store is disabled or the content is not in it
+     */
+    public static MappedContentStore.Content openMappedContent(File targetFile) {
+        MappedContentStore store = getMappedContentStore();
+        return null == store ? null : store.open(targetFile.getPath());
+    }
+    
+    private static MappedContentStore getMappedContentStore() {
+        return PropertyUtil.isMappedContentStore() ? MappedContentStoreHolder.INSTANCE : null;
     }
     
     public static void removeHeartHeat() {
@@ -181,13 +233,13 @@ public class DiskUtil {
      */
     public static void clearAll() {
         File file = new File(EnvUtil.getNacosHome(), BASE_DIR);
-        if (FileUtils.deleteQuietly(file)) {
+        if (removeDirectory(file)) {
             LogUtil.DEFAULT_LOG.info("clear all config-info success.");
         } else {
             LogUtil.DEFAULT_LOG.warn("clear all config-info failed.");
         }
         File fileTenant = new File(EnvUtil.getNacosHome(), TENANT_BASE_DIR);
-        if (FileUtils.deleteQuietly(fileTenant)) {
+        if (removeDirectory(fileTenant)) {
             LogUtil.DEFAULT_LOG.info("clear all config-info-tenant success.");
         } else {
             LogUtil.DEFAULT_LOG.warn("clear all config-info-tenant failed.");
@@ -199,13 +251,13 @@ public class DiskUtil {
      */
     public static void clearAllBeta() {
         File file = new File(EnvUtil.getNacosHome(), BETA_DIR);
-        if (FileUtils.deleteQuietly(file)) {
+        if (removeDirectory(file)) {
             LogUtil.DEFAULT_LOG.info("clear all config-info-beta success.");
         } else {
             LogUtil.DEFAULT_LOG.warn("clear all config-info-beta failed.");
         }
         File fileTenant = new File(EnvUtil.getNacosHome(), TENANT_BETA_DIR);
-        if (FileUtils.deleteQuietly(fileTenant)) {
+        if (removeDirectory(fileTenant)) {
             LogUtil.DEFAULT_LOG.info("clear all config-info-beta-tenant success.");
         } else {
             LogUtil.DEFAULT_LOG.warn("clear all config-info-beta-tenant failed.");
@@ -217,16 +269,32 @@ public class DiskUtil {
      */
     public static void clearAllTag() {
         File file = new File(EnvUtil.getNacosHome(), TAG_DIR);
-        if (FileUtils.deleteQuietly(file)) {
+        if (removeDirectory(file)) {
             LogUtil.DEFAULT_LOG.info("clear all config-info-tag success.");
         } else {
             LogUtil.DEFAULT_LOG.warn("clear all config-info-tag failed.");
         }
         File fileTenant = new File(EnvUtil.getNacosHome(), TENANT_TAG_DIR);
-        if (FileUtils.deleteQuietly(fileTenant)) {
+        if (removeDirectory(fileTenant)) {
             LogUtil.DEFAULT_LOG.info("clear all config-info-tag-tenant success.");
         } else {
             LogUtil.DEFAULT_LOG.warn("clear all config-info-tag-tenant failed.");
         }
     }
+    
+    private static class MappedContentStoreHolder {
+        
+        private static final MappedContentStore INSTANCE = createMappedContentStore();
+        
+        private static MappedContentStore createMappedContentStore() {
+            try {
+                return new MappedContentStore(new File(EnvUtil.getNacosHome(), MAPPED_CONTENT_DIR),
+                        MAPPED_SEGMENT_BYTES);
+            } catch (IOException e) {
+                // contents are read from files as the store is disabled.
+                LogUtil.FATAL_LOG.error("[mapped-content] create mapped content store failed", e);
+                return null;
+            }
+        }
+    }
 }
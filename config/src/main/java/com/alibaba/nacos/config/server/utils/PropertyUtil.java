@@ -16,6 +16,7 @@
 
 package com.alibaba.nacos.config.server.utils;
 
+import com.alibaba.nacos.common.utils.ThreadUtils;
 import com.alibaba.nacos.config.server.constant.PropertiesConstant;
 import com.alibaba.nacos.sys.env.EnvUtil;
 import org.slf4j.Logger;
@@ -102,6 +103,53 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
      */
     private static boolean embeddedStorage = EnvUtil.getStandaloneMode();
     
+    /**
+     * Whether to keep the md5 of config cache in the compact store.
+     */
+    private static boolean compactConfigCache = false;
+    
+    /**
+     * The number of workers fanning out config change notify to connections, sharded by connection id.
+     */
+    private static int pushFanoutWorkers = ThreadUtils.getSuitableThreadCount();
+    
+    /**
+     * The window to coalesce config changes of one connection into one notify, unit for milliseconds.
+     */
+    private static int pushCoalesceWindow = 20;
+    
+    /**
+     * The maximum number of in-flight config change notify per connection.
+     */
+    private static int pushMaxInFlight = 2;
+    
+    /**
+     * The number of workers hashing and saving configs when dumping all configs.
+     */
+    private static int dumpAllWorkers = ThreadUtils.getSuitableThreadCount();
+    
+    /**
+     * The maximum number of writes committed as one raft log in embedded storage cluster mode, 1 to disable batching.
+     * Members before batching can't apply the batch raft log, so enable it only after all members are upgraded.
+     */
+    private static int embeddedStorageWriteBatchSize = 1;
+    
+    /**
+     * The window to collect concurrent writes into one raft log in embedded storage cluster mode, unit for
+     * milliseconds.
+     */
+    private static int embeddedStorageWriteBatchWindow = 2;
+    
+    /**
+     * Whether to query the local derby directly after the raft read index passed in embedded storage cluster mode.
+     */
+    private static boolean embeddedStorageLocalRead = true;
+    
+    /**
+     * Whether to serve the dumped config contents from the memory-mapped content store.
+     */
+    private static boolean mappedContentStore = false;
+    
     public static int getNotifyConnectTimeout() {
         return notifyConnectTimeout;
     }
@@ -250,6 +298,78 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
         PropertyUtil.embeddedStorage = embeddedStorage;
     }
     
+    public static boolean isCompactConfigCache() {
+        return compactConfigCache;
+    }
+    
+    public static void setCompactConfigCache(boolean compactConfigCache) {
+        PropertyUtil.compactConfigCache = compactConfigCache;
+    }
+    
+    public static int getPushFanoutWorkers() {
+        return pushFanoutWorkers;
+    }
+    
+    public static void setPushFanoutWorkers(int pushFanoutWorkers) {
+        PropertyUtil.pushFanoutWorkers = pushFanoutWorkers;
+    }
+    
+    public static int getPushCoalesceWindow() {
+        return pushCoalesceWindow;
+    }
+    
+    public static void setPushCoalesceWindow(int pushCoalesceWindow) {
+        PropertyUtil.pushCoalesceWindow = pushCoalesceWindow;
+    }
+    
+    public static int getPushMaxInFlight() {
+        return pushMaxInFlight;
+    }
+    
+    public static void setPushMaxInFlight(int pushMaxInFlight) {
+        PropertyUtil.pushMaxInFlight = pushMaxInFlight;
+    }
+    
+    public static int getDumpAllWorkers() {
+        return dumpAllWorkers;
+    }
+    
+    public static void setDumpAllWorkers(int dumpAllWorkers) {
+        PropertyUtil.dumpAllWorkers = dumpAllWorkers;
+    }
+    
+    public static int getEmbeddedStorageWriteBatchSize() {
+        return embeddedStorageWriteBatchSize;
+    }
+    
+    public static void setEmbeddedStorageWriteBatchSize(int embeddedStorageWriteBatchSize) {
+        PropertyUtil.embeddedStorageWriteBatchSize = embeddedStorageWriteBatchSize;
+    }
+    
+    public static int getEmbeddedStorageWriteBatchWindow() {
+        return embeddedStorageWriteBatchWindow;
+    }
+    
+    public static void setEmbeddedStorageWriteBatchWindow(int embeddedStorageWriteBatchWindow) {
+        PropertyUtil.embeddedStorageWriteBatchWindow = embeddedStorageWriteBatchWindow;
+    }
+    
+    public static boolean isEmbeddedStorageLocalRead() {
+        return embeddedStorageLocalRead;
+    }
+    
+    public static void setEmbeddedStorageLocalRead(boolean embeddedStorageLocalRead) {
+        PropertyUtil.embeddedStorageLocalRead = embeddedStorageLocalRead;
+    }
+    
+    public static boolean isMappedContentStore() {
+        return mappedContentStore;
+    }
+    
+    public static void setMappedContentStore(boolean mappedContentStore) {
+        PropertyUtil.mappedContentStore = mappedContentStore;
+    }
+    
     private void loadSetting() {
         try {
             setNotifyConnectTimeout(Integer.parseInt(EnvUtil.getProperty(PropertiesConstant.NOTIFY_CONNECT_TIMEOUT,
@@ -279,6 +399,18 @@ public class PropertyUtil implements ApplicationContextInitializer<ConfigurableA
             setDefaultMaxAggrSize(getInt(PropertiesConstant.DEFAULT_MAX_AGGR_SIZE, defaultMaxAggrSize));
             setCorrectUsageDelay(getInt(PropertiesConstant.CORRECT_USAGE_DELAY, correctUsageDelay));
             setInitialExpansionPercent(getInt(PropertiesConstant.INITIAL_EXPANSION_PERCENT, initialExpansionPercent));
+            setCompactConfigCache(getBoolean(PropertiesConstant.COMPACT_CONFIG_CACHE, compactConfigCache));
+            setPushFanoutWorkers(getInt(PropertiesConstant.PUSH_FANOUT_WORKERS, pushFanoutWorkers));
+            setPushCoalesceWindow(getInt(PropertiesConstant.PUSH_COALESCE_WINDOW, pushCoalesceWindow));
+            setPushMaxInFlight(getInt(PropertiesConstant.PUSH_MAX_IN_FLIGHT, pushMaxInFlight));
+            setDumpAllWorkers(getInt(PropertiesConstant.DUMP_ALL_WORKERS, dumpAllWorkers));
+            setEmbeddedStorageWriteBatchSize(
+                    getInt(PropertiesConstant.EMBEDDED_STORAGE_WRITE_BATCH_SIZE, embeddedStorageWriteBatchSize));
+            setEmbeddedStorageWriteBatchWindow(
+                    getInt(PropertiesConstant.EMBEDDED_STORAGE_WRITE_BATCH_WINDOW, embeddedStorageWriteBatchWindow));
+            setEmbeddedStorageLocalRead(
+                    getBoolean(PropertiesConstant.EMBEDDED_STORAGE_LOCAL_READ, embeddedStorageLocalRead));
+            setMappedContentStore(getBoolean(PropertiesConstant.MAPPED_CONTENT_STORE, mappedContentStore));
             // External data sources are used by default in cluster mode
             setUseExternalDB(PropertiesConstant.MYSQL
                     .equalsIgnoreCase(getString(PropertiesConstant.SPRING_DATASOURCE_PLATFORM, "")));
@@ -0,0 +1,70 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.remote;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ConfigChangeListenContextTest {
+    
+    private ConfigChangeListenContext context;
+    
+    @Before
+    public void setUp() {
+        context = new ConfigChangeListenContext();
+    }
+    
+    @Test
+    public void testAddAndRemoveListen() {
+        context.addListen("key1", "md5", "conn1");
+        context.addListen("key1", "md5", "conn2");
+        Assert.assertEquals(2, context.getListeners("key1").size());
+        Assert.assertEquals("md5", context.getListenKeyMd5("conn1", "key1"));
+        
+        context.removeListen("key1", "conn1");
+        Assert.assertEquals(1, context.getListeners("key1").size());
+        Assert.assertNull(context.getListenKeyMd5("conn1", "key1"));
+        
+        context.removeListen("key1", "conn2");
+        Assert.assertNull(context.getListeners("key1"));
+    }
+    
+    @Test
+    public void testBatchListenAndClear() {
+        Map<String, String> groupKeyMd5s = new HashMap<String, String>();
+        groupKeyMd5s.put("key1", "md51");
+        groupKeyMd5s.put("key2", null);
+        context.addListen(groupKeyMd5s, "conn1");
+        context.addListen("key2", "md52", "conn2");
+        Assert.assertEquals(2, context.getListenKeys("conn1").size());
+        Assert.assertEquals("", context.getListenKeyMd5("conn1", "key2"));
+        
+        context.removeListen(Arrays.asList("key1", "key3"), "conn1");
+        Assert.assertNull(context.getListeners("key1"));
+        Assert.assertEquals(1, context.getListenKeys("conn1").size());
+        
+        context.clearContextForConnectionId("conn1");
+        Assert.assertNull(context.getListenKeys("conn1"));
+        Assert.assertEquals(1, context.getListeners("key2").size());
+        Assert.assertTrue(context.getListeners("key2").contains("conn2"));
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.remote;
+
+import com.alibaba.nacos.api.ability.ClientAbilities;
+import com.alibaba.nacos.api.config.remote.request.ConfigChangeNotifyRequest;
+import com.alibaba.nacos.api.remote.PushCallBack;
+import com.alibaba.nacos.api.remote.request.ServerRequest;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
+import com.alibaba.nacos.core.remote.ConnectionMeta;
+import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.core.remote.control.TpsMonitorManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConfigChangePushPipelineTest {
+    
+    private static final String CONNECTION_ID = "connectionId";
+    
+    @Mock
+    private RpcPushService rpcPushService;
+    
+    @Mock
+    private ConnectionManager connectionManager;
+    
+    @Mock
+    private TpsMonitorManager tpsMonitorManager;
+    
+    @Mock
+    private Connection connection;
+    
+    private ClientAbilities abilities;
+    
+    private ConfigChangePushPipeline pipeline;
+    
+    @Before
+    public void setUp() {
+        abilities = new ClientAbilities();
+        pipeline = new ConfigChangePushPipeline(2, 10L, 2, rpcPushService, connectionManager, tpsMonitorManager);
+    }
+    
+    private void mockConnection() {
+        when(connectionManager.getConnection(CONNECTION_ID)).thenReturn(connection);
+        when(connection.getMetaInfo()).thenReturn(
+                new ConnectionMeta(CONNECTION_ID, "1.1.1.1", "1.1.1.1", 8848, 9848, "GRPC", "2.0.3", "app",
+                        Collections.<String, String>emptyMap()));
+        when(connection.getAbilities()).thenReturn(abilities);
+        when(tpsMonitorManager.applyTpsForClientIp(anyString(), anyString(), anyString())).thenReturn(true);
+    }
+    
+    @Test
+    public void testCoalesceToBatchNotify() {
+        mockConnection();
+        abilities.getConfigAbility().setSupportBatchChangeNotify(true);
+        pipeline.enqueue(CONNECTION_ID, "d1+g", "d1", "g", "");
+        pipeline.enqueue(CONNECTION_ID, "d2+g", "d2", "g", "");
+        pipeline.enqueue(CONNECTION_ID, "d1+g", "d1", "g", "");
+        ArgumentCaptor<ServerRequest> request = ArgumentCaptor.forClass(ServerRequest.class);
+        ArgumentCaptor<PushCallBack> callBack = ArgumentCaptor.forClass(PushCallBack.class);
+        verify(rpcPushService, timeout(1000L))
+                .pushWithCallback(eq(CONNECTION_ID), request.capture(), callBack.capture(), any(Executor.class));
+        List<?> changedConfigs = ((ConfigChangeNotifyRequest) request.getValue()).getChangedConfigs();
+        Assert.assertEquals(2, changedConfigs.size());
+        callBack.getValue().onSuccess();
+        Assert.assertEquals(0, pipeline.pendingConnectionCount());
+    }
+    
+    @Test
+    public void testBoundInFlightForLegacyClient() {
+        mockConnection();
+        pipeline.enqueue(CONNECTION_ID, "d1+g", "d1", "g", "");
+        pipeline.enqueue(CONNECTION_ID, "d2+g", "d2", "g", "");
+        pipeline.enqueue(CONNECTION_ID, "d3+g", "d3", "g", "");
+        ArgumentCaptor<PushCallBack> callBack = ArgumentCaptor.forClass(PushCallBack.class);
+        verify(rpcPushService, timeout(1000L).times(2))
+                .pushWithCallback(eq(CONNECTION_ID), any(ServerRequest.class), callBack.capture(),
+                        any(Executor.class));
+        callBack.getAllValues().get(0).onSuccess();
+        verify(rpcPushService, timeout(1000L).times(3))
+                .pushWithCallback(eq(CONNECTION_ID), any(ServerRequest.class), any(PushCallBack.class),
+                        any(Executor.class));
+    }
+    
+    @Test
+    public void testDropOfflineConnection() throws InterruptedException {
+        pipeline.enqueue("offline", "d1+g", "d1", "g", "");
+        Thread.sleep(100L);
+        verify(rpcPushService, times(0))
+                .pushWithCallback(anyString(), any(ServerRequest.class), any(PushCallBack.class), any(Executor.class));
+        Assert.assertEquals(0, pipeline.pendingConnectionCount());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.CacheItem;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class CompactConfigCacheTest {
+    
+    private static final String GROUP_KEY = "dataId+group+tenant";
+    
+    private CompactConfigCache cache;
+    
+    @Before
+    public void setUp() {
+        cache = new CompactConfigCache();
+    }
+    
+    @Test
+    public void testUpdateMd5() {
+        String md5 = MD5Utils.md5Hex("content", Constants.ENCODE);
+        Assert.assertEquals(Constants.NULL, cache.getMd5(GROUP_KEY));
+        Assert.assertTrue(cache.isUptodate(GROUP_KEY, Constants.NULL));
+        Assert.assertTrue(cache.updateMd5(GROUP_KEY, md5, 1L));
+        Assert.assertFalse(cache.updateMd5(GROUP_KEY, md5, 2L));
+        Assert.assertEquals(md5, cache.getMd5(GROUP_KEY));
+        Assert.assertEquals(1L, cache.getLastModifiedTs(GROUP_KEY));
+        Assert.assertTrue(cache.isUptodate(GROUP_KEY, md5));
+        Assert.assertFalse(cache.isUptodate(GROUP_KEY, md5.toUpperCase()));
+    }
+    
+    @Test
+    public void testIrregularMd5() {
+        Assert.assertTrue(cache.updateMd5(GROUP_KEY, "xxxxxxxxxxxxx", 1L));
+        Assert.assertEquals("xxxxxxxxxxxxx", cache.getMd5(GROUP_KEY));
+        Assert.assertTrue(cache.updateMd5(GROUP_KEY, "xxxxxxxxxxxxx111", 2L));
+        Assert.assertFalse(cache.isUptodate(GROUP_KEY, "xxxxxxxxxxxxx"));
+    }
+    
+    @Test
+    public void testBetaAndTag() {
+        String md5 = MD5Utils.md5Hex("content", Constants.ENCODE);
+        String betaMd5 = MD5Utils.md5Hex("beta", Constants.ENCODE);
+        String tagMd5 = MD5Utils.md5Hex("tag", Constants.ENCODE);
+        cache.updateMd5(GROUP_KEY, md5, 1L);
+        Assert.assertNull(cache.getBetaIps(GROUP_KEY));
+        Assert.assertTrue(cache.updateBetaMd5(GROUP_KEY, betaMd5, Collections.singletonList("1.1.1.1"), 2L));
+        Assert.assertTrue(cache.updateTagMd5(GROUP_KEY, "tag", tagMd5, 3L));
+        Assert.assertEquals(betaMd5, cache.getMd5(GROUP_KEY, "1.1.1.1", null));
+        Assert.assertEquals(tagMd5, cache.getMd5(GROUP_KEY, "2.2.2.2", "tag"));
+        Assert.assertEquals(md5, cache.getMd5(GROUP_KEY, "2.2.2.2", "other"));
+        Assert.assertTrue(cache.isUptodate(GROUP_KEY, tagMd5, "2.2.2.2", "tag"));
+        
+        CacheItem item = cache.toCacheItem(GROUP_KEY);
+        Assert.assertTrue(item.isBeta());
+        Assert.assertEquals(betaMd5, item.getMd54Beta());
+        Assert.assertEquals(tagMd5, item.getTagMd5().get("tag"));
+        Assert.assertEquals(3L, item.getTagLastModifiedTs().get("tag").longValue());
+        
+        cache.removeBeta(GROUP_KEY);
+        cache.removeTag(GROUP_KEY, "tag");
+        Assert.assertEquals(Constants.NULL, cache.getBetaMd5(GROUP_KEY));
+        Assert.assertNull(cache.getTagMd5(GROUP_KEY, "tag"));
+        Assert.assertEquals(md5, cache.getMd5(GROUP_KEY, "1.1.1.1", "tag"));
+    }
+    
+    @Test
+    public void testLock() {
+        Assert.assertEquals(0, cache.tryReadLock(GROUP_KEY));
+        cache.makeSure(GROUP_KEY);
+        Assert.assertEquals(1, cache.tryReadLock(GROUP_KEY));
+        Assert.assertEquals(-1, cache.tryWriteLock(GROUP_KEY));
+        cache.releaseReadLock(GROUP_KEY);
+        Assert.assertEquals(1, cache.tryWriteLock(GROUP_KEY));
+        Assert.assertEquals(-1, cache.tryReadLock(GROUP_KEY));
+        cache.releaseWriteLock(GROUP_KEY);
+        Assert.assertEquals(1, cache.tryReadLock(GROUP_KEY));
+    }
+    
+    @Test
+    public void testRemoveAndReuseSlot() {
+        String md5 = MD5Utils.md5Hex("content", Constants.ENCODE);
+        cache.updateMd5(GROUP_KEY, md5, 1L);
+        cache.updateBetaMd5(GROUP_KEY, md5, Collections.singletonList("1.1.1.1"), 1L);
+        cache.remove(GROUP_KEY);
+        Assert.assertFalse(cache.contains(GROUP_KEY));
+        Assert.assertEquals(Constants.NULL, cache.getMd5(GROUP_KEY));
+        Assert.assertNull(cache.toCacheItem(GROUP_KEY));
+        
+        cache.makeSure("other");
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(Constants.NULL, cache.getMd5("other"));
+        Assert.assertNull(cache.getBetaIps("other"));
+        Assert.assertEquals(0L, cache.getLastModifiedTs("other"));
+    }
+    
+    @Test
+    public void testSideDataNotWrittenToReusedSlot() throws InterruptedException {
+        final String betaMd5 = MD5Utils.md5Hex("beta", Constants.ENCODE);
+        final AtomicBoolean stop = new AtomicBoolean(false);
+        Thread writer = new Thread(() -> {
+            while (!stop.get()) {
+                cache.updateBetaMd5(GROUP_KEY, betaMd5, Collections.singletonList("1.1.1.1"), 1L);
+                cache.updateTagMd5(GROUP_KEY, "tag", betaMd5, 1L);
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 200000; i++) {
+                cache.remove(GROUP_KEY);
+                cache.makeSure("other");
+                Assert.assertEquals(Constants.NULL, cache.getBetaMd5("other"));
+                Assert.assertEquals(Constants.NULL, cache.getTagMd5("other", "tag"));
+                cache.remove("other");
+            }
+        } finally {
+            stop.set(true);
+            writer.join();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service;
+
+import com.alibaba.nacos.config.server.model.SampleResult;
+import com.alibaba.nacos.config.server.utils.GroupKey;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class LongPollingServiceTest {
+    
+    private static final long TIMEOUT_MILLIS = 30000L;
+    
+    private LongPollingService longPollingService;
+    
+    private final String groupKey1 = GroupKey.getKeyTenant("dataId1", "group", "");
+    
+    private final String groupKey2 = GroupKey.getKeyTenant("dataId2", "group", "");
+    
+    @Before
+    public void setUp() {
+        longPollingService = new LongPollingService();
+    }
+    
+    @Test
+    public void testDataChangeOnlyRespondsInterestedClients() throws Exception {
+        AsyncContext context1 = mockAsyncContext("1.1.1.1");
+        AsyncContext context2 = mockAsyncContext("2.2.2.2");
+        LongPollingService.ClientLongPolling client1 = newClient(context1, "1.1.1.1", groupKey1, groupKey2);
+        LongPollingService.ClientLongPolling client2 = newClient(context2, "2.2.2.2", groupKey2);
+        client1.run();
+        client2.run();
+        Assert.assertEquals(2, longPollingService.allSubs.size());
+        Assert.assertEquals(1, longPollingService.groupKeySubs.get(groupKey1).size());
+        Assert.assertEquals(2, longPollingService.groupKeySubs.get(groupKey2).size());
+        
+        longPollingService.new DataChangeTask(groupKey1, false, null).run();
+        Mockito.verify(context1).complete();
+        Mockito.verify(context2, Mockito.never()).complete();
+        Assert.assertEquals(1, longPollingService.allSubs.size());
+        Assert.assertNull(longPollingService.groupKeySubs.get(groupKey1));
+        Assert.assertEquals(1, longPollingService.groupKeySubs.get(groupKey2).size());
+        
+        longPollingService.new DataChangeTask(groupKey2, false, null).run();
+        Mockito.verify(context2).complete();
+        Assert.assertTrue(longPollingService.allSubs.isEmpty());
+        Assert.assertTrue(longPollingService.groupKeySubs.isEmpty());
+    }
+    
+    @Test
+    public void testDataChangeSkipsClientsNotInBetaIps() throws Exception {
+        AsyncContext context = mockAsyncContext("1.1.1.1");
+        newClient(context, "1.1.1.1", groupKey1).run();
+        
+        longPollingService.new DataChangeTask(groupKey1, true, Collections.singletonList("2.2.2.2")).run();
+        Mockito.verify(context, Mockito.never()).complete();
+        Assert.assertEquals(1, longPollingService.groupKeySubs.get(groupKey1).size());
+    }
+    
+    @Test
+    public void testGetSubscribleInfo() throws Exception {
+        newClient(mockAsyncContext("1.1.1.1"), "1.1.1.1", groupKey1, groupKey2).run();
+        newClient(mockAsyncContext("2.2.2.2"), "2.2.2.2", groupKey2).run();
+        
+        SampleResult result = longPollingService.getSubscribleInfo("dataId2", "group", "");
+        Assert.assertEquals(2, result.getLisentersGroupkeyStatus().size());
+        Assert.assertEquals("md5-" + groupKey2, result.getLisentersGroupkeyStatus().get("2.2.2.2"));
+        result = longPollingService.getSubscribleInfo("dataId3", "group", "");
+        Assert.assertTrue(result.getLisentersGroupkeyStatus().isEmpty());
+    }
+    
+    private LongPollingService.ClientLongPolling newClient(AsyncContext context, String ip, String... groupKeys) {
+        Map<String, String> clientMd5Map = new HashMap<String, String>(groupKeys.length);
+        for (String each : groupKeys) {
+            clientMd5Map.put(each, "md5-" + each);
+        }
+        return longPollingService.new ClientLongPolling(context, clientMd5Map, ip, groupKeys.length, TIMEOUT_MILLIS,
+                "app", null);
+    }
+    
+    private AsyncContext mockAsyncContext(String ip) throws Exception {
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getRemoteAddr()).thenReturn(ip);
+        HttpServletResponse response = Mockito.mock(HttpServletResponse.class);
+        Mockito.when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
+        AsyncContext context = Mockito.mock(AsyncContext.class);
+        Mockito.when(context.getRequest()).thenReturn(request);
+        Mockito.when(context.getResponse()).thenReturn(response);
+        return context;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+public class MappedContentStoreTest {
+    
+    private static final int SEGMENT_BYTES = 64;
+    
+    private File baseDir;
+    
+    private MappedContentStore store;
+    
+    @Before
+    public void setUp() throws Exception {
+        baseDir = new File(System.getProperty("java.io.tmpdir"), "mapped-content-" + System.nanoTime());
+        store = new MappedContentStore(baseDir, SEGMENT_BYTES);
+    }
+    
+    @After
+    public void tearDown() {
+        FileUtils.deleteQuietly(baseDir);
+    }
+    
+    @Test
+    public void testPutAndOpen() throws Exception {
+        Assert.assertNull(store.open("key"));
+        store.put("key", bytes("content"));
+        try (MappedContentStore.Content content = store.open("key")) {
+            Assert.assertEquals(7, content.getLength());
+            Assert.assertEquals("content", content.getString(StandardCharsets.UTF_8));
+            Assert.assertTrue(content.getBuffer().isReadOnly());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            content.transferTo(Channels.newChannel(out));
+            Assert.assertEquals("content", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+        store.put("key", bytes("changed"));
+        try (MappedContentStore.Content content = store.open("key")) {
+            Assert.assertEquals("changed", content.getString(StandardCharsets.UTF_8));
+        }
+        store.remove("key");
+        Assert.assertNull(store.open("key"));
+    }
+    
+    @Test
+    public void testLargeContent() throws Exception {
+        String large = new String(new char[SEGMENT_BYTES * 3]).replace('\0', 'a');
+        store.put("large", bytes(large));
+        store.put("small", bytes("small"));
+        try (MappedContentStore.Content content = store.open("large")) {
+            Assert.assertEquals(large, content.getString(StandardCharsets.UTF_8));
+        }
+        try (MappedContentStore.Content content = store.open("small")) {
+            Assert.assertEquals("small", content.getString(StandardCharsets.UTF_8));
+        }
+    }
+    
+    @Test
+    public void testCompact() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            store.put("key" + (i % 4), bytes("content-" + i));
+        }
+        Assert.assertEquals(4, store.size());
+        // only the live contents are kept, at most one sealed segment and the active one.
+        Assert.assertTrue(store.segmentCount() <= 2);
+        Assert.assertTrue(baseDir.list().length <= 2);
+        for (int i = 96; i < 100; i++) {
+            try (MappedContentStore.Content content = store.open("key" + (i % 4))) {
+                Assert.assertEquals("content-" + i, content.getString(StandardCharsets.UTF_8));
+            }
+        }
+    }
+    
+    @Test
+    public void testReadRetiredSegment() throws Exception {
+        store.put("key", bytes("content"));
+        MappedContentStore.Content opened = store.open("key");
+        store.removeByPrefix("k");
+        for (int i = 0; i < 20; i++) {
+            store.put("other", bytes("other-" + i));
+        }
+        Assert.assertNull(store.open("key"));
+        Assert.assertEquals("content", opened.getString(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        opened.transferTo(Channels.newChannel(out));
+        Assert.assertEquals("content", new String(out.toByteArray(), StandardCharsets.UTF_8));
+        opened.close();
+        Assert.assertEquals(1, store.size());
+    }
+    
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
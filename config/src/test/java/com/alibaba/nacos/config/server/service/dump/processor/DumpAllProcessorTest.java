@@ -0,0 +1,200 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.dump.processor;
+
+import com.alibaba.nacos.common.utils.MD5Utils;
+import com.alibaba.nacos.config.server.constant.Constants;
+import com.alibaba.nacos.config.server.model.ConfigInfoWrapper;
+import com.alibaba.nacos.config.server.model.Page;
+import com.alibaba.nacos.config.server.monitor.MetricsMonitor;
+import com.alibaba.nacos.config.server.service.ConfigCacheService;
+import com.alibaba.nacos.config.server.service.dump.DumpService;
+import com.alibaba.nacos.config.server.service.dump.task.DumpAllTask;
+import com.alibaba.nacos.config.server.service.repository.PersistService;
+import com.alibaba.nacos.config.server.utils.ConfigExecutor;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class DumpAllProcessorTest {
+    
+    private static final int WORKERS = 2;
+    
+    private final int originalWorkers = PropertyUtil.getDumpAllWorkers();
+    
+    private DumpService dumpService;
+    
+    private PersistService persistService;
+    
+    private MockedStatic<ConfigExecutor> configExecutor;
+    
+    @Before
+    public void setUp() {
+        PropertyUtil.setDumpAllWorkers(WORKERS);
+        persistService = Mockito.mock(PersistService.class);
+        dumpService = Mockito.mock(DumpService.class);
+        Mockito.when(dumpService.getPersistService()).thenReturn(persistService);
+        // static mocks only work in the thread creating them, so the processor is always run by the test thread.
+        configExecutor = Mockito.mockStatic(ConfigExecutor.class);
+    }
+    
+    @After
+    public void tearDown() {
+        configExecutor.close();
+        PropertyUtil.setDumpAllWorkers(originalWorkers);
+    }
+    
+    @Test
+    public void testDumpChunksWithMd5() {
+        mockConfigs(250);
+        // chunks are run by the test thread, so that the static mock of ConfigCacheService works.
+        CountingExecutor executor = new CountingExecutor(true);
+        configExecutor.when(() -> ConfigExecutor.newDumpAllExecutor(WORKERS)).thenReturn(executor);
+        try (MockedStatic<ConfigCacheService> configCacheService = Mockito.mockStatic(ConfigCacheService.class)) {
+            configCacheService.when(
+                    () -> ConfigCacheService.dump(anyString(), anyString(), any(), anyString(), anyString(), anyLong(),
+                            any())).thenAnswer(invocation -> {
+                                if ("dataId0".equals(invocation.getArgument(0))) {
+                                    throw new IllegalStateException("dump fail");
+                                }
+                                return true;
+                            });
+            
+            Assert.assertTrue(new DumpAllProcessor(dumpService).process(new DumpAllTask()));
+            
+            // 250 configs are split into 3 chunks, and the failure does not stop the other configs.
+            Assert.assertEquals(3, executor.executeCount.get());
+            Assert.assertTrue(executor.isShutdown());
+            Assert.assertEquals(249, MetricsMonitor.getDumpAllCountMonitor().get());
+            Assert.assertEquals(1, MetricsMonitor.getDumpAllFailCountMonitor().get());
+            configCacheService.verify(
+                    () -> ConfigCacheService.dump(anyString(), anyString(), any(), anyString(), anyString(), anyLong(),
+                            any()), Mockito.times(250));
+            // md5 is computed once by the processor, the overload hashing the content again is not used.
+            String md5 = MD5Utils.md5Hex("content100", Constants.ENCODE);
+            configCacheService.verify(
+                    () -> ConfigCacheService.dump(eq("dataId100"), eq("group"), any(), eq("content100"), eq(md5),
+                            anyLong(), any()));
+            configCacheService.verify(
+                    () -> ConfigCacheService.dump(anyString(), anyString(), any(), anyString(), anyLong(), any()),
+                    Mockito.never());
+        }
+    }
+    
+    @Test
+    public void testPendingChunksBounded() throws Exception {
+        mockConfigs(1000);
+        CountingExecutor executor = new CountingExecutor(false);
+        configExecutor.when(() -> ConfigExecutor.newDumpAllExecutor(WORKERS)).thenReturn(executor);
+        CountDownLatch dumpLatch = new CountDownLatch(1);
+        DumpAllProcessor processor = new DumpAllProcessor(dumpService) {
+            @Override
+            boolean dump(ConfigInfoWrapper cf, String md5) {
+                try {
+                    return dumpLatch.await(10L, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return false;
+                }
+            }
+        };
+        AtomicInteger pendingWhenBlocked = new AtomicInteger();
+        AtomicBoolean finishedWhenBlocked = new AtomicBoolean(true);
+        AtomicBoolean processed = new AtomicBoolean();
+        Thread watcher = new Thread(() -> {
+            try {
+                long deadline = System.currentTimeMillis() + 5000L;
+                while (executor.executeCount.get() < 2 * WORKERS && System.currentTimeMillis() < deadline) {
+                    TimeUnit.MILLISECONDS.sleep(10L);
+                }
+                // give the task thread a chance to submit more chunks, it should be blocked by the bound.
+                TimeUnit.MILLISECONDS.sleep(200L);
+                pendingWhenBlocked.set(executor.executeCount.get());
+                finishedWhenBlocked.set(processed.get());
+            } catch (InterruptedException ignore) {
+            } finally {
+                dumpLatch.countDown();
+            }
+        });
+        watcher.start();
+        
+        Assert.assertTrue(processor.process(new DumpAllTask()));
+        processed.set(true);
+        watcher.join();
+        
+        Assert.assertEquals(2 * WORKERS, pendingWhenBlocked.get());
+        Assert.assertFalse(finishedWhenBlocked.get());
+        Assert.assertEquals(10, executor.executeCount.get());
+        Assert.assertEquals(1000, MetricsMonitor.getDumpAllCountMonitor().get());
+        Assert.assertEquals(0, MetricsMonitor.getDumpAllFailCountMonitor().get());
+    }
+    
+    private void mockConfigs(int count) {
+        List<ConfigInfoWrapper> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ConfigInfoWrapper config = new ConfigInfoWrapper();
+            config.setId(i + 1);
+            config.setDataId("dataId" + i);
+            config.setGroup("group");
+            config.setContent("content" + i);
+            items.add(config);
+        }
+        Page<ConfigInfoWrapper> page = new Page<>();
+        page.setPageItems(items);
+        Mockito.when(persistService.findConfigMaxId()).thenReturn((long) count);
+        Mockito.when(persistService.findAllConfigInfoFragment(0L, DumpAllProcessor.PAGE_SIZE)).thenReturn(page);
+    }
+    
+    private static class CountingExecutor extends ThreadPoolExecutor {
+        
+        private final AtomicInteger executeCount = new AtomicInteger();
+        
+        private final boolean callerRuns;
+        
+        CountingExecutor(boolean callerRuns) {
+            super(WORKERS, WORKERS, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+            this.callerRuns = callerRuns;
+        }
+        
+        @Override
+        public void execute(Runnable command) {
+            executeCount.incrementAndGet();
+            if (callerRuns) {
+                command.run();
+            } else {
+                super.execute(command);
+            }
+        }
+    }
+}
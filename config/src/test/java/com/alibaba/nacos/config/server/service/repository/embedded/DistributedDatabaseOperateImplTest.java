@@ -0,0 +1,231 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.api.exception.runtime.NacosRuntimeException;
+import com.alibaba.nacos.config.server.service.sql.ModifyRequest;
+import com.alibaba.nacos.config.server.utils.PropertyUtil;
+import com.alibaba.nacos.consistency.SerializeFactory;
+import com.alibaba.nacos.consistency.Serializer;
+import com.alibaba.nacos.consistency.cp.CPProtocol;
+import com.alibaba.nacos.consistency.entity.ReadRequest;
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import com.alibaba.nacos.core.cluster.ServerMemberManager;
+import com.alibaba.nacos.consistency.exception.ConsistencyException;
+import com.alibaba.nacos.core.distributed.ProtocolManager;
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DistributedDatabaseOperateImplTest {
+    
+    private static final String INSERT_SQL = "INSERT INTO operate_test (id) VALUES (?)";
+    
+    private static final String LOCK_FAILED_SQL = "LOCK FAILED";
+    
+    private static final String BAD_GRAMMAR_SQL = "INSERT INTO missing_table (id) VALUES (1)";
+    
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM operate_test";
+    
+    private final Serializer serializer = SerializeFactory.getDefault();
+    
+    @Mock
+    private ServerMemberManager memberManager;
+    
+    @Mock
+    private ProtocolManager protocolManager;
+    
+    @Mock
+    private CPProtocol protocol;
+    
+    private DistributedDatabaseOperateImpl operate;
+    
+    private JdbcTemplate jdbcTemplate;
+    
+    @Before
+    public void setUp() throws Exception {
+        when(protocolManager.getCpProtocol()).thenReturn(protocol);
+        operate = new DistributedDatabaseOperateImpl(memberManager, protocolManager) {
+            @Override
+            protected void init() {
+            }
+        };
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:derby:memory:operate_test;create=true");
+        dataSource.setDriverClassName("org.apache.derby.jdbc.EmbeddedDriver");
+        jdbcTemplate = new JdbcTemplate(dataSource) {
+            @Override
+            public int update(String sql, Object... args) {
+                if (LOCK_FAILED_SQL.equals(sql)) {
+                    throw new CannotAcquireLockException(sql);
+                }
+                return super.update(sql, args);
+            }
+        };
+        jdbcTemplate.execute("CREATE TABLE operate_test (id INT PRIMARY KEY)");
+        injectObject("jdbcTemplate", jdbcTemplate);
+        injectObject("transactionTemplate", new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+    
+    @After
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE operate_test");
+        PropertyUtil.setEmbeddedStorageLocalRead(true);
+    }
+    
+    @Test
+    public void testApplyBatchFailsOnlyTheFailedWrites() throws Exception {
+        List<WriteRequest> requests = new ArrayList<>();
+        requests.add(buildWrite(insert(1)));
+        // the insert of this write must be rolled back with the failed statement.
+        requests.add(buildWrite(insert(2), new ModifyRequest(BAD_GRAMMAR_SQL)));
+        requests.add(buildWrite(insert(1)));
+        requests.add(buildWrite(insert(4)));
+        
+        Response response = operate.onApply(RaftWriteBatcher.wrap(requests));
+        
+        List<Response> responses = RaftWriteBatcher.unwrapResponses(response);
+        Assert.assertEquals(4, responses.size());
+        Assert.assertTrue(responses.get(0).getSuccess());
+        Assert.assertFalse(responses.get(1).getSuccess());
+        Assert.assertFalse(responses.get(2).getSuccess());
+        Assert.assertTrue(responses.get(3).getSuccess());
+        Assert.assertEquals(Arrays.asList(1, 4),
+                jdbcTemplate.queryForList("SELECT id FROM operate_test ORDER BY id", Integer.class));
+    }
+    
+    @Test
+    public void testApplyBatchStoppedByNonDeterministicError() {
+        List<WriteRequest> requests = new ArrayList<>();
+        requests.add(buildWrite(insert(1)));
+        requests.add(buildWrite(insert(2), new ModifyRequest(LOCK_FAILED_SQL)));
+        requests.add(buildWrite(insert(3)));
+        
+        try {
+            operate.onApply(RaftWriteBatcher.wrap(requests));
+            Assert.fail();
+        } catch (ConsistencyException e) {
+            Assert.assertTrue(e.getMessage().contains(LOCK_FAILED_SQL));
+        }
+        Assert.assertEquals(Integer.valueOf(0), jdbcTemplate.queryForObject(COUNT_SQL, Integer.class));
+    }
+    
+    @Test
+    public void testLocalRead() {
+        jdbcTemplate.update(INSERT_SQL, 1);
+        jdbcTemplate.update(INSERT_SQL, 2);
+        when(protocol.readBarrier(anyString())).thenReturn(CompletableFuture.completedFuture(null));
+        Assert.assertEquals(Integer.valueOf(2), operate.queryOne(COUNT_SQL, Integer.class));
+        verify(protocol, never()).aGetDataFromLeader(any(ReadRequest.class));
+        verify(protocol, never()).aGetData(any(ReadRequest.class));
+    }
+    
+    @Test
+    public void testReadFromLeaderWhenBarrierFailed() throws Exception {
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        barrier.completeExceptionally(new ConsistencyException("read index failed"));
+        when(protocol.readBarrier(anyString())).thenReturn(barrier);
+        when(protocol.aGetDataFromLeader(any(ReadRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(buildResponse(5)));
+        Assert.assertEquals(Integer.valueOf(5), operate.queryOne(COUNT_SQL, Integer.class));
+        verify(protocol, never()).getData(any(ReadRequest.class));
+        verify(protocol, never()).aGetData(any(ReadRequest.class));
+    }
+    
+    @Test
+    public void testReadThroughProtocolWhenBarrierUnsupported() throws Exception {
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        barrier.completeExceptionally(new UnsupportedOperationException("read barrier is not supported"));
+        when(protocol.readBarrier(anyString())).thenReturn(barrier);
+        when(protocol.getData(any(ReadRequest.class))).thenReturn(buildResponse(5));
+        Assert.assertEquals(Integer.valueOf(5), operate.queryOne(COUNT_SQL, Integer.class));
+        verify(protocol, never()).aGetDataFromLeader(any(ReadRequest.class));
+    }
+    
+    @Test
+    public void testReadThroughProtocolWhenLocalReadDisabled() throws Exception {
+        PropertyUtil.setEmbeddedStorageLocalRead(false);
+        when(protocol.getData(any(ReadRequest.class))).thenReturn(buildResponse(5));
+        Assert.assertEquals(Integer.valueOf(5), operate.queryOne(COUNT_SQL, Integer.class));
+        verify(protocol, never()).readBarrier(anyString());
+        verify(protocol, never()).aGetDataFromLeader(any(ReadRequest.class));
+    }
+    
+    @Test
+    public void testInterruptedWhileWaitingBarrier() throws Exception {
+        when(protocol.readBarrier(anyString())).thenReturn(new CompletableFuture<>());
+        Thread.currentThread().interrupt();
+        try {
+            operate.queryOne(COUNT_SQL, Integer.class);
+            Assert.fail();
+        } catch (NacosRuntimeException e) {
+            Assert.assertTrue(Thread.interrupted());
+        }
+        verify(protocol, never()).getData(any(ReadRequest.class));
+        verify(protocol, never()).aGetDataFromLeader(any(ReadRequest.class));
+    }
+    
+    private Response buildResponse(Object data) {
+        return Response.newBuilder().setSuccess(true).setData(ByteString.copyFrom(serializer.serialize(data)))
+                .build();
+    }
+    
+    private ModifyRequest insert(int id) {
+        ModifyRequest result = new ModifyRequest(INSERT_SQL);
+        result.setArgs(new Object[] {id});
+        return result;
+    }
+    
+    private WriteRequest buildWrite(ModifyRequest... sqlContext) {
+        List<ModifyRequest> requests = new ArrayList<>(Arrays.asList(sqlContext));
+        for (int i = 0; i < requests.size(); i++) {
+            requests.get(i).setExecuteNo(i);
+        }
+        return WriteRequest.newBuilder().setGroup(operate.group()).setKey("key")
+                .setData(ByteString.copyFrom(serializer.serialize(requests))).build();
+    }
+    
+    private void injectObject(String fieldName, Object value) throws NoSuchFieldException, IllegalAccessException {
+        Field field = DistributedDatabaseOperateImpl.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(operate, value);
+    }
+}
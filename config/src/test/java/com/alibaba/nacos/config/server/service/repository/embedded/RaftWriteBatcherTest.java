@@ -0,0 +1,110 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.config.server.service.repository.embedded;
+
+import com.alibaba.nacos.consistency.entity.Response;
+import com.alibaba.nacos.consistency.entity.WriteRequest;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class RaftWriteBatcherTest {
+    
+    private final List<WriteRequest> committed = new CopyOnWriteArrayList<>();
+    
+    private CompletableFuture<Response> write(WriteRequest request) {
+        committed.add(request);
+        try {
+            List<WriteRequest> requests = new ArrayList<>();
+            if (request.containsExtendInfo(RaftWriteBatcher.BATCH_WRITE_KEY)) {
+                requests.addAll(RaftWriteBatcher.unwrap(request));
+            } else {
+                requests.add(request);
+            }
+            List<Response> responses = new ArrayList<>();
+            for (WriteRequest each : requests) {
+                responses.add(Response.newBuilder().setSuccess(!each.getKey().startsWith("fail"))
+                        .setErrMsg(each.getKey()).build());
+            }
+            return CompletableFuture.completedFuture(
+                    requests.size() == 1 ? responses.get(0) : RaftWriteBatcher.wrapResponses(responses));
+        } catch (Exception e) {
+            CompletableFuture<Response> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+    
+    @Test
+    public void testBatchWrites() throws Exception {
+        RaftWriteBatcher batcher = new RaftWriteBatcher(8, 50L, this::write);
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            futures.add(batcher.submit(buildRequest((i % 5 == 0 ? "fail" : "key") + i)));
+        }
+        for (int i = 0; i < 20; i++) {
+            Response response = futures.get(i).get(3, TimeUnit.SECONDS);
+            Assert.assertEquals((i % 5 == 0 ? "fail" : "key") + i, response.getErrMsg());
+            Assert.assertEquals(i % 5 != 0, response.getSuccess());
+        }
+        Assert.assertTrue(committed.size() < 20);
+        int count = 0;
+        for (WriteRequest each : committed) {
+            count += each.containsExtendInfo(RaftWriteBatcher.BATCH_WRITE_KEY) ? RaftWriteBatcher.unwrap(each).size()
+                    : 1;
+        }
+        Assert.assertEquals(20, count);
+    }
+    
+    @Test
+    public void testSingleWriteCommittedAsIs() throws Exception {
+        RaftWriteBatcher batcher = new RaftWriteBatcher(8, 1L, this::write);
+        WriteRequest request = buildRequest("key");
+        Response response = batcher.submit(request).get(3, TimeUnit.SECONDS);
+        Assert.assertTrue(response.getSuccess());
+        Assert.assertEquals(1, committed.size());
+        Assert.assertEquals(request, committed.get(0));
+    }
+    
+    @Test
+    public void testWriteFailed() throws Exception {
+        RaftWriteBatcher batcher = new RaftWriteBatcher(2, 1L, request -> {
+            throw new IllegalStateException("no leader");
+        });
+        List<CompletableFuture<Response>> futures = new ArrayList<>();
+        futures.add(batcher.submit(buildRequest("key1")));
+        futures.add(batcher.submit(buildRequest("key2")));
+        for (CompletableFuture<Response> each : futures) {
+            try {
+                each.get(3, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+    
+    private WriteRequest buildRequest(String key) {
+        return WriteRequest.newBuilder().setGroup("group").setKey(key).build();
+    }
+}
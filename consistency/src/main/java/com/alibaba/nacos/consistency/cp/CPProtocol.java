@@ -18,6 +18,10 @@ package com.alibaba.nacos.consistency.cp;
 
 import com.alibaba.nacos.consistency.Config;
 import com.alibaba.nacos.consistency.ConsistencyProtocol;
+import com.alibaba.nacos.consistency.entity.ReadRequest;
+import com.alibaba.nacos.consistency.entity.Response;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * cp protocol.
@@ -35,4 +39,28 @@ public interface CPProtocol<C extends Config, P extends RequestProcessor4CP> ext
      */
     boolean isLeader(String group);
     
+    /**
+     * Wait until the local state machine of the group is linearizable readable, that is, the committed index confirmed
+     * by leader when calling has been applied locally. After that the local data can be read directly.
+     *
+     * @param group business module info
+     * @return future completed when local state machine is readable, or completed exceptionally if not supported
+     */
+    default CompletableFuture<Void> readBarrier(String group) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        future.completeExceptionally(new UnsupportedOperationException("read barrier is not supported"));
+        return future;
+    }
+    
+    /**
+     * Get data asynchronously from the leader directly, without waiting for the local state machine to be readable.
+     * Used when the {@link #readBarrier(String)} of the local state machine failed.
+     *
+     * @param request request
+     * @return data {@link CompletableFuture}
+     */
+    default CompletableFuture<Response> aGetDataFromLeader(ReadRequest request) {
+        return aGetData(request);
+    }
+    
 }
@@ -27,6 +27,8 @@ import com.alibaba.nacos.config.server.model.Page;
 import com.alibaba.nacos.console.security.nacos.NacosAuthConfig;
 import com.alibaba.nacos.console.security.nacos.users.NacosUserDetailsServiceImpl;
 import com.alibaba.nacos.core.utils.Loggers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import io.jsonwebtoken.lang.Collections;
 import org.apache.mina.util.ConcurrentHashSet;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,7 +41,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * Nacos builtin role service.
@@ -54,6 +58,10 @@ public class NacosRoleServiceImpl {
     
     private static final int DEFAULT_PAGE_NO = 1;
     
+    private static final int MAX_DECISION_CACHE_SIZE = 100000;
+    
+    private static final char DECISION_KEY_SEPARATOR = '\u0001';
+    
     @Autowired
     private AuthConfigs authConfigs;
     
@@ -72,6 +80,21 @@ public class NacosRoleServiceImpl {
     
     private volatile Map<String, List<PermissionInfo>> permissionInfoMap = new ConcurrentHashMap<>();
     
+    private volatile Map<String, List<CompiledPermission>> compiledPermissionMap = new ConcurrentHashMap<>();
+    
+    /**
+     * All role bindings and permissions of last reload, used to find out whether the auth data is changed.
+     */
+    private volatile Set<String> authDataSignature = new HashSet<>();
+    
+    /**
+     * (username, action, resource) -> decision, only decisions made by the cached roles and permissions are cached.
+     */
+    private final Cache<String, Boolean> decisionCache = CacheBuilder.newBuilder()
+            .maximumSize(MAX_DECISION_CACHE_SIZE).build();
+    
+    private final AtomicLong decisionCacheVersion = new AtomicLong();
+    
     @Scheduled(initialDelay = 5000, fixedDelay = 15000)
     private void reload() {
         try {
@@ -81,6 +104,7 @@ public class NacosRoleServiceImpl {
                 return;
             }
             Set<String> tmpRoleSet = new HashSet<>(16);
+            Set<String> tmpAuthDataSignature = new HashSet<>(16);
             Map<String, List<RoleInfo>> tmpRoleInfoMap = new ConcurrentHashMap<>(16);
             for (RoleInfo roleInfo : roleInfoPage.getPageItems()) {
                 if (!tmpRoleInfoMap.containsKey(roleInfo.getUsername())) {
@@ -88,18 +112,30 @@ public class NacosRoleServiceImpl {
                 }
                 tmpRoleInfoMap.get(roleInfo.getUsername()).add(roleInfo);
                 tmpRoleSet.add(roleInfo.getRole());
+                tmpAuthDataSignature.add(buildSignature("R", roleInfo.getUsername(), roleInfo.getRole()));
             }
             
             Map<String, List<PermissionInfo>> tmpPermissionInfoMap = new ConcurrentHashMap<>(16);
+            Map<String, List<CompiledPermission>> tmpCompiledPermissionMap = new ConcurrentHashMap<>(16);
             for (String role : tmpRoleSet) {
                 Page<PermissionInfo> permissionInfoPage = permissionPersistService
                         .getPermissions(role, DEFAULT_PAGE_NO, Integer.MAX_VALUE);
                 tmpPermissionInfoMap.put(role, permissionInfoPage.getPageItems());
+                tmpCompiledPermissionMap.put(role, compilePermissions(permissionInfoPage.getPageItems()));
+                for (PermissionInfo permissionInfo : permissionInfoPage.getPageItems()) {
+                    tmpAuthDataSignature.add(buildSignature("P", role, permissionInfo.getResource(),
+                            permissionInfo.getAction()));
+                }
             }
             
             roleSet = tmpRoleSet;
             roleInfoMap = tmpRoleInfoMap;
             permissionInfoMap = tmpPermissionInfoMap;
+            compiledPermissionMap = tmpCompiledPermissionMap;
+            if (!tmpAuthDataSignature.equals(authDataSignature)) {
+                authDataSignature = tmpAuthDataSignature;
+                invalidateDecisionCache();
+            }
         } catch (Exception e) {
             Loggers.AUTH.warn("[LOAD-ROLES] load failed", e);
         }
@@ -120,7 +156,26 @@ public class NacosRoleServiceImpl {
         if (NacosAuthConfig.UPDATE_PASSWORD_ENTRY_POINT.equals(permission.getResource())) {
             return true;
         }
-
+        if (!authConfigs.isCachingEnabled()) {
+            return doHasPermission(username, permission);
+        }
+        String cacheKey = username + DECISION_KEY_SEPARATOR + permission.getAction() + DECISION_KEY_SEPARATOR
+                + permission.getResource();
+        Boolean result = decisionCache.getIfPresent(cacheKey);
+        if (null != result) {
+            return result;
+        }
+        long version = decisionCacheVersion.get();
+        boolean cacheable = roleInfoMap.containsKey(username);
+        result = doHasPermission(username, permission);
+        // Decisions made before the auth data is changed must not be cached.
+        if (cacheable && version == decisionCacheVersion.get()) {
+            decisionCache.put(cacheKey, result);
+        }
+        return result;
+    }
+    
+    private boolean doHasPermission(String username, Permission permission) {
         List<RoleInfo> roleInfoList = getRoles(username);
         if (Collections.isEmpty(roleInfoList)) {
             return false;
@@ -140,15 +195,8 @@ public class NacosRoleServiceImpl {
         
         // For other roles, use a pattern match to decide if pass or not.
         for (RoleInfo roleInfo : roleInfoList) {
-            List<PermissionInfo> permissionInfoList = getPermissions(roleInfo.getRole());
-            if (Collections.isEmpty(permissionInfoList)) {
-                continue;
-            }
-            for (PermissionInfo permissionInfo : permissionInfoList) {
-                String permissionResource = permissionInfo.getResource().replaceAll("\\*", ".*");
-                String permissionAction = permissionInfo.getAction();
-                if (permissionAction.contains(permission.getAction()) && Pattern
-                        .matches(permissionResource, permission.getResource())) {
+            for (CompiledPermission each : getCompiledPermissions(roleInfo.getRole())) {
+                if (each.matches(permission)) {
                     return true;
                 }
             }
@@ -156,6 +204,39 @@ public class NacosRoleServiceImpl {
         return false;
     }
     
+    private List<CompiledPermission> getCompiledPermissions(String role) {
+        List<CompiledPermission> result = compiledPermissionMap.get(role);
+        if (!authConfigs.isCachingEnabled() || result == null) {
+            result = compilePermissions(getPermissions(role));
+        }
+        return result;
+    }
+    
+    private List<CompiledPermission> compilePermissions(List<PermissionInfo> permissionInfoList) {
+        if (Collections.isEmpty(permissionInfoList)) {
+            return new ArrayList<>(0);
+        }
+        List<CompiledPermission> result = new ArrayList<>(permissionInfoList.size());
+        for (PermissionInfo permissionInfo : permissionInfoList) {
+            try {
+                result.add(new CompiledPermission(permissionInfo));
+            } catch (PatternSyntaxException e) {
+                Loggers.AUTH.warn("[LOAD-ROLES] illegal resource {} of role {}, ignored", permissionInfo.getResource(),
+                        permissionInfo.getRole());
+            }
+        }
+        return result;
+    }
+    
+    private String buildSignature(String... items) {
+        return String.join(String.valueOf(DECISION_KEY_SEPARATOR), items);
+    }
+    
+    private void invalidateDecisionCache() {
+        decisionCacheVersion.incrementAndGet();
+        decisionCache.invalidateAll();
+    }
+    
     public List<RoleInfo> getRoles(String username) {
         List<RoleInfo> roleInfoList = roleInfoMap.get(username);
         if (!authConfigs.isCachingEnabled() || roleInfoList == null) {
@@ -205,15 +286,18 @@ public class NacosRoleServiceImpl {
         }
         rolePersistService.addRole(role, username);
         roleSet.add(role);
+        invalidateDecisionCache();
     }
     
     public void deleteRole(String role, String userName) {
         rolePersistService.deleteRole(role, userName);
+        invalidateDecisionCache();
     }
     
     public void deleteRole(String role) {
         rolePersistService.deleteRole(role);
         roleSet.remove(role);
+        invalidateDecisionCache();
     }
     
     public Page<PermissionInfo> getPermissionsFromDatabase(String role, int pageNo, int pageSize) {
@@ -236,13 +320,35 @@ public class NacosRoleServiceImpl {
             throw new IllegalArgumentException("role " + role + " not found!");
         }
         permissionPersistService.addPermission(role, resource, action);
+        invalidateDecisionCache();
     }
     
     public void deletePermission(String role, String resource, String action) {
         permissionPersistService.deletePermission(role, resource, action);
+        invalidateDecisionCache();
     }
     
     public List<String> findRolesLikeRoleName(String role) {
         return rolePersistService.findRolesLikeRoleName(role);
     }
+    
+    /**
+     * Permission with the resource pattern compiled.
+     */
+    private static class CompiledPermission {
+        
+        private final String action;
+        
+        private final Pattern resourcePattern;
+        
+        private CompiledPermission(PermissionInfo permissionInfo) {
+            this.action = permissionInfo.getAction();
+            this.resourcePattern = Pattern.compile(permissionInfo.getResource().replaceAll("\\*", ".*"));
+        }
+        
+        private boolean matches(Permission permission) {
+            return action.contains(permission.getAction()) && resourcePattern.matcher(permission.getResource())
+                    .matches();
+        }
+    }
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.console.security.nacos.roles;
+
+import com.alibaba.nacos.auth.common.AuthConfigs;
+import com.alibaba.nacos.auth.model.Permission;
+import com.alibaba.nacos.common.utils.StringUtils;
+import com.alibaba.nacos.config.server.auth.PermissionInfo;
+import com.alibaba.nacos.config.server.auth.PermissionPersistService;
+import com.alibaba.nacos.config.server.auth.RoleInfo;
+import com.alibaba.nacos.config.server.auth.RolePersistService;
+import com.alibaba.nacos.config.server.model.Page;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NacosRoleServiceImplTest {
+    
+    private static final String USER = "user_test";
+    
+    private static final String ROLE = "role_test";
+    
+    private static final String ADMIN = "admin_test";
+    
+    @Mock
+    private AuthConfigs authConfigs;
+    
+    @Mock
+    private RolePersistService rolePersistService;
+    
+    @Mock
+    private PermissionPersistService permissionPersistService;
+    
+    private NacosRoleServiceImpl roleService;
+    
+    private final Permission allowed = new Permission("public:DEFAULT_GROUP:config/test", "r");
+    
+    private final Permission denied = new Permission("test:DEFAULT_GROUP:config/test", "r");
+    
+    @Before
+    public void setUp() throws Exception {
+        roleService = new NacosRoleServiceImpl();
+        injectObject("authConfigs", authConfigs);
+        injectObject("rolePersistService", rolePersistService);
+        injectObject("permissionPersistService", permissionPersistService);
+        when(authConfigs.isCachingEnabled()).thenReturn(true);
+        when(rolePersistService.getRolesByUserName(StringUtils.EMPTY, 1, Integer.MAX_VALUE))
+                .thenReturn(page(role(USER, ROLE), role(ADMIN, NacosRoleServiceImpl.GLOBAL_ADMIN_ROLE)));
+        when(permissionPersistService.getPermissions(ROLE, 1, Integer.MAX_VALUE))
+                .thenReturn(page(permission(ROLE, "public:*:*", "rw")));
+        when(permissionPersistService.getPermissions(NacosRoleServiceImpl.GLOBAL_ADMIN_ROLE, 1, Integer.MAX_VALUE))
+                .thenReturn(page());
+        reload();
+    }
+    
+    @Test
+    public void testDecisionCached() throws Exception {
+        assertTrue(roleService.hasPermission(USER, allowed));
+        assertFalse(roleService.hasPermission(USER, denied));
+        // drop the cached roles, decisions made before should still be used without querying the database.
+        injectObject("roleInfoMap", new ConcurrentHashMap<>());
+        assertTrue(roleService.hasPermission(USER, allowed));
+        assertFalse(roleService.hasPermission(USER, denied));
+        verify(rolePersistService, never()).getRolesByUserName(eq(USER), anyInt(), anyInt());
+    }
+    
+    @Test
+    public void testDecisionNotCachedForUnknownUser() {
+        assertFalse(roleService.hasPermission("unknown", allowed));
+        assertFalse(roleService.hasPermission("unknown", allowed));
+        verify(rolePersistService, times(2)).getRolesByUserName("unknown", 1, Integer.MAX_VALUE);
+    }
+    
+    @Test
+    public void testReloadInvalidatesCacheWhenPermissionChanged() throws Exception {
+        assertFalse(roleService.hasPermission(USER, denied));
+        long version = getVersion();
+        reload();
+        assertEquals(version, getVersion());
+        assertFalse(roleService.hasPermission(USER, denied));
+        
+        when(permissionPersistService.getPermissions(ROLE, 1, Integer.MAX_VALUE))
+                .thenReturn(page(permission(ROLE, "public:*:*", "rw"), permission(ROLE, "test:*:*", "r")));
+        reload();
+        assertEquals(version + 1, getVersion());
+        assertTrue(roleService.hasPermission(USER, denied));
+    }
+    
+    @Test
+    public void testReloadInvalidatesCacheWhenRoleChanged() throws Exception {
+        assertTrue(roleService.hasPermission(USER, allowed));
+        when(rolePersistService.getRolesByUserName(StringUtils.EMPTY, 1, Integer.MAX_VALUE))
+                .thenReturn(page(role(USER, "other_role"), role(ADMIN, NacosRoleServiceImpl.GLOBAL_ADMIN_ROLE)));
+        when(permissionPersistService.getPermissions("other_role", 1, Integer.MAX_VALUE)).thenReturn(page());
+        reload();
+        assertFalse(roleService.hasPermission(USER, allowed));
+    }
+    
+    @Test
+    public void testDecisionNotCachedWhenVersionChangedDuringCheck() throws Exception {
+        // force the permissions to be read from database, and change the auth data while reading.
+        injectObject("permissionInfoMap", new ConcurrentHashMap<>());
+        injectObject("compiledPermissionMap", new ConcurrentHashMap<>());
+        doAnswer(invocation -> {
+            roleService.deletePermission(ROLE, "test:*:*", "r");
+            return page(permission(ROLE, "public:*:*", "rw"));
+        }).when(permissionPersistService).getPermissions(ROLE, 1, Integer.MAX_VALUE);
+        long version = getVersion();
+        assertTrue(roleService.hasPermission(USER, allowed));
+        assertTrue(roleService.hasPermission(USER, allowed));
+        assertEquals(version + 2, getVersion());
+        // once by reload in setUp, twice by the uncached checks.
+        verify(permissionPersistService, times(3)).getPermissions(ROLE, 1, Integer.MAX_VALUE);
+    }
+    
+    @Test
+    public void testGlobalAdminBypass() throws Exception {
+        assertTrue(roleService.hasPermission(ADMIN, denied));
+        assertTrue(roleService.hasPermission(ADMIN, new Permission("console/user", "w")));
+        assertFalse(roleService.hasPermission(USER, new Permission("console/user", "w")));
+        injectObject("roleInfoMap", new ConcurrentHashMap<>());
+        assertTrue(roleService.hasPermission(ADMIN, denied));
+        verify(rolePersistService, never()).getRolesByUserName(eq(ADMIN), anyInt(), anyInt());
+    }
+    
+    private void reload() throws Exception {
+        Method method = NacosRoleServiceImpl.class.getDeclaredMethod("reload");
+        method.setAccessible(true);
+        method.invoke(roleService);
+    }
+    
+    private long getVersion() throws Exception {
+        Field field = NacosRoleServiceImpl.class.getDeclaredField("decisionCacheVersion");
+        field.setAccessible(true);
+        return ((AtomicLong) field.get(roleService)).get();
+    }
+    
+    private void injectObject(String fieldName, Object value) throws NoSuchFieldException, IllegalAccessException {
+        Field field = NacosRoleServiceImpl.class.getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(roleService, value);
+    }
+    
+    private RoleInfo role(String username, String role) {
+        RoleInfo result = new RoleInfo();
+        result.setUsername(username);
+        result.setRole(role);
+        return result;
+    }
+    
+    private PermissionInfo permission(String role, String resource, String action) {
+        PermissionInfo result = new PermissionInfo();
+        result.setRole(role);
+        result.setResource(resource);
+        result.setAction(action);
+        return result;
+    }
+    
+    @SafeVarargs
+    private final <T> Page<T> page(T... items) {
+        Page<T> result = new Page<>();
+        result.setPageItems(Arrays.asList(items));
+        return result;
+    }
+}
@@ -17,6 +17,7 @@
 package com.alibaba.nacos.core.distributed.distro.task.delay;
 
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import com.alibaba.nacos.common.task.engine.DelayTaskTimingWheel;
 import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
 import com.alibaba.nacos.core.distributed.distro.entity.DistroKey;
 import com.alibaba.nacos.core.utils.Loggers;
@@ -29,7 +30,8 @@ import com.alibaba.nacos.core.utils.Loggers;
 public class DistroDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
     
     public DistroDelayTaskExecuteEngine() {
-        super(DistroDelayTaskExecuteEngine.class.getName(), Loggers.DISTRO);
+        super(DistroDelayTaskExecuteEngine.class.getName(), 32, Loggers.DISTRO, 100L,
+                DelayTaskTimingWheel.getConfiguredShards());
     }
     
     @Override
@@ -174,6 +174,18 @@ public class JRaftProtocol extends AbstractConsistencyProtocol<RaftConfig, Reque
         return raftServer.get(request);
     }
     
+    @Override
+    public CompletableFuture<Void> readBarrier(String group) {
+        return raftServer.readBarrier(group);
+    }
+    
+    @Override
+    public CompletableFuture<Response> aGetDataFromLeader(ReadRequest request) {
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        raftServer.readFromLeader(request, future);
+        return future;
+    }
+    
     @Override
     public Response write(WriteRequest request) throws Exception {
         CompletableFuture<Response> future = writeAsync(request);
@@ -322,6 +322,34 @@ public class JRaftServer {
         }
     }
     
+    CompletableFuture<Void> readBarrier(final String group) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        final RaftGroupTuple tuple = findTupleByGroup(group);
+        if (Objects.isNull(tuple)) {
+            future.completeExceptionally(new NoSuchRaftGroupException(group));
+            return future;
+        }
+        try {
+            tuple.node.readIndex(BytesUtil.EMPTY_BYTES, new ReadIndexClosure() {
+                @Override
+                public void run(Status status, long index, byte[] reqCtx) {
+                    if (status.isOk()) {
+                        future.complete(null);
+                        return;
+                    }
+                    MetricsMonitor.raftReadIndexFailed();
+                    future.completeExceptionally(new ConsistencyException(
+                            "The conformance protocol is temporarily unavailable for reading, " + status
+                                    .getErrorMsg()));
+                }
+            });
+        } catch (Throwable e) {
+            MetricsMonitor.raftReadIndexFailed();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
     public void readFromLeader(final ReadRequest request, final CompletableFuture<Response> future) {
         commit(request.getGroup(), request, future).whenComplete(new BiConsumer<Response, Throwable>() {
             @Override
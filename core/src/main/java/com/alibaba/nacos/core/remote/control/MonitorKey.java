@@ -29,6 +29,8 @@ public abstract class MonitorKey {
     
     String key;
     
+    private String buildKey;
+    
     public MonitorKey() {
     
     }
@@ -50,9 +52,20 @@ public abstract class MonitorKey {
     
     public void setKey(String key) {
         this.key = key;
+        this.buildKey = null;
     }
     
+    /**
+     * build the full monitor key as {@code type:key}, the result is cached until the key changed.
+     *
+     * @return full monitor key.
+     */
     public String build() {
-        return this.getType() + Constants.COLON + this.getKey();
+        String result = buildKey;
+        if (null == result) {
+            result = this.getType() + Constants.COLON + this.getKey();
+            buildKey = result;
+        }
+        return result;
     }
 }
@@ -0,0 +1,265 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.control;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.core.utils.Loggers;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiled monitor key rules of one tps monitor point.
+ *
+ * <p>The patterns are compiled by the same semantic of {@link MonitorKeyMatcher#matchWithType(String, String)} and
+ * indexed by monitor key type. Exact patterns are kept in a hash map, prefix patterns in a trie walked from the head of
+ * the key, postfix patterns in a trie walked from the tail of the key, patterns like {@code A*B} are kept in the prefix
+ * trie with the postfix checked additionally. Matching a monitor key only walks the key once for each trie, the count
+ * of rules does not matter.
+ *
+ * <p>The rules are immutable after built, a new instance is built when rules of the point changed.
+ *
+ * @author Nacos
+ */
+final class MonitorKeyRules {
+    
+    static final MonitorKeyRules EMPTY = new MonitorKeyRules(new HashMap<String, TpsRecorder>(1));
+    
+    private static final int CHECK = 0;
+    
+    private static final int INCREASE = 1;
+    
+    private static final Rule[] NO_RULES = new Rule[0];
+    
+    private final Map<String, TypeRules> typeRules = new HashMap<String, TypeRules>(4);
+    
+    MonitorKeyRules(Map<String, TpsRecorder> monitorKeysRecorder) {
+        for (Map.Entry<String, TpsRecorder> entry : monitorKeysRecorder.entrySet()) {
+            compile(entry.getKey(), entry.getValue());
+        }
+    }
+    
+    boolean isEmpty() {
+        return typeRules.isEmpty();
+    }
+    
+    /**
+     * Check the tps of all rules matched the monitor key without increasing the count.
+     *
+     * @param connectionId connection id.
+     * @param pointName    name of point.
+     * @param monitorKey   monitor key.
+     * @param now          current timestamp.
+     * @return the first matched rule which is over limit with intercept mode, null if passed.
+     */
+    Rule check(String connectionId, String pointName, MonitorKey monitorKey, long now) {
+        return visit(connectionId, pointName, monitorKey, now, CHECK);
+    }
+    
+    /**
+     * Increase the tps of all rules matched the monitor key.
+     *
+     * @param monitorKey monitor key.
+     * @param now        current timestamp.
+     */
+    void increase(MonitorKey monitorKey, long now) {
+        visit(null, null, monitorKey, now, INCREASE);
+    }
+    
+    private void compile(String pattern, TpsRecorder recorder) {
+        int colonIndex = null == pattern ? -1 : pattern.indexOf(Constants.COLON);
+        if (colonIndex < 0) {
+            Loggers.TPS_CONTROL.warn("Invalid monitor rule pattern without type, pattern=[{}], Ignore this.", pattern);
+            return;
+        }
+        String type = pattern.substring(0, colonIndex);
+        String keyPattern = pattern.substring(colonIndex).trim();
+        Rule rule = new Rule(pattern, recorder);
+        TypeRules rules = typeRules.get(type);
+        if (null == rules) {
+            rules = new TypeRules();
+            typeRules.put(type, rules);
+        }
+        if (!keyPattern.contains(Constants.ALL_PATTERN)) {
+            String exactKey = keyPattern.substring(1);
+            Rule[] exist = rules.exact.get(exactKey);
+            rules.exact.put(exactKey, append(null == exist ? NO_RULES : exist, rule));
+            return;
+        }
+        // split with the colon kept, same as the matcher, so the empty strings around '*' are handled identically.
+        String[] split = keyPattern.split("\\" + Constants.ALL_PATTERN);
+        if (1 == split.length) {
+            rules.prefix.insert(split[0].substring(1), false, rule);
+        } else if (2 == split.length) {
+            String prefix = split[0].substring(1);
+            if (prefix.isEmpty()) {
+                rules.postfix.insert(split[1], true, rule);
+            } else {
+                rule.postfix = split[1];
+                rules.prefix.insert(prefix, false, rule);
+            }
+        }
+    }
+    
+    private Rule visit(String connectionId, String pointName, MonitorKey monitorKey, long now, int action) {
+        TypeRules rules = typeRules.get(monitorKey.getType());
+        if (null == rules || null == monitorKey.getKey()) {
+            return null;
+        }
+        String key = monitorKey.getKey().trim();
+        Rule[] exact = rules.exact.get(key);
+        if (null != exact) {
+            for (Rule each : exact) {
+                if (!apply(each, connectionId, pointName, monitorKey, now, action)) {
+                    return each;
+                }
+            }
+        }
+        int length = key.length();
+        Node node = rules.prefix;
+        for (int i = 0; null != node; i++) {
+            for (Rule each : node.rules) {
+                if ((null == each.postfix || key.endsWith(each.postfix)) && !apply(each, connectionId, pointName,
+                        monitorKey, now, action)) {
+                    return each;
+                }
+            }
+            node = i < length ? node.child(key.charAt(i)) : null;
+        }
+        node = rules.postfix;
+        for (int i = length - 1; null != node; i--) {
+            for (Rule each : node.rules) {
+                if (!apply(each, connectionId, pointName, monitorKey, now, action)) {
+                    return each;
+                }
+            }
+            node = i >= 0 ? node.child(key.charAt(i)) : null;
+        }
+        return null;
+    }
+    
+    /**
+     * Apply the action to rule.
+     *
+     * @return false if the rule is over limit with intercept mode.
+     */
+    private boolean apply(Rule rule, String connectionId, String pointName, MonitorKey monitorKey, long now,
+            int action) {
+        TpsRecorder recorder = rule.recorder;
+        TpsRecorder.TpsSlot slot = recorder.createSlotIfAbsent(now);
+        // only the proto model counts by full monitor key, avoid building it for others.
+        TpsRecorder.SlotCountHolder countHolder = slot
+                .getCountHolder(slot instanceof TpsRecorder.MultiKeyTpsSlot ? monitorKey.build() : pointName);
+        if (INCREASE == action) {
+            countHolder.count.increment();
+            return true;
+        }
+        long maxTpsCount = recorder.getMaxCount();
+        if (maxTpsCount < 0 || countHolder.count.sum() < maxTpsCount) {
+            return true;
+        }
+        Loggers.TPS_CONTROL_DETAIL
+                .info("[{}]Tps over limit ,pointName=[{}],barrier=[{}]，monitorModel={},maxTps={}", connectionId,
+                        pointName, rule.pattern, recorder.getMonitorType(), maxTpsCount + "/" + recorder.period);
+        if (recorder.isInterceptMode()) {
+            countHolder.interceptedCount.increment();
+            return false;
+        }
+        return true;
+    }
+    
+    private static Rule[] append(Rule[] rules, Rule rule) {
+        Rule[] result = Arrays.copyOf(rules, rules.length + 1);
+        result[rules.length] = rule;
+        return result;
+    }
+    
+    static class Rule {
+        
+        final String pattern;
+        
+        final TpsRecorder recorder;
+        
+        /**
+         * Postfix required additionally for pattern like {@code A*B}, null if not required.
+         */
+        String postfix;
+        
+        Rule(String pattern, TpsRecorder recorder) {
+            this.pattern = pattern;
+            this.recorder = recorder;
+        }
+    }
+    
+    private static class TypeRules {
+        
+        private final Map<String, Rule[]> exact = new HashMap<String, Rule[]>(16);
+        
+        private final Node prefix = new Node();
+        
+        private final Node postfix = new Node();
+    }
+    
+    /**
+     * Trie node, children are sorted by char for binary search.
+     */
+    private static class Node {
+        
+        private char[] chars = new char[0];
+        
+        private Node[] children = new Node[0];
+        
+        private Rule[] rules = NO_RULES;
+        
+        private Node child(char c) {
+            int index = Arrays.binarySearch(chars, c);
+            return index < 0 ? null : children[index];
+        }
+        
+        private void insert(String path, boolean reverse, Rule rule) {
+            Node node = this;
+            int length = path.length();
+            for (int i = 0; i < length; i++) {
+                char c = path.charAt(reverse ? length - 1 - i : i);
+                Node child = node.child(c);
+                if (null == child) {
+                    child = node.addChild(c);
+                }
+                node = child;
+            }
+            node.rules = append(node.rules, rule);
+        }
+        
+        private Node addChild(char c) {
+            int index = -(Arrays.binarySearch(chars, c) + 1);
+            char[] newChars = new char[chars.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(chars, 0, newChars, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(chars, index, newChars, index + 1, chars.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            Node result = new Node();
+            newChars[index] = c;
+            newChildren[index] = result;
+            chars = newChars;
+            children = newChildren;
+            return result;
+        }
+    }
+}
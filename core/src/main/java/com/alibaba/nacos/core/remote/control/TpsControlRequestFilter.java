@@ -28,6 +28,8 @@ import org.springframework.stereotype.Service;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * tps control point.
@@ -38,59 +40,104 @@ import java.util.List;
 @Service
 public class TpsControlRequestFilter extends AbstractRequestFilter {
     
+    private static final TpsControlMeta NO_TPS_CONTROL = new TpsControlMeta(null, new MonitorKeyParser[0]);
+    
+    /**
+     * handler class -> tps control of its handle method, resolved once for each handler.
+     */
+    private final Map<Class, TpsControlMeta> tpsControlMetas = new ConcurrentHashMap<>(16);
+    
     @Autowired
     private TpsMonitorManager tpsMonitorManager;
     
     @Override
     protected Response filter(Request request, RequestMeta meta, Class handlerClazz) {
         
-        Method method = null;
-        try {
-            method = getHandleMethod(handlerClazz);
-        } catch (NacosException e) {
+        if (!TpsControlConfig.isTpsControlEnabled()) {
+            return null;
+        }
+        TpsControlMeta tpsControlMeta = getTpsControlMeta(handlerClazz);
+        if (NO_TPS_CONTROL == tpsControlMeta) {
             return null;
         }
         
-        if (method.isAnnotationPresent(TpsControl.class) && TpsControlConfig.isTpsControlEnabled()) {
-            
-            TpsControl tpsControl = method.getAnnotation(TpsControl.class);
-            
-            String pointName = tpsControl.pointName();
-            Class[] parsers = tpsControl.parsers();
-            List<MonitorKey> monitorKeys = new ArrayList<>();
-            monitorKeys.add(new ClientIpMonitorKey(meta.getClientIp()));
-            if (parsers != null) {
-                for (Class clazz : parsers) {
-                    try {
-                        if (MonitorKeyParser.class.isAssignableFrom(clazz)) {
-                            MonitorKey parseKey = ((MonitorKeyParser) (clazz.newInstance())).parse(request, meta);
-                            if (parseKey != null) {
-                                monitorKeys.add(parseKey);
-                            }
-                        }
-                    } catch (Throwable throwable) {
-                        //ignore
-                    }
+        List<MonitorKey> monitorKeys = new ArrayList<>(1 + tpsControlMeta.parsers.length);
+        monitorKeys.add(new ClientIpMonitorKey(meta.getClientIp()));
+        for (MonitorKeyParser each : tpsControlMeta.parsers) {
+            try {
+                MonitorKey parseKey = each.parse(request, meta);
+                if (parseKey != null) {
+                    monitorKeys.add(parseKey);
                 }
+            } catch (Throwable throwable) {
+                //ignore
+            }
+        }
+        
+        boolean pass = tpsMonitorManager.applyTps(tpsControlMeta.pointName, meta.getConnectionId(), monitorKeys);
+        
+        if (!pass) {
+            Response response;
+            try {
+                response = super.getDefaultResponseInstance(handlerClazz);
+                response.setErrorInfo(NacosException.OVER_THRESHOLD, "Tps Flow restricted");
+                return response;
+            } catch (Exception e) {
+                Loggers.TPS_CONTROL_DETAIL
+                        .warn("Tps monitor fail , request: {},exception:{}", request.getClass().getSimpleName(), e);
+                return null;
             }
             
-            boolean pass = tpsMonitorManager.applyTps(pointName, meta.getConnectionId(), monitorKeys);
-            
-            if (!pass) {
-                Response response;
+        }
+        
+        return null;
+    }
+    
+    private TpsControlMeta getTpsControlMeta(Class handlerClazz) {
+        TpsControlMeta result = tpsControlMetas.get(handlerClazz);
+        if (null == result) {
+            result = resolveTpsControlMeta(handlerClazz);
+            tpsControlMetas.putIfAbsent(handlerClazz, result);
+        }
+        return result;
+    }
+    
+    private TpsControlMeta resolveTpsControlMeta(Class handlerClazz) {
+        Method method;
+        try {
+            method = getHandleMethod(handlerClazz);
+        } catch (NacosException e) {
+            return NO_TPS_CONTROL;
+        }
+        if (!method.isAnnotationPresent(TpsControl.class)) {
+            return NO_TPS_CONTROL;
+        }
+        TpsControl tpsControl = method.getAnnotation(TpsControl.class);
+        List<MonitorKeyParser> parsers = new ArrayList<>();
+        if (tpsControl.parsers() != null) {
+            for (Class clazz : tpsControl.parsers()) {
                 try {
-                    response = super.getDefaultResponseInstance(handlerClazz);
-                    response.setErrorInfo(NacosException.OVER_THRESHOLD, "Tps Flow restricted");
-                    return response;
-                } catch (Exception e) {
-                    Loggers.TPS_CONTROL_DETAIL
-                            .warn("Tps monitor fail , request: {},exception:{}", request.getClass().getSimpleName(), e);
-                    return null;
+                    if (MonitorKeyParser.class.isAssignableFrom(clazz)) {
+                        parsers.add((MonitorKeyParser) clazz.newInstance());
+                    }
+                } catch (Throwable throwable) {
+                    Loggers.TPS_CONTROL.warn("Fail to create monitor key parser {}, ignore it.", clazz.getName(),
+                            throwable);
                 }
-                
             }
         }
+        return new TpsControlMeta(tpsControl.pointName(), parsers.toArray(new MonitorKeyParser[0]));
+    }
+    
+    private static class TpsControlMeta {
         
-        return null;
+        private final String pointName;
+        
+        private final MonitorKeyParser[] parsers;
+        
+        private TpsControlMeta(String pointName, MonitorKeyParser[] parsers) {
+            this.pointName = pointName;
+            this.parsers = parsers;
+        }
     }
 }
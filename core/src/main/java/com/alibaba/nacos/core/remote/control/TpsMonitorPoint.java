@@ -19,13 +19,12 @@ package com.alibaba.nacos.core.remote.control;
 import com.alibaba.nacos.core.utils.Loggers;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -46,7 +45,12 @@ public class TpsMonitorPoint {
     
     private TpsRecorder tpsRecorder;
     
-    public Map<String, TpsRecorder> monitorKeysRecorder = new HashMap<String, TpsRecorder>();
+    public Map<String, TpsRecorder> monitorKeysRecorder = new ConcurrentHashMap<String, TpsRecorder>();
+    
+    /**
+     * Compiled rules of {@link #monitorKeysRecorder}, rebuilt when rules changed.
+     */
+    private volatile MonitorKeyRules monitorKeyRules = MonitorKeyRules.EMPTY;
     
     public TpsMonitorPoint(String pointName) {
         this(pointName, -1, "monitor");
@@ -69,10 +73,7 @@ public class TpsMonitorPoint {
      * @return mills of second.
      */
     public static long getTrimMillsOfSecond(long timeStamp) {
-        String millString = String.valueOf(timeStamp);
-        String substring = millString.substring(0, millString.length() - 3);
-        return Long.parseLong(substring + "000");
-        
+        return timeStamp / 1000L * 1000L;
     }
     
     /**
@@ -82,9 +83,7 @@ public class TpsMonitorPoint {
      * @return minis of minute.
      */
     public static long getTrimMillsOfMinute(long timeStamp) {
-        String millString = String.valueOf(timeStamp);
-        String substring = millString.substring(0, millString.length() - 3);
-        return Long.parseLong(Long.parseLong(substring) / 60 * 60 + "000");
+        return timeStamp / 1000L / 60 * 60 * 1000L;
     }
     
     /**
@@ -94,9 +93,7 @@ public class TpsMonitorPoint {
      * @return mills of hour.
      */
     public static long getTrimMillsOfHour(long timeStamp) {
-        String millString = String.valueOf(timeStamp);
-        String substring = millString.substring(0, millString.length() - 3);
-        return Long.parseLong(Long.parseLong(substring) / (60 * 60) * (60 * 60) + "000");
+        return timeStamp / 1000L / (60 * 60) * (60 * 60) * 1000L;
     }
     
     /**
@@ -111,11 +108,14 @@ public class TpsMonitorPoint {
     
     private void stopAllMonitorClient() {
         monitorKeysRecorder.clear();
+        monitorKeyRules = MonitorKeyRules.EMPTY;
     }
     
     /**
      * increase tps.
      *
+     * <p>The rules matched each monitor key are checked at first, the counts are increased only if all rules passed.
+     *
      * @param monitorKeys monitorKeys.
      * @return check current tps is allowed.
      */
@@ -123,50 +123,34 @@ public class TpsMonitorPoint {
         
         long now = System.currentTimeMillis();
         TpsRecorder.TpsSlot currentTps = tpsRecorder.createSlotIfAbsent(now);
+        TpsRecorder.SlotCountHolder pointCountHolder = currentTps.getCountHolder(pointName);
+        MonitorKeyRules rules = this.monitorKeyRules;
+        int size = rules.isEmpty() ? 0 : monitorKeys.size();
         
         //1.check monitor keys.
-        List<TpsRecorder.SlotCountHolder> passedSlots = new ArrayList<>();
-        for (MonitorKey monitorKey : monitorKeys) {
-            for (Map.Entry<String, TpsRecorder> entry : monitorKeysRecorder.entrySet()) {
-                if (MonitorKeyMatcher.matchWithType(entry.getKey(), monitorKey.build())) {
-                    TpsRecorder tpsRecorderKey = entry.getValue();
-                    TpsRecorder.TpsSlot currentKeySlot = tpsRecorderKey.createSlotIfAbsent(now);
-                    long maxTpsCount = tpsRecorderKey.getMaxCount();
-                    TpsRecorder.SlotCountHolder countHolder = currentKeySlot.getCountHolder(monitorKey.build());
-                    boolean overLimit = maxTpsCount >= 0 && countHolder.count.longValue() >= maxTpsCount;
-                    if (overLimit) {
-                        Loggers.TPS_CONTROL_DETAIL
-                                .info("[{}]Tps over limit ,pointName=[{}],barrier=[{}]，monitorModel={},maxTps={}",
-                                        connectionId, this.getPointName(), entry.getKey(),
-                                        tpsRecorderKey.getMonitorType(), maxTpsCount + "/" + tpsRecorderKey.period);
-                        if (tpsRecorderKey.isInterceptMode()) {
-                            currentKeySlot.getCountHolder(monitorKey.build()).interceptedCount.incrementAndGet();
-                            currentTps.getCountHolder(monitorKey.build()).interceptedCount.incrementAndGet();
-                            return false;
-                        }
-                    } else {
-                        passedSlots.add(countHolder);
-                    }
-                }
+        for (int i = 0; i < size; i++) {
+            if (null != rules.check(connectionId, pointName, monitorKeys.get(i), now)) {
+                pointCountHolder.interceptedCount.increment();
+                return false;
             }
         }
         
         //2.check total tps.
         long maxTps = tpsRecorder.getMaxCount();
-        boolean overLimit = maxTps >= 0 && currentTps.getCountHolder(pointName).count.longValue() >= maxTps;
+        boolean overLimit = maxTps >= 0 && pointCountHolder.count.sum() >= maxTps;
         if (overLimit) {
             Loggers.TPS_CONTROL_DETAIL
                     .info("[{}]Tps over limit ,pointName=[{}],barrier=[{}]，monitorType={}", connectionId,
                             this.getPointName(), "pointRule", tpsRecorder.getMonitorType());
             if (tpsRecorder.isInterceptMode()) {
-                currentTps.getCountHolder(pointName).interceptedCount.incrementAndGet();
+                pointCountHolder.interceptedCount.increment();
                 return false;
             }
         }
         
-        currentTps.getCountHolder(pointName).count.incrementAndGet();
-        for (TpsRecorder.SlotCountHolder passedTpsSlot : passedSlots) {
-            passedTpsSlot.count.incrementAndGet();
+        pointCountHolder.count.increment();
+        for (int i = 0; i < size; i++) {
+            rules.increase(monitorKeys.get(i), now);
         }
         //3.check pass.
         return true;
@@ -290,7 +274,7 @@ public class TpsMonitorPoint {
                     iteratorCurrent.remove();
                 }
             }
-            
+            this.monitorKeyRules = new MonitorKeyRules(monitorKeysRecorderCurrent);
         }
         
     }
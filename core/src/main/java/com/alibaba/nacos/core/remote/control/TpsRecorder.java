@@ -16,16 +16,19 @@
 
 package com.alibaba.nacos.core.remote.control;
 
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * tps record.
  *
+ * <p>The slots are a ring indexed by period since start time, each slot is reset lazily when it is reused by a later
+ * period.
+ *
  * @author liuzunfei
  * @version $Id: TpsRecorder.java, v 0.1 2021年01月09日 12:38 PM liuzunfei Exp $
  */
@@ -35,9 +38,11 @@ public class TpsRecorder {
     
     TimeUnit period;
     
+    private final long periodMillis;
+    
     private int slotSize;
     
-    private List<TpsSlot> slotList;
+    private final TpsSlot[] slots;
     
     private long maxCount = -1;
     
@@ -58,11 +63,12 @@ public class TpsRecorder {
             this.startTime = TpsMonitorPoint.getTrimMillsOfHour(startTime);
         }
         this.period = period;
+        this.periodMillis = period.toMillis(1);
         this.model = model;
         this.slotSize = recordSize + 1;
-        slotList = new ArrayList<>(slotSize);
+        this.slots = new TpsSlot[slotSize];
         for (int i = 0; i < slotSize; i++) {
-            slotList.add(isProtoModel() ? new MultiKeyTpsSlot() : new TpsSlot());
+            slots[i] = isProtoModel() ? new MultiKeyTpsSlot() : new TpsSlot();
         }
     }
     
@@ -86,14 +92,13 @@ public class TpsRecorder {
      */
     public TpsSlot createSlotIfAbsent(long timeStamp) {
         long distance = timeStamp - startTime;
-        
-        long diff = (distance < 0 ? distance + period.toMillis(1) * slotSize : distance) / period.toMillis(1);
-        long currentWindowTime = startTime + diff * period.toMillis(1);
-        int index = (int) diff % slotSize;
-        if (slotList.get(index).time != currentWindowTime) {
-            slotList.get(index).reset(currentWindowTime);
+        long diff = (distance < 0 ? distance + periodMillis * slotSize : distance) / periodMillis;
+        long currentWindowTime = startTime + diff * periodMillis;
+        TpsSlot tpsSlot = slots[(int) (diff % slotSize)];
+        if (tpsSlot.time != currentWindowTime) {
+            tpsSlot.reset(currentWindowTime);
         }
-        return slotList.get(index);
+        return tpsSlot;
     }
     
     /**
@@ -104,10 +109,9 @@ public class TpsRecorder {
      */
     public TpsSlot getPoint(long timeStamp) {
         long distance = timeStamp - startTime;
-        long diff = (distance < 0 ? distance + period.toMillis(1) * slotSize : distance) / period.toMillis(1);
-        long currentWindowTime = startTime + diff * period.toMillis(1);
-        int index = (int) diff % slotSize;
-        TpsSlot tpsSlot = slotList.get(index);
+        long diff = (distance < 0 ? distance + periodMillis * slotSize : distance) / periodMillis;
+        long currentWindowTime = startTime + diff * periodMillis;
+        TpsSlot tpsSlot = slots[(int) (diff % slotSize)];
         if (tpsSlot.time != currentWindowTime) {
             return null;
         }
@@ -144,7 +148,7 @@ public class TpsRecorder {
     
     static class TpsSlot {
         
-        long time = 0L;
+        volatile long time = 0L;
         
         private SlotCountHolder countHolder = new SlotCountHolder();
         
@@ -156,8 +160,8 @@ public class TpsRecorder {
             synchronized (this) {
                 if (this.time != second) {
                     this.time = second;
-                    countHolder.count.set(0L);
-                    countHolder.interceptedCount.set(0);
+                    countHolder.count.reset();
+                    countHolder.interceptedCount.reset();
                 }
             }
         }
@@ -171,14 +175,17 @@ public class TpsRecorder {
     
     static class MultiKeyTpsSlot extends TpsSlot {
         
-        Map<String, SlotCountHolder> keySlots = new HashMap<>(16);
+        Map<String, SlotCountHolder> keySlots = new ConcurrentHashMap<>(16);
         
         @Override
         public SlotCountHolder getCountHolder(String key) {
-            if (!keySlots.containsKey(key)) {
-                keySlots.putIfAbsent(key, new SlotCountHolder());
+            SlotCountHolder result = keySlots.get(key);
+            if (null == result) {
+                SlotCountHolder newHolder = new SlotCountHolder();
+                result = keySlots.putIfAbsent(key, newHolder);
+                result = null == result ? newHolder : result;
             }
-            return keySlots.get(key);
+            return result;
         }
         
         public Map<String, SlotCountHolder> getKeySlots() {
@@ -204,9 +211,9 @@ public class TpsRecorder {
     
     static class SlotCountHolder {
         
-        AtomicLong count = new AtomicLong();
+        LongAdder count = new LongAdder();
         
-        AtomicLong interceptedCount = new AtomicLong();
+        LongAdder interceptedCount = new LongAdder();
         
         @Override
         public String toString() {
@@ -215,6 +222,6 @@ public class TpsRecorder {
     }
     
     public List<TpsSlot> getSlotList() {
-        return slotList;
+        return Arrays.asList(slots);
     }
 }
@@ -24,6 +24,7 @@ import com.alibaba.nacos.api.remote.RequestFuture;
 import com.alibaba.nacos.api.remote.request.Request;
 import com.alibaba.nacos.api.remote.response.Response;
 import com.alibaba.nacos.common.remote.client.grpc.GrpcUtils;
+import com.alibaba.nacos.common.remote.client.grpc.codec.BinaryPayloadCodec;
 import com.alibaba.nacos.common.remote.exception.ConnectionAlreadyClosedException;
 import com.alibaba.nacos.core.remote.Connection;
 import com.alibaba.nacos.core.remote.ConnectionMeta;
@@ -57,7 +58,7 @@ public class GrpcConnection extends Connection {
             //StreamObserver#onNext() is not thread-safe,synchronized is required to avoid direct memory leak.
             synchronized (streamObserver) {
                 
-                Payload payload = GrpcUtils.convert(request);
+                Payload payload = GrpcUtils.convert(request, isBinaryCodecNegotiated());
                 traceIfNecessary(payload);
                 streamObserver.onNext(payload);
             }
@@ -69,6 +70,11 @@ public class GrpcConnection extends Connection {
         }
     }
     
+    private boolean isBinaryCodecNegotiated() {
+        return null != getAbilities() && null != getAbilities().getRemoteAbility() && BinaryPayloadCodec
+                .isNegotiated(getAbilities().getRemoteAbility().getBinaryCodecVersion());
+    }
+    
     private void traceIfNecessary(Payload payload) {
         String connectionId = null;
         if (this.isTraced()) {
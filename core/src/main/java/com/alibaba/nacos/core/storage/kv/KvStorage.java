@@ -53,6 +53,11 @@ public interface KvStorage {
          * RocksDB storage.
          */
         RocksDB,
+    
+        /**
+         * Local segmented append-only log storage.
+         */
+        Log,
     }
     
     
@@ -0,0 +1,714 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.storage.kv;
+
+import com.alibaba.nacos.common.executor.ExecutorFactory;
+import com.alibaba.nacos.common.executor.NameThreadFactory;
+import com.alibaba.nacos.common.utils.ByteUtils;
+import com.alibaba.nacos.core.exception.ErrorCode;
+import com.alibaba.nacos.core.exception.KvStorageException;
+import com.alibaba.nacos.core.utils.ClassUtils;
+import com.alibaba.nacos.core.utils.Loggers;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * Kv storage based on segmented append-only log files.
+ *
+ * <p>Every write is appended as a record {@code [crc][keyLength][valueLength][key][value]} to the active segment, a
+ * delete is appended as a record whose value length is -1. The location of the latest record of each key is kept in
+ * an in-memory index, which is rebuilt by replaying the segments when the storage is opened. Concurrent writers are
+ * fsync-ed together by one force of the active segment. Sealed segments whose garbage is over half of the size are
+ * compacted in background, and sealed segments are hard-linked into the snapshot directory.
+ *
+ * <p>Files of {@link FileKvStorage} found in the directory are imported as records when opened or loaded from snapshot.
+ *
+ * @author nacos
+ */
+public class LogKvStorage implements KvStorage {
+    
+    private static final String SEGMENT_SUFFIX = ".log";
+    
+    private static final int SEGMENT_ID_LENGTH = 20;
+    
+    private static final String SEGMENT_NAME_FORMAT = "%0" + SEGMENT_ID_LENGTH + "d" + SEGMENT_SUFFIX;
+    
+    private static final int HEADER_SIZE = 12;
+    
+    private static final int TOMBSTONE = -1;
+    
+    private static final long DEFAULT_MAX_SEGMENT_BYTES = 64L * 1024 * 1024;
+    
+    private static final double COMPACT_GARBAGE_RATIO = 0.5D;
+    
+    private static final long COMPACT_INTERVAL_SECONDS = 60L;
+    
+    private static final ScheduledExecutorService COMPACTION_EXECUTOR = ExecutorFactory.Managed
+            .newSingleScheduledExecutorService(ClassUtils.getCanonicalName(LogKvStorage.class),
+                    new NameThreadFactory("com.alibaba.nacos.core.storage.kv.compaction"));
+    
+    private final String baseDir;
+    
+    private final long maxSegmentBytes;
+    
+    private final boolean syncWrite;
+    
+    private final Map<String, Location> index = new ConcurrentHashMap<>(16);
+    
+    /**
+     * Segment id -> segment, guarded by {@link #appendLock}.
+     */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    
+    /**
+     * Serialize the appending, compaction and snapshot.
+     */
+    private final ReentrantLock appendLock = new ReentrantLock();
+    
+    /**
+     * Ensure that segments are not closed while being read.
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final ReentrantReadWriteLock.ReadLock readLock = lock.readLock();
+    
+    private final ReentrantReadWriteLock.WriteLock writeLock = lock.writeLock();
+    
+    private final Object syncMonitor = new Object();
+    
+    private final ScheduledFuture<?> compactionFuture;
+    
+    private Segment active;
+    
+    private long writtenSequence;
+    
+    private volatile long syncedSequence;
+    
+    public LogKvStorage(String baseDir) throws IOException {
+        this(baseDir, DEFAULT_MAX_SEGMENT_BYTES, true);
+    }
+    
+    public LogKvStorage(String baseDir, long maxSegmentBytes, boolean syncWrite) throws IOException {
+        this.baseDir = baseDir;
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.syncWrite = syncWrite;
+        DiskUtils.forceMkdir(baseDir);
+        appendLock.lock();
+        try {
+            recover();
+            importLegacyFiles(new File(baseDir), true);
+        } finally {
+            appendLock.unlock();
+        }
+        this.compactionFuture = COMPACTION_EXECUTOR
+                .scheduleWithFixedDelay(this::compact, COMPACT_INTERVAL_SECONDS, COMPACT_INTERVAL_SECONDS,
+                        TimeUnit.SECONDS);
+    }
+    
+    @Override
+    public byte[] get(byte[] key) throws KvStorageException {
+        readLock.lock();
+        try {
+            Location location = index.get(ByteUtils.toString(key));
+            return null == location ? null : readValue(location);
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageReadError, e);
+        } finally {
+            readLock.unlock();
+        }
+    }
+    
+    @Override
+    public Map<byte[], byte[]> batchGet(List<byte[]> keys) throws KvStorageException {
+        Map<byte[], byte[]> result = new HashMap<>(keys.size());
+        for (byte[] key : keys) {
+            byte[] val = get(key);
+            if (val != null) {
+                result.put(key, val);
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public void put(byte[] key, byte[] value) throws KvStorageException {
+        append(Collections.singletonList(key), Collections.singletonList(value), ErrorCode.KVStorageWriteError);
+    }
+    
+    @Override
+    public void batchPut(List<byte[]> keys, List<byte[]> values) throws KvStorageException {
+        if (keys.size() != values.size()) {
+            throw new KvStorageException(ErrorCode.KVStorageBatchWriteError,
+                    "key's size must be equal to value's size");
+        }
+        append(keys, values, ErrorCode.KVStorageBatchWriteError);
+    }
+    
+    @Override
+    public void delete(byte[] key) throws KvStorageException {
+        batchDelete(Collections.singletonList(key));
+    }
+    
+    @Override
+    public void batchDelete(List<byte[]> keys) throws KvStorageException {
+        // A tombstone is only required for the existing key.
+        List<byte[]> existKeys = new ArrayList<>(keys.size());
+        for (byte[] each : keys) {
+            if (index.containsKey(ByteUtils.toString(each))) {
+                existKeys.add(each);
+            }
+        }
+        if (!existKeys.isEmpty()) {
+            append(existKeys, Arrays.asList(new byte[existKeys.size()][]), ErrorCode.KVStorageDeleteError);
+        }
+    }
+    
+    @Override
+    public void doSnapshot(String backupPath) throws KvStorageException {
+        appendLock.lock();
+        try {
+            File backupDir = new File(backupPath);
+            DiskUtils.forceMkdir(backupDir);
+            for (Segment each : segments.values()) {
+                Path target = new File(backupDir, each.file.getName()).toPath();
+                if (each == active) {
+                    // The active segment is still being appended, copy the written part only.
+                    copyPrefix(each, target);
+                } else {
+                    link(each.file.toPath(), target);
+                }
+            }
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotSaveError, e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+    
+    @Override
+    public void snapshotLoad(String path) throws KvStorageException {
+        File srcDir = new File(path);
+        // If snapshot path is non-exist, means snapshot is empty
+        if (!srcDir.exists()) {
+            return;
+        }
+        appendLock.lock();
+        writeLock.lock();
+        try {
+            for (Segment each : segments.values()) {
+                each.close();
+                Files.deleteIfExists(each.file.toPath());
+            }
+            segments.clear();
+            index.clear();
+            active = null;
+            List<File> snapshotSegments = listSegmentFiles(srcDir);
+            for (int i = 0; i < snapshotSegments.size(); i++) {
+                Path source = snapshotSegments.get(i).toPath();
+                Path target = new File(baseDir, snapshotSegments.get(i).getName()).toPath();
+                // The last segment will be appended as the active segment, it must not be shared with snapshot.
+                if (i == snapshotSegments.size() - 1) {
+                    Files.copy(source, target);
+                } else {
+                    link(source, target);
+                }
+            }
+            recover();
+            importLegacyFiles(srcDir, false);
+        } catch (IOException e) {
+            throw new KvStorageException(ErrorCode.KVStorageSnapshotLoadError, e);
+        } finally {
+            writeLock.unlock();
+            appendLock.unlock();
+        }
+    }
+    
+    @Override
+    public List<byte[]> allKeys() throws KvStorageException {
+        List<byte[]> result = new ArrayList<>(index.size());
+        for (String each : index.keySet()) {
+            result.add(ByteUtils.toBytes(each));
+        }
+        return result;
+    }
+    
+    @Override
+    public void shutdown() {
+        compactionFuture.cancel(false);
+        appendLock.lock();
+        writeLock.lock();
+        try {
+            for (Segment each : segments.values()) {
+                each.close();
+            }
+        } finally {
+            writeLock.unlock();
+            appendLock.unlock();
+        }
+    }
+    
+    /**
+     * Compact the sealed segments whose garbage is over the ratio, the live records are appended to the active segment
+     * and then the segment is removed.
+     */
+    public void compact() {
+        List<Segment> candidates = new ArrayList<>();
+        appendLock.lock();
+        try {
+            for (Segment each : segments.values()) {
+                if (each != active && each.garbage >= each.size * COMPACT_GARBAGE_RATIO) {
+                    candidates.add(each);
+                }
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        for (Segment each : candidates) {
+            appendLock.lock();
+            try {
+                if (segments.get(each.id) == each) {
+                    compactSegment(each);
+                }
+            } catch (Throwable e) {
+                Loggers.CORE.error("[LogKvStorage] compact segment {} failed", each.file, e);
+            } finally {
+                appendLock.unlock();
+            }
+        }
+    }
+    
+    /**
+     * Must be called with {@link #appendLock}.
+     */
+    private void compactSegment(final Segment segment) throws IOException {
+        // Tombstones in the oldest segment are useless since no older record of the key exists.
+        final boolean oldest = segments.firstKey() == segment.id;
+        final List<byte[]> keys = new ArrayList<>();
+        final List<byte[]> values = new ArrayList<>();
+        long validSize = scan(segment, (offset, key, value) -> {
+            String keyString = ByteUtils.toString(key);
+            if (null == value) {
+                if (!oldest && !index.containsKey(keyString)) {
+                    keys.add(key);
+                    values.add(null);
+                }
+                return;
+            }
+            Location location = index.get(keyString);
+            if (null != location && location.segment == segment && location.offset == offset) {
+                keys.add(key);
+                values.add(value);
+            }
+        });
+        if (validSize < segment.size) {
+            Loggers.CORE.warn("[LogKvStorage] segment {} is broken at {}, records after it are dropped", segment.file,
+                    validSize);
+        }
+        if (!keys.isEmpty()) {
+            appendRecords(keys, values);
+            active.channel.force(false);
+        }
+        writeLock.lock();
+        try {
+            segments.remove(segment.id);
+            segment.close();
+        } finally {
+            writeLock.unlock();
+        }
+        Files.deleteIfExists(segment.file.toPath());
+        Loggers.CORE.info("[LogKvStorage] compact segment {}, moved {} records", segment.file, keys.size());
+    }
+    
+    private void append(List<byte[]> keys, List<byte[]> values, ErrorCode errorCode) throws KvStorageException {
+        long sequence;
+        appendLock.lock();
+        try {
+            sequence = appendRecords(keys, values);
+        } catch (IOException e) {
+            throw new KvStorageException(errorCode, e);
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            sync(sequence);
+        } catch (IOException e) {
+            throw new KvStorageException(errorCode, e);
+        }
+    }
+    
+    /**
+     * Must be called with {@link #appendLock}. A {@code null} value means a tombstone.
+     *
+     * @return write sequence of the records
+     */
+    private long appendRecords(List<byte[]> keys, List<byte[]> values) throws IOException {
+        if (active.size >= maxSegmentBytes) {
+            roll();
+        }
+        int total = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            total += recordSize(keys.get(i).length, null == values.get(i) ? TOMBSTONE : values.get(i).length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        int[] positions = new int[keys.size()];
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < keys.size(); i++) {
+            positions[i] = buffer.position();
+            encode(buffer, keys.get(i), values.get(i), crc);
+        }
+        buffer.flip();
+        Segment segment = active;
+        long base = segment.size;
+        while (buffer.hasRemaining()) {
+            segment.channel.write(buffer, base + buffer.position());
+        }
+        segment.size += total;
+        for (int i = 0; i < keys.size(); i++) {
+            byte[] key = keys.get(i);
+            byte[] value = values.get(i);
+            if (null == value) {
+                applyDelete(ByteUtils.toString(key), segment, recordSize(key.length, TOMBSTONE));
+            } else {
+                applyPut(ByteUtils.toString(key), new Location(segment, base + positions[i], key.length, value.length));
+            }
+        }
+        return ++writtenSequence;
+    }
+    
+    /**
+     * Force the active segment once for all the records written before, so concurrent writers share one fsync.
+     */
+    private void sync(long sequence) throws IOException {
+        if (!syncWrite || syncedSequence >= sequence) {
+            return;
+        }
+        synchronized (syncMonitor) {
+            if (syncedSequence >= sequence) {
+                return;
+            }
+            Segment segment;
+            long target;
+            appendLock.lock();
+            try {
+                segment = active;
+                target = writtenSequence;
+            } finally {
+                appendLock.unlock();
+            }
+            // Segments sealed before are already forced when rolling.
+            segment.channel.force(false);
+            syncedSequence = target;
+        }
+    }
+    
+    private void roll() throws IOException {
+        active.channel.force(false);
+        active = openSegment(active.id + 1);
+    }
+    
+    private Segment openSegment(long id) throws IOException {
+        Segment result = new Segment(id, new File(baseDir, String.format(SEGMENT_NAME_FORMAT, id)));
+        segments.put(id, result);
+        return result;
+    }
+    
+    private void applyPut(String key, Location location) {
+        Location old = index.put(key, location);
+        if (null != old) {
+            old.segment.garbage += old.size();
+        }
+    }
+    
+    private void applyDelete(String key, Segment segment, int tombstoneSize) {
+        Location old = index.remove(key);
+        if (null != old) {
+            old.segment.garbage += old.size();
+        }
+        segment.garbage += tombstoneSize;
+    }
+    
+    /**
+     * Rebuild the index by replaying all segments, must be called with {@link #appendLock}.
+     */
+    private void recover() throws IOException {
+        List<File> files = listSegmentFiles(new File(baseDir));
+        for (int i = 0; i < files.size(); i++) {
+            File file = files.get(i);
+            final Segment segment = openSegment(parseSegmentId(file.getName()));
+            long validSize = scan(segment, (offset, key, value) -> {
+                if (null == value) {
+                    applyDelete(ByteUtils.toString(key), segment, recordSize(key.length, TOMBSTONE));
+                } else {
+                    applyPut(ByteUtils.toString(key), new Location(segment, offset, key.length, value.length));
+                }
+            });
+            if (validSize < segment.size) {
+                if (i == files.size() - 1) {
+                    // Tail of the last segment may be torn by crash, truncate it for appending.
+                    Loggers.CORE.warn("[LogKvStorage] truncate segment {} from {} to {}", file, segment.size,
+                            validSize);
+                    segment.channel.truncate(validSize);
+                    segment.size = validSize;
+                } else {
+                    Loggers.CORE.error("[LogKvStorage] segment {} is broken at {}, records after it are ignored",
+                            file, validSize);
+                }
+            }
+        }
+        if (segments.isEmpty()) {
+            active = openSegment(0L);
+        } else {
+            active = segments.lastEntry().getValue();
+            if (active.size >= maxSegmentBytes) {
+                roll();
+            }
+        }
+    }
+    
+    /**
+     * Import the key files of {@link FileKvStorage} in the directory, must be called with {@link #appendLock}.
+     */
+    private void importLegacyFiles(File dir, boolean deleteAfterImport) throws IOException {
+        File[] files = dir.listFiles(each -> each.isFile() && !isSegmentFile(each.getName()));
+        if (null == files || 0 == files.length) {
+            return;
+        }
+        List<byte[]> keys = new ArrayList<>(files.length);
+        List<byte[]> values = new ArrayList<>(files.length);
+        for (File each : files) {
+            keys.add(ByteUtils.toBytes(each.getName()));
+            values.add(Files.readAllBytes(each.toPath()));
+        }
+        appendRecords(keys, values);
+        active.channel.force(false);
+        if (deleteAfterImport) {
+            for (File each : files) {
+                DiskUtils.deleteQuietly(each);
+            }
+        }
+        Loggers.CORE.info("[LogKvStorage] import {} key files from {}", files.length, dir);
+    }
+    
+    private byte[] readValue(Location location) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(location.valueLength);
+        long position = location.offset + HEADER_SIZE + location.keyLength;
+        while (buffer.hasRemaining()) {
+            if (location.segment.channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of segment " + location.segment.file);
+            }
+        }
+        return buffer.array();
+    }
+    
+    /**
+     * Read the records of segment in order until the end or a broken record.
+     *
+     * @return size of the valid records
+     */
+    private long scan(Segment segment, RecordVisitor visitor) throws IOException {
+        long offset = 0L;
+        CRC32 crc = new CRC32();
+        byte[] header = new byte[HEADER_SIZE];
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(segment.file), 64 * 1024))) {
+            while (offset + HEADER_SIZE <= segment.size) {
+                in.readFully(header);
+                ByteBuffer headerBuffer = ByteBuffer.wrap(header);
+                int checksum = headerBuffer.getInt();
+                int keyLength = headerBuffer.getInt();
+                int valueLength = headerBuffer.getInt();
+                if (keyLength < 0 || valueLength < TOMBSTONE
+                        || offset + HEADER_SIZE + keyLength + Math.max(valueLength, 0) > segment.size) {
+                    break;
+                }
+                byte[] key = new byte[keyLength];
+                in.readFully(key);
+                byte[] value = null;
+                if (TOMBSTONE != valueLength) {
+                    value = new byte[valueLength];
+                    in.readFully(value);
+                }
+                crc.reset();
+                crc.update(header, 4, HEADER_SIZE - 4);
+                crc.update(key);
+                if (null != value) {
+                    crc.update(value);
+                }
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                visitor.visit(offset, key, value);
+                offset += recordSize(keyLength, valueLength);
+            }
+        }
+        return offset;
+    }
+    
+    private static void encode(ByteBuffer buffer, byte[] key, byte[] value, CRC32 crc) {
+        int start = buffer.position();
+        buffer.position(start + 4);
+        buffer.putInt(key.length);
+        buffer.putInt(null == value ? TOMBSTONE : value.length);
+        buffer.put(key);
+        if (null != value) {
+            buffer.put(value);
+        }
+        crc.reset();
+        crc.update(buffer.array(), start + 4, buffer.position() - start - 4);
+        buffer.putInt(start, (int) crc.getValue());
+    }
+    
+    private static int recordSize(int keyLength, int valueLength) {
+        return HEADER_SIZE + keyLength + Math.max(valueLength, 0);
+    }
+    
+    private static void copyPrefix(Segment segment, Path target) throws IOException {
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            long position = 0L;
+            while (position < segment.size) {
+                position += segment.channel.transferTo(position, segment.size - position, out);
+            }
+        }
+    }
+    
+    private static void link(Path source, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+        } catch (IOException | UnsupportedOperationException e) {
+            // Hard link is not supported by the file system or across file systems.
+            Files.copy(source, target);
+        }
+    }
+    
+    private static List<File> listSegmentFiles(File dir) {
+        File[] files = dir.listFiles(each -> each.isFile() && isSegmentFile(each.getName()));
+        if (null == files) {
+            return Collections.emptyList();
+        }
+        List<File> result = new ArrayList<>(Arrays.asList(files));
+        result.sort((o1, o2) -> Long.compare(parseSegmentId(o1.getName()), parseSegmentId(o2.getName())));
+        return result;
+    }
+    
+    private static boolean isSegmentFile(String fileName) {
+        if (!fileName.endsWith(SEGMENT_SUFFIX) || fileName.length() != SEGMENT_ID_LENGTH + SEGMENT_SUFFIX.length()) {
+            return false;
+        }
+        for (int i = 0; i < SEGMENT_ID_LENGTH; i++) {
+            if (!Character.isDigit(fileName.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static long parseSegmentId(String fileName) {
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+    
+    private interface RecordVisitor {
+        
+        /**
+         * Visit a record of segment.
+         *
+         * @param offset offset of record in segment
+         * @param key    key
+         * @param value  value, {@code null} if the record is a tombstone
+         */
+        void visit(long offset, byte[] key, byte[] value);
+    }
+    
+    private static class Segment {
+        
+        private final long id;
+        
+        private final File file;
+        
+        private final FileChannel channel;
+        
+        /**
+         * Written size and garbage size, guarded by the append lock of storage.
+         */
+        private long size;
+        
+        private long garbage;
+        
+        private Segment(long id, File file) throws IOException {
+            this.id = id;
+            this.file = file;
+            this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.size = channel.size();
+        }
+        
+        private void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+    
+    private static class Location {
+        
+        private final Segment segment;
+        
+        private final long offset;
+        
+        private final int keyLength;
+        
+        private final int valueLength;
+        
+        private Location(Segment segment, long offset, int keyLength, int valueLength) {
+            this.segment = segment;
+            this.offset = offset;
+            this.keyLength = keyLength;
+            this.valueLength = valueLength;
+        }
+        
+        private int size() {
+            return recordSize(keyLength, valueLength);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.core.remote.control;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class MonitorKeyRulesTest {
+    
+    private static final String[] PATTERNS = {"A:add", "A:*", "A:*a", "A:a*", "A:a*d", "A:ab*b", "A:a*b*c", "B:*",
+            "A:**"};
+    
+    private static final String[] KEYS = {"add", "dda", "a", "ab", "abb", "abc", "axd", "", "ddd"};
+    
+    @Test
+    public void testSameMatchWithMatcher() {
+        long now = System.currentTimeMillis();
+        for (String pattern : PATTERNS) {
+            Map<String, TpsRecorder> recorders = new HashMap<String, TpsRecorder>(1);
+            TpsRecorder recorder = newRecorder(1, MonitorType.INTERCEPT.type);
+            recorders.put(pattern, recorder);
+            MonitorKeyRules rules = new MonitorKeyRules(recorders);
+            for (String key : KEYS) {
+                TestKey monitorKey = new TestKey(key);
+                recorder.createSlotIfAbsent(now).getCountHolder(null).count.reset();
+                rules.increase(monitorKey, now);
+                boolean matched = null != rules.check("conn", "point", monitorKey, now);
+                Assert.assertEquals(pattern + " -> " + key,
+                        MonitorKeyMatcher.matchWithType(pattern, monitorKey.build()), matched);
+            }
+        }
+    }
+    
+    @Test
+    public void testMultiRules() {
+        long now = System.currentTimeMillis();
+        Map<String, TpsRecorder> recorders = new HashMap<String, TpsRecorder>(4);
+        TpsRecorder exact = newRecorder(10, MonitorType.INTERCEPT.type);
+        TpsRecorder prefix = newRecorder(10, MonitorType.MONITOR.type);
+        TpsRecorder postfix = newRecorder(2, MonitorType.INTERCEPT.type);
+        recorders.put("A:abc", exact);
+        recorders.put("A:a*", prefix);
+        recorders.put("A:*c", postfix);
+        MonitorKeyRules rules = new MonitorKeyRules(recorders);
+        TestKey monitorKey = new TestKey("abc");
+        Assert.assertNull(rules.check("conn", "point", monitorKey, now));
+        rules.increase(monitorKey, now);
+        rules.increase(monitorKey, now);
+        Assert.assertEquals(2L, exact.createSlotIfAbsent(now).getCountHolder(null).count.sum());
+        Assert.assertEquals(2L, prefix.createSlotIfAbsent(now).getCountHolder(null).count.sum());
+        MonitorKeyRules.Rule rule = rules.check("conn", "point", monitorKey, now);
+        Assert.assertNotNull(rule);
+        Assert.assertEquals("A:*c", rule.pattern);
+        Assert.assertEquals(1L, postfix.createSlotIfAbsent(now).getCountHolder(null).interceptedCount.sum());
+        Assert.assertNull(rules.check("conn", "point", new TestKey("xyz"), now));
+    }
+    
+    @Test
+    public void testApplyTpsOfPoint() {
+        TpsMonitorPoint point = new TpsMonitorPoint("point");
+        TpsControlRule controlRule = new TpsControlRule();
+        controlRule.getMonitorKeyRule()
+                .put("A:1.1.*", new TpsControlRule.Rule(1, TimeUnit.HOURS, "FUZZY", MonitorType.INTERCEPT.type));
+        point.applyRule(controlRule);
+        Assert.assertTrue(point.applyTps("conn", Collections.singletonList(new TestKey("2.2.2.2"))));
+        Assert.assertTrue(point.applyTps("conn", Collections.singletonList(new TestKey("1.1.1.1"))));
+        Assert.assertFalse(point.applyTps("conn", Collections.singletonList(new TestKey("1.1.1.2"))));
+        
+        point.applyRule(null);
+        Assert.assertTrue(point.applyTps("conn", Collections.singletonList(new TestKey("1.1.1.2"))));
+    }
+    
+    private TpsRecorder newRecorder(long maxCount, String monitorType) {
+        TpsRecorder result = new TpsRecorder(System.currentTimeMillis(), TimeUnit.HOURS,
+                TpsControlRule.Rule.MODEL_FUZZY, TpsMonitorPoint.DEFAULT_RECORD_SIZE);
+        result.setMaxCount(maxCount);
+        result.setMonitorType(monitorType);
+        return result;
+    }
+    
+    private static class TestKey extends MonitorKey {
+        
+        TestKey(String key) {
+            super(key);
+        }
+        
+        @Override
+        public String getType() {
+            return "A";
+        }
+    }
+}
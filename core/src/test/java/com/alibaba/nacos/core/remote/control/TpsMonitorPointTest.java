@@ -38,5 +38,9 @@ public class TpsMonitorPointTest {
         TpsMonitorPoint.getTrimMillsOfMinute(current);
     
         TpsMonitorPoint.getTrimMillsOfHour(current);
+        
+        Assert.assertEquals(1623996121000L, TpsMonitorPoint.getTrimMillsOfSecond(1623996121999L));
+        Assert.assertEquals(1623996120000L, TpsMonitorPoint.getTrimMillsOfMinute(1623996121999L));
+        Assert.assertEquals(1623996000000L, TpsMonitorPoint.getTrimMillsOfHour(1623996121999L));
     }
 }
@@ -0,0 +1,146 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.core.storage;
+
+import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.core.storage.kv.LogKvStorage;
+import com.alibaba.nacos.sys.utils.DiskUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+public class LogKvStorageTest {
+    
+    private String dir;
+    
+    private String snapshotDir;
+    
+    private LogKvStorage kvStorage;
+    
+    @Before
+    public void setUp() throws Exception {
+        String baseDir = System.getProperty("java.io.tmpdir") + File.separator + "nacos_log_kv_storage_test";
+        DiskUtils.deleteDirectory(baseDir);
+        dir = baseDir + File.separator + "data";
+        snapshotDir = baseDir + File.separator + "snapshot";
+        kvStorage = new LogKvStorage(dir, 4096, true);
+    }
+    
+    @After
+    public void tearDown() throws Exception {
+        kvStorage.shutdown();
+        DiskUtils.deleteDirectory(new File(dir).getParent());
+    }
+    
+    @Test
+    public void testPutGetAndDelete() throws Exception {
+        kvStorage.put(bytes("key"), bytes("value"));
+        Assert.assertArrayEquals(bytes("value"), kvStorage.get(bytes("key")));
+        kvStorage.batchPut(Arrays.asList(bytes("key"), bytes("key1")), Arrays.asList(bytes("value1"), bytes("")));
+        Assert.assertArrayEquals(bytes("value1"), kvStorage.get(bytes("key")));
+        Assert.assertArrayEquals(bytes(""), kvStorage.get(bytes("key1")));
+        Assert.assertEquals(2, kvStorage.allKeys().size());
+        kvStorage.delete(bytes("key"));
+        kvStorage.delete(bytes("nonExist"));
+        Assert.assertNull(kvStorage.get(bytes("key")));
+        Assert.assertEquals(1, kvStorage.allKeys().size());
+    }
+    
+    @Test
+    public void testRecover() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            kvStorage.put(bytes("key" + i % 100), bytes("value" + i));
+        }
+        kvStorage.delete(bytes("key1"));
+        kvStorage.shutdown();
+        // append a torn record to the last segment.
+        String[] segments = new File(dir).list();
+        Arrays.sort(segments);
+        try (RandomAccessFile file = new RandomAccessFile(new File(dir, segments[segments.length - 1]), "rw")) {
+            file.seek(file.length());
+            file.write(new byte[] {1, 2, 3, 4, 5});
+        }
+        kvStorage = new LogKvStorage(dir, 4096, true);
+        Assert.assertEquals(99, kvStorage.allKeys().size());
+        Assert.assertNull(kvStorage.get(bytes("key1")));
+        Assert.assertArrayEquals(bytes("value999"), kvStorage.get(bytes("key99")));
+        kvStorage.put(bytes("key1"), bytes("value"));
+        Assert.assertArrayEquals(bytes("value"), kvStorage.get(bytes("key1")));
+    }
+    
+    @Test
+    public void testCompact() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            kvStorage.put(bytes("key" + i % 100), bytes("value" + i));
+        }
+        kvStorage.delete(bytes("key1"));
+        int segmentCount = new File(dir).list().length;
+        kvStorage.compact();
+        Assert.assertTrue(new File(dir).list().length < segmentCount);
+        Assert.assertEquals(99, kvStorage.allKeys().size());
+        Assert.assertNull(kvStorage.get(bytes("key1")));
+        Assert.assertArrayEquals(bytes("value999"), kvStorage.get(bytes("key99")));
+        kvStorage.shutdown();
+        kvStorage = new LogKvStorage(dir, 4096, true);
+        Assert.assertEquals(99, kvStorage.allKeys().size());
+        Assert.assertNull(kvStorage.get(bytes("key1")));
+    }
+    
+    @Test
+    public void testSnapshot() throws Exception {
+        for (int i = 0; i < 300; i++) {
+            kvStorage.put(bytes("key" + i), bytes("value" + i));
+        }
+        kvStorage.doSnapshot(snapshotDir);
+        kvStorage.put(bytes("afterSnapshot"), bytes("value"));
+        kvStorage.delete(bytes("key0"));
+        kvStorage.snapshotLoad(snapshotDir);
+        Assert.assertEquals(300, kvStorage.allKeys().size());
+        Assert.assertNull(kvStorage.get(bytes("afterSnapshot")));
+        Assert.assertArrayEquals(bytes("value0"), kvStorage.get(bytes("key0")));
+        // appending after loading must not change the snapshot.
+        kvStorage.put(bytes("afterLoad"), bytes("value"));
+        kvStorage.snapshotLoad(snapshotDir);
+        Assert.assertNull(kvStorage.get(bytes("afterLoad")));
+    }
+    
+    @Test
+    public void testImportFileKvStorage() throws Exception {
+        kvStorage.shutdown();
+        KvStorage fileKvStorage = StorageFactory.createKvStorage(KvStorage.KvType.File, null, dir);
+        fileKvStorage.put(bytes("key"), bytes("value"));
+        kvStorage = new LogKvStorage(dir, 4096, true);
+        Assert.assertArrayEquals(bytes("value"), kvStorage.get(bytes("key")));
+        Assert.assertFalse(new File(dir, "key").exists());
+        
+        DiskUtils.forceMkdir(snapshotDir);
+        Files.write(Paths.get(snapshotDir, "snapshotKey"), bytes("value"));
+        kvStorage.snapshotLoad(snapshotDir);
+        Assert.assertArrayEquals(bytes("value"), kvStorage.get(bytes("snapshotKey")));
+    }
+    
+    private byte[] bytes(String value) {
+        return value.getBytes();
+    }
+}
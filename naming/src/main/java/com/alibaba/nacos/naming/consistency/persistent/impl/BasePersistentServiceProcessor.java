@@ -41,6 +41,7 @@ import com.alibaba.nacos.naming.misc.Loggers;
 import com.alibaba.nacos.naming.misc.UtilsAndCommons;
 import com.alibaba.nacos.naming.pojo.Record;
 import com.alibaba.nacos.naming.constants.Constants;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import com.google.protobuf.ByteString;
 import com.alibaba.nacos.common.utils.TypeUtils;
 
@@ -116,7 +117,9 @@ public abstract class BasePersistentServiceProcessor extends RequestProcessor4CP
     
     public BasePersistentServiceProcessor(final ClusterVersionJudgement judgement) throws Exception {
         this.versionJudgement = judgement;
-        this.kvStorage = new NamingKvStorage(Paths.get(UtilsAndCommons.DATA_BASE_DIR, "data").toString());
+        KvStorage.KvType kvType = EnvUtil.getProperty(Constants.PERSISTENT_LOG_STORAGE_ENABLED, Boolean.class, false)
+                ? KvStorage.KvType.Log : KvStorage.KvType.File;
+        this.kvStorage = new NamingKvStorage(Paths.get(UtilsAndCommons.DATA_BASE_DIR, "data").toString(), kvType);
         this.serializer = SerializeFactory.getSerializer("JSON");
         this.notifier = new PersistentNotifier(key -> {
             try {
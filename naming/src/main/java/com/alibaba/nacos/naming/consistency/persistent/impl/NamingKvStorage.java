@@ -27,8 +27,10 @@ import com.alibaba.nacos.core.storage.kv.MemoryKvStorage;
 import com.alibaba.nacos.core.utils.TimerContext;
 import com.alibaba.nacos.naming.consistency.KeyBuilder;
 import com.alibaba.nacos.naming.misc.Loggers;
+import com.alibaba.nacos.sys.utils.DiskUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -41,6 +43,10 @@ import java.util.function.Function;
 /**
  * Kv storage implementation for naming.
  *
+ * <p>The file kv storage is used by default. The log kv storage imports the key files of the file kv storage once when
+ * opened, but its data and snapshots can't be read by the file kv storage, so it should be enabled only after all
+ * members are upgraded, and can't be disabled again without cleaning the data.
+ *
  * @author xiweng.yy
  */
 public class NamingKvStorage extends MemoryKvStorage {
@@ -55,10 +61,23 @@ public class NamingKvStorage extends MemoryKvStorage {
     
     private final Map<String, KvStorage> namespaceKvStorage;
     
+    private final KvStorage.KvType kvType;
+    
     public NamingKvStorage(final String baseDir) throws Exception {
+        this(baseDir, KvStorage.KvType.File);
+    }
+    
+    public NamingKvStorage(final String baseDir, final KvStorage.KvType kvType) throws Exception {
         this.baseDir = baseDir;
-        this.baseDirStorage = StorageFactory.createKvStorage(KvStorage.KvType.File, LABEL, baseDir);
+        this.kvType = kvType;
+        this.baseDirStorage = StorageFactory.createKvStorage(kvType, LABEL, baseDir);
         this.namespaceKvStorage = new ConcurrentHashMap<>(16);
+        if (KvStorage.KvType.Log == kvType) {
+            // open all namespace storages to import the key files of file kv storage before serving
+            for (String each : getAllNamespaceDirs()) {
+                createActualStorageIfAbsent(each);
+            }
+        }
     }
     
     @Override
@@ -142,6 +161,20 @@ public class NamingKvStorage extends MemoryKvStorage {
     @Override
     public void doSnapshot(String backupPath) throws KvStorageException {
         baseDirStorage.doSnapshot(backupPath);
+        if (KvStorage.KvType.Log != kvType) {
+            // file kv storage copies the whole base dir including the namespace dirs
+            return;
+        }
+        for (String each : getAllNamespaceDirs()) {
+            try {
+                createActualStorageIfAbsent(each).doSnapshot(Paths.get(backupPath, each).toString());
+            } catch (KvStorageException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new KvStorageException(ErrorCode.KVStorageSnapshotSaveError.getCode(),
+                        "Do snapshot failed, namespace: " + each + ", detail: " + e.getMessage(), e);
+            }
+        }
     }
     
     @Override
@@ -150,7 +183,7 @@ public class NamingKvStorage extends MemoryKvStorage {
         try {
             baseDirStorage.snapshotLoad(path);
             loadSnapshotFromActualStorage(baseDirStorage);
-            loadNamespaceSnapshot();
+            loadNamespaceSnapshot(path);
         } finally {
             TimerContext.end(LOAD_SNAPSHOT, Loggers.RAFT);
         }
@@ -163,10 +196,22 @@ public class NamingKvStorage extends MemoryKvStorage {
         }
     }
     
-    private void loadNamespaceSnapshot() {
+    private void loadNamespaceSnapshot(String path) {
+        if (KvStorage.KvType.Log != kvType) {
+            // file kv storage has replaced the whole base dir including the namespace dirs
+            loadNamespaceFromActualStorage();
+            return;
+        }
+        List<String> snapshotNamespaces = getAllNamespaceDirs(path);
         for (String each : getAllNamespaceDirs()) {
+            if (!snapshotNamespaces.contains(each)) {
+                removeNamespaceStorage(each);
+            }
+        }
+        for (String each : snapshotNamespaces) {
             try {
                 KvStorage kvStorage = createActualStorageIfAbsent(each);
+                kvStorage.snapshotLoad(Paths.get(path, each).toString());
                 loadSnapshotFromActualStorage(kvStorage);
             } catch (Exception e) {
                 Loggers.RAFT.error("load snapshot for namespace {} failed", each, e);
@@ -174,8 +219,34 @@ public class NamingKvStorage extends MemoryKvStorage {
         }
     }
     
+    private void loadNamespaceFromActualStorage() {
+        for (String each : getAllNamespaceDirs()) {
+            try {
+                loadSnapshotFromActualStorage(createActualStorageIfAbsent(each));
+            } catch (Exception e) {
+                Loggers.RAFT.error("load snapshot for namespace {} failed", each, e);
+            }
+        }
+    }
+    
+    private void removeNamespaceStorage(String namespace) {
+        KvStorage kvStorage = namespaceKvStorage.remove(namespace);
+        if (null != kvStorage) {
+            kvStorage.shutdown();
+        }
+        try {
+            DiskUtils.deleteDirectory(Paths.get(baseDir, namespace).toString());
+        } catch (IOException e) {
+            Loggers.RAFT.error("remove storage for namespace {} failed", namespace, e);
+        }
+    }
+    
     private List<String> getAllNamespaceDirs() {
-        File[] files = new File(baseDir).listFiles();
+        return getAllNamespaceDirs(baseDir);
+    }
+    
+    private List<String> getAllNamespaceDirs(String dir) {
+        File[] files = new File(dir).listFiles();
         List<String> result = Collections.emptyList();
         if (null != files) {
             result = new ArrayList<>(files.length);
@@ -217,7 +288,7 @@ public class NamingKvStorage extends MemoryKvStorage {
         Function<String, KvStorage> kvStorageBuilder = key -> {
             try {
                 String namespacePath = Paths.get(baseDir, key).toString();
-                return StorageFactory.createKvStorage(KvType.File, LABEL, namespacePath);
+                return StorageFactory.createKvStorage(kvType, LABEL, namespacePath);
             } catch (Exception e) {
                 throw new NacosRuntimeException(NacosException.SERVER_ERROR, e);
             }
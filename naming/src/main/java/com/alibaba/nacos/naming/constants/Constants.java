@@ -77,6 +77,12 @@ public final class Constants {
      */
     public static final String DATA_WARMUP = "nacos.naming.data.warmup";
     
+    /**
+     * Whether store the persistent data by log kv storage instead of file kv storage, default: false. Enable it only
+     * after all members are upgraded, the data of log kv storage can't be read by file kv storage.
+     */
+    public static final String PERSISTENT_LOG_STORAGE_ENABLED = "nacos.naming.persistent.logStorage.enabled";
+    
     /**
      * default : true.
      */
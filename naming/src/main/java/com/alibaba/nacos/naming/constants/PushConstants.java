@@ -43,4 +43,25 @@ public class PushConstants {
     public static final String PUSH_TASK_RETRY_DELAY = "nacos.naming.push.pushTaskRetryDelay";
     
     public static final long DEFAULT_PUSH_TASK_RETRY_DELAY = 1000L;
+    
+    /**
+     * Whether to maintain push data of services incrementally by the changed clients instead of rebuilding it.
+     */
+    public static final String INCREMENTAL_PUSH_DATA = "nacos.naming.push.incrementalPushData";
+    
+    public static final boolean DEFAULT_INCREMENTAL_PUSH_DATA = false;
+    
+    /**
+     * Whether to push only the changed instances to the rpc subscribers supporting delta push.
+     */
+    public static final String DELTA_PUSH = "nacos.naming.push.deltaPush";
+    
+    public static final boolean DEFAULT_DELTA_PUSH = false;
+    
+    /**
+     * The number of recent push revisions kept for each service to compute delta from.
+     */
+    public static final String DELTA_PUSH_HISTORY_SIZE = "nacos.naming.push.deltaPushHistorySize";
+    
+    public static final int DEFAULT_DELTA_PUSH_HISTORY_SIZE = 4;
 }
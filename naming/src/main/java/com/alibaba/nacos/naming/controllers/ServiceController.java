@@ -274,12 +274,12 @@ public class ServiceController {
                     continue;
                 }
                 
-                service.recalculateChecksum();
+                String localChecksum = serviceManager.getStatusChecksum(service);
                 
-                if (!checksum.equals(service.getChecksum())) {
+                if (!checksum.equals(localChecksum)) {
                     if (Loggers.SRV_LOG.isDebugEnabled()) {
                         Loggers.SRV_LOG.debug("checksum of {} is not consistent, remote: {}, checksum: {}, local: {}",
-                                serviceName, serverIp, checksum, service.getChecksum());
+                                serviceName, serverIp, checksum, localChecksum);
                     }
                     serviceManager.addUpdatedServiceToQueue(checksums.namespaceId, serviceName, serverIp, checksum);
                 }
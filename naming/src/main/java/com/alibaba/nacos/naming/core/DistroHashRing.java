@@ -0,0 +1,148 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Consistent hash ring of distro servers.
+ *
+ * <p>Each server is placed on the ring by a fixed number of virtual nodes, and a responsible tag is owned by the first
+ * virtual node clockwise from its hash. So only about 1/N of tags are moved to other servers when one server joins or
+ * leaves. The ring only depends on the set of servers, every server builds the same ring from the same members. The
+ * ring is immutable and the lookup makes no allocation.
+ *
+ * @author nacos
+ */
+public class DistroHashRing {
+    
+    public static final int DEFAULT_VIRTUAL_NODES = 160;
+    
+    private static final DistroHashRing EMPTY = new DistroHashRing(new String[0], new int[0], new int[0]);
+    
+    private final String[] servers;
+    
+    private final Set<String> serverSet;
+    
+    /**
+     * Sorted hashes of virtual nodes.
+     */
+    private final int[] points;
+    
+    /**
+     * Index in {@link #servers} of the owner of each virtual node.
+     */
+    private final int[] owners;
+    
+    private DistroHashRing(String[] servers, int[] points, int[] owners) {
+        this.servers = servers;
+        this.serverSet = new HashSet<>(Arrays.asList(servers));
+        this.points = points;
+        this.owners = owners;
+    }
+    
+    /**
+     * Build hash ring for servers.
+     *
+     * @param servers      servers address
+     * @param virtualNodes count of virtual nodes per server
+     * @return hash ring
+     */
+    public static DistroHashRing build(Collection<String> servers, int virtualNodes) {
+        if (servers.isEmpty()) {
+            return EMPTY;
+        }
+        String[] sortedServers = new TreeSet<>(servers).toArray(new String[0]);
+        // high 32 bits are the hash of virtual node, low 32 bits are the index of server which breaks ties.
+        long[] nodes = new long[sortedServers.length * virtualNodes];
+        int count = 0;
+        for (int i = 0; i < sortedServers.length; i++) {
+            for (int j = 0; j < virtualNodes; j++) {
+                nodes[count++] = ((long) hash(sortedServers[i] + "#" + j) << 32) | i;
+            }
+        }
+        Arrays.sort(nodes);
+        int[] points = new int[nodes.length];
+        int[] owners = new int[nodes.length];
+        int size = 0;
+        for (long each : nodes) {
+            int point = (int) (each >> 32);
+            if (size > 0 && points[size - 1] == point) {
+                continue;
+            }
+            points[size] = point;
+            owners[size] = (int) each;
+            size++;
+        }
+        return new DistroHashRing(sortedServers, Arrays.copyOf(points, size), Arrays.copyOf(owners, size));
+    }
+    
+    public boolean isEmpty() {
+        return 0 == servers.length;
+    }
+    
+    public boolean contains(String server) {
+        return serverSet.contains(server);
+    }
+    
+    /**
+     * Get the server owning input tag, the ring must not be empty.
+     *
+     * @param responsibleTag responsible tag
+     * @return server address
+     */
+    public String owner(String responsibleTag) {
+        int index = Arrays.binarySearch(points, hash(responsibleTag));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return servers[owners[index == points.length ? 0 : index]];
+    }
+    
+    /**
+     * Judge whether server owns input tag, a server not in the ring is regarded as responsible for all tags.
+     *
+     * @param responsibleTag responsible tag
+     * @param server         server address
+     * @return true if server is responsible for tag
+     */
+    public boolean isResponsible(String responsibleTag, String server) {
+        return !contains(server) || owner(responsibleTag).equals(server);
+    }
+    
+    /**
+     * FNV-1a hash of chars mixed by the finalizer of murmur3, the hash codes of similar addresses are too close to be
+     * spread over the ring.
+     */
+    static int hash(String value) {
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
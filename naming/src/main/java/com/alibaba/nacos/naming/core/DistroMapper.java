@@ -47,6 +47,11 @@ public class DistroMapper extends MemberChangeListener {
      */
     private volatile List<String> healthyList = new ArrayList<>();
     
+    /**
+     * Consistent hash ring of healthy servers, used when {@link SwitchDomain#isDistroConsistentHashEnabled()}.
+     */
+    private volatile DistroHashRing hashRing = DistroHashRing.build(Collections.emptyList(), 0);
+    
     private final SwitchDomain switchDomain;
     
     private final ServerMemberManager memberManager;
@@ -67,6 +72,7 @@ public class DistroMapper extends MemberChangeListener {
     public void init() {
         NotifyCenter.registerSubscriber(this);
         this.healthyList = MemberUtil.simpleMembers(memberManager.allMembers());
+        this.hashRing = DistroHashRing.build(healthyList, DistroHashRing.DEFAULT_VIRTUAL_NODES);
     }
     
     public boolean responsible(Cluster cluster, Instance instance) {
@@ -96,6 +102,11 @@ public class DistroMapper extends MemberChangeListener {
             return false;
         }
         
+        if (switchDomain.isDistroConsistentHashEnabled()) {
+            final DistroHashRing ring = hashRing;
+            return ring.isEmpty() || ring.isResponsible(responsibleTag, EnvUtil.getLocalAddress());
+        }
+        
         int index = servers.indexOf(EnvUtil.getLocalAddress());
         int lastIndex = servers.lastIndexOf(EnvUtil.getLocalAddress());
         if (lastIndex < 0 || index < 0) {
@@ -124,6 +135,10 @@ public class DistroMapper extends MemberChangeListener {
         }
         
         try {
+            if (switchDomain.isDistroConsistentHashEnabled()) {
+                final DistroHashRing ring = hashRing;
+                return ring.isEmpty() ? EnvUtil.getLocalAddress() : ring.owner(responsibleTag);
+            }
             int index = distroHash(responsibleTag) % servers.size();
             return servers.get(index);
         } catch (Throwable e) {
@@ -145,6 +160,7 @@ public class DistroMapper extends MemberChangeListener {
                 member -> NodeState.UP.equals(member.getState()) || NodeState.SUSPICIOUS.equals(member.getState())));
         Collections.sort(list);
         Collection<String> old = healthyList;
+        hashRing = DistroHashRing.build(list, DistroHashRing.DEFAULT_VIRTUAL_NODES);
         healthyList = Collections.unmodifiableList(list);
         Loggers.SRV_LOG.info("[NACOS-DISTRO] healthy server list changed, old: {}, new: {}", old, healthyList);
     }
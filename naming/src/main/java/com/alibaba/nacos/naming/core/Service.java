@@ -63,6 +63,10 @@ public class Service extends com.alibaba.nacos.api.naming.pojo.Service implement
     
     private static final String SERVICE_NAME_SYNTAX = "[0-9a-zA-Z@\\.:_-]+";
     
+    private static final long FNV_64_OFFSET_BASIS = 0xcbf29ce484222325L;
+    
+    private static final long FNV_64_PRIME = 0x100000001b3L;
+    
     @JsonIgnore
     private ClientBeatCheckTask clientBeatCheckTask = new ClientBeatCheckTask(this);
     
@@ -566,6 +570,52 @@ public class Service extends com.alibaba.nacos.api.naming.pojo.Service implement
         checksum = MD5Utils.md5Hex(ipsString.toString(), Constants.ENCODE);
     }
     
+    /**
+     * Calculate the instance hash checksum of service.
+     *
+     * <p>Each instance is hashed to 64 bits by the same fields as {@link #recalculateChecksum()}, which are ip, port,
+     * weight, healthy and cluster name, and the hashes are summed up. So the checksum does not depend on the order of
+     * instances, and neither sort, string building, MD5 nor the lock of service is needed.
+     *
+     * @return instance hash checksum
+     */
+    public String instanceHashChecksum() {
+        long sum = 0L;
+        int count = 0;
+        for (Cluster each : clusterMap.values()) {
+            for (Instance instance : each.allIPs()) {
+                sum += instanceHash(instance);
+                count++;
+            }
+        }
+        return Long.toHexString(sum) + ":" + count;
+    }
+    
+    private static long instanceHash(Instance instance) {
+        long hash = hash(FNV_64_OFFSET_BASIS, instance.getIp());
+        hash = (hash ^ instance.getPort()) * FNV_64_PRIME;
+        hash = (hash ^ Double.doubleToLongBits(instance.getWeight())) * FNV_64_PRIME;
+        hash = (hash ^ (instance.isHealthy() ? 1L : 0L)) * FNV_64_PRIME;
+        hash = hash(hash, instance.getClusterName());
+        // murmur3 fmix64, spread the bits before summing up.
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+    
+    private static long hash(long hash, String value) {
+        if (null == value) {
+            return (hash ^ 0xffL) * FNV_64_PRIME;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_64_PRIME;
+        }
+        return (hash ^ value.length()) * FNV_64_PRIME;
+    }
+    
     private void updateOrAddCluster(Collection<Cluster> clusters) {
         for (Cluster cluster : clusters) {
             Cluster oldCluster = clusterMap.get(cluster.getName());
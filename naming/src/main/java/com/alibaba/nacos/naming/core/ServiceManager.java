@@ -60,12 +60,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import static com.alibaba.nacos.naming.misc.UtilsAndCommons.UPDATE_INSTANCE_METADATA_ACTION_REMOVE;
@@ -883,11 +883,11 @@ public class ServiceManager implements RecordListener<Service> {
      * @return list of service which searched
      */
     public List<Service> searchServices(String namespaceId, String regex) {
+        Pattern pattern = Pattern.compile(regex);
         List<Service> result = new ArrayList<>();
         for (Map.Entry<String, Service> entry : chooseServiceMap(namespaceId).entrySet()) {
             Service service = entry.getValue();
-            String key = service.getName() + ":" + service.getOwners().toString();
-            if (key.matches(regex)) {
+            if (pattern.matcher(getSearchKey(service)).matches()) {
                 result.add(service);
             }
         }
@@ -895,6 +895,24 @@ public class ServiceManager implements RecordListener<Service> {
         return result;
     }
     
+    private String getSearchKey(Service service) {
+        return service.getName() + ":" + service.getOwners().toString();
+    }
+    
+    /**
+     * Get the checksum of service used to compare service status between servers.
+     *
+     * @param service service
+     * @return instance hash checksum if enabled, otherwise recalculated MD5 checksum
+     */
+    public String getStatusChecksum(Service service) {
+        if (switchDomain.isInstanceHashChecksumEnabled()) {
+            return service.instanceHashChecksum();
+        }
+        service.recalculateChecksum();
+        return service.getChecksum();
+    }
+    
     public int getServiceCount() {
         int serviceCount = 0;
         for (String namespaceId : serviceMap.keySet()) {
@@ -913,77 +931,72 @@ public class ServiceManager implements RecordListener<Service> {
         return total;
     }
     
+    /**
+     * Get one page of services matching the param, services are iterated in name order and filtered one by one.
+     *
+     * <p>If the count of matched services is not greater than page size, all of them are returned whatever the start
+     * page is.
+     *
+     * @param namespaceId       namespace id
+     * @param startPage         page number starting from 0
+     * @param pageSize          page size
+     * @param param             search param like {@code groupName@@serviceName}, matched as infix of each part
+     * @param containedInstance ip or ip:port the matched service should contain, blank for no limit
+     * @param serviceList       matched services of the page
+     * @param hasIpCount        whether only match services with instances
+     * @return count of all matched services
+     */
     public int getPagedService(String namespaceId, int startPage, int pageSize, String param, String containedInstance,
             List<Service> serviceList, boolean hasIpCount) {
         
-        List<Service> matchList;
-        
-        if (chooseServiceMap(namespaceId) == null) {
+        Map<String, Service> services = chooseServiceMap(namespaceId);
+        if (services == null) {
             return 0;
         }
         
-        if (StringUtils.isNotBlank(param)) {
-            StringJoiner regex = new StringJoiner(Constants.SERVICE_INFO_SPLITER);
-            for (String s : param.split(Constants.SERVICE_INFO_SPLITER, Constants.SERVICE_INFO_SPLIT_COUNT)) {
-                regex.add(StringUtils.isBlank(s) ? Constants.ANY_PATTERN
-                        : Constants.ANY_PATTERN + s + Constants.ANY_PATTERN);
+        ServiceNameMatcher matcher = StringUtils.isNotBlank(param) ? ServiceNameMatcher.compile(param) : null;
+        long pageStart = (long) startPage * pageSize;
+        List<Service> firstPage = new ArrayList<>(Math.min(Math.max(pageSize, 0), 64));
+        List<Service> page = new ArrayList<>(Math.min(Math.max(pageSize, 0), 64));
+        int count = 0;
+        for (Service service : services.values()) {
+            if (matcher != null && !matcher.test(getSearchKey(service))) {
+                continue;
             }
-            matchList = searchServices(namespaceId, regex.toString());
-        } else {
-            matchList = new ArrayList<>(chooseServiceMap(namespaceId).values());
-        }
-        
-        if (!CollectionUtils.isEmpty(matchList) && hasIpCount) {
-            matchList = matchList.stream().filter(s -> !CollectionUtils.isEmpty(s.allIPs()))
-                    .collect(Collectors.toList());
-        }
-        
-        if (StringUtils.isNotBlank(containedInstance)) {
-            
-            boolean contained;
-            for (int i = 0; i < matchList.size(); i++) {
-                Service service = matchList.get(i);
-                contained = false;
-                List<Instance> instances = service.allIPs();
-                for (Instance instance : instances) {
-                    if (InternetAddressUtil.containsPort(containedInstance)) {
-                        if (StringUtils.equals(instance.getIp() + InternetAddressUtil.IP_PORT_SPLITER + instance.getPort(),
-                                containedInstance)) {
-                            contained = true;
-                            break;
-                        }
-                    } else {
-                        if (StringUtils.equals(instance.getIp(), containedInstance)) {
-                            contained = true;
-                            break;
-                        }
-                    }
-                }
-                if (!contained) {
-                    matchList.remove(i);
-                    i--;
-                }
+            if (hasIpCount && CollectionUtils.isEmpty(service.allIPs())) {
+                continue;
             }
-        }
-        
-        if (pageSize >= matchList.size()) {
-            serviceList.addAll(matchList);
-            return matchList.size();
-        }
-        
-        for (int i = 0; i < matchList.size(); i++) {
-            if (i < startPage * pageSize) {
+            if (StringUtils.isNotBlank(containedInstance) && !containsInstance(service.allIPs(), containedInstance)) {
                 continue;
             }
-            
-            serviceList.add(matchList.get(i));
-            
-            if (serviceList.size() >= pageSize) {
-                break;
+            if (count < pageSize) {
+                firstPage.add(service);
             }
+            if (count >= pageStart && page.size() < pageSize) {
+                page.add(service);
+            }
+            count++;
         }
         
-        return matchList.size();
+        serviceList.addAll(pageSize >= count ? firstPage : page);
+        return count;
+    }
+    
+    private boolean containsInstance(List<Instance> instances, String containedInstance) {
+        boolean containsPort = InternetAddressUtil.containsPort(containedInstance);
+        for (Instance instance : instances) {
+            if (containsPort) {
+                if (StringUtils.equals(instance.getIp() + InternetAddressUtil.IP_PORT_SPLITER + instance.getPort(),
+                        containedInstance)) {
+                    return true;
+                }
+            } else {
+                if (StringUtils.equals(instance.getIp(), containedInstance)) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
     
     /**
@@ -1094,9 +1107,7 @@ public class ServiceManager implements RecordListener<Service> {
                             continue;
                         }
                         
-                        service.recalculateChecksum();
-                        
-                        checksum.addItem(serviceName, service.getChecksum());
+                        checksum.addItem(serviceName, getStatusChecksum(service));
                     }
                     
                     Message msg = new Message();
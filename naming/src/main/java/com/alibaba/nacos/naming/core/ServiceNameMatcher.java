@@ -0,0 +1,126 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.core;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.common.utils.StringUtils;
+
+import java.util.StringJoiner;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Matcher of service search param like {@code groupName@@serviceName}, each part is matched as infix.
+ *
+ * <p>The param is matched as regex {@code .*part.*@@.*part.*} on the search key of service. When no part contains
+ * regex meta character, the key is matched by searching the parts in order instead of regex.
+ *
+ * @author nacos
+ */
+public abstract class ServiceNameMatcher implements Predicate<String> {
+    
+    private static final String REGEX_META_CHARS = "\\^$.|?*+()[]{}";
+    
+    private static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
+    
+    /**
+     * Build matcher of search param.
+     *
+     * @param param search param, such as {@code groupName@@serviceName}
+     * @return matcher
+     */
+    public static ServiceNameMatcher compile(String param) {
+        String[] parts = param.split(Constants.SERVICE_INFO_SPLITER, Constants.SERVICE_INFO_SPLIT_COUNT);
+        boolean literal = true;
+        StringJoiner regex = new StringJoiner(Constants.SERVICE_INFO_SPLITER);
+        for (int i = 0; i < parts.length; i++) {
+            if (StringUtils.isBlank(parts[i])) {
+                parts[i] = StringUtils.EMPTY;
+            }
+            literal &= isLiteral(parts[i]);
+            regex.add(Constants.ANY_PATTERN + parts[i] + Constants.ANY_PATTERN);
+        }
+        return literal ? new InfixMatcher(parts) : new RegexMatcher(regex.toString());
+    }
+    
+    private static boolean isLiteral(String part) {
+        for (int i = 0; i < part.length(); i++) {
+            char each = part.charAt(i);
+            if (REGEX_META_CHARS.indexOf(each) >= 0 || LINE_TERMINATORS.indexOf(each) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean containsLineTerminator(String key) {
+        for (int i = 0; i < key.length(); i++) {
+            if (LINE_TERMINATORS.indexOf(key.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static class InfixMatcher extends ServiceNameMatcher {
+        
+        private final String[] parts;
+        
+        private InfixMatcher(String[] parts) {
+            this.parts = parts;
+        }
+        
+        @Override
+        public boolean test(String key) {
+            if (containsLineTerminator(key)) {
+                // regex '.' never matches line terminator.
+                return false;
+            }
+            int position = 0;
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    int index = key.indexOf(Constants.SERVICE_INFO_SPLITER, position);
+                    if (index < 0) {
+                        return false;
+                    }
+                    position = index + Constants.SERVICE_INFO_SPLITER.length();
+                }
+                int index = key.indexOf(parts[i], position);
+                if (index < 0) {
+                    return false;
+                }
+                position = index + parts[i].length();
+            }
+            return true;
+        }
+    }
+    
+    private static class RegexMatcher extends ServiceNameMatcher {
+        
+        private final Pattern pattern;
+        
+        private RegexMatcher(String regex) {
+            this.pattern = Pattern.compile(regex);
+        }
+        
+        @Override
+        public boolean test(String key) {
+            return pattern.matcher(key).matches();
+        }
+    }
+}
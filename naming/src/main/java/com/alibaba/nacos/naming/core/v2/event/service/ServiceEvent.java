@@ -45,17 +45,31 @@ public class ServiceEvent extends Event {
         
         private static final long serialVersionUID = 2123694271992630822L;
         
+        /**
+         * The id of the client whose published instance changed, {@code null} if unknown or not only one client.
+         */
+        private final String changedClientId;
+        
         public ServiceChangedEvent(Service service) {
             this(service, false);
         }
         
         public ServiceChangedEvent(Service service, boolean incrementRevision) {
+            this(service, null, incrementRevision);
+        }
+        
+        public ServiceChangedEvent(Service service, String changedClientId, boolean incrementRevision) {
             super(service);
+            this.changedClientId = changedClientId;
             service.renewUpdateTime();
             if (incrementRevision) {
                 service.incrementRevision();
             }
         }
+        
+        public String getChangedClientId() {
+            return changedClientId;
+        }
     }
     
     /**
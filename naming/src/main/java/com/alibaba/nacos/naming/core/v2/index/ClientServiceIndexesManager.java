@@ -121,7 +121,7 @@ public class ClientServiceIndexesManager extends SmartSubscriber {
     private void addPublisherIndexes(Service service, String clientId) {
         publisherIndexes.computeIfAbsent(service, (key) -> new ConcurrentHashSet<>());
         publisherIndexes.get(service).add(clientId);
-        NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, true));
+        NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, clientId, true));
     }
     
     private void removePublisherIndexes(Service service, String clientId) {
@@ -129,7 +129,7 @@ public class ClientServiceIndexesManager extends SmartSubscriber {
             return;
         }
         publisherIndexes.get(service).remove(clientId);
-        NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, true));
+        NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, clientId, true));
     }
     
     private void addSubscriberIndexes(Service service, String clientId) {
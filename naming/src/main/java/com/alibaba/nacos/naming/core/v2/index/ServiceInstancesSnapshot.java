@@ -0,0 +1,69 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core.v2.index;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the instances of one service, indexed by the id of the client which published the instance.
+ *
+ * <p>The snapshot is replaced as a whole (copy on write) when instances change, and every replacement gets a larger
+ * revision.
+ *
+ * @author nacos
+ */
+public class ServiceInstancesSnapshot {
+    
+    private final long revision;
+    
+    private final Map<String, Instance> instances;
+    
+    private final Set<String> clusters;
+    
+    public ServiceInstancesSnapshot(long revision, Map<String, Instance> instances) {
+        this.revision = revision;
+        this.instances = Collections.unmodifiableMap(instances);
+        Set<String> clusters = new HashSet<>();
+        for (Instance each : instances.values()) {
+            clusters.add(each.getClusterName());
+        }
+        this.clusters = clusters;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public Map<String, Instance> getInstances() {
+        return instances;
+    }
+    
+    public Set<String> getClusters() {
+        return clusters;
+    }
+    
+    public List<Instance> getHosts() {
+        return new ArrayList<>(instances.values());
+    }
+}
@@ -18,33 +18,49 @@ package com.alibaba.nacos.naming.core.v2.index;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.common.utils.ConcurrentHashSet;
 import com.alibaba.nacos.naming.core.v2.ServiceManager;
 import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.metadata.InstanceMetadata;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.naming.push.v2.PushConfig;
 import com.alibaba.nacos.naming.utils.InstanceUtil;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service storage.
  *
+ * <p>If {@link PushConfig#isIncrementalPushData()} is enabled, the instances of each service are kept in a {@link
+ * ServiceInstancesSnapshot} and only the instances of the clients changed since last build are parsed again.
+ *
  * @author xiweng.yy
  */
 @Component
-public class ServiceStorage {
+public class ServiceStorage extends SmartSubscriber {
     
     private final ClientServiceIndexesManager serviceIndexesManager;
     
@@ -58,6 +74,8 @@ public class ServiceStorage {
     
     private final ConcurrentMap<Service, Set<String>> serviceClusterIndex;
     
+    private final ConcurrentMap<Service, IncrementalServiceInstances> incrementalInstances;
+    
     public ServiceStorage(ClientServiceIndexesManager serviceIndexesManager, ClientManagerDelegate clientManager,
             SwitchDomain switchDomain, NamingMetadataManager metadataManager) {
         this.serviceIndexesManager = serviceIndexesManager;
@@ -66,6 +84,8 @@ public class ServiceStorage {
         this.metadataManager = metadataManager;
         this.serviceDataIndexes = new ConcurrentHashMap<>();
         this.serviceClusterIndex = new ConcurrentHashMap<>();
+        this.incrementalInstances = new ConcurrentHashMap<>();
+        NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
     }
     
     public Set<String> getClusters(Service service) {
@@ -81,14 +101,58 @@ public class ServiceStorage {
         if (!ServiceManager.getInstance().containSingleton(service)) {
             return result;
         }
-        result.setHosts(getAllInstancesFromIndex(service));
+        if (PushConfig.getInstance().isIncrementalPushData()) {
+            result.setHosts(getSnapshot(service).getHosts());
+        } else {
+            result.setHosts(getAllInstancesFromIndex(service));
+        }
         serviceDataIndexes.put(service, result);
         return result;
     }
     
+    /**
+     * Get the latest instances snapshot of service, the changed clients since last snapshot will be applied.
+     *
+     * @param service service
+     * @return latest instances snapshot
+     */
+    public ServiceInstancesSnapshot getSnapshot(Service service) {
+        IncrementalServiceInstances instances = incrementalInstances
+                .computeIfAbsent(service, key -> new IncrementalServiceInstances());
+        ServiceInstancesSnapshot result = instances.refresh(service);
+        serviceClusterIndex.put(service, new HashSet<>(result.getClusters()));
+        return result;
+    }
+    
+    /**
+     * Remove all cached data of service.
+     *
+     * @param service service
+     */
     public void removeData(Service service) {
         serviceDataIndexes.remove(service);
         serviceClusterIndex.remove(service);
+        incrementalInstances.remove(service);
+    }
+    
+    @Override
+    public List<Class<? extends Event>> subscribeTypes() {
+        return Collections.singletonList(ServiceEvent.ServiceChangedEvent.class);
+    }
+    
+    @Override
+    public void onEvent(Event event) {
+        ServiceEvent.ServiceChangedEvent changedEvent = (ServiceEvent.ServiceChangedEvent) event;
+        Service service = changedEvent.getService();
+        if (!PushConfig.getInstance().isIncrementalPushData()) {
+            // Changes are not tracked, drop the snapshot to avoid applying partial changes if enabled later.
+            incrementalInstances.remove(service);
+            return;
+        }
+        IncrementalServiceInstances instances = incrementalInstances.get(service);
+        if (null != instances) {
+            instances.markChanged(changedEvent.getChangedClientId());
+        }
     }
     
     private ServiceInfo emptyServiceInfo(Service service) {
@@ -131,4 +195,62 @@ public class ServiceStorage {
         metadata.ifPresent(instanceMetadata -> InstanceUtil.updateInstanceMetadata(result, instanceMetadata));
         return result;
     }
+    
+    private Map<String, Instance> getAllInstancesByClient(Service service) {
+        Collection<String> clients = serviceIndexesManager.getAllClientsRegisteredService(service);
+        Map<String, Instance> result = new HashMap<>(clients.size());
+        for (String each : clients) {
+            getInstanceInfo(each, service).ifPresent(info -> result.put(each, parseInstance(service, info)));
+        }
+        return result;
+    }
+    
+    /**
+     * Instances of one service which are maintained by the changed clients.
+     */
+    private class IncrementalServiceInstances {
+        
+        private final Set<String> changedClients = new ConcurrentHashSet<>();
+        
+        private final AtomicBoolean needRebuild = new AtomicBoolean(true);
+        
+        private volatile ServiceInstancesSnapshot snapshot;
+        
+        private void markChanged(String clientId) {
+            if (null == clientId) {
+                needRebuild.set(true);
+            } else {
+                changedClients.add(clientId);
+            }
+        }
+        
+        private synchronized ServiceInstancesSnapshot refresh(Service service) {
+            long revision = null == snapshot ? 0L : snapshot.getRevision();
+            if (needRebuild.getAndSet(false)) {
+                changedClients.clear();
+                snapshot = new ServiceInstancesSnapshot(revision + 1, getAllInstancesByClient(service));
+                return snapshot;
+            }
+            if (changedClients.isEmpty()) {
+                return snapshot;
+            }
+            Collection<String> clients = new LinkedList<>();
+            Iterator<String> iterator = changedClients.iterator();
+            while (iterator.hasNext()) {
+                clients.add(iterator.next());
+                iterator.remove();
+            }
+            Map<String, Instance> instances = new HashMap<>(snapshot.getInstances());
+            for (String each : clients) {
+                Optional<InstancePublishInfo> instancePublishInfo = getInstanceInfo(each, service);
+                if (instancePublishInfo.isPresent()) {
+                    instances.put(each, parseInstance(service, instancePublishInfo.get()));
+                } else {
+                    instances.remove(each);
+                }
+            }
+            snapshot = new ServiceInstancesSnapshot(revision + 1, instances);
+            return snapshot;
+        }
+    }
 }
@@ -17,6 +17,8 @@
 package com.alibaba.nacos.naming.healthcheck;
 
 import com.alibaba.nacos.naming.healthcheck.heartbeat.BeatCheckTask;
+import com.alibaba.nacos.naming.healthcheck.heartbeat.ClientBeatCheckEngine;
+import com.alibaba.nacos.naming.healthcheck.heartbeat.ClientBeatCheckTaskV2;
 import com.alibaba.nacos.naming.healthcheck.interceptor.HealthCheckTaskInterceptWrapper;
 import com.alibaba.nacos.naming.healthcheck.v2.HealthCheckTaskV2;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
@@ -62,9 +64,15 @@ public class HealthCheckReactor {
     /**
      * Schedule client beat check task with a delay.
      *
+     * <p>Beat check tasks of v2 clients are checked by {@link ClientBeatCheckEngine} instead of one scheduled future.
+     *
      * @param task client beat check task
      */
     public static void scheduleCheck(BeatCheckTask task) {
+        if (task instanceof ClientBeatCheckTaskV2) {
+            ClientBeatCheckEngine.getInstance().register((ClientBeatCheckTaskV2) task);
+            return;
+        }
         Runnable wrapperTask =
                 task instanceof NacosHealthCheckTask ? new HealthCheckTaskInterceptWrapper((NacosHealthCheckTask) task)
                         : task;
@@ -78,6 +86,10 @@ public class HealthCheckReactor {
      * @param task client beat check task
      */
     public static void cancelCheck(BeatCheckTask task) {
+        if (task instanceof ClientBeatCheckTaskV2) {
+            ClientBeatCheckEngine.getInstance().deregister((ClientBeatCheckTaskV2) task);
+            return;
+        }
         ScheduledFuture scheduledFuture = futureMap.get(task.taskKey());
         if (scheduledFuture == null) {
             return;
@@ -0,0 +1,44 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck;
+
+import com.alibaba.nacos.common.task.AbstractDelayTask;
+
+/**
+ * Timeout of health check kept in {@link com.alibaba.nacos.common.task.engine.DelayTaskTimingWheel}.
+ *
+ * <p>The timeout expires at a fixed deadline judged by the time the wheel is advanced to, so it is always ready to
+ * process once expired, and can be cancelled by removing it from the wheel at any time.
+ *
+ * @author nacos
+ */
+public class HealthCheckTimeoutTask extends AbstractDelayTask {
+    
+    public HealthCheckTimeoutTask(long deadline) {
+        setLastProcessTime(deadline);
+        setTaskInterval(0L);
+    }
+    
+    @Override
+    public void merge(AbstractDelayTask task) {
+    }
+    
+    @Override
+    public boolean shouldProcess() {
+        return true;
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck;
+
+import com.alibaba.nacos.common.task.engine.DelayTaskTimingWheel;
+import com.alibaba.nacos.naming.misc.GlobalExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.alibaba.nacos.naming.misc.Loggers.SRV_LOG;
+
+/**
+ * Tcp health check engine shared by tcp health check processors.
+ *
+ * <p>The engine has one worker with its own selector per core, probes are sharded to workers by target. Each worker
+ * connects the submitted probes, finishes the connectable ones and expires the timeout ones by a {@link
+ * DelayTaskTimingWheel} in its own thread, and the results of one round are called back in one batch by the super
+ * sense executor. An idle worker blocks in select until a probe is submitted or the nearest timeout is due.
+ *
+ * @author nacos
+ */
+@Component
+public class TcpHealthCheckEngine {
+    
+    private static final long TICK_MILLIS = 10L;
+    
+    private static final long MAX_WAIT_TIME_MILLISECONDS = 500L;
+    
+    private final Worker[] workers;
+    
+    public TcpHealthCheckEngine() {
+        workers = new Worker[GlobalExecutor.TCP_CHECK_WORKER_COUNT];
+        try {
+            for (int i = 0; i < workers.length; i++) {
+                workers[i] = new Worker();
+                GlobalExecutor.submitTcpCheck(workers[i]);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Error while initializing tcp health check engine.", e);
+        }
+    }
+    
+    /**
+     * Submit a probe, the result will be called back asynchronously.
+     *
+     * @param probe tcp probe
+     */
+    public void submit(TcpHealthCheckProbe probe) {
+        int hash = probe.getIp().hashCode() * 31 + probe.getPort();
+        workers[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % workers.length].submit(probe);
+    }
+    
+    private static void close(SelectionKey key) {
+        try {
+            key.cancel();
+            key.channel().close();
+        } catch (Exception ignore) {
+        }
+    }
+    
+    private static class Worker implements Runnable {
+        
+        private final Selector selector;
+        
+        private final Queue<TcpHealthCheckProbe> pending = new ConcurrentLinkedQueue<>();
+        
+        private final AtomicBoolean wakenUp = new AtomicBoolean(false);
+        
+        private final DelayTaskTimingWheel timeouts = new DelayTaskTimingWheel(1, TICK_MILLIS);
+        
+        private List<TcpHealthCheckProbe> finished = new ArrayList<>();
+        
+        private Worker() throws Exception {
+            selector = Selector.open();
+        }
+        
+        private void submit(TcpHealthCheckProbe probe) {
+            pending.offer(probe);
+            if (wakenUp.compareAndSet(false, true)) {
+                selector.wakeup();
+            }
+        }
+        
+        @Override
+        public void run() {
+            while (true) {
+                try {
+                    wakenUp.set(false);
+                    select();
+                    processSelectedKeys();
+                    connectPending();
+                    expireTimeouts();
+                    flushFinished();
+                } catch (Throwable e) {
+                    SRV_LOG.error("[HEALTH-CHECK] error while processing NIO task", e);
+                }
+            }
+        }
+        
+        private void select() throws IOException {
+            if (!pending.isEmpty()) {
+                selector.selectNow();
+                return;
+            }
+            long nextExpireTime = timeouts.getNextExpireTime();
+            if (Long.MAX_VALUE == nextExpireTime) {
+                // no probe in flight, wait for new probes.
+                selector.select();
+                return;
+            }
+            long waitMillis = nextExpireTime - System.currentTimeMillis();
+            if (waitMillis > 0) {
+                selector.select(waitMillis);
+            } else {
+                selector.selectNow();
+            }
+        }
+        
+        private void processSelectedKeys() {
+            Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+            while (iterator.hasNext()) {
+                SelectionKey key = iterator.next();
+                iterator.remove();
+                TcpHealthCheckProbe probe = (TcpHealthCheckProbe) key.attachment();
+                try {
+                    if (!key.isValid() || !key.isConnectable() || !((SocketChannel) key.channel()).finishConnect()) {
+                        continue;
+                    }
+                    probe.finish(TcpHealthCheckProbe.RESULT_SUCCESS, System.currentTimeMillis() - probe.startTime,
+                            "tcp:ok+");
+                } catch (ConnectException e) {
+                    // unable to connect, possibly port not opened
+                    probe.finish(TcpHealthCheckProbe.RESULT_UNABLE_TO_CONNECT, 0L,
+                            "tcp:unable2connect:" + e.getMessage());
+                } catch (Exception e) {
+                    probe.finish(TcpHealthCheckProbe.RESULT_ERROR, 0L, "tcp:error:" + e.getMessage());
+                }
+                // the connection is only used to check, close it as soon as connected.
+                close(key);
+                timeouts.removeTask(probe);
+                finished.add(probe);
+            }
+        }
+        
+        private void connectPending() {
+            // probes submitted during this round are left to next round.
+            int count = pending.size();
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < count; i++) {
+                TcpHealthCheckProbe probe = pending.poll();
+                if (null == probe) {
+                    return;
+                }
+                long waited = now - probe.getSubmitTime();
+                if (waited > MAX_WAIT_TIME_MILLISECONDS) {
+                    SRV_LOG.warn("beat task waited too long: " + waited + "ms");
+                }
+                connect(probe, now);
+            }
+        }
+        
+        private void connect(TcpHealthCheckProbe probe, long now) {
+            SocketChannel channel = null;
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                // only by setting this can we make the socket close event asynchronous
+                channel.socket().setSoLinger(false, -1);
+                channel.socket().setReuseAddress(true);
+                channel.socket().setTcpNoDelay(true);
+                probe.startTime = now;
+                if (channel.connect(new InetSocketAddress(probe.getIp(), probe.getPort()))) {
+                    channel.close();
+                    probe.finish(TcpHealthCheckProbe.RESULT_SUCCESS, System.currentTimeMillis() - now, "tcp:ok+");
+                    finished.add(probe);
+                    return;
+                }
+                probe.key = channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                timeouts.addTask(probe, new HealthCheckTimeoutTask(now + probe.getTimeoutMillis()));
+            } catch (ConnectException e) {
+                closeChannel(channel);
+                probe.finish(TcpHealthCheckProbe.RESULT_UNABLE_TO_CONNECT, 0L, "tcp:unable2connect:" + e.getMessage());
+                finished.add(probe);
+            } catch (Exception e) {
+                closeChannel(channel);
+                probe.finish(TcpHealthCheckProbe.RESULT_ERROR, 0L, "tcp:error:" + e.getMessage());
+                finished.add(probe);
+            }
+        }
+        
+        private void closeChannel(SocketChannel channel) {
+            if (null != channel) {
+                try {
+                    channel.close();
+                } catch (Exception ignore) {
+                }
+            }
+        }
+        
+        private void expireTimeouts() {
+            if (timeouts.isEmpty()) {
+                return;
+            }
+            timeouts.pollExpiredTasks((key, task) -> {
+                TcpHealthCheckProbe probe = (TcpHealthCheckProbe) key;
+                if (probe.isFinished()) {
+                    return;
+                }
+                close(probe.key);
+                probe.finish(TcpHealthCheckProbe.RESULT_TIMEOUT, 0L, "tcp:timeout");
+                finished.add(probe);
+            });
+        }
+        
+        private void flushFinished() {
+            if (finished.isEmpty()) {
+                return;
+            }
+            final List<TcpHealthCheckProbe> batch = finished;
+            finished = new ArrayList<>();
+            GlobalExecutor.executeTcpSuperSense(() -> {
+                for (TcpHealthCheckProbe each : batch) {
+                    try {
+                        each.callback();
+                    } catch (Throwable e) {
+                        SRV_LOG.error("[HEALTH-CHECK] error while finishing tcp check of {}:{}", each.getIp(),
+                                each.getPort(), e);
+                    }
+                }
+            });
+        }
+    }
+}
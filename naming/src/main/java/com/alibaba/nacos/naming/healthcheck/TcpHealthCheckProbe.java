@@ -0,0 +1,132 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck;
+
+import java.nio.channels.SelectionKey;
+
+/**
+ * One tcp connect probe executed by {@link TcpHealthCheckEngine}.
+ *
+ * <p>The result callbacks of probes finished in one round of engine worker are called in one batch.
+ *
+ * @author nacos
+ */
+public abstract class TcpHealthCheckProbe {
+    
+    static final int RESULT_SUCCESS = 1;
+    
+    static final int RESULT_UNABLE_TO_CONNECT = 2;
+    
+    static final int RESULT_ERROR = 3;
+    
+    static final int RESULT_TIMEOUT = 4;
+    
+    private final String ip;
+    
+    private final int port;
+    
+    private final long timeoutMillis;
+    
+    private final long submitTime = System.currentTimeMillis();
+    
+    /**
+     * fields below are only accessed by the engine worker before the probe finished.
+     */
+    SelectionKey key;
+    
+    long startTime = submitTime;
+    
+    int result;
+    
+    long rt;
+    
+    String message;
+    
+    protected TcpHealthCheckProbe(String ip, int port, long timeoutMillis) {
+        this.ip = ip;
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    public String getIp() {
+        return ip;
+    }
+    
+    public int getPort() {
+        return port;
+    }
+    
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+    
+    public long getSubmitTime() {
+        return submitTime;
+    }
+    
+    public long getStartTime() {
+        return startTime;
+    }
+    
+    boolean isFinished() {
+        return 0 != result;
+    }
+    
+    void finish(int result, long rt, String message) {
+        this.result = result;
+        this.rt = rt;
+        this.message = message;
+        this.key = null;
+    }
+    
+    void callback() {
+        switch (result) {
+            case RESULT_SUCCESS:
+                onSuccess(rt);
+                break;
+            case RESULT_UNABLE_TO_CONNECT:
+                onFail(true, message);
+                break;
+            case RESULT_TIMEOUT:
+                onTimeout();
+                break;
+            default:
+                onFail(false, message);
+                break;
+        }
+    }
+    
+    /**
+     * Called when connected to target.
+     *
+     * @param rt connect response time
+     */
+    protected abstract void onSuccess(long rt);
+    
+    /**
+     * Called when failed to connect to target.
+     *
+     * @param now whether the target is unable to connect, such as port not opened
+     * @param msg fail message
+     */
+    protected abstract void onFail(boolean now, String msg);
+    
+    /**
+     * Called when connect is not finished before timeout.
+     */
+    protected abstract void onTimeout();
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck.heartbeat;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.common.task.engine.DelayTaskTimingWheel;
+import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
+import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.healthcheck.HealthCheckTimeoutTask;
+import com.alibaba.nacos.naming.healthcheck.interceptor.HealthCheckTaskInterceptWrapper;
+import com.alibaba.nacos.naming.misc.GlobalConfig;
+import com.alibaba.nacos.naming.misc.GlobalExecutor;
+import com.alibaba.nacos.naming.misc.Loggers;
+import com.alibaba.nacos.naming.monitor.MetricsMonitor;
+import com.alibaba.nacos.sys.utils.ApplicationUtils;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Beat check engine of ephemeral clients for version 2.x.
+ *
+ * <p>All beat check tasks are kept in one {@link DelayTaskTimingWheel} with the deadline of the earliest instance beat
+ * timeout of the client, and the wheel is advanced by one task of naming health executor. A client is only touched
+ * when its deadline is reached: the deadline is computed again from the latest beats, and the beat check task is only
+ * run if some instance has really timed out. Then the client is put back to the wheel with its next deadline.
+ *
+ * @author nacos
+ */
+public class ClientBeatCheckEngine implements Runnable {
+    
+    private static final long TICK_MILLIS = 500L;
+    
+    /**
+     * Delay of the first check and of the check again for the still timeout clients, same as the period of old task.
+     */
+    private static final long RECHECK_DELAY_MILLIS = 5000L;
+    
+    /**
+     * Max delay of two checks, so that the timeout changed by metadata takes effect in time.
+     */
+    private static final long MAX_CHECK_DELAY_MILLIS = Constants.DEFAULT_HEART_BEAT_TIMEOUT;
+    
+    private static final ClientBeatCheckEngine INSTANCE = new ClientBeatCheckEngine(System.currentTimeMillis(),
+            MetricsMonitor.getClientBeatCheckMonitor(), MetricsMonitor.getClientBeatExpiredMonitor());
+    
+    static {
+        GlobalExecutor.scheduleNamingHealth(INSTANCE, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+    
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    
+    private final Queue<Entry> pending = new ConcurrentLinkedQueue<>();
+    
+    private final DelayTaskTimingWheel wheel;
+    
+    private final UnhealthyInstanceChecker unhealthyChecker = new UnhealthyInstanceChecker();
+    
+    private final ExpiredInstanceChecker expiredChecker = new ExpiredInstanceChecker();
+    
+    /**
+     * Count of clients touched by the engine.
+     */
+    private final AtomicLong checkCount;
+    
+    /**
+     * Count of clients really timeout and checked by beat check task.
+     */
+    private final AtomicLong expiredCount;
+    
+    ClientBeatCheckEngine(long startTime, AtomicLong checkCount, AtomicLong expiredCount) {
+        this.wheel = new DelayTaskTimingWheel(1, TICK_MILLIS, startTime);
+        this.checkCount = checkCount;
+        this.expiredCount = expiredCount;
+    }
+    
+    public static ClientBeatCheckEngine getInstance() {
+        return INSTANCE;
+    }
+    
+    /**
+     * Register client beat check task, the task with same key will be ignored.
+     *
+     * @param task client beat check task
+     */
+    public void register(ClientBeatCheckTaskV2 task) {
+        Entry entry = new Entry(task);
+        if (null == entries.putIfAbsent(task.taskKey(), entry)) {
+            pending.offer(entry);
+        }
+    }
+    
+    /**
+     * Deregister client beat check task.
+     *
+     * @param task client beat check task
+     */
+    public void deregister(ClientBeatCheckTaskV2 task) {
+        Entry entry = entries.remove(task.taskKey());
+        if (null != entry) {
+            entry.cancelled = true;
+        }
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    @Override
+    public void run() {
+        try {
+            tick(System.currentTimeMillis());
+        } catch (Throwable e) {
+            Loggers.SRV_LOG.error("[CLIENT-BEAT] error while checking client beat", e);
+        }
+    }
+    
+    /**
+     * Advance the engine to now, must not be called concurrently.
+     *
+     * @param now current time in millis
+     */
+    void tick(long now) {
+        // tasks registered during this round are left to next round.
+        int count = pending.size();
+        for (int i = 0; i < count; i++) {
+            Entry entry = pending.poll();
+            if (null == entry) {
+                break;
+            }
+            schedule(entry, now + RECHECK_DELAY_MILLIS);
+        }
+        if (wheel.isEmpty()) {
+            return;
+        }
+        wheel.pollExpiredTasks(now, (key, task) -> {
+            Entry entry = (Entry) key;
+            if (!entry.cancelled) {
+                check(entry, now);
+            }
+        });
+    }
+    
+    private void schedule(Entry entry, long deadline) {
+        wheel.addTask(entry, new HealthCheckTimeoutTask(deadline));
+    }
+    
+    private void check(Entry entry, long now) {
+        checkCount.incrementAndGet();
+        IpPortBasedClient client = entry.task.getClient();
+        long deadline = now;
+        try {
+            deadline = computeDeadline(client, now);
+            if (deadline <= now) {
+                expiredCount.incrementAndGet();
+                entry.checker.run();
+                deadline = computeDeadline(client, now);
+            }
+        } catch (Exception e) {
+            Loggers.SRV_LOG.warn("Exception while checking client beat of {}.", client.getClientId(), e);
+        }
+        // the instances skipped by interceptors are still timeout, check them again as the old task did.
+        schedule(entry, deadline <= now ? now + RECHECK_DELAY_MILLIS : deadline);
+    }
+    
+    /**
+     * Compute the next time some instance of client may be changed by beat checkers.
+     */
+    private long computeDeadline(IpPortBasedClient client, long now) {
+        long result = now + MAX_CHECK_DELAY_MILLIS;
+        if (InstanceBeatCheckTask.hasExtendCheckers()) {
+            result = now + RECHECK_DELAY_MILLIS;
+        }
+        boolean expireInstance = ApplicationUtils.getBean(GlobalConfig.class).isExpireInstance();
+        boolean hasInstance = false;
+        for (Service each : client.getAllPublishedService()) {
+            HealthCheckInstancePublishInfo instance = (HealthCheckInstancePublishInfo) client
+                    .getInstancePublishInfo(each);
+            if (null == instance) {
+                continue;
+            }
+            hasInstance = true;
+            long lastBeat = instance.getLastHeartBeatTime();
+            // checkers judge timeout by `now - lastBeat > timeout`.
+            if (instance.isHealthy()) {
+                result = Math.min(result, lastBeat + unhealthyChecker.getTimeout(each, instance) + 1);
+            }
+            if (expireInstance) {
+                result = Math.min(result, lastBeat + expiredChecker.getTimeout(each, instance) + 1);
+            }
+        }
+        // instances published later should be checked as soon as the old task did.
+        return hasInstance ? result : Math.min(result, now + RECHECK_DELAY_MILLIS);
+    }
+    
+    private static class Entry {
+        
+        private final ClientBeatCheckTaskV2 task;
+        
+        private final Runnable checker;
+        
+        private volatile boolean cancelled;
+        
+        private Entry(ClientBeatCheckTaskV2 task) {
+            this.task = task;
+            this.checker = new HealthCheckTaskInterceptWrapper(task);
+        }
+    }
+}
@@ -57,7 +57,7 @@ public class ExpiredInstanceChecker implements InstanceBeatChecker {
         return System.currentTimeMillis() - instance.getLastHeartBeatTime() > deleteTimeout;
     }
     
-    private long getTimeout(Service service, InstancePublishInfo instance) {
+    long getTimeout(Service service, InstancePublishInfo instance) {
         Optional<Object> timeout = getTimeoutFromMetadata(service, instance);
         if (!timeout.isPresent()) {
             timeout = Optional.ofNullable(instance.getExtendDatum().get(PreservedMetadataKeys.IP_DELETE_TIMEOUT));
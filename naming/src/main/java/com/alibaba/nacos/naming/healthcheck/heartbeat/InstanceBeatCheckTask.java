@@ -22,6 +22,7 @@ import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.interceptor.Interceptable;
 
+import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -34,6 +35,8 @@ public class InstanceBeatCheckTask implements Interceptable {
     
     private static final List<InstanceBeatChecker> CHECKERS = new LinkedList<>();
     
+    private static boolean hasExtendCheckers;
+    
     private final IpPortBasedClient client;
     
     private final Service service;
@@ -43,7 +46,9 @@ public class InstanceBeatCheckTask implements Interceptable {
     static {
         CHECKERS.add(new UnhealthyInstanceChecker());
         CHECKERS.add(new ExpiredInstanceChecker());
-        CHECKERS.addAll(NacosServiceLoader.load(InstanceBeatChecker.class));
+        Collection<InstanceBeatChecker> extendCheckers = NacosServiceLoader.load(InstanceBeatChecker.class);
+        CHECKERS.addAll(extendCheckers);
+        hasExtendCheckers = !extendCheckers.isEmpty();
     }
     
     public InstanceBeatCheckTask(IpPortBasedClient client, Service service, HealthCheckInstancePublishInfo instancePublishInfo) {
@@ -63,6 +68,15 @@ public class InstanceBeatCheckTask implements Interceptable {
     public void afterIntercept() {
     }
     
+    /**
+     * Whether there are checkers loaded by SPI, the time they need to check can't be inferred from beat timeout.
+     *
+     * @return {@code true} if there are extend checkers
+     */
+    static boolean hasExtendCheckers() {
+        return hasExtendCheckers;
+    }
+    
     public IpPortBasedClient getClient() {
         return client;
     }
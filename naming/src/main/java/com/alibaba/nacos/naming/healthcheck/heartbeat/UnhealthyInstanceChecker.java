@@ -55,7 +55,7 @@ public class UnhealthyInstanceChecker implements InstanceBeatChecker {
         return System.currentTimeMillis() - instance.getLastHeartBeatTime() > beatTimeout;
     }
     
-    private long getTimeout(Service service, InstancePublishInfo instance) {
+    long getTimeout(Service service, InstancePublishInfo instance) {
         Optional<Object> timeout = getTimeoutFromMetadata(service, instance);
         if (!timeout.isPresent()) {
             timeout = Optional.ofNullable(instance.getExtendDatum().get(PreservedMetadataKeys.HEART_BEAT_TIMEOUT));
@@ -75,7 +75,7 @@ public class UnhealthyInstanceChecker implements InstanceBeatChecker {
                 .info("{POS} {IP-DISABLED} valid: {}:{}@{}@{}, region: {}, msg: client last beat: {}", instance.getIp(),
                         instance.getPort(), instance.getCluster(), service.getName(), UtilsAndCommons.LOCALHOST_SITE,
                         instance.getLastHeartBeatTime());
-        NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service));
+        NotifyCenter.publishEvent(new ServiceEvent.ServiceChangedEvent(service, client.getClientId(), false));
         NotifyCenter.publishEvent(new ClientEvent.ClientChangedEvent(client));
     }
 }
@@ -22,11 +22,7 @@ import com.alibaba.nacos.core.utils.ClassUtils;
 import com.alibaba.nacos.naming.NamingApp;
 import com.alibaba.nacos.sys.env.EnvUtil;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -51,6 +47,13 @@ public class GlobalExecutor {
     
     public static final int DEFAULT_THREAD_COUNT = EnvUtil.getAvailableProcessors(0.5);
     
+    /**
+     * one tcp check worker with its own selector per core.
+     */
+    public static final int TCP_CHECK_WORKER_COUNT = Integer
+            .max(Integer.getInteger("com.alibaba.nacos.naming.tcp.check.worker.num", EnvUtil.getAvailableProcessors()),
+                    1);
+    
     private static final ScheduledExecutorService NAMING_TIMER_EXECUTOR = ExecutorFactory.Managed
             .newScheduledExecutorService(ClassUtils.getCanonicalName(NamingApp.class),
                     EnvUtil.getAvailableProcessors(2), new NameThreadFactory("com.alibaba.nacos.naming.timer"));
@@ -116,7 +119,7 @@ public class GlobalExecutor {
                     new NameThreadFactory("com.alibaba.nacos.naming.supersense.checker"));
     
     private static final ExecutorService TCP_CHECK_EXECUTOR = ExecutorFactory.Managed
-            .newFixedExecutorService(ClassUtils.getCanonicalName(NamingApp.class), 2,
+            .newFixedExecutorService(ClassUtils.getCanonicalName(NamingApp.class), TCP_CHECK_WORKER_COUNT,
                     new NameThreadFactory("com.alibaba.nacos.naming.tcp.check.worker"));
     
     private static final ScheduledExecutorService NAMING_HEALTH_EXECUTOR = ExecutorFactory.Managed
@@ -251,19 +254,10 @@ public class GlobalExecutor {
         TCP_CHECK_EXECUTOR.submit(runnable);
     }
     
-    public static <T> List<Future<T>> invokeAllTcpSuperSenseTask(Collection<? extends Callable<T>> tasks)
-            throws InterruptedException {
-        return TCP_SUPER_SENSE_EXECUTOR.invokeAll(tasks);
-    }
-    
     public static void executeTcpSuperSense(Runnable runnable) {
         TCP_SUPER_SENSE_EXECUTOR.execute(runnable);
     }
     
-    public static void scheduleTcpSuperSenseTask(Runnable runnable, long delay, TimeUnit unit) {
-        TCP_SUPER_SENSE_EXECUTOR.schedule(runnable, delay, unit);
-    }
-    
     public static ScheduledFuture<?> scheduleNamingHealth(Runnable command, long delay, TimeUnit unit) {
         return NAMING_HEALTH_EXECUTOR.schedule(command, delay, unit);
     }
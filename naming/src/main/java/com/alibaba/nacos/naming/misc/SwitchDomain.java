@@ -56,6 +56,18 @@ public class SwitchDomain implements Record, Cloneable {
     
     private boolean distroEnabled = true;
     
+    /**
+     * Whether distro responsibility is judged by consistent hash ring instead of hash modulo server count. All servers
+     * must use the same mode.
+     */
+    private boolean distroConsistentHashEnabled = false;
+    
+    /**
+     * Whether v1 service status is reported and compared by instance hash checksum instead of MD5 checksum. All servers
+     * must use the same mode.
+     */
+    private boolean instanceHashChecksumEnabled = false;
+    
     private boolean enableStandalone = true;
     
     private boolean pushEnabled = true;
@@ -247,6 +259,22 @@ public class SwitchDomain implements Record, Cloneable {
         this.distroEnabled = distroEnabled;
     }
     
+    public boolean isDistroConsistentHashEnabled() {
+        return distroConsistentHashEnabled;
+    }
+    
+    public void setDistroConsistentHashEnabled(boolean distroConsistentHashEnabled) {
+        this.distroConsistentHashEnabled = distroConsistentHashEnabled;
+    }
+    
+    public boolean isInstanceHashChecksumEnabled() {
+        return instanceHashChecksumEnabled;
+    }
+    
+    public void setInstanceHashChecksumEnabled(boolean instanceHashChecksumEnabled) {
+        this.instanceHashChecksumEnabled = instanceHashChecksumEnabled;
+    }
+    
     public boolean isPushEnabled() {
         return pushEnabled;
     }
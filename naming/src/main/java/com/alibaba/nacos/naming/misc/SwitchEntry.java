@@ -47,6 +47,10 @@ public class SwitchEntry {
     
     public static final String DISTRO = "distro";
     
+    public static final String DISTRO_CONSISTENT_HASH_ENABLED = "distroConsistentHashEnabled";
+    
+    public static final String INSTANCE_HASH_CHECKSUM_ENABLED = "instanceHashChecksumEnabled";
+    
     public static final String CHECK = "check";
     
     public static final String PUSH_ENABLED = "pushEnabled";
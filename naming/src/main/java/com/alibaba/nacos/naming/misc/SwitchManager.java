@@ -292,6 +292,14 @@ public class SwitchManager implements RecordListener<SwitchDomain> {
                 switchDomain.setDoubleWriteEnabled(ConvertUtils.toBoolean(value));
             }
             
+            if (entry.equals(SwitchEntry.DISTRO_CONSISTENT_HASH_ENABLED)) {
+                switchDomain.setDistroConsistentHashEnabled(ConvertUtils.toBoolean(value));
+            }
+            
+            if (entry.equals(SwitchEntry.INSTANCE_HASH_CHECKSUM_ENABLED)) {
+                switchDomain.setInstanceHashChecksumEnabled(ConvertUtils.toBoolean(value));
+            }
+            
             if (debug) {
                 update(switchDomain);
             } else {
@@ -343,6 +351,8 @@ public class SwitchManager implements RecordListener<SwitchDomain> {
         switchDomain.setDefaultInstanceEphemeral(newSwitchDomain.isDefaultInstanceEphemeral());
         switchDomain.setLightBeatEnabled(newSwitchDomain.isLightBeatEnabled());
         switchDomain.setDoubleWriteEnabled(newSwitchDomain.isDoubleWriteEnabled());
+        switchDomain.setDistroConsistentHashEnabled(newSwitchDomain.isDistroConsistentHashEnabled());
+        switchDomain.setInstanceHashChecksumEnabled(newSwitchDomain.isInstanceHashChecksumEnabled());
     }
     
     public SwitchDomain getSwitchDomain() {
@@ -43,6 +43,10 @@ public class MetricsMonitor {
     
     private final AtomicInteger tcpHealthCheck = new AtomicInteger();
     
+    private final AtomicLong clientBeatCheck = new AtomicLong();
+    
+    private final AtomicLong clientBeatExpired = new AtomicLong();
+    
     private final AtomicInteger serviceCount = new AtomicInteger();
     
     private final AtomicInteger ipCount = new AtomicInteger();
@@ -95,6 +99,14 @@ public class MetricsMonitor {
         return INSTANCE.tcpHealthCheck;
     }
     
+    public static AtomicLong getClientBeatCheckMonitor() {
+        return INSTANCE.clientBeatCheck;
+    }
+    
+    public static AtomicLong getClientBeatExpiredMonitor() {
+        return INSTANCE.clientBeatExpired;
+    }
+    
     public static AtomicInteger getDomCountMonitor() {
         return INSTANCE.serviceCount;
     }
@@ -184,6 +196,8 @@ public class MetricsMonitor {
         getHttpHealthCheckMonitor().set(0);
         getMysqlHealthCheckMonitor().set(0);
         getTcpHealthCheckMonitor().set(0);
+        getClientBeatCheckMonitor().set(0);
+        getClientBeatExpiredMonitor().set(0);
     }
     
     /**
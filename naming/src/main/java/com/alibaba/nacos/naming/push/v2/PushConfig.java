@@ -37,6 +37,12 @@ public class PushConfig extends AbstractDynamicConfig {
     
     private long pushTaskRetryDelay = PushConstants.DEFAULT_PUSH_TASK_RETRY_DELAY;
     
+    private boolean incrementalPushData = PushConstants.DEFAULT_INCREMENTAL_PUSH_DATA;
+    
+    private boolean deltaPush = PushConstants.DEFAULT_DELTA_PUSH;
+    
+    private int deltaPushHistorySize = PushConstants.DEFAULT_DELTA_PUSH_HISTORY_SIZE;
+    
     private PushConfig() {
         super(PUSH);
     }
@@ -49,12 +55,18 @@ public class PushConfig extends AbstractDynamicConfig {
                 .getProperty(PushConstants.PUSH_TASK_TIMEOUT, Long.class, PushConstants.DEFAULT_PUSH_TASK_TIMEOUT);
         pushTaskRetryDelay = EnvUtil.getProperty(PushConstants.PUSH_TASK_RETRY_DELAY, Long.class,
                 PushConstants.DEFAULT_PUSH_TASK_RETRY_DELAY);
+        incrementalPushData = EnvUtil.getProperty(PushConstants.INCREMENTAL_PUSH_DATA, Boolean.class,
+                PushConstants.DEFAULT_INCREMENTAL_PUSH_DATA);
+        deltaPush = EnvUtil.getProperty(PushConstants.DELTA_PUSH, Boolean.class, PushConstants.DEFAULT_DELTA_PUSH);
+        deltaPushHistorySize = EnvUtil.getProperty(PushConstants.DELTA_PUSH_HISTORY_SIZE, Integer.class,
+                PushConstants.DEFAULT_DELTA_PUSH_HISTORY_SIZE);
     }
     
     @Override
     protected String printConfig() {
         return "PushConfig{" + "pushTaskDelay=" + pushTaskDelay + ", pushTaskTimeout=" + pushTaskTimeout
-                + ", pushTaskRetryDelay=" + pushTaskRetryDelay + '}';
+                + ", pushTaskRetryDelay=" + pushTaskRetryDelay + ", incrementalPushData=" + incrementalPushData
+                + ", deltaPush=" + deltaPush + ", deltaPushHistorySize=" + deltaPushHistorySize + '}';
     }
     
     public static PushConfig getInstance() {
@@ -72,4 +84,16 @@ public class PushConfig extends AbstractDynamicConfig {
     public long getPushTaskRetryDelay() {
         return pushTaskRetryDelay;
     }
+    
+    public boolean isIncrementalPushData() {
+        return incrementalPushData;
+    }
+    
+    public boolean isDeltaPush() {
+        return deltaPush;
+    }
+    
+    public int getDeltaPushHistorySize() {
+        return deltaPushHistorySize;
+    }
 }
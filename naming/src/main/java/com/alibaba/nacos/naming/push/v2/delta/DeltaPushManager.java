@@ -0,0 +1,225 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.delta;
+
+import com.alibaba.nacos.api.ability.ClientAbilities;
+import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
+import com.alibaba.nacos.common.notify.Event;
+import com.alibaba.nacos.common.notify.NotifyCenter;
+import com.alibaba.nacos.common.notify.listener.SmartSubscriber;
+import com.alibaba.nacos.core.remote.Connection;
+import com.alibaba.nacos.core.remote.ConnectionManager;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientEvent;
+import com.alibaba.nacos.naming.core.v2.event.client.ClientOperationEvent;
+import com.alibaba.nacos.naming.core.v2.event.metadata.MetadataEvent;
+import com.alibaba.nacos.naming.core.v2.event.publisher.NamingEventPublisherFactory;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.push.v2.PushConfig;
+import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delta push manager.
+ *
+ * <p>Tracks the push revision last acknowledged by each rpc subscriber, and builds the push request only with changed
+ * instances for the subscriber which supports delta push. Subscribers without acknowledged revision, or whose revision
+ * is out of the push history of service, still receive the full service info.
+ *
+ * @author nacos
+ */
+@Component
+public class DeltaPushManager extends SmartSubscriber {
+    
+    private static final String DELTA_DATA_PREFIX = "delta-";
+    
+    private static final String DELTA_SERVICE_INFO = "delta-serviceInfo";
+    
+    private final ConnectionManager connectionManager;
+    
+    private final AtomicLong revisionGenerator = new AtomicLong();
+    
+    private final ConcurrentMap<Service, ServicePushHistory> pushHistories = new ConcurrentHashMap<>();
+    
+    private final ConcurrentMap<String, ConcurrentMap<Service, Long>> ackedRevisions = new ConcurrentHashMap<>();
+    
+    public DeltaPushManager(ConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+        NotifyCenter.registerSubscriber(this, NamingEventPublisherFactory.getInstance());
+    }
+    
+    /**
+     * Whether the push data can be pushed as delta to the client.
+     *
+     * @param clientId client id
+     * @param data     push data
+     * @return true if delta push enabled and supported by the client
+     */
+    public boolean isDeltaPushSupported(String clientId, PushDataWrapper data) {
+        if (!PushConfig.getInstance().isDeltaPush() || null == data.getService()) {
+            return false;
+        }
+        Connection connection = connectionManager.getConnection(clientId);
+        if (null == connection) {
+            return false;
+        }
+        ClientAbilities abilities = connection.getAbilities();
+        return null != abilities && null != abilities.getNamingAbility() && abilities.getNamingAbility()
+                .isSupportDeltaPush();
+    }
+    
+    /**
+     * Build push request for the client, only the instances changed from the acknowledged revision of client are
+     * included if possible.
+     *
+     * @param clientId client id
+     * @param data     push data
+     * @return push request with revision
+     */
+    public NotifySubscriberRequest buildPushRequest(String clientId, PushDataWrapper data) {
+        long revision = getRevision(data);
+        Long ackedRevision = getAckedRevision(clientId, data.getService());
+        InstancesDelta delta = null == ackedRevision ? null : getDelta(data, ackedRevision);
+        if (null == delta) {
+            NotifySubscriberRequest result = NotifySubscriberRequest.buildSuccessResponse(data.getOriginalData());
+            result.setRevision(revision);
+            return result;
+        }
+        return NotifySubscriberRequest
+                .buildDeltaRequest(getServiceInfoWithoutHosts(data), delta.getBaseRevision(), delta.getRevision(),
+                        delta.getAdded(), delta.getRemoved(), delta.getModified());
+    }
+    
+    /**
+     * Record the revision acknowledged by client.
+     *
+     * @param clientId client id
+     * @param service  service
+     * @param revision revision acknowledged
+     */
+    public void ackRevision(String clientId, Service service, long revision) {
+        ackedRevisions.computeIfAbsent(clientId, key -> new ConcurrentHashMap<>(4)).put(service, revision);
+    }
+    
+    /**
+     * Reset the revision of client, the next push to the client will be a full push.
+     *
+     * @param clientId client id
+     * @param service  service
+     */
+    public void resetRevision(String clientId, Service service) {
+        Map<Service, Long> revisions = ackedRevisions.get(clientId);
+        if (null != revisions) {
+            revisions.remove(service);
+        }
+    }
+    
+    public Long getAckedRevision(String clientId, Service service) {
+        Map<Service, Long> revisions = ackedRevisions.get(clientId);
+        return null == revisions ? null : revisions.get(service);
+    }
+    
+    /**
+     * Get revision of push data, the revision is generated when first used.
+     *
+     * @param data push data
+     * @return revision
+     */
+    private long getRevision(PushDataWrapper data) {
+        if (0L == data.getRevision()) {
+            ServicePushHistory history = pushHistories
+                    .computeIfAbsent(data.getService(), key -> new ServicePushHistory(revisionGenerator));
+            data.setRevision(history.record(data.getOriginalData().getHosts(),
+                    PushConfig.getInstance().getDeltaPushHistorySize()));
+        }
+        return data.getRevision();
+    }
+    
+    private InstancesDelta getDelta(PushDataWrapper data, long baseRevision) {
+        String key = DELTA_DATA_PREFIX + baseRevision;
+        Optional<InstancesDelta> cached = data.getProcessedPushData(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        ServicePushHistory history = pushHistories.get(data.getService());
+        if (null == history) {
+            return null;
+        }
+        InstancesDelta result = history.diff(baseRevision, data.getRevision());
+        if (null != result) {
+            data.addProcessedPushData(key, result);
+        }
+        return result;
+    }
+    
+    private ServiceInfo getServiceInfoWithoutHosts(PushDataWrapper data) {
+        Optional<ServiceInfo> cached = data.getProcessedPushData(DELTA_SERVICE_INFO);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        ServiceInfo originalData = data.getOriginalData();
+        ServiceInfo result = new ServiceInfo();
+        result.setName(originalData.getName());
+        result.setGroupName(originalData.getGroupName());
+        result.setClusters(originalData.getClusters());
+        result.setCacheMillis(originalData.getCacheMillis());
+        result.setLastRefTime(originalData.getLastRefTime());
+        result.setChecksum(originalData.getChecksum());
+        result.setAllIPs(originalData.isAllIPs());
+        result.setReachProtectionThreshold(originalData.isReachProtectionThreshold());
+        data.addProcessedPushData(DELTA_SERVICE_INFO, result);
+        return result;
+    }
+    
+    @Override
+    public List<Class<? extends Event>> subscribeTypes() {
+        List<Class<? extends Event>> result = new LinkedList<>();
+        result.add(ClientOperationEvent.ClientUnsubscribeServiceEvent.class);
+        result.add(ClientEvent.ClientDisconnectEvent.class);
+        result.add(MetadataEvent.ServiceMetadataEvent.class);
+        return result;
+    }
+    
+    @Override
+    public void onEvent(Event event) {
+        if (event instanceof ClientOperationEvent.ClientUnsubscribeServiceEvent) {
+            handleUnsubscribeEvent((ClientOperationEvent.ClientUnsubscribeServiceEvent) event);
+        } else if (event instanceof ClientEvent.ClientDisconnectEvent) {
+            ackedRevisions.remove(((ClientEvent.ClientDisconnectEvent) event).getClient().getClientId());
+        } else if (event instanceof MetadataEvent.ServiceMetadataEvent) {
+            handleServiceMetadataEvent((MetadataEvent.ServiceMetadataEvent) event);
+        }
+    }
+    
+    private void handleUnsubscribeEvent(ClientOperationEvent.ClientUnsubscribeServiceEvent event) {
+        resetRevision(event.getClientId(), event.getService());
+    }
+    
+    private void handleServiceMetadataEvent(MetadataEvent.ServiceMetadataEvent event) {
+        if (event.isExpired()) {
+            pushHistories.remove(event.getService());
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.delta;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+
+import java.util.List;
+
+/**
+ * Instances changed between two push revisions of a service.
+ *
+ * @author nacos
+ */
+public class InstancesDelta {
+    
+    private final long baseRevision;
+    
+    private final long revision;
+    
+    private final List<Instance> added;
+    
+    private final List<Instance> removed;
+    
+    private final List<Instance> modified;
+    
+    public InstancesDelta(long baseRevision, long revision, List<Instance> added, List<Instance> removed,
+            List<Instance> modified) {
+        this.baseRevision = baseRevision;
+        this.revision = revision;
+        this.added = added;
+        this.removed = removed;
+        this.modified = modified;
+    }
+    
+    public long getBaseRevision() {
+        return baseRevision;
+    }
+    
+    public long getRevision() {
+        return revision;
+    }
+    
+    public List<Instance> getAdded() {
+        return added;
+    }
+    
+    public List<Instance> getRemoved() {
+        return removed;
+    }
+    
+    public List<Instance> getModified() {
+        return modified;
+    }
+    
+    public int size() {
+        return added.size() + removed.size() + modified.size();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.delta;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import com.alibaba.nacos.api.naming.utils.NamingUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Recent pushed instances of one service, indexed by push revision.
+ *
+ * <p>A new revision is generated only when the pushed instances are different from the latest one, the revisions are
+ * generated by a generator shared by all services so that a revision is never reused even if the service is removed
+ * and created again.
+ *
+ * @author nacos
+ */
+public class ServicePushHistory {
+    
+    private final AtomicLong revisionGenerator;
+    
+    private final LinkedList<PushRevision> revisions = new LinkedList<>();
+    
+    public ServicePushHistory(AtomicLong revisionGenerator) {
+        this.revisionGenerator = revisionGenerator;
+    }
+    
+    /**
+     * Record the instances to push and get the revision of them.
+     *
+     * @param hosts       instances to push
+     * @param historySize max revisions kept
+     * @return revision of the instances
+     */
+    public synchronized long record(List<Instance> hosts, int historySize) {
+        Map<String, Instance> instances = new HashMap<>(hosts.size());
+        for (Instance each : hosts) {
+            instances.put(NamingUtils.getInstanceKey(each), each);
+        }
+        PushRevision latest = revisions.peekLast();
+        if (null != latest && latest.instances.equals(instances)) {
+            return latest.revision;
+        }
+        PushRevision result = new PushRevision(revisionGenerator.incrementAndGet(), instances);
+        revisions.addLast(result);
+        while (revisions.size() > Math.max(1, historySize)) {
+            revisions.removeFirst();
+        }
+        return result.revision;
+    }
+    
+    /**
+     * Compute the changed instances from base revision to target revision.
+     *
+     * @param baseRevision   base revision
+     * @param targetRevision target revision
+     * @return delta of instances, or {@code null} if any revision is not in history
+     */
+    public synchronized InstancesDelta diff(long baseRevision, long targetRevision) {
+        PushRevision base = findRevision(baseRevision);
+        PushRevision target = findRevision(targetRevision);
+        if (null == base || null == target) {
+            return null;
+        }
+        List<Instance> added = new ArrayList<>();
+        List<Instance> modified = new ArrayList<>();
+        for (Map.Entry<String, Instance> entry : target.instances.entrySet()) {
+            Instance baseInstance = base.instances.get(entry.getKey());
+            if (null == baseInstance) {
+                added.add(entry.getValue());
+            } else if (!baseInstance.equals(entry.getValue())) {
+                modified.add(entry.getValue());
+            }
+        }
+        List<Instance> removed = new ArrayList<>();
+        for (Map.Entry<String, Instance> entry : base.instances.entrySet()) {
+            if (!target.instances.containsKey(entry.getKey())) {
+                removed.add(buildRemovedInstance(entry.getValue()));
+            }
+        }
+        return new InstancesDelta(baseRevision, targetRevision, added, removed, modified);
+    }
+    
+    private PushRevision findRevision(long revision) {
+        for (PushRevision each : revisions) {
+            if (each.revision == revision) {
+                return each;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Only the identity of removed instance is required by subscriber.
+     */
+    private Instance buildRemovedInstance(Instance instance) {
+        Instance result = new Instance();
+        result.setIp(instance.getIp());
+        result.setPort(instance.getPort());
+        result.setClusterName(instance.getClusterName());
+        return result;
+    }
+    
+    private static class PushRevision {
+    
+        private final long revision;
+    
+        private final Map<String, Instance> instances;
+    
+        private PushRevision(long revision, Map<String, Instance> instances) {
+            this.revision = revision;
+            this.instances = instances;
+        }
+    }
+}
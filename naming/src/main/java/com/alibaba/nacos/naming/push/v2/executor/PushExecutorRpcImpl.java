@@ -19,9 +19,11 @@ package com.alibaba.nacos.naming.push.v2.executor;
 import com.alibaba.nacos.api.naming.remote.request.NotifySubscriberRequest;
 import com.alibaba.nacos.api.remote.PushCallBack;
 import com.alibaba.nacos.core.remote.RpcPushService;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import com.alibaba.nacos.naming.push.v2.delta.DeltaPushManager;
 import org.springframework.stereotype.Component;
 
 /**
@@ -34,19 +36,72 @@ public class PushExecutorRpcImpl implements PushExecutor {
     
     private final RpcPushService pushService;
     
-    public PushExecutorRpcImpl(RpcPushService pushService) {
+    private final DeltaPushManager deltaPushManager;
+    
+    public PushExecutorRpcImpl(RpcPushService pushService, DeltaPushManager deltaPushManager) {
         this.pushService = pushService;
+        this.deltaPushManager = deltaPushManager;
     }
     
     @Override
     public void doPush(String clientId, Subscriber subscriber, PushDataWrapper data) {
+        if (null != data.getService()) {
+            // push without ack can't be the base of delta push
+            deltaPushManager.resetRevision(clientId, data.getService());
+        }
         pushService.pushWithoutAck(clientId, NotifySubscriberRequest.buildSuccessResponse(data.getOriginalData()));
     }
     
     @Override
     public void doPushWithCallback(String clientId, Subscriber subscriber, PushDataWrapper data,
             PushCallBack callBack) {
-        pushService.pushWithCallback(clientId, NotifySubscriberRequest.buildSuccessResponse(data.getOriginalData()),
-                callBack, GlobalExecutor.getCallbackExecutor());
+        if (!deltaPushManager.isDeltaPushSupported(clientId, data)) {
+            pushService.pushWithCallback(clientId,
+                    NotifySubscriberRequest.buildSuccessResponse(data.getOriginalData()), callBack,
+                    GlobalExecutor.getCallbackExecutor());
+            return;
+        }
+        NotifySubscriberRequest request = deltaPushManager.buildPushRequest(clientId, data);
+        pushService.pushWithCallback(clientId, request,
+                new RevisionAckCallBack(clientId, data.getService(), request.getRevision(), callBack),
+                GlobalExecutor.getCallbackExecutor());
+    }
+    
+    /**
+     * Record the revision acknowledged by client for next delta push.
+     */
+    private class RevisionAckCallBack implements PushCallBack {
+        
+        private final String clientId;
+        
+        private final Service service;
+        
+        private final long revision;
+        
+        private final PushCallBack delegate;
+        
+        private RevisionAckCallBack(String clientId, Service service, long revision, PushCallBack delegate) {
+            this.clientId = clientId;
+            this.service = service;
+            this.revision = revision;
+            this.delegate = delegate;
+        }
+        
+        @Override
+        public long getTimeout() {
+            return delegate.getTimeout();
+        }
+        
+        @Override
+        public void onSuccess() {
+            deltaPushManager.ackRevision(clientId, service, revision);
+            delegate.onSuccess();
+        }
+        
+        @Override
+        public void onFail(Throwable e) {
+            deltaPushManager.resetRevision(clientId, service);
+            delegate.onFail(e);
+        }
     }
 }
@@ -18,6 +18,7 @@ package com.alibaba.nacos.naming.push.v2.task;
 
 import com.alibaba.nacos.common.task.NacosTask;
 import com.alibaba.nacos.common.task.NacosTaskProcessor;
+import com.alibaba.nacos.common.task.engine.DelayTaskTimingWheel;
 import com.alibaba.nacos.common.task.engine.NacosDelayTaskExecuteEngine;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManager;
 import com.alibaba.nacos.naming.core.v2.index.ClientServiceIndexesManager;
@@ -51,7 +52,8 @@ public class PushDelayTaskExecuteEngine extends NacosDelayTaskExecuteEngine {
     public PushDelayTaskExecuteEngine(ClientManager clientManager, ClientServiceIndexesManager indexesManager,
                                       ServiceStorage serviceStorage, NamingMetadataManager metadataManager,
                                       PushExecutor pushExecutor, SwitchDomain switchDomain) {
-        super(PushDelayTaskExecuteEngine.class.getSimpleName(), Loggers.PUSH);
+        super(PushDelayTaskExecuteEngine.class.getSimpleName(), 32, Loggers.PUSH, 100L,
+                DelayTaskTimingWheel.getConfiguredShards());
         this.clientManager = clientManager;
         this.indexesManager = indexesManager;
         this.serviceStorage = serviceStorage;
@@ -18,6 +18,8 @@ package com.alibaba.nacos.naming.consistency.persistent.impl;
 
 import com.alibaba.nacos.core.exception.KvStorageException;
 import com.alibaba.nacos.core.storage.kv.FileKvStorage;
+import com.alibaba.nacos.core.storage.kv.KvStorage;
+import com.alibaba.nacos.naming.consistency.KeyBuilder;
 import com.alibaba.nacos.sys.utils.DiskUtils;
 import junit.framework.TestCase;
 import org.junit.After;
@@ -27,8 +29,11 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.file.Paths;
+import java.util.Arrays;
 
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -60,6 +65,8 @@ public class NamingKvStorageTest extends TestCase {
     @After
     public void tearDown() throws IOException {
         DiskUtils.deleteDirectory("baseDir_test");
+        DiskUtils.deleteDirectory("logDir_test");
+        DiskUtils.deleteDirectory("snapshotDir_test");
     }
     
     @Test
@@ -92,4 +99,34 @@ public class NamingKvStorageTest extends TestCase {
         namingKvStorage.snapshotLoad(str);
         verify(baseDirStorageMock).snapshotLoad(str);
     }
+    
+    @Test
+    public void testLogStorageImportsFileLayout() throws Exception {
+        byte[] switchKey = KeyBuilder.getSwitchDomainKey().getBytes();
+        byte[] serviceKey = KeyBuilder.buildServiceMetaKey("public", "DEFAULT_GROUP@@test").getBytes();
+        NamingKvStorage fileStorage = new NamingKvStorage("logDir_test");
+        fileStorage.put(switchKey, "switch".getBytes());
+        fileStorage.put(serviceKey, "service".getBytes());
+        fileStorage.shutdown();
+        
+        NamingKvStorage logStorage = new NamingKvStorage("logDir_test", KvStorage.KvType.Log);
+        assertTrue(Arrays.equals("switch".getBytes(), logStorage.get(switchKey)));
+        assertTrue(Arrays.equals("service".getBytes(), logStorage.get(serviceKey)));
+        assertFalse(new File("logDir_test", new String(switchKey)).exists());
+        assertFalse(new File(Paths.get("logDir_test", "public").toFile(), new String(serviceKey)).exists());
+        logStorage.shutdown();
+    }
+    
+    @Test
+    public void testLogStorageSnapshot() throws Exception {
+        byte[] serviceKey = KeyBuilder.buildServiceMetaKey("public", "DEFAULT_GROUP@@test").getBytes();
+        NamingKvStorage logStorage = new NamingKvStorage("logDir_test", KvStorage.KvType.Log);
+        logStorage.put(serviceKey, "service".getBytes());
+        logStorage.doSnapshot("snapshotDir_test");
+        logStorage.delete(serviceKey);
+        assertNull(logStorage.get(serviceKey));
+        logStorage.snapshotLoad("snapshotDir_test");
+        assertTrue(Arrays.equals("service".getBytes(), logStorage.get(serviceKey)));
+        logStorage.shutdown();
+    }
 }
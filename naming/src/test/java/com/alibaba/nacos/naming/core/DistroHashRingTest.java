@@ -0,0 +1,101 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DistroHashRingTest {
+    
+    private static final int TAG_COUNT = 10000;
+    
+    @Test
+    public void testEmptyRing() {
+        DistroHashRing ring = DistroHashRing.build(Collections.emptyList(), DistroHashRing.DEFAULT_VIRTUAL_NODES);
+        assertTrue(ring.isEmpty());
+        assertTrue(ring.isResponsible("1.1.1.1:8848", "2.2.2.2:8848"));
+    }
+    
+    @Test
+    public void testSameRingForAnyOrder() {
+        List<String> servers = servers(5);
+        DistroHashRing ring = DistroHashRing.build(servers, DistroHashRing.DEFAULT_VIRTUAL_NODES);
+        Collections.reverse(servers);
+        DistroHashRing reversed = DistroHashRing.build(servers, DistroHashRing.DEFAULT_VIRTUAL_NODES);
+        for (int i = 0; i < TAG_COUNT; i++) {
+            String tag = "service-" + i;
+            assertEquals(ring.owner(tag), reversed.owner(tag));
+            assertTrue(ring.isResponsible(tag, ring.owner(tag)));
+        }
+        assertTrue(ring.isResponsible("service", "9.9.9.9:8848"));
+    }
+    
+    @Test
+    public void testBalance() {
+        List<String> servers = servers(5);
+        DistroHashRing ring = DistroHashRing.build(servers, DistroHashRing.DEFAULT_VIRTUAL_NODES);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < TAG_COUNT; i++) {
+            counts.merge(ring.owner("10.0." + (i / 256) + "." + (i % 256) + ":8080"), 1, Integer::sum);
+        }
+        assertEquals(servers.size(), counts.size());
+        for (int each : counts.values()) {
+            assertTrue(each > TAG_COUNT / servers.size() / 2);
+            assertTrue(each < TAG_COUNT / servers.size() * 2);
+        }
+    }
+    
+    @Test
+    public void testOnlyMoveToNewServer() {
+        List<String> servers = servers(4);
+        DistroHashRing ring = DistroHashRing.build(servers, DistroHashRing.DEFAULT_VIRTUAL_NODES);
+        List<String> scaled = new ArrayList<>(servers);
+        scaled.add("192.168.0.100:8848");
+        DistroHashRing scaledRing = DistroHashRing.build(scaled, DistroHashRing.DEFAULT_VIRTUAL_NODES);
+        int moved = 0;
+        for (int i = 0; i < TAG_COUNT; i++) {
+            String tag = "service-" + i;
+            String before = ring.owner(tag);
+            String after = scaledRing.owner(tag);
+            if (!before.equals(after)) {
+                assertEquals("192.168.0.100:8848", after);
+                moved++;
+            }
+        }
+        // about 1/5 of tags are moved.
+        assertTrue(moved > TAG_COUNT / 10);
+        assertTrue(moved < TAG_COUNT * 3 / 10);
+        assertFalse(ring.contains("192.168.0.100:8848"));
+    }
+    
+    private List<String> servers(int count) {
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            result.add("192.168.0." + (i + 1) + ":8848");
+        }
+        return result;
+    }
+}
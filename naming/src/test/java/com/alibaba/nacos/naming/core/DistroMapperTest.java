@@ -17,6 +17,8 @@
 package com.alibaba.nacos.naming.core;
 
 import com.alibaba.nacos.core.cluster.Member;
+import com.alibaba.nacos.core.cluster.MembersChangeEvent;
+import com.alibaba.nacos.core.cluster.NodeState;
 import com.alibaba.nacos.core.cluster.ServerMemberManager;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
 import com.alibaba.nacos.sys.env.EnvUtil;
@@ -27,7 +29,10 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.core.env.StandardEnvironment;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.concurrent.ConcurrentSkipListMap;
 
 import static org.junit.Assert.assertEquals;
@@ -79,4 +84,17 @@ public class DistroMapperTest {
         String server = distroMapper.mapSrv(serviceName);
         assertEquals(server, ip4);
     }
+    
+    @Test
+    public void testMapSrvByConsistentHash() {
+        switchDomain.setDistroConsistentHashEnabled(true);
+        List<Member> members = new ArrayList<>();
+        for (String each : Arrays.asList(ip1, ip2, ip3, ip4)) {
+            members.add(Member.builder().ip(each).port(port).state(NodeState.UP).build());
+        }
+        distroMapper.onEvent(MembersChangeEvent.builder().members(members).build());
+        assertEquals(4, distroMapper.getHealthyList().size());
+        DistroHashRing ring = DistroHashRing.build(distroMapper.getHealthyList(), DistroHashRing.DEFAULT_VIRTUAL_NODES);
+        assertEquals(ring.owner(serviceName), distroMapper.mapSrv(serviceName));
+    }
 }
\ No newline at end of file
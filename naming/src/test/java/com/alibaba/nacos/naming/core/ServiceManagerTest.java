@@ -417,6 +417,39 @@ public class ServiceManagerTest extends BaseTest {
         assertEquals(TEST_SERVICE_NAME, actualServices.get(0).getName());
     }
     
+    @Test
+    public void testGetPagedServiceByParam() throws NacosException {
+        for (int i = 1; i <= 5; i++) {
+            serviceManager.createEmptyService(TEST_NAMESPACE, "DEFAULT_GROUP@@order-" + i, true);
+        }
+        serviceManager.createEmptyService(TEST_NAMESPACE, "DEFAULT_GROUP@@pay", true);
+        serviceManager.createEmptyService(TEST_NAMESPACE, "order@@pay", true);
+        
+        List<Service> actualServices = new ArrayList<>(8);
+        int actualSize = serviceManager
+                .getPagedService(TEST_NAMESPACE, 1, 2, "GROUP@@order", StringUtils.EMPTY, actualServices, false);
+        assertEquals(5, actualSize);
+        assertEquals(2, actualServices.size());
+        assertEquals("DEFAULT_GROUP@@order-3", actualServices.get(0).getName());
+        assertEquals("DEFAULT_GROUP@@order-4", actualServices.get(1).getName());
+        
+        actualServices.clear();
+        actualSize = serviceManager
+                .getPagedService(TEST_NAMESPACE, 3, 10, "order", StringUtils.EMPTY, actualServices, false);
+        assertEquals(6, actualSize);
+        assertEquals(6, actualServices.size());
+    }
+    
+    @Test
+    public void testGetStatusChecksum() throws NacosException {
+        serviceManager.createEmptyService(TEST_NAMESPACE, TEST_SERVICE_NAME, true);
+        Service service = serviceManager.getService(TEST_NAMESPACE, TEST_SERVICE_NAME);
+        assertEquals(service.getChecksum(), serviceManager.getStatusChecksum(service));
+        
+        when(switchDomain.isInstanceHashChecksumEnabled()).thenReturn(true);
+        assertEquals(service.instanceHashChecksum(), serviceManager.getStatusChecksum(service));
+    }
+    
     @Test
     public void testSnowflakeInstanceId() throws Exception {
         Map<String, String> metaData = Maps.newHashMap();
@@ -0,0 +1,71 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.alibaba.nacos.naming.core;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ServiceNameMatcherTest {
+    
+    @Test
+    public void testMatchServiceName() {
+        ServiceNameMatcher matcher = ServiceNameMatcher.compile("order");
+        Assert.assertTrue(matcher.test("DEFAULT_GROUP@@order-service:[]"));
+        Assert.assertTrue(matcher.test("order-group@@pay:[]"));
+        Assert.assertFalse(matcher.test("DEFAULT_GROUP@@pay-service:[]"));
+    }
+    
+    @Test
+    public void testMatchGroupAndServiceName() {
+        ServiceNameMatcher matcher = ServiceNameMatcher.compile("GROUP@@pay");
+        Assert.assertTrue(matcher.test("DEFAULT_GROUP@@pay-service:[]"));
+        Assert.assertFalse(matcher.test("DEFAULT_GROUP@@order-service:[]"));
+        Assert.assertFalse(matcher.test("pay@@DEFAULT_GROUP:[]"));
+        
+        matcher = ServiceNameMatcher.compile("@@pay");
+        Assert.assertTrue(matcher.test("DEFAULT_GROUP@@pay-service:[]"));
+        Assert.assertFalse(matcher.test("pay@@order:[]"));
+        
+        matcher = ServiceNameMatcher.compile("DEFAULT@@ ");
+        Assert.assertTrue(matcher.test("DEFAULT_GROUP@@order-service:[]"));
+        Assert.assertFalse(matcher.test("DEFAULT_GROUP:[]"));
+    }
+    
+    @Test
+    public void testMatchRegex() {
+        ServiceNameMatcher matcher = ServiceNameMatcher.compile("DEFAULT_GROUP@@pay-(s|t)");
+        Assert.assertTrue(matcher.test("DEFAULT_GROUP@@pay-service:[]"));
+        Assert.assertFalse(matcher.test("DEFAULT_GROUP@@pay-order:[]"));
+    }
+    
+    @Test
+    public void testSameAsRegex() {
+        String[] params = {"a", "ab", "a@@b", "@@b", "a@@", "b@@a", "a@@b@@c", "@@", "ba@@"};
+        String[] keys = {"a@@b:[]", "ab@@ab:[]", "b@@a:[]", "a@@b@@c:[]", "aa:[]", "ba@@b:[]", "x@@y:[a@@b]", "a\n@@b"};
+        for (String param : params) {
+            ServiceNameMatcher matcher = ServiceNameMatcher.compile(param);
+            StringBuilder regex = new StringBuilder();
+            for (String part : param.split("@@", 2)) {
+                regex.append(regex.length() == 0 ? "" : "@@").append(".*").append(part).append(".*");
+            }
+            for (String key : keys) {
+                Assert.assertEquals(param + " " + key, key.matches(regex.toString()), matcher.test(key));
+            }
+        }
+    }
+}
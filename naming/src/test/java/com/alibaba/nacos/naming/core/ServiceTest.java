@@ -73,6 +73,31 @@ public class ServiceTest extends BaseTest {
         Assert.assertEquals(instances, service.allIPs(true));
     }
     
+    @Test
+    public void testInstanceHashChecksum() {
+        Instance instance1 = new Instance("1.1.1.1", 1, "test-instance1");
+        Instance instance2 = new Instance("2.2.2.2", 2, "test-instance1");
+        List<Instance> instances = new ArrayList<>();
+        instances.add(instance1);
+        instances.add(instance2);
+        service.updateIPs(instances, true);
+        String checksum = service.instanceHashChecksum();
+        
+        Service other = new Service("test-service");
+        List<Instance> reversed = new ArrayList<>();
+        reversed.add(new Instance("2.2.2.2", 2, "test-instance1"));
+        reversed.add(new Instance("1.1.1.1", 1, "test-instance1"));
+        other.updateIPs(reversed, true);
+        assertEquals(checksum, other.instanceHashChecksum());
+        
+        instance1.setHealthy(false);
+        assertFalse(checksum.equals(service.instanceHashChecksum()));
+        instance1.setHealthy(true);
+        assertEquals(checksum, service.instanceHashChecksum());
+        instance2.setWeight(2.0D);
+        assertFalse(checksum.equals(service.instanceHashChecksum()));
+    }
+    
     @Test
     public void testSerialize() throws Exception {
         String actual = new Service("test-service").toJson();
@@ -18,11 +18,17 @@ package com.alibaba.nacos.naming.core.v2.index;
 
 import com.alibaba.nacos.api.naming.pojo.Instance;
 import com.alibaba.nacos.api.naming.pojo.ServiceInfo;
+import com.alibaba.nacos.common.event.ServerConfigChangeEvent;
+import com.alibaba.nacos.naming.core.v2.client.Client;
 import com.alibaba.nacos.naming.core.v2.client.manager.ClientManagerDelegate;
+import com.alibaba.nacos.naming.core.v2.event.service.ServiceEvent;
 import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
 import com.alibaba.nacos.naming.core.v2.pojo.InstancePublishInfo;
 import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.constants.PushConstants;
 import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.naming.push.v2.PushConfig;
+import com.alibaba.nacos.sys.env.EnvUtil;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -30,10 +36,12 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.mock.env.MockEnvironment;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -164,4 +172,40 @@ public class ServiceStorageTest {
         Assert.assertNotNull(instance);
     }
     
-}
\ No newline at end of file
+    @Test
+    public void testGetSnapshotIncrementally() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setProperty(PushConstants.INCREMENTAL_PUSH_DATA, "true");
+        EnvUtil.setEnvironment(environment);
+        PushConfig.getInstance().onEvent(ServerConfigChangeEvent.newEvent());
+        Assert.assertTrue(PushConfig.getInstance().isIncrementalPushData());
+        Client client1 = Mockito.mock(Client.class);
+        Client client2 = Mockito.mock(Client.class);
+        Mockito.when(clientServiceIndexesManager.getAllClientsRegisteredService(SERVICE))
+                .thenReturn(Collections.singletonList("client1"));
+        Mockito.when(clientManagerDelegate.getClient("client1")).thenReturn(client1);
+        Mockito.when(clientManagerDelegate.getClient("client2")).thenReturn(client2);
+        Mockito.when(client1.getInstancePublishInfo(SERVICE)).thenReturn(new InstancePublishInfo("1.1.1.1", 8848));
+        Mockito.when(client2.getInstancePublishInfo(SERVICE)).thenReturn(new InstancePublishInfo("2.2.2.2", 8848));
+        ServiceInstancesSnapshot snapshot = serviceStorage.getSnapshot(SERVICE);
+        Assert.assertEquals(1L, snapshot.getRevision());
+        Assert.assertEquals(1, snapshot.getInstances().size());
+        Assert.assertSame(snapshot, serviceStorage.getSnapshot(SERVICE));
+        
+        serviceStorage.onEvent(new ServiceEvent.ServiceChangedEvent(SERVICE, "client2", true));
+        snapshot = serviceStorage.getSnapshot(SERVICE);
+        Assert.assertEquals(2L, snapshot.getRevision());
+        Assert.assertEquals(2, snapshot.getInstances().size());
+        Assert.assertEquals("2.2.2.2", snapshot.getInstances().get("client2").getIp());
+        Mockito.verify(clientManagerDelegate, Mockito.times(1)).getClient("client1");
+        
+        Mockito.when(client2.getInstancePublishInfo(SERVICE)).thenReturn(null);
+        serviceStorage.onEvent(new ServiceEvent.ServiceChangedEvent(SERVICE, "client2", true));
+        snapshot = serviceStorage.getSnapshot(SERVICE);
+        Assert.assertEquals(3L, snapshot.getRevision());
+        Assert.assertEquals(Arrays.asList("1.1.1.1"), Collections.singletonList(snapshot.getHosts().get(0).getIp()));
+        
+        environment.setProperty(PushConstants.INCREMENTAL_PUSH_DATA, "false");
+        PushConfig.getInstance().onEvent(ServerConfigChangeEvent.newEvent());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TcpHealthCheckEngineTest {
+    
+    private static final String LOCALHOST = "127.0.0.1";
+    
+    /**
+     * Workers of the engine never stop, so all tests share one engine.
+     */
+    private static TcpHealthCheckEngine engine;
+    
+    @BeforeClass
+    public static void setUp() {
+        engine = new TcpHealthCheckEngine();
+    }
+    
+    @Test
+    public void testConnectSuccess() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getByName(LOCALHOST))) {
+            ResultProbe probe = new ResultProbe(server.getLocalPort(), 3000L);
+            engine.submit(probe);
+            assertEquals("success", probe.await());
+        }
+    }
+    
+    @Test
+    public void testConnectRefused() throws Exception {
+        int port;
+        try (ServerSocket server = new ServerSocket(0, 50, InetAddress.getByName(LOCALHOST))) {
+            port = server.getLocalPort();
+        }
+        ResultProbe probe = new ResultProbe(port, 3000L);
+        engine.submit(probe);
+        assertEquals("fail-now", probe.await());
+    }
+    
+    @Test
+    public void testConnectTimeout() throws Exception {
+        List<Socket> backlog = new ArrayList<>();
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getByName(LOCALHOST))) {
+            // never accept and fill the accept queue, so that the next connect is not answered.
+            for (int i = 0; i < 2; i++) {
+                backlog.add(new Socket(LOCALHOST, server.getLocalPort()));
+            }
+            long start = System.currentTimeMillis();
+            ResultProbe probe = new ResultProbe(server.getLocalPort(), 200L);
+            engine.submit(probe);
+            assertEquals("timeout", probe.await());
+            assertTrue(System.currentTimeMillis() - start >= 200L);
+        } finally {
+            for (Socket each : backlog) {
+                close(each);
+            }
+        }
+    }
+    
+    private static void close(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignore) {
+        }
+    }
+    
+    private static class ResultProbe extends TcpHealthCheckProbe {
+        
+        private final CountDownLatch latch = new CountDownLatch(1);
+        
+        private volatile String result;
+        
+        ResultProbe(int port, long timeoutMillis) {
+            super(LOCALHOST, port, timeoutMillis);
+        }
+        
+        String await() throws InterruptedException {
+            assertTrue(latch.await(5L, TimeUnit.SECONDS));
+            return result;
+        }
+        
+        @Override
+        protected void onSuccess(long rt) {
+            finish("success");
+        }
+        
+        @Override
+        protected void onFail(boolean now, String msg) {
+            finish(now ? "fail-now" : "fail");
+        }
+        
+        @Override
+        protected void onTimeout() {
+            finish("timeout");
+        }
+        
+        private void finish(String result) {
+            this.result = result;
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 1999-2020 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.healthcheck.heartbeat;
+
+import com.alibaba.nacos.api.common.Constants;
+import com.alibaba.nacos.naming.core.DistroMapper;
+import com.alibaba.nacos.naming.core.v2.client.impl.IpPortBasedClient;
+import com.alibaba.nacos.naming.core.v2.metadata.NamingMetadataManager;
+import com.alibaba.nacos.naming.core.v2.pojo.HealthCheckInstancePublishInfo;
+import com.alibaba.nacos.naming.core.v2.pojo.Service;
+import com.alibaba.nacos.naming.core.v2.upgrade.UpgradeJudgement;
+import com.alibaba.nacos.naming.misc.GlobalConfig;
+import com.alibaba.nacos.naming.misc.SwitchDomain;
+import com.alibaba.nacos.naming.misc.UtilsAndCommons;
+import com.alibaba.nacos.sys.utils.ApplicationUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ClientBeatCheckEngineTest {
+    
+    private static final String CLIENT_ID = "1.1.1.1:10000#true";
+    
+    private final Service service = Service.newService("namespace", "group", "service");
+    
+    @Mock
+    private NamingMetadataManager namingMetadataManager;
+    
+    @Mock
+    private GlobalConfig globalConfig;
+    
+    @Mock
+    private SwitchDomain switchDomain;
+    
+    @Mock
+    private DistroMapper distroMapper;
+    
+    @Mock
+    private UpgradeJudgement upgradeJudgement;
+    
+    @Mock
+    private ConfigurableApplicationContext applicationContext;
+    
+    private IpPortBasedClient client;
+    
+    private ClientBeatCheckTaskV2 beatCheckTask;
+    
+    private HealthCheckInstancePublishInfo instance;
+    
+    private ClientBeatCheckEngine engine;
+    
+    private AtomicLong checkCount;
+    
+    private AtomicLong expiredCount;
+    
+    private long start;
+    
+    @Before
+    public void setUp() {
+        when(applicationContext.getBean(NamingMetadataManager.class)).thenReturn(namingMetadataManager);
+        when(applicationContext.getBean(GlobalConfig.class)).thenReturn(globalConfig);
+        when(applicationContext.getBean(SwitchDomain.class)).thenReturn(switchDomain);
+        when(applicationContext.getBean(DistroMapper.class)).thenReturn(distroMapper);
+        when(applicationContext.getBean(UpgradeJudgement.class)).thenReturn(upgradeJudgement);
+        ApplicationUtils.injectContext(applicationContext);
+        when(switchDomain.isHealthCheckEnabled()).thenReturn(true);
+        when(distroMapper.responsible("1.1.1.1:10000")).thenReturn(true);
+        when(upgradeJudgement.isUseGrpcFeatures()).thenReturn(true);
+        client = new IpPortBasedClient(CLIENT_ID, true);
+        beatCheckTask = new ClientBeatCheckTaskV2(client);
+        // beat checkers judge by the real clock, so the engine is started in the past, aligned to the wheel tick.
+        start = (System.currentTimeMillis() - 2 * Constants.DEFAULT_HEART_BEAT_TIMEOUT) / 500L * 500L;
+        instance = new HealthCheckInstancePublishInfo("1.1.1.1", 10000);
+        instance.setCluster(UtilsAndCommons.DEFAULT_CLUSTER_NAME);
+        instance.setLastHeartBeatTime(start);
+        client.addServiceInstance(service, instance);
+        checkCount = new AtomicLong();
+        expiredCount = new AtomicLong();
+        engine = new ClientBeatCheckEngine(start, checkCount, expiredCount);
+    }
+    
+    @Test
+    public void testCheckOnlyWhenTimeout() {
+        engine.register(beatCheckTask);
+        engine.tick(start);
+        // first check is delayed as the old task, instance is not timeout yet.
+        engine.tick(start + 5000L);
+        assertEquals(1L, checkCount.get());
+        assertEquals(0L, expiredCount.get());
+        // not touched until beat timeout.
+        engine.tick(start + Constants.DEFAULT_HEART_BEAT_TIMEOUT - 1000L);
+        assertEquals(1L, checkCount.get());
+        engine.tick(start + Constants.DEFAULT_HEART_BEAT_TIMEOUT + 1000L);
+        assertEquals(2L, checkCount.get());
+        assertEquals(1L, expiredCount.get());
+        assertFalse(instance.isHealthy());
+    }
+    
+    @Test
+    public void testRescheduleByNewBeat() {
+        engine.register(beatCheckTask);
+        engine.tick(start);
+        instance.setLastHeartBeatTime(start + 10000L);
+        engine.tick(start + 5000L);
+        engine.tick(start + Constants.DEFAULT_HEART_BEAT_TIMEOUT + 1000L);
+        assertEquals(1L, checkCount.get());
+        assertEquals(0L, expiredCount.get());
+        assertTrue(instance.isHealthy());
+    }
+    
+    @Test
+    public void testDeregister() {
+        engine.register(beatCheckTask);
+        engine.register(beatCheckTask);
+        assertEquals(1, engine.size());
+        engine.tick(start);
+        engine.deregister(beatCheckTask);
+        assertEquals(0, engine.size());
+        engine.tick(start + Constants.DEFAULT_HEART_BEAT_TIMEOUT + 1000L);
+        assertEquals(0L, checkCount.get());
+        assertTrue(instance.isHealthy());
+    }
+}
@@ -66,7 +66,7 @@ public class HealthCheckProcessorV2DelegateTest {
     @Test
     public void testAddProcessor() throws NoSuchFieldException, IllegalAccessException {
         List<HealthCheckProcessorV2> list = new ArrayList<>();
-        list.add(new TcpHealthCheckProcessor(null, null));
+        list.add(new TcpHealthCheckProcessor(null, null, null));
         healthCheckProcessorV2Delegate.addProcessor(list);
         
         Class<HealthCheckProcessorV2Delegate> healthCheckProcessorV2DelegateClass = HealthCheckProcessorV2Delegate.class;
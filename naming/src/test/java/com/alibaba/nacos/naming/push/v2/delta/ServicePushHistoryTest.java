@@ -0,0 +1,83 @@
+/*
+ * Copyright 1999-2018 Alibaba Group Holding Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alibaba.nacos.naming.push.v2.delta;
+
+import com.alibaba.nacos.api.naming.pojo.Instance;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ServicePushHistoryTest {
+    
+    private ServicePushHistory history;
+    
+    @Before
+    public void setUp() {
+        history = new ServicePushHistory(new AtomicLong());
+    }
+    
+    @Test
+    public void testRecordSameInstances() {
+        long revision = history.record(Arrays.asList(createInstance("1.1.1.1", 1.0)), 4);
+        assertEquals(revision, history.record(Arrays.asList(createInstance("1.1.1.1", 1.0)), 4));
+        assertEquals(revision + 1, history.record(Arrays.asList(createInstance("1.1.1.1", 2.0)), 4));
+    }
+    
+    @Test
+    public void testDiff() {
+        List<Instance> base = new ArrayList<>();
+        base.add(createInstance("1.1.1.1", 1.0));
+        base.add(createInstance("1.1.1.2", 1.0));
+        long baseRevision = history.record(base, 4);
+        List<Instance> target = new ArrayList<>();
+        target.add(createInstance("1.1.1.1", 2.0));
+        target.add(createInstance("1.1.1.3", 1.0));
+        long targetRevision = history.record(target, 4);
+        InstancesDelta delta = history.diff(baseRevision, targetRevision);
+        assertNotNull(delta);
+        assertEquals(1, delta.getAdded().size());
+        assertEquals("1.1.1.3", delta.getAdded().get(0).getIp());
+        assertEquals(1, delta.getRemoved().size());
+        assertEquals("1.1.1.2", delta.getRemoved().get(0).getIp());
+        assertEquals(1, delta.getModified().size());
+        assertEquals(2.0, delta.getModified().get(0).getWeight(), 0.0);
+    }
+    
+    @Test
+    public void testDiffOutOfHistory() {
+        long baseRevision = history.record(Arrays.asList(createInstance("1.1.1.1", 1.0)), 1);
+        long targetRevision = history.record(Arrays.asList(createInstance("1.1.1.2", 1.0)), 1);
+        assertNull(history.diff(baseRevision, targetRevision));
+    }
+    
+    private Instance createInstance(String ip, double weight) {
+        Instance result = new Instance();
+        result.setIp(ip);
+        result.setPort(8848);
+        result.setClusterName("DEFAULT");
+        result.setWeight(weight);
+        return result;
+    }
+}
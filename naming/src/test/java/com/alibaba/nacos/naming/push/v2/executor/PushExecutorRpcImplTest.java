@@ -23,6 +23,7 @@ import com.alibaba.nacos.core.remote.RpcPushService;
 import com.alibaba.nacos.naming.misc.GlobalExecutor;
 import com.alibaba.nacos.naming.pojo.Subscriber;
 import com.alibaba.nacos.naming.push.v2.PushDataWrapper;
+import com.alibaba.nacos.naming.push.v2.delta.DeltaPushManager;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -53,6 +54,9 @@ public class PushExecutorRpcImplTest {
     @Mock
     private PushCallBack pushCallBack;
     
+    @Mock
+    private DeltaPushManager deltaPushManager;
+    
     private PushDataWrapper pushData;
     
     private PushExecutorRpcImpl pushExecutor;
@@ -60,7 +64,7 @@ public class PushExecutorRpcImplTest {
     @Before
     public void setUp() throws Exception {
         pushData = new PushDataWrapper(new ServiceInfo("G@@S"));
-        pushExecutor = new PushExecutorRpcImpl(pushService);
+        pushExecutor = new PushExecutorRpcImpl(pushService, deltaPushManager);
         doAnswer(new CallbackAnswer()).when(pushService)
                 .pushWithCallback(eq(rpcClientId), any(NotifySubscriberRequest.class), eq(pushCallBack),
                         eq(GlobalExecutor.getCallbackExecutor()));